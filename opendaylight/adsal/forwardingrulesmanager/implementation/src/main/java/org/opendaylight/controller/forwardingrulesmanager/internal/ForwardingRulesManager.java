@@ -125,10 +125,12 @@ public class ForwardingRulesManager implements
     private ConcurrentMap<FlowEntry, FlowEntry> originalSwView;
     private ConcurrentMap<FlowEntryInstall, FlowEntryInstall> installedSwView;
     /*
-     * Per node and per group indexing
+     * Per node and per group indexing. Index sets are concurrent, they are
+     * updated in place by the event handler thread and can be iterated by
+     * any thread.
      */
-    private ConcurrentMap<Node, List<FlowEntryInstall>> nodeFlows;
-    private ConcurrentMap<String, List<FlowEntryInstall>> groupFlows;
+    private ConcurrentMap<Node, Set<FlowEntryInstall>> nodeFlows;
+    private ConcurrentMap<String, Set<FlowEntryInstall>> groupFlows;
 
     /*
      * Inactive flow list. This is for the global instance of FRM It will
@@ -918,40 +920,7 @@ public class ForwardingRulesManager implements
      * Update the node mapped flows database
      */
     private void updateNodeFlowsDB(FlowEntryInstall flowEntries, boolean add) {
-        Node node = flowEntries.getNode();
-
-        List<FlowEntryInstall> nodeIndeces = this.nodeFlows.get(node);
-        if (nodeIndeces == null) {
-            if (!add) {
-                return;
-            } else {
-                nodeIndeces = new ArrayList<FlowEntryInstall>();
-            }
-        }
-
-        if (add) {
-            // there may be an already existing entry.
-            // remove it before adding the new one.
-            // This is necessary since we have observed that in some cases
-            // Infinispan does aggregation for operations (eg:- remove and then put a different value)
-            // related to the same key within the same transaction.
-            // Need this defensive code as the new FlowEntryInstall may be different
-            // than the old one even though the equals method returns true. This is because
-            // the equals method does not take into account the action list.
-            if(nodeIndeces.contains(flowEntries)) {
-                nodeIndeces.remove(flowEntries);
-            }
-            nodeIndeces.add(flowEntries);
-        } else {
-            nodeIndeces.remove(flowEntries);
-        }
-
-        // Update cache across cluster
-        if (nodeIndeces.isEmpty()) {
-            this.nodeFlows.remove(node);
-        } else {
-            this.nodeFlows.put(node, nodeIndeces);
-        }
+        updateIndex(this.nodeFlows, flowEntries.getNode(), flowEntries, add);
     }
 
     /*
@@ -965,68 +934,37 @@ public class ForwardingRulesManager implements
             return;
         }
 
-        List<FlowEntryInstall> indices = this.groupFlows.get(groupName);
+        updateIndex(this.groupFlows, groupName, flowEntries, add);
+    }
+
+    static <K> void updateIndex(ConcurrentMap<K, Set<FlowEntryInstall>> index, K key,
+            FlowEntryInstall flowEntries, boolean add) {
+        Set<FlowEntryInstall> indices = index.get(key);
         if (indices == null) {
             if (!add) {
                 return;
-            } else {
-                indices = new ArrayList<FlowEntryInstall>();
             }
+            indices = Collections.newSetFromMap(new ConcurrentHashMap<FlowEntryInstall, Boolean>());
+            index.put(key, indices);
         }
 
         if (add) {
-            // same comments in the similar code section in
-            // updateNodeFlowsDB method apply here too
-            if(indices.contains(flowEntries)) {
-                indices.remove(flowEntries);
-            }
+            // there may be an already existing entry.
+            // remove it before adding the new one.
+            // This is necessary since we have observed that in some cases
+            // Infinispan does aggregation for operations (eg:- remove and then put a different value)
+            // related to the same key within the same transaction.
+            // Need this defensive code as the new FlowEntryInstall may be different
+            // than the old one even though the equals method returns true. This is because
+            // the equals method does not take into account the action list.
+            indices.remove(flowEntries);
             indices.add(flowEntries);
         } else {
             indices.remove(flowEntries);
-        }
-
-        // Update cache across cluster
-        if (indices.isEmpty()) {
-            this.groupFlows.remove(groupName);
-        } else {
-            this.groupFlows.put(groupName, indices);
-        }
-    }
-
-    /**
-     * Remove a flow entry that has been added previously First checks if the
-     * entry is effectively present in the local database
-     */
-    @SuppressWarnings("unused")
-    private Status removeEntry(Node node, String flowName) {
-        FlowEntryInstall target = null;
-
-        // Find in database
-        for (FlowEntryInstall entry : installedSwView.values()) {
-            if (entry.equalsByNodeAndName(node, flowName)) {
-                target = entry;
-                break;
+            if (indices.isEmpty()) {
+                index.remove(key, indices);
             }
         }
-
-        // If it is not there, stop any further processing
-        if (target == null) {
-            return new Status(StatusCode.SUCCESS, "Entry is not present");
-        }
-
-        // Remove from node
-        Status status = programmer.removeFlow(target.getNode(), target.getInstall().getFlow());
-
-        // Update DB
-        if (status.isSuccess()) {
-            updateSwViews(target, false);
-        } else {
-            // log the error
-            log.trace("SDN Plugin failed to remove the flow: {}. The failure is: {}", target.getInstall(),
-                    status.getDescription());
-        }
-
-        return status;
     }
 
     @Override
@@ -1189,8 +1127,9 @@ public class ForwardingRulesManager implements
         }
         int toBeRemoved = 0;
         String error = "";
-        if (groupFlows.containsKey(groupName)) {
-            List<FlowEntryInstall> list = new ArrayList<FlowEntryInstall>(groupFlows.get(groupName));
+        Set<FlowEntryInstall> groupEntries = groupFlows.get(groupName);
+        if (groupEntries != null) {
+            List<FlowEntryInstall> list = new ArrayList<FlowEntryInstall>(groupEntries);
             toBeRemoved = list.size();
             for (FlowEntryInstall entry : list) {
                 // since this is the entry that was stored in groupFlows
@@ -1222,8 +1161,9 @@ public class ForwardingRulesManager implements
             log.warn(logMsg, groupName);
             return new Status(StatusCode.NOTACCEPTABLE, msg);
         }
-        if (groupFlows.containsKey(groupName)) {
-            List<FlowEntryInstall> list = new ArrayList<FlowEntryInstall>(groupFlows.get(groupName));
+        Set<FlowEntryInstall> groupEntries = groupFlows.get(groupName);
+        if (groupEntries != null) {
+            List<FlowEntryInstall> list = new ArrayList<FlowEntryInstall>(groupEntries);
             for (FlowEntryInstall entry : list) {
                 this.removeEntry(entry.getOriginal(), true);
             }
@@ -2251,8 +2191,9 @@ public class ForwardingRulesManager implements
      */
     private void cleanDatabaseForNode(Node node) {
         log.trace("Cleaning Flow database for Node {}", node);
-        if (nodeFlows.containsKey(node)) {
-            List<FlowEntryInstall> toRemove = new ArrayList<FlowEntryInstall>(nodeFlows.get(node));
+        Set<FlowEntryInstall> nodeEntries = nodeFlows.get(node);
+        if (nodeEntries != null) {
+            List<FlowEntryInstall> toRemove = new ArrayList<FlowEntryInstall>(nodeEntries);
 
             for (FlowEntryInstall entry : toRemove) {
                 updateSwViews(entry, false);
@@ -2362,7 +2303,7 @@ public class ForwardingRulesManager implements
      */
     private boolean removeFlowsOnNodeConnectorDown(NodeConnector nodeConnector) {
         boolean updated = false;
-        List<FlowEntryInstall> nodeFlowEntries = nodeFlows.get(nodeConnector.getNode());
+        Set<FlowEntryInstall> nodeFlowEntries = nodeFlows.get(nodeConnector.getNode());
         if (nodeFlowEntries == null) {
             return updated;
         }
@@ -2582,8 +2523,8 @@ public class ForwardingRulesManager implements
             portGroupProvider.registerPortGroupChange(this);
         }
 
-        nodeFlows = new ConcurrentHashMap<Node, List<FlowEntryInstall>>();
-        groupFlows = new ConcurrentHashMap<String, List<FlowEntryInstall>>();
+        nodeFlows = new ConcurrentHashMap<Node, Set<FlowEntryInstall>>();
+        groupFlows = new ConcurrentHashMap<String, Set<FlowEntryInstall>>();
 
         cacheStartup();
 
@@ -3082,7 +3023,7 @@ public class ForwardingRulesManager implements
          * mapping will have to be added in future
          */
         FlowEntryInstall target = null;
-        List<FlowEntryInstall> flowEntryInstallList = nodeFlows.get(node);
+        Set<FlowEntryInstall> flowEntryInstallList = nodeFlows.get(node);
         // flowEntryInstallList could be null.
         // so check for it.
         if(flowEntryInstallList != null) {
@@ -3260,7 +3201,7 @@ public class ForwardingRulesManager implements
     public List<FlowEntry> getInstalledFlowEntriesForNode(Node node) {
         List<FlowEntry> list = new ArrayList<FlowEntry>();
         if (node != null) {
-            List<FlowEntryInstall> flowEntryInstallList = this.nodeFlows.get(node);
+            Set<FlowEntryInstall> flowEntryInstallList = this.nodeFlows.get(node);
             if(flowEntryInstallList != null) {
                 for(FlowEntryInstall fi: flowEntryInstallList) {
                     list.add(fi.getInstall().clone());
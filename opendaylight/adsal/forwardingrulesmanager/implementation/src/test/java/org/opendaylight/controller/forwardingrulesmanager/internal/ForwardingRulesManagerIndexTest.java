@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.forwardingrulesmanager.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.forwardingrulesmanager.FlowEntry;
+import org.opendaylight.controller.forwardingrulesmanager.FlowEntryInstall;
+import org.opendaylight.controller.sal.action.Action;
+import org.opendaylight.controller.sal.action.Output;
+import org.opendaylight.controller.sal.core.Node;
+import org.opendaylight.controller.sal.flowprogrammer.Flow;
+import org.opendaylight.controller.sal.match.Match;
+import org.opendaylight.controller.sal.match.MatchType;
+import org.opendaylight.controller.sal.utils.NodeConnectorCreator;
+import org.opendaylight.controller.sal.utils.NodeCreator;
+
+/**
+ * Unit test for the per node and per group flow indexes of
+ * {@link ForwardingRulesManager}.
+ */
+public class ForwardingRulesManagerIndexTest {
+    private ConcurrentMap<Node, Set<FlowEntryInstall>> index;
+    private Node node;
+
+    @Before
+    public void setUp() {
+        index = new ConcurrentHashMap<Node, Set<FlowEntryInstall>>();
+        node = NodeCreator.createOFNode(1L);
+    }
+
+    private FlowEntryInstall entry(String name, short inPort, short outPort) {
+        Match match = new Match();
+        match.setField(MatchType.IN_PORT, NodeConnectorCreator.createOFNodeConnector(inPort, node));
+        List<Action> actions = new ArrayList<Action>();
+        actions.add(new Output(NodeConnectorCreator.createOFNodeConnector(outPort, node)));
+        return new FlowEntryInstall(new FlowEntry("group", name, new Flow(match, actions), node), null);
+    }
+
+    @Test
+    public void testAddAndRemove() {
+        FlowEntryInstall first = entry("first", (short) 1, (short) 2);
+        FlowEntryInstall second = entry("second", (short) 3, (short) 4);
+
+        ForwardingRulesManager.updateIndex(index, node, first, true);
+        ForwardingRulesManager.updateIndex(index, node, second, true);
+        Assert.assertEquals(2, index.get(node).size());
+        Assert.assertTrue(index.get(node).contains(first));
+        Assert.assertTrue(index.get(node).contains(second));
+
+        ForwardingRulesManager.updateIndex(index, node, first, false);
+        Assert.assertEquals(1, index.get(node).size());
+        Assert.assertTrue(index.get(node).contains(second));
+
+        // The emptied set is dropped from the index
+        ForwardingRulesManager.updateIndex(index, node, second, false);
+        Assert.assertFalse(index.containsKey(node));
+    }
+
+    @Test
+    public void testAddReplacesEqualEntry() {
+        FlowEntryInstall entry = entry("flow", (short) 1, (short) 2);
+        // Same node and match, only the actions differ
+        FlowEntryInstall replacement = entry("flow", (short) 1, (short) 3);
+        Assert.assertEquals(entry, replacement);
+
+        ForwardingRulesManager.updateIndex(index, node, entry, true);
+        ForwardingRulesManager.updateIndex(index, node, replacement, true);
+
+        Set<FlowEntryInstall> indexed = index.get(node);
+        Assert.assertEquals(1, indexed.size());
+        Assert.assertSame(replacement, indexed.iterator().next());
+    }
+
+    @Test
+    public void testRemoveOfUnknownEntry() {
+        ForwardingRulesManager.updateIndex(index, node, entry("flow", (short) 1, (short) 2), false);
+        Assert.assertTrue(index.isEmpty());
+
+        FlowEntryInstall entry = entry("flow", (short) 1, (short) 2);
+        ForwardingRulesManager.updateIndex(index, node, entry, true);
+        ForwardingRulesManager.updateIndex(index, node, entry("other", (short) 5, (short) 6), false);
+        Assert.assertEquals(1, index.get(node).size());
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.hosttracker.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Hashed timer wheel used to age out the hosts learned by the HostTracker.
+ *
+ * Time is counted in ticks of the ARP refresh timer. Every tracked key is
+ * parked in the slot of the tick it is next due, so that a tick only visits
+ * the keys which need attention instead of walking the whole hosts database.
+ * Rescheduling a key does not search the wheel, the stale slot membership is
+ * dropped when its slot comes up.
+ */
+class HostAgingWheel<K> {
+
+    /**
+     * Callback invoked for every key which is due on the current tick
+     */
+    interface Visitor<K> {
+        /**
+         * @param key
+         *            the key which is due
+         * @param elapsedTicks
+         *            ticks elapsed since the key was scheduled
+         * @return number of ticks after which the key is due again, or a
+         *         value lower than 1 to stop tracking the key
+         */
+        int due(K key, long elapsedTicks);
+    }
+
+    private static final class Deadline {
+        private final long scheduledTick;
+        private final long dueTick;
+
+        private Deadline(long scheduledTick, long dueTick) {
+            this.scheduledTick = scheduledTick;
+            this.dueTick = dueTick;
+        }
+    }
+
+    private final List<Set<K>> slots;
+    private final ConcurrentMap<K, Deadline> deadlines = new ConcurrentHashMap<K, Deadline>();
+    private volatile long currentTick = 0;
+
+    HostAgingWheel(int wheelSize) {
+        if (wheelSize < 1) {
+            throw new IllegalArgumentException("Wheel size has to be positive");
+        }
+        slots = new ArrayList<Set<K>>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            slots.add(Collections.newSetFromMap(new ConcurrentHashMap<K, Boolean>()));
+        }
+    }
+
+    private Set<K> slotFor(long tick) {
+        return slots.get((int) (tick % slots.size()));
+    }
+
+    /**
+     * Track the key, replacing any previous deadline it had
+     *
+     * @param key
+     *            the key to be tracked
+     * @param ticks
+     *            number of ticks from now after which the key is due, at least
+     *            one tick is used
+     */
+    void schedule(K key, int ticks) {
+        long now = currentTick;
+        Deadline deadline = new Deadline(now, now + Math.max(ticks, 1));
+        deadlines.put(key, deadline);
+        slotFor(deadline.dueTick).add(key);
+    }
+
+    /**
+     * Stop tracking the key
+     */
+    void cancel(K key) {
+        deadlines.remove(key);
+    }
+
+    /**
+     * @return number of tracked keys
+     */
+    int size() {
+        return deadlines.size();
+    }
+
+    /**
+     * Move the wheel forward by one tick and hand all the keys due on it to
+     * the visitor. Only one thread is expected to advance the wheel.
+     */
+    void advance(Visitor<K> visitor) {
+        long tick = currentTick + 1;
+        currentTick = tick;
+
+        Set<K> slot = slotFor(tick);
+        for (Iterator<K> it = slot.iterator(); it.hasNext();) {
+            K key = it.next();
+            Deadline deadline = deadlines.get(key);
+            if (deadline == null) {
+                it.remove();
+                continue;
+            }
+            if (deadline.dueTick > tick) {
+                if (slotFor(deadline.dueTick) != slot) {
+                    // Key was rescheduled to another slot
+                    it.remove();
+                }
+                // Otherwise due on a later turn of the wheel
+                continue;
+            }
+
+            it.remove();
+            int next = visitor.due(key, tick - deadline.scheduledTick);
+            if (next > 0) {
+                Deadline nextDeadline = new Deadline(tick, tick + next);
+                // A concurrent schedule() or cancel() wins over the visit
+                if (deadlines.replace(key, deadline, nextDeadline)) {
+                    slotFor(nextDeadline.dueTick).add(key);
+                }
+            } else {
+                deadlines.remove(key, deadline);
+            }
+        }
+    }
+}
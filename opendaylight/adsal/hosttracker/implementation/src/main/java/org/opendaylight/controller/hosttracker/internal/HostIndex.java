@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.hosttracker.internal;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.opendaylight.controller.hosttracker.IHostId;
+import org.opendaylight.controller.hosttracker.hostAware.HostNodeConnector;
+import org.opendaylight.controller.sal.core.Node;
+import org.opendaylight.controller.sal.core.NodeConnector;
+
+/**
+ * Secondary indexes over the HostTracker hosts database, by node, node
+ * connector and static flag. The returned host ids are only hints, callers
+ * have to check them against the hosts database.
+ */
+class HostIndex {
+    private final Map<IHostId, HostNodeConnector> indexed = new HashMap<IHostId, HostNodeConnector>();
+    private final Map<NodeConnector, Set<IHostId>> byNodeConnector = new HashMap<NodeConnector, Set<IHostId>>();
+    private final Map<Node, Set<IHostId>> byNode = new HashMap<Node, Set<IHostId>>();
+    private final Set<IHostId> staticHosts = new HashSet<IHostId>();
+
+    private static <K> void add(Map<K, Set<IHostId>> index, K key, IHostId id) {
+        Set<IHostId> ids = index.get(key);
+        if (ids == null) {
+            ids = new HashSet<IHostId>();
+            index.put(key, ids);
+        }
+        ids.add(id);
+    }
+
+    private static <K> void remove(Map<K, Set<IHostId>> index, K key, IHostId id) {
+        Set<IHostId> ids = index.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static <K> Set<IHostId> get(Map<K, Set<IHostId>> index, K key) {
+        Set<IHostId> ids = index.get(key);
+        return (ids == null) ? Collections.<IHostId> emptySet() : new HashSet<IHostId>(ids);
+    }
+
+    /**
+     * Index the host currently stored for the id
+     *
+     * @param id
+     *            the host id
+     * @param host
+     *            the host stored for the id, null if there is none
+     */
+    synchronized void update(IHostId id, HostNodeConnector host) {
+        HostNodeConnector previous = (host == null) ? indexed.remove(id) : indexed.put(id, host);
+        if (previous != null) {
+            NodeConnector nc = previous.getnodeConnector();
+            remove(byNodeConnector, nc, id);
+            remove(byNode, nc.getNode(), id);
+            staticHosts.remove(id);
+        }
+        if (host != null) {
+            NodeConnector nc = host.getnodeConnector();
+            add(byNodeConnector, nc, id);
+            add(byNode, nc.getNode(), id);
+            if (host.isStaticHost()) {
+                staticHosts.add(id);
+            }
+        }
+    }
+
+    synchronized Set<IHostId> getHostIds(NodeConnector nodeConnector) {
+        return get(byNodeConnector, nodeConnector);
+    }
+
+    synchronized Set<IHostId> getHostIds(Node node) {
+        return get(byNode, node);
+    }
+
+    synchronized Set<IHostId> getStaticHostIds() {
+        return new HashSet<IHostId>(staticHosts);
+    }
+
+    synchronized void clear() {
+        indexed.clear();
+        byNodeConnector.clear();
+        byNode.clear();
+        staticHosts.clear();
+    }
+}
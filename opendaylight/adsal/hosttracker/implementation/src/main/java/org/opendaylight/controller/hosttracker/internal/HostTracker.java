@@ -114,6 +114,14 @@ public class HostTracker implements IfIptoHost, IfHostListener, IHostTrackerShel
      * added here until both come up
      */
     private ConcurrentMap<NodeConnector, HostNodeConnector> inactiveStaticHosts;
+    /*
+     * Local indexes over hostsDB and the ARP aging schedule of its dynamic
+     * hosts. Both are updated after every write to hostsDB, either directly
+     * or through the cache update callbacks for writes done by other
+     * controllers in the cluster.
+     */
+    private final HostIndex hostIndex = new HostIndex();
+    private final HostAgingWheel<IHostId> hostAging = new HostAgingWheel<IHostId>(ARP_AGING_WHEEL_SIZE);
     private final Set<IfNewHostNotify> newHostNotify = Collections.synchronizedSet(new HashSet<IfNewHostNotify>());
 
     private ITopologyManager topologyManager;
@@ -126,6 +134,8 @@ public class HostTracker implements IfIptoHost, IfHostListener, IHostTrackerShel
     protected boolean stopping;
     private static boolean hostRefresh = true;
     private static int hostRetryCount = 5;
+    // Number of ARP refresh periods covered by one turn of the aging wheel
+    private static final int ARP_AGING_WHEEL_SIZE = 64;
     private String keyScheme = null;
 
     private static class ARPPending {
@@ -187,6 +197,11 @@ public class HostTracker implements IfIptoHost, IfHostListener, IHostTrackerShel
         allocateCache();
         retrieveCache();
         stopping = false;
+        if (hostsDB != null) {
+            for (IHostId id : hostsDB.keySet()) {
+                hostUpdated(id);
+            }
+        }
 
         timer = new Timer();
         timer.schedule(new OutStandingARPHandler(), 4000, 4000);
@@ -282,6 +297,35 @@ public class HostTracker implements IfIptoHost, IfHostListener, IHostTrackerShel
         return host.equals(lhost);
     }
 
+    /*
+     * Refresh the indexes and the ARP aging schedule of a host after its entry
+     * in hostsDB was written. The index is updated under its own lock, so that
+     * it always reflects the latest write.
+     */
+    private void hostUpdated(IHostId id) {
+        HostNodeConnector host;
+        synchronized (hostIndex) {
+            host = hostsDB.get(id);
+            hostIndex.update(id, host);
+        }
+        if (host == null || host.isStaticHost()) {
+            hostAging.cancel(id);
+        } else {
+            hostAging.schedule(id, host.getArpSendCountDown() - hostRetryCount);
+        }
+    }
+
+    private Set<HostNodeConnector> getIndexedHosts(Set<IHostId> ids) {
+        Set<HostNodeConnector> hosts = new HashSet<HostNodeConnector>();
+        for (IHostId id : ids) {
+            HostNodeConnector host = hostsDB.get(id);
+            if (host != null) {
+                hosts.add(host);
+            }
+        }
+        return hosts;
+    }
+
     private HostNodeConnector getHostFromOnActiveDB(IHostId id) {
         return hostsDB.get(id);
     }
@@ -382,8 +426,7 @@ public class HostTracker implements IfIptoHost, IfHostListener, IHostTrackerShel
     @Override
     public Set<HostNodeConnector> getActiveStaticHosts() {
         Set<HostNodeConnector> list = new HashSet<HostNodeConnector>();
-        for (Entry<IHostId, HostNodeConnector> entry : hostsDB.entrySet()) {
-            HostNodeConnector host = entry.getValue();
+        for (HostNodeConnector host : getIndexedHosts(hostIndex.getStaticHostIds())) {
             if (host.isStaticHost()) {
                 list.add(host);
             }
@@ -449,6 +492,7 @@ public class HostTracker implements IfIptoHost, IfHostListener, IHostTrackerShel
             // Another host is already learned for this IP address, replace it
             replaceHost(id, rHost, host);
         } else {
+            hostUpdated(id);
             logger.debug("New Host Learned: MAC: {}  IP: {}", HexEncode.bytesToHexString(host
                     .getDataLayerAddressBytes()), host.getNetworkAddress().getHostAddress());
         }
@@ -480,6 +524,7 @@ public class HostTracker implements IfIptoHost, IfHostListener, IHostTrackerShel
             logger.error("Host replacement failed. Overwrite the host. Replaced Host: {}, New Host: {}", removedHost,
                     newHost);
         }
+        hostUpdated(id);
         notifyHostLearnedOrRemoved(removedHost, false);
         notifyHostLearnedOrRemoved(newHost, true);
         if (!newHost.isStaticHost()) {
@@ -493,6 +538,7 @@ public class HostTracker implements IfIptoHost, IfHostListener, IHostTrackerShel
         if (host != null) {
             logger.debug("Removing Host: IP:{}", host.getNetworkAddress().getHostAddress());
             hostsDB.remove(key);
+            hostUpdated(key);
         } else {
             logger.error("removeKnownHost(): Host for IP address {} not found in hostsDB", decodeIPFromId(key));
         }
@@ -549,6 +595,7 @@ public class HostTracker implements IfIptoHost, IfHostListener, IHostTrackerShel
             // Update the host
 
             hostsDB.put(id, existinghost);
+            hostUpdated(id);
             logger.debug("hostListener returned without adding the host");
             return;
         }
@@ -1009,7 +1056,69 @@ public class HostTracker implements IfIptoHost, IfHostListener, IHostTrackerShel
         }
     }
 
-    private class ARPRefreshHandler extends TimerTask {
+    /*
+     * Ages out the dynamically learned hosts. Every host is visited by the
+     * aging wheel once its ARP countdown gets within the probe window, then on
+     * every refresh period until it either answers a probe or gets removed.
+     */
+    private class ARPRefreshHandler extends TimerTask implements HostAgingWheel.Visitor<IHostId> {
+        @Override
+        public int due(IHostId id, long elapsedTicks) {
+            try {
+                return age(id, elapsedTicks);
+            } catch (IllegalStateException e) {
+                logger.debug("IllegalStateException  Received by ARPRefreshHandler from: {}", e.getMessage());
+                // Retry on the next refresh
+                return 1;
+            }
+        }
+
+        private int age(IHostId id, long elapsedTicks) {
+            HostNodeConnector host = hostsDB.get(id);
+            if (host == null || host.isStaticHost()) {
+                /* host is gone, or was learned via API3, don't age it out */
+                return 0;
+            }
+
+            short arp_cntdown = (short) Math.max(host.getArpSendCountDown() - elapsedTicks, 0);
+            if (arp_cntdown > hostRetryCount) {
+                host.setArpSendCountDown(arp_cntdown);
+                return arp_cntdown - hostRetryCount;
+            } else if (arp_cntdown <= 0) {
+                /*
+                 * No ARP Reply received in last 2 minutes, remove this host and
+                 * inform applications
+                 */
+                removeKnownHost(id);
+                notifyHostLearnedOrRemoved(host, false);
+                return 0;
+            }
+
+            /*
+             * Use the services of arphandler to check if host is still there
+             */
+            if (logger.isTraceEnabled()) {
+                logger.trace(
+                        "ARP Probing ({}) for {}({})",
+                        new Object[] { arp_cntdown, host.getNetworkAddress().getHostAddress(),
+                                HexEncode.bytesToHexString(host.getDataLayerAddressBytes()) });
+            }
+            host.setArpSendCountDown(arp_cntdown);
+            if (hostFinders.isEmpty()) {
+                /*
+                 * If hostfinder is not available, then can't send the probe.
+                 * However, continue the age out the hosts since we don't know
+                 * if the host is indeed out there or not.
+                 */
+                logger.trace("ARPHandler is not avaialable, can't send the probe");
+                return 1;
+            }
+            for (IHostFinder hf : hostFinders) {
+                hf.probe(host);
+            }
+            return 1;
+        }
+
         @Override
         public void run() {
             if ((clusterContainerService != null) && !clusterContainerService.amICoordinator()) {
@@ -1029,55 +1138,7 @@ public class HostTracker implements IfIptoHost, IfHostListener, IHostTrackerShel
                 logger.error("ARPRefreshHandler(): hostsDB is not allocated yet:");
                 return;
             }
-            try {
-                for (Entry<IHostId, HostNodeConnector> entry : hostsDB.entrySet()) {
-                    HostNodeConnector host = entry.getValue();
-                    if (host.isStaticHost()) {
-                        /* this host was learned via API3, don't age it out */
-                        continue;
-                    }
-
-                    short arp_cntdown = host.getArpSendCountDown();
-                    arp_cntdown--;
-                    if (arp_cntdown > hostRetryCount) {
-                        host.setArpSendCountDown(arp_cntdown);
-                    } else if (arp_cntdown <= 0) {
-                        /*
-                         * No ARP Reply received in last 2 minutes, remove this
-                         * host and inform applications
-                         */
-                        removeKnownHost(entry.getKey());
-                        notifyHostLearnedOrRemoved(host, false);
-                    } else if (arp_cntdown <= hostRetryCount) {
-                        /*
-                         * Use the services of arphandler to check if host is
-                         * still there
-                         */
-                        if (logger.isTraceEnabled()) {
-                            logger.trace(
-                                    "ARP Probing ({}) for {}({})",
-                                    new Object[] { arp_cntdown, host.getNetworkAddress().getHostAddress(),
-                                            HexEncode.bytesToHexString(host.getDataLayerAddressBytes()) });
-                        }
-                        host.setArpSendCountDown(arp_cntdown);
-                        if (hostFinders.isEmpty()) {
-                            /*
-                             * If hostfinder is not available, then can't send
-                             * the probe. However, continue the age out the
-                             * hosts since we don't know if the host is indeed
-                             * out there or not.
-                             */
-                            logger.trace("ARPHandler is not avaialable, can't send the probe");
-                            continue;
-                        }
-                        for (IHostFinder hf : hostFinders) {
-                            hf.probe(host);
-                        }
-                    }
-                }
-            } catch (IllegalStateException e) {
-                logger.debug("IllegalStateException  Received by ARPRefreshHandler from: {}", e.getMessage());
-            }
+            hostAging.advance(this);
         }
     }
 
@@ -1117,6 +1178,7 @@ public class HostTracker implements IfIptoHost, IfHostListener, IHostTrackerShel
                 // northbound request
                 HostNodeConnector transHost = hostsDB.get(networkAddr);
                 transHost.setStaticHost(true);
+                hostUpdated(id);
                 return new Status(StatusCode.SUCCESS);
             }
 
@@ -1195,6 +1257,7 @@ public class HostTracker implements IfIptoHost, IfHostListener, IHostTrackerShel
 
             if ((tobeUpdatedHost = hostsDB.get(networkAddr)) != null) {
                 if (hostsDB.replace(id, tobeUpdatedHost, host)) {
+                    hostUpdated(id);
                     logger.debug("Host replaced from hostsDB. Old host: {} New Host: {}", tobeUpdatedHost, host);
                     notifyHostLearnedOrRemoved(tobeUpdatedHost, false);
                     notifyHostLearnedOrRemoved(host, true);
@@ -1285,11 +1348,11 @@ public class HostTracker implements IfIptoHost, IfHostListener, IHostTrackerShel
         switch (type) {
         case REMOVED:
             logger.debug("Received removed node {}", node);
-            for (Entry<IHostId, HostNodeConnector> entry : hostsDB.entrySet()) {
-                HostNodeConnector host = entry.getValue();
-                if (host.getnodeconnectorNode().equals(node)) {
+            for (IHostId id : hostIndex.getHostIds(node)) {
+                HostNodeConnector host = hostsDB.get(id);
+                if (host != null && host.getnodeconnectorNode().equals(node)) {
                     logger.debug("Node: {} is down, remove from Hosts_DB", node);
-                    removeKnownHost(entry.getKey());
+                    removeKnownHost(id);
                     notifyHostLearnedOrRemoved(host, false);
                 }
             }
@@ -1450,11 +1513,11 @@ public class HostTracker implements IfIptoHost, IfHostListener, IHostTrackerShel
     private void handleNodeConnectorStatusDown(NodeConnector nodeConnector) {
         logger.trace("handleNodeConnectorStatusDown {}", nodeConnector);
 
-        for (Entry<IHostId, HostNodeConnector> entry : hostsDB.entrySet()) {
-            HostNodeConnector host = entry.getValue();
-            if (host.getnodeConnector().equals(nodeConnector)) {
+        for (IHostId id : hostIndex.getHostIds(nodeConnector)) {
+            HostNodeConnector host = hostsDB.get(id);
+            if (host != null && host.getnodeConnector().equals(nodeConnector)) {
                 logger.debug(" NodeConnector: {} is down, remove from Hosts_DB", nodeConnector);
-                removeKnownHost(entry.getKey());
+                removeKnownHost(id);
                 notifyHostLearnedOrRemoved(host, false);
             }
         }
@@ -1559,15 +1622,24 @@ public class HostTracker implements IfIptoHost, IfHostListener, IHostTrackerShel
         if (originLocal) {
             return;
         }
+        hostUpdated(key);
         processPendingARPReqs(key);
     }
 
     @Override
     public void entryUpdated(IHostId key, HostNodeConnector new_value, String cacheName, boolean originLocal) {
+        if (originLocal) {
+            return;
+        }
+        hostUpdated(key);
     }
 
     @Override
     public void entryDeleted(IHostId key, String cacheName, boolean originLocal) {
+        if (originLocal) {
+            return;
+        }
+        hostUpdated(key);
     }
 
     private void registerWithOSGIConsole() {
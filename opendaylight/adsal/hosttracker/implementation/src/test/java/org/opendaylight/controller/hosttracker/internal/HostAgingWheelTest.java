@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.hosttracker.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HostAgingWheelTest {
+
+    private static class RecordingVisitor implements HostAgingWheel.Visitor<String> {
+        private final List<String> visited = new ArrayList<String>();
+        private final List<Long> elapsed = new ArrayList<Long>();
+        private int next = 0;
+
+        @Override
+        public int due(String key, long elapsedTicks) {
+            visited.add(key);
+            elapsed.add(elapsedTicks);
+            return next;
+        }
+    }
+
+    @Test
+    public void testKeyVisitedOnlyWhenDue() {
+        HostAgingWheel<String> wheel = new HostAgingWheel<String>(8);
+        RecordingVisitor visitor = new RecordingVisitor();
+
+        wheel.schedule("a", 3);
+        wheel.schedule("b", 20);
+        wheel.advance(visitor);
+        wheel.advance(visitor);
+        Assert.assertTrue(visitor.visited.isEmpty());
+
+        wheel.advance(visitor);
+        Assert.assertEquals(1, visitor.visited.size());
+        Assert.assertEquals("a", visitor.visited.get(0));
+        Assert.assertEquals(Long.valueOf(3), visitor.elapsed.get(0));
+        Assert.assertEquals(1, wheel.size());
+
+        // b is due after more than one turn of the wheel
+        for (int i = 3; i < 19; i++) {
+            wheel.advance(visitor);
+        }
+        Assert.assertEquals(1, visitor.visited.size());
+        wheel.advance(visitor);
+        Assert.assertEquals("b", visitor.visited.get(1));
+        Assert.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testRescheduleAndCancel() {
+        HostAgingWheel<String> wheel = new HostAgingWheel<String>(8);
+        RecordingVisitor visitor = new RecordingVisitor();
+        visitor.next = 1;
+
+        wheel.schedule("a", 2);
+        wheel.schedule("b", 2);
+        wheel.advance(visitor);
+        // Refresh moves a further away, b stops being tracked
+        wheel.schedule("a", 4);
+        wheel.cancel("b");
+        wheel.advance(visitor);
+        Assert.assertTrue(visitor.visited.isEmpty());
+
+        for (int i = 2; i < 5; i++) {
+            wheel.advance(visitor);
+        }
+        Assert.assertEquals(1, visitor.visited.size());
+        Assert.assertEquals("a", visitor.visited.get(0));
+
+        // Visitor asked for a to be due again on the next tick
+        wheel.advance(visitor);
+        Assert.assertEquals(2, visitor.visited.size());
+        Assert.assertEquals(Long.valueOf(1), visitor.elapsed.get(1));
+    }
+}
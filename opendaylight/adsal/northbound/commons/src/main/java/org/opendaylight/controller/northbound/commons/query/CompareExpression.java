@@ -7,6 +7,9 @@
  */
 package org.opendaylight.controller.northbound.commons.query;
 
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
 /*package*/ class CompareExpression implements Expression {
 
     public static enum OP { RE, EQ, NE, GT, GE, LT, LE };
@@ -14,11 +17,14 @@ package org.opendaylight.controller.northbound.commons.query;
     private final OP _operation;
     private final String _selector;
     private final String _arg;
+    private final String[] _path;
+    private volatile Pattern _pattern;
 
     public CompareExpression(OP op, String selector, String arg) {
         _operation = op;
         _selector = selector;
         _arg = unQuote(arg);
+        _path = selector.split("\\.");
     }
 
 
@@ -34,6 +40,29 @@ package org.opendaylight.controller.northbound.commons.query;
         return _arg;
     }
 
+    /**
+     * @return the selector split into its path elements. The array is shared
+     *         and must not be modified.
+     */
+    public String[] getSelectorPath() {
+        return _path;
+    }
+
+    /**
+     * @return the argument compiled as a regular expression, the pattern is
+     *         compiled on first use and reused afterwards.
+     * @throws PatternSyntaxException if the argument is not a valid regular
+     *         expression
+     */
+    public Pattern getPattern() {
+        Pattern pattern = _pattern;
+        if (pattern == null) {
+            pattern = Pattern.compile(_arg);
+            _pattern = pattern;
+        }
+        return pattern;
+    }
+
     @Override
     public boolean accept(Visitor visitor) throws QueryException {
         return visitor.visit(this);
@@ -26,6 +26,21 @@ public interface Query<T> {
      */
     public List<T> find(Collection<T> collection) throws QueryException;
 
+    /**
+     * Find a page of items in the given collection and return them as a new
+     * list. The collection is walked only until the page is complete. The
+     * original collection is not changed.
+     *
+     * @param collection to search in.
+     * @param offset number of matching items to skip.
+     * @param limit maximum number of items to return, a negative value means
+     *        no limit.
+     * @return list of items which match the query.
+     * @throws QueryException
+     */
+    public List<T> find(Collection<T> collection, int offset, int limit)
+            throws QueryException;
+
     /**
      * Apply the query on the given collection. Note that this method will modify
      * the given object by removing any items which don't match the query criteria.
@@ -49,4 +64,21 @@ public interface Query<T> {
      * @throws QueryException
      */
     public int filter(T root, Class<?> childType) throws QueryException;
+
+    /**
+     * Search the given root for a child collection and then apply the query on
+     * it, keeping only one page of the matched items. Note that this method
+     * will modify the given object by removing any items which don't match the
+     * query criteria or fall outside of the page.
+     *
+     * @param root - top level object to search in
+     * @param childType - the child type which represents the collection.
+     * @param offset - number of matching items to skip.
+     * @param limit - maximum number of items to keep, a negative value means
+     *        no limit.
+     * @return the number of items kept
+     * @throws QueryException
+     */
+    public int filter(T root, Class<?> childType, int offset, int limit)
+            throws QueryException;
 }
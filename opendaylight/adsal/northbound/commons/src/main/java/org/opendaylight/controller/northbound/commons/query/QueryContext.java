@@ -14,7 +14,8 @@ public interface QueryContext {
 
     /**
      * Create a Query
-     * @param queryString - query string to parse
+     * @param queryString - query string to parse, a null or empty string
+     *        gives a query matching every item, to page unfiltered results
      * @param clazz - The class which represents the top level jaxb object
      * @return a query object
      * @throws QueryException if the query cannot be parsed.
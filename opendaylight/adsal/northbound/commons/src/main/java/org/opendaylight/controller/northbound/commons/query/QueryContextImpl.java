@@ -7,18 +7,53 @@
  */
 package org.opendaylight.controller.northbound.commons.query;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /*package*/ class QueryContextImpl implements QueryContext {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(QueryContext.class);
+    private static final int MAX_CACHED_QUERIES = 64;
+
+    /*
+     * Queries are parsed and their types explored only once, clients tend to
+     * poll with the same query string over and over
+     */
+    private final Map<List<Object>, Query<?>> queryCache = Collections.synchronizedMap(
+            new LinkedHashMap<List<Object>, Query<?>>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<Object>, Query<?>> eldest) {
+                    return size() > MAX_CACHED_QUERIES;
+                }
+            });
 
+    @SuppressWarnings("unchecked")
     @Override
     public <T> Query<T> createQuery(String queryString, Class<T> type) throws QueryException {
         if (queryString == null || queryString.trim().length() == 0) {
-            return null;
+            // Matches every item, still pages with offset and limit
+            queryString = "";
         }
+        List<Object> key = Arrays.<Object> asList(type, queryString);
+        Query<T> query = (Query<T>) queryCache.get(key);
+        if (query != null) {
+            return query;
+        }
+        query = queryString.isEmpty() ? new QueryImpl<T>(type, null)
+                : parseQuery(queryString, type);
+        queryCache.put(key, query);
+        return query;
+    }
+
+    private <T> Query<T> parseQuery(String queryString, Class<T> type) throws QueryException {
         try {
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("Processing query: {}", queryString);
@@ -11,14 +11,15 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
-import java.util.regex.Pattern;
 
 import org.opendaylight.controller.northbound.commons.query.CompareExpression.OP;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- *
+ * Query compiled from a parsed expression. A QueryImpl holds no per call
+ * state, so the same instance can be evaluated concurrently and reused for
+ * repeated requests.
  */
 /*package*/ class QueryImpl<T> implements Query<T> {
     public static final Logger LOGGER = LoggerFactory.getLogger(QueryImpl.class);
@@ -29,7 +30,7 @@ import org.slf4j.LoggerFactory;
     /**
      * Set the expression and cache
      * @param type
-     * @param expression
+     * @param expression - null for a query matching every item
      */
     public QueryImpl(Class<T> type, Expression expression) {
         this.expression = expression;
@@ -38,33 +39,36 @@ import org.slf4j.LoggerFactory;
 
     @Override
     public List<T> find(Collection<T> collection) throws QueryException {
+        return find(collection, 0, -1);
+    }
+
+    @Override
+    public List<T> find(Collection<T> collection, int offset, int limit)
+            throws QueryException {
         // new arraylist for result
         List<T> result = new ArrayList<T>();
-        for (T item : collection) {
-            if (match(item, rootType)) {
-                result.add(item);
-            }
-        }
+        collect(collection, rootType, offset, limit, result);
         return result;
     }
 
     @Override
     public int filter(Collection<T> collection) throws QueryException {
         // find items
-        List<T> matched = new ArrayList<T>();
-        for (T item : collection) {
-            if (match(item, rootType)) {
-                matched.add(item);
-            }
-        }
+        List<T> matched = find(collection);
         collection.clear();
         collection.addAll(matched);
         return matched.size();
     }
 
-    @SuppressWarnings({ "rawtypes", "unchecked" })
     @Override
     public int filter(T rootObject, Class<?> childClass) throws QueryException {
+        return filter(rootObject, childClass, 0, -1);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Override
+    public int filter(T rootObject, Class<?> childClass, int offset, int limit)
+            throws QueryException {
         // retrieve underlying collection
         TypeInfo childType = rootType.getCollectionChild(childClass);
         if (childType == null || !(childType instanceof IteratableTypeInfo)) {
@@ -75,18 +79,42 @@ import org.slf4j.LoggerFactory;
         // get the child type of the collection type
         TypeInfo ti = childType.getCollectionChild(childClass);
         List matched = new ArrayList();
-        for (Object item : collection) {
-            if (match(item, ti)) {
-                matched.add(item);
-            }
-        }
+        collect(collection, ti, offset, limit, matched);
         collection.clear();
         collection.addAll(matched);
         return matched.size();
     }
 
+    /**
+     * Add the matching items of the page to the result. The collection is not
+     * walked any further once the page is complete.
+     */
+    private <E> void collect(Collection<E> collection, TypeInfo type,
+            int offset, int limit, List<E> result) throws QueryException {
+        if (limit == 0) {
+            return;
+        }
+        int skip = Math.max(offset, 0);
+        for (E item : collection) {
+            if (!match(item, type)) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            result.add(item);
+            if (limit > 0 && result.size() >= limit) {
+                break;
+            }
+        }
+    }
+
     private boolean match(final Object object, final TypeInfo rootType)
             throws QueryException {
+        if (expression == null) {
+            return true;
+        }
         return expression.accept(new Visitor () {
             @Override
             public boolean visit(LogicalExpression le) throws QueryException {
@@ -110,7 +138,7 @@ import org.slf4j.LoggerFactory;
             }
 
             public boolean visitInternal(CompareExpression ce) throws QueryException {
-                String[] selector = ce.getSelector().split("\\.");
+                String[] selector = ce.getSelectorPath();
                 if (!rootType.getName().equals(selector[0])) {
                     if (LOGGER.isDebugEnabled()) {
                         LOGGER.debug("Root name mismatch: {} != {}",
@@ -141,7 +169,7 @@ import org.slf4j.LoggerFactory;
                     }
                     while (it.hasNext()) {
                         Object item = it.next();
-                        if (compare(parse(ce.getArgument(), item), item, operator)) {
+                        if (compare(parse(ce.getArgument(), item), item, operator, ce)) {
                             // if match found check the operator and return false for NE
                             return (ce.getOperator() != OP.NE);
                         }
@@ -150,14 +178,15 @@ import org.slf4j.LoggerFactory;
                     return (ce.getOperator() == OP.NE);
                 } else {
                     return compare(parse(ce.getArgument(), value), value,
-                            ce.getOperator());
+                            ce.getOperator(), ce);
                 }
             }
 
         });
     }
 
-    private boolean compare(Object valueToMatch, Object actualValue, OP operator) {
+    private boolean compare(Object valueToMatch, Object actualValue, OP operator,
+            CompareExpression ce) {
         if (valueToMatch == null || actualValue == null) {
             return false;
         }
@@ -183,7 +212,7 @@ import org.slf4j.LoggerFactory;
             case RE :
                 // Regex match,
                 if (valueToMatch instanceof String) {
-                    return Pattern.matches((String)valueToMatch, actualValue.toString());
+                    return ce.getPattern().matcher(actualValue.toString()).matches();
                 } else {
                     return compareResult == 0;
                 }
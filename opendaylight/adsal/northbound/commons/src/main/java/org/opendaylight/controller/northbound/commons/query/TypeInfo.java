@@ -13,6 +13,8 @@ import java.lang.reflect.Type;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
@@ -42,6 +44,9 @@ import org.slf4j.LoggerFactory;
     protected final Accessor _accessor; // accessor to access object value
     protected Map<String,TypeInfo> _types = new HashMap<String,TypeInfo>();
     protected volatile boolean _explored = false;
+    // type infos of the subtypes met while retrieving values, explored once
+    protected final ConcurrentMap<Class<?>,TypeInfo> _subTypes =
+            new ConcurrentHashMap<Class<?>,TypeInfo>();
     /**
      * Create a TypeInfo with a name and a class type. The accessor will be null
      * for a root node.
@@ -117,8 +122,7 @@ import org.slf4j.LoggerFactory;
                     LOGGER.debug("Handling subtype {} of {} ", target.getClass(), _class);
                 }
                 // explore the subtype
-                TypeInfo subTypeInfo = new TypeInfo(getRootName(target.getClass()),
-                        target.getClass(), _accessor);
+                TypeInfo subTypeInfo = getSubType(target.getClass());
                 return subTypeInfo.retrieve(target, query, index);
             } else {
                 // non compatible object; bail out
@@ -137,6 +141,18 @@ import org.slf4j.LoggerFactory;
         return child.retrieve(target, query, index+1);
     }
 
+    private TypeInfo getSubType(Class<?> clz) {
+        TypeInfo subTypeInfo = _subTypes.get(clz);
+        if (subTypeInfo == null) {
+            subTypeInfo = new TypeInfo(getRootName(clz), clz, _accessor);
+            TypeInfo existing = _subTypes.putIfAbsent(clz, subTypeInfo);
+            if (existing != null) {
+                subTypeInfo = existing;
+            }
+        }
+        return subTypeInfo;
+    }
+
     /**
      * Explore the type info for children.
      */
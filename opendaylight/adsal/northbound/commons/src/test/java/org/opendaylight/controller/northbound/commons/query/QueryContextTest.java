@@ -96,6 +96,50 @@ public class QueryContextTest {
         Assert.assertEquals("A", found.get(2).firstName);
     }
 
+    @Test
+    public void testQueryReused() throws QueryException {
+        QueryContext queryContext = new QueryContextImpl();
+        Query<PersonBean> query = queryContext.createQuery(
+                "person.city='San.*'", PersonBean.class);
+        Assert.assertSame(query, queryContext.createQuery(
+                "person.city='San.*'", PersonBean.class));
+        Assert.assertNotSame(query, queryContext.createQuery(
+                "person.city='New.*'", PersonBean.class));
+    }
+
+    @Test
+    public void testPagedQuery() throws QueryException {
+        QueryContext queryContext = new QueryContextImpl();
+        Query<PersonBean> query = queryContext.createQuery(
+                "person.city='San.*'", PersonBean.class);
+
+        List<PersonBean> found = query.find(people, 1, 1);
+        Assert.assertEquals(1, found.size());
+        Assert.assertEquals("Foo", found.get(0).firstName);
+
+        found = query.find(people, 1, -1);
+        Assert.assertEquals(2, found.size());
+        Assert.assertEquals("Foo", found.get(0).firstName);
+        Assert.assertEquals("A", found.get(1).firstName);
+
+        Assert.assertTrue(query.find(people, 3, 10).isEmpty());
+        Assert.assertTrue(query.find(people, 0, 0).isEmpty());
+    }
+
+    @Test
+    public void testPagedQueryWithoutFilter() throws QueryException {
+        QueryContext queryContext = new QueryContextImpl();
+        Query<PersonBean> query = queryContext.createQuery(null, PersonBean.class);
+        Assert.assertSame(query, queryContext.createQuery(" ", PersonBean.class));
+
+        List<PersonBean> found = query.find(people, 1, 2);
+        Assert.assertEquals(2, found.size());
+        Assert.assertEquals("Foo", found.get(0).firstName);
+        Assert.assertEquals("A", found.get(1).firstName);
+
+        Assert.assertEquals(people.size(), query.find(people, 0, -1).size());
+    }
+
     @Test
     public void testXmlElementWrapper() throws QueryException {
         List<String> emails = new ArrayList<String>();
@@ -81,6 +81,10 @@ public class ConnectionManagerNorthbound {
      *
      * @param controllerAddress Optional parameter to retrieve the nodes connected to another
      *        controller in the cluster
+     * @param offset Optional parameter, number of items to skip, counted after
+     *        the _q filter if any (Eg. 20). Defaults to 0
+     * @param limit Optional parameter, maximum number of items to return (Eg. 10).
+     *        Defaults to -1, no limit
      * @return A list of Nodes {@link org.opendaylight.controller.sal.core.Node}
      *
      * <pre>
@@ -127,7 +131,9 @@ public class ConnectionManagerNorthbound {
         @ResponseCode(code = 503, condition = "Connection Manager Service not available")})
 
     public Nodes getNodes(@DefaultValue("") @QueryParam("controller") String controllerAddress,
-        @QueryParam("_q") String queryString) {
+        @QueryParam("_q") String queryString,
+        @DefaultValue("0") @QueryParam("_offset") int offset,
+        @DefaultValue("-1") @QueryParam("_limit") int limit) {
         if (!NorthboundUtils.isAuthorized(getUserName(), "default", Privilege.READ, this)) {
             throw new UnauthorizedException("User is not authorized to perform this operation on container");
         }
@@ -153,9 +159,9 @@ public class ConnectionManagerNorthbound {
             nodeSet = connectionManager.getLocalNodes();
         }
         Nodes nodes = new Nodes(nodeSet);
-        if (queryString != null) {
+        if (queryString != null || offset > 0 || limit >= 0) {
             queryContext.createQuery(queryString, Nodes.class)
-                .filter(nodes, Node.class);
+                .filter(nodes, Node.class, offset, limit);
         }
         return nodes;
     }
@@ -16,6 +16,7 @@ import java.util.Set;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
@@ -115,6 +116,12 @@ public class ContainerManagerNorthbound {
     /**
      * Get all the containers configured in the system
      *
+     * @param offset
+     *            Optional parameter, number of items to skip, counted after
+     *            the _q filter if any (Eg. 20). Defaults to 0
+     * @param limit
+     *            Optional parameter, maximum number of items to return (Eg.
+     *            10). Defaults to -1, no limit
      * @return a List of all {@link org.opendaylight.controller.containermanager.ContainerConfig}
      *
      *         <pre>
@@ -183,16 +190,18 @@ public class ContainerManagerNorthbound {
     @StatusCodes({ @ResponseCode(code = 200, condition = "Operation successful"),
             @ResponseCode(code = 401, condition = "User is not authorized to perform this operation"),
             @ResponseCode(code = 503, condition = "One or more of Controller Services are unavailable") })
-    public ContainerConfigs viewAllContainers(@QueryParam("_q") String queryString) {
+    public ContainerConfigs viewAllContainers(@QueryParam("_q") String queryString,
+            @DefaultValue("0") @QueryParam("_offset") int offset,
+            @DefaultValue("-1") @QueryParam("_limit") int limit) {
 
         handleNetworkAuthorization(getUserName());
 
         IContainerManager containerManager = getContainerManager();
         ContainerConfigs result = new ContainerConfigs(
                 containerManager.getContainerConfigList());
-        if (queryString != null) {
+        if (queryString != null || offset > 0 || limit >= 0) {
             queryContext.createQuery(queryString, ContainerConfigs.class)
-                .filter(result, ContainerConfig.class);
+                .filter(result, ContainerConfig.class, offset, limit);
         }
         return result;
     }
@@ -431,6 +440,12 @@ public class ContainerManagerNorthbound {
      *
      * @param container
      *            name of the Container (eg. red)
+     * @param offset
+     *            Optional parameter, number of items to skip, counted after
+     *            the _q filter if any (Eg. 20). Defaults to 0
+     * @param limit
+     *            Optional parameter, maximum number of items to return (Eg.
+     *            10). Defaults to -1, no limit
      * @return list of all flowspec configured for a container. Flowspec as
      *         specified by:
      *         {@link org.opendaylight.controller.containermanager.ContainerFlowConfig}
@@ -498,7 +513,9 @@ public class ContainerManagerNorthbound {
             @ResponseCode(code = 404, condition = "The container is not found"),
             @ResponseCode(code = 503, condition = "One or more of Controller Services are unavailable") })
     public FlowSpecConfigs viewContainerFlowSpecs(@PathParam(value = "container") String container,
-        @QueryParam("_q") String queryString) {
+        @QueryParam("_q") String queryString,
+        @DefaultValue("0") @QueryParam("_offset") int offset,
+        @DefaultValue("-1") @QueryParam("_limit") int limit) {
 
         handleContainerAuthorization(container, getUserName());
         handleForbiddenOnDefault(container);
@@ -508,9 +525,9 @@ public class ContainerManagerNorthbound {
         IContainerManager containerManager = getContainerManager();
         FlowSpecConfigs result = new FlowSpecConfigs(
                 containerManager.getContainerFlows(container));
-        if (queryString != null) {
+        if (queryString != null || offset > 0 || limit >= 0) {
             queryContext.createQuery(queryString, FlowSpecConfigs.class)
-                .filter(result, ContainerFlowConfig.class);
+                .filter(result, ContainerFlowConfig.class, offset, limit);
         }
         return result;
     }
@@ -14,6 +14,7 @@ import java.util.Set;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
@@ -97,6 +98,12 @@ public class ControllerManagerNorthbound {
      *            Name of the Property specified by
      *            {@link org.opendaylight.controller.sal.core.Property} and its
      *            extended classes
+     * @param offset
+     *            Optional parameter, number of items to skip, counted after
+     *            the _q filter if any (Eg. 20). Defaults to 0
+     * @param limit
+     *            Optional parameter, maximum number of items to return (Eg.
+     *            10). Defaults to -1, no limit
      *
      *            Example:
      *
@@ -133,7 +140,9 @@ public class ControllerManagerNorthbound {
             @ResponseCode(code = 503, condition = "One or more of Controller Services are unavailable") })
     public ControllerProperties getControllerProperties(@PathParam("containerName") String containerName,
             @QueryParam("propertyName") String propertyName,
-            @QueryParam("_q") String queryString) {
+            @QueryParam("_q") String queryString,
+            @DefaultValue("0") @QueryParam("_offset") int offset,
+            @DefaultValue("-1") @QueryParam("_limit") int limit) {
 
         if (!isValidContainer(containerName)) {
             throw new ResourceNotFoundException("Container " + containerName + " does not exist.");
@@ -159,9 +168,9 @@ public class ControllerManagerNorthbound {
         }
         properties.add(property);
         ControllerProperties result = new ControllerProperties(properties);
-        if (queryString != null) {
+        if (queryString != null || offset > 0 || limit >= 0) {
             queryContext.createQuery(queryString, ControllerProperties.class)
-                .filter(result, Property.class);
+                .filter(result, Property.class, offset, limit);
         }
         return result;
 
@@ -13,6 +13,7 @@ import java.util.List;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
@@ -149,6 +150,12 @@ public class FlowProgrammerNorthbound {
      *
      * @param containerName
      *            Name of the Container (Eg. 'default')
+     * @param offset
+     *            Optional parameter, number of items to skip, counted after
+     *            the _q filter if any (Eg. 20). Defaults to 0
+     * @param limit
+     *            Optional parameter, maximum number of items to return (Eg.
+     *            10). Defaults to -1, no limit
      * @return List of flows configured on a given container
      *
      *         <pre>
@@ -208,16 +215,18 @@ public class FlowProgrammerNorthbound {
         @ResponseCode(code = 503, condition = "One or more of Controller Services are unavailable"),
         @ResponseCode(code = 400, condition = "Incorrect query syntex")})
     public FlowConfigs getStaticFlows(@PathParam("containerName") String containerName,
-                   @QueryParam("_q") String queryString) {
+                   @QueryParam("_q") String queryString,
+                   @DefaultValue("0") @QueryParam("_offset") int offset,
+                   @DefaultValue("-1") @QueryParam("_limit") int limit) {
         if (!NorthboundUtils.isAuthorized(getUserName(), containerName, Privilege.READ, this)) {
             throw new UnauthorizedException("User is not authorized to perform this operation on container "
                     + containerName);
         }
 
         FlowConfigs result = new FlowConfigs(getStaticFlowsInternal(containerName, null));
-        if (queryString != null) {
+        if (queryString != null || offset > 0 || limit >= 0) {
             queryContext.createQuery(queryString, FlowConfigs.class)
-                .filter(result, FlowConfig.class);
+                .filter(result, FlowConfig.class, offset, limit);
         }
         return result;
     }
@@ -231,6 +240,12 @@ public class FlowProgrammerNorthbound {
      *            Type of the node being programmed (Eg. 'OF')
      * @param nodeId
      *            Node Identifier (Eg. '00:00:00:00:00:00:00:01')
+     * @param offset
+     *            Optional parameter, number of items to skip, counted after
+     *            the _q filter if any (Eg. 20). Defaults to 0
+     * @param limit
+     *            Optional parameter, maximum number of items to return (Eg.
+     *            10). Defaults to -1, no limit
      * @return List of flows configured on a Node in a container
      *
      *         <pre>
@@ -290,7 +305,9 @@ public class FlowProgrammerNorthbound {
         @ResponseCode(code = 503, condition = "One or more of Controller Services are unavailable") })
     public FlowConfigs getStaticFlows(@PathParam("containerName") String containerName,
             @PathParam("nodeType") String nodeType, @PathParam("nodeId") String nodeId,
-            @QueryParam("_q") String queryString) {
+            @QueryParam("_q") String queryString,
+            @DefaultValue("0") @QueryParam("_offset") int offset,
+            @DefaultValue("-1") @QueryParam("_limit") int limit) {
         if (!NorthboundUtils.isAuthorized(getUserName(), containerName, Privilege.READ, this)) {
             throw new UnauthorizedException("User is not authorized to perform this operation on container "
                     + containerName);
@@ -300,9 +317,9 @@ public class FlowProgrammerNorthbound {
             throw new ResourceNotFoundException(nodeId + " : " + RestMessages.NONODE.toString());
         }
         FlowConfigs flows = new FlowConfigs(getStaticFlowsInternal(containerName, node));
-        if (queryString != null) {
+        if (queryString != null || offset > 0 || limit >= 0) {
             queryContext.createQuery(queryString, FlowConfigs.class)
-                .filter(flows, FlowConfig.class);
+                .filter(flows, FlowConfig.class, offset, limit);
         }
         return flows;
     }
@@ -16,6 +16,7 @@ import java.util.Set;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
@@ -138,6 +139,12 @@ public class HostTrackerNorthbound {
      * @param containerName
      *            Name of the Container. The Container name for the base
      *            controller is "default".
+     * @param offset
+     *            Optional parameter, number of items to skip, counted after
+     *            the _q filter if any (Eg. 20). Defaults to 0
+     * @param limit
+     *            Optional parameter, maximum number of items to return (Eg.
+     *            10). Defaults to -1, no limit
      * @return List of Active Hosts.
      * <pre>
      *
@@ -208,7 +215,9 @@ public class HostTrackerNorthbound {
             @ResponseCode(code = 404, condition = "The containerName is not found"),
             @ResponseCode(code = 503, condition = "One or more of Controller Services are unavailable") })
     public Hosts getActiveHosts(@PathParam("containerName") String containerName,
-        @QueryParam("_q") String queryString) {
+        @QueryParam("_q") String queryString,
+        @DefaultValue("0") @QueryParam("_offset") int offset,
+        @DefaultValue("-1") @QueryParam("_limit") int limit) {
 
         if (!NorthboundUtils.isAuthorized(getUserName(), containerName, Privilege.READ, this)) {
             throw new UnauthorizedException("User is not authorized to perform this operation on container "
@@ -216,9 +225,9 @@ public class HostTrackerNorthbound {
         }
         IfIptoHost hostTracker = getIfIpToHostService(containerName);
         Hosts hosts = new Hosts(convertHosts(hostTracker.getAllHosts()));
-        if (queryString != null) {
+        if (queryString != null || offset > 0 || limit >= 0) {
             queryContext.createQuery(queryString, Hosts.class)
-                .filter(hosts, HostConfig.class);
+                .filter(hosts, HostConfig.class, offset, limit);
         }
         return hosts;
     }
@@ -230,6 +239,12 @@ public class HostTrackerNorthbound {
      * @param containerName
      *            Name of the Container. The Container name for the base
      *            controller is "default".
+     * @param offset
+     *            Optional parameter, number of items to skip, counted after
+     *            the _q filter if any (Eg. 20). Defaults to 0
+     * @param limit
+     *            Optional parameter, maximum number of items to return (Eg.
+     *            10). Defaults to -1, no limit
      * @return List of inactive Hosts.
      * <pre>
      *
@@ -301,16 +316,18 @@ public class HostTrackerNorthbound {
             @ResponseCode(code = 503, condition = "One or more of Controller Services are unavailable") })
     public Hosts getInactiveHosts(
             @PathParam("containerName") String containerName,
-            @QueryParam("_q") String queryString) {
+            @QueryParam("_q") String queryString,
+            @DefaultValue("0") @QueryParam("_offset") int offset,
+            @DefaultValue("-1") @QueryParam("_limit") int limit) {
         if (!NorthboundUtils.isAuthorized(getUserName(), containerName, Privilege.READ, this)) {
             throw new UnauthorizedException("User is not authorized to perform this operation on container "
                     + containerName);
         }
         IfIptoHost hostTracker = getIfIpToHostService(containerName);
         Hosts hosts = new Hosts(convertHosts(hostTracker.getInactiveStaticHosts()));
-        if (queryString != null) {
+        if (queryString != null || offset > 0 || limit >= 0) {
             queryContext.createQuery(queryString, Hosts.class)
-                .filter(hosts, HostConfig.class);
+                .filter(hosts, HostConfig.class, offset, limit);
         }
         return hosts;
     }
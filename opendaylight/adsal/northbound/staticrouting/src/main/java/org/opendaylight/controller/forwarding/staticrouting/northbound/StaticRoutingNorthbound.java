@@ -14,6 +14,7 @@ import java.util.List;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
@@ -124,6 +125,10 @@ public class StaticRoutingNorthbound {
      * Get a list of static routes present on the given container.
      *
      * @param containerName Name of the Container. The Container name for the base controller is "default".
+     * @param offset Optional parameter, number of items to skip, counted after
+     *        the _q filter if any (Eg. 20). Defaults to 0
+     * @param limit Optional parameter, maximum number of items to return (Eg. 10).
+     *        Defaults to -1, no limit
      * @return List of configured static routes on the given container
      *
      * <pre>
@@ -162,7 +167,9 @@ public class StaticRoutingNorthbound {
             @ResponseCode(code = 404, condition = "The containerName passed was not found") })
     public StaticRoutes getStaticRoutes(
             @PathParam("containerName") String containerName,
-            @QueryParam("_q") String queryString) {
+            @QueryParam("_q") String queryString,
+            @DefaultValue("0") @QueryParam("_offset") int offset,
+            @DefaultValue("-1") @QueryParam("_limit") int limit) {
 
         if(!NorthboundUtils.isAuthorized(getUserName(), containerName,
                 Privilege.WRITE, this)){
@@ -171,9 +178,9 @@ public class StaticRoutingNorthbound {
                             + containerName);
         }
         StaticRoutes result = new StaticRoutes(getStaticRoutesInternal(containerName));
-        if (queryString != null) {
+        if (queryString != null || offset > 0 || limit >= 0) {
             queryContext.createQuery(queryString, StaticRoutes.class)
-                .filter(result, StaticRoute.class);
+                .filter(result, StaticRoute.class, offset, limit);
         }
         return result;
     }
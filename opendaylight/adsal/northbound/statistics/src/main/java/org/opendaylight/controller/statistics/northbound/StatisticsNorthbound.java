@@ -11,6 +11,7 @@ package org.opendaylight.controller.statistics.northbound;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
@@ -117,6 +118,12 @@ public class StatisticsNorthbound {
      * @param containerName
      *            Name of the Container. The Container name for the base
      *            controller is "default".
+     * @param offset
+     *            Optional parameter, number of items to skip, counted after
+     *            the _q filter if any (Eg. 20). Defaults to 0
+     * @param limit
+     *            Optional parameter, maximum number of items to return (Eg.
+     *            10). Defaults to -1, no limit
      * @return List of FlowStatistics from all the Nodes
      *
      * <pre>
@@ -247,7 +254,9 @@ public class StatisticsNorthbound {
         @ResponseCode(code = 503, condition = "One or more of Controller Services are unavailable") })
     public AllFlowStatistics getFlowStatistics(
             @PathParam("containerName") String containerName,
-            @QueryParam("_q") String queryString) {
+            @QueryParam("_q") String queryString,
+            @DefaultValue("0") @QueryParam("_offset") int offset,
+            @DefaultValue("-1") @QueryParam("_limit") int limit) {
         if (!NorthboundUtils.isAuthorized(
                 getUserName(), containerName, Privilege.READ, this)) {
             throw new UnauthorizedException(
@@ -279,9 +288,9 @@ public class StatisticsNorthbound {
             statistics.add(stat);
         }
         AllFlowStatistics result = new AllFlowStatistics(statistics);
-        if (queryString != null) {
+        if (queryString != null || offset > 0 || limit >= 0) {
             queryContext.createQuery(queryString, AllFlowStatistics.class)
-                .filter(result, FlowStatistics.class);
+                .filter(result, FlowStatistics.class, offset, limit);
         }
         return result;
     }
@@ -482,6 +491,12 @@ public class StatisticsNorthbound {
      * @param containerName
      *            Name of the Container. The Container name for the base
      *            controller is "default".
+     * @param offset
+     *            Optional parameter, number of items to skip, counted after
+     *            the _q filter if any (Eg. 20). Defaults to 0
+     * @param limit
+     *            Optional parameter, maximum number of items to return (Eg.
+     *            10). Defaults to -1, no limit
      * @return List of all the Port Statistics across all the NodeConnectors on
      *         all the Nodes.
      *
@@ -629,7 +644,9 @@ public class StatisticsNorthbound {
         @ResponseCode(code = 503, condition = "One or more of Controller Services are unavailable") })
     public AllPortStatistics getPortStatistics(
             @PathParam("containerName") String containerName,
-            @QueryParam("_q") String queryString) {
+            @QueryParam("_q") String queryString,
+            @DefaultValue("0") @QueryParam("_offset") int offset,
+            @DefaultValue("-1") @QueryParam("_limit") int limit) {
 
         if (!NorthboundUtils.isAuthorized(
                 getUserName(), containerName, Privilege.READ, this)) {
@@ -659,9 +676,9 @@ public class StatisticsNorthbound {
         }
 
         AllPortStatistics result = new AllPortStatistics(statistics);
-        if (queryString != null) {
+        if (queryString != null || offset > 0 || limit >= 0) {
             queryContext.createQuery(queryString, AllPortStatistics.class)
-                .filter(result, PortStatistics.class);
+                .filter(result, PortStatistics.class, offset, limit);
         }
         return result;
     }
@@ -840,6 +857,12 @@ public class StatisticsNorthbound {
      * @param containerName
      *            Name of the Container. The Container name for the base
      *            controller is "default".
+     * @param offset
+     *            Optional parameter, number of items to skip, counted after
+     *            the _q filter if any (Eg. 20). Defaults to 0
+     * @param limit
+     *            Optional parameter, maximum number of items to return (Eg.
+     *            10). Defaults to -1, no limit
      *
      * @return Returns a list of all the Table Statistics in a given Node.
      *
@@ -950,7 +973,9 @@ public class StatisticsNorthbound {
         @ResponseCode(code = 503, condition = "One or more of Controller Services are unavailable") })
     public AllTableStatistics getTableStatistics(
             @PathParam("containerName") String containerName,
-            @QueryParam("_q") String queryString) {
+            @QueryParam("_q") String queryString,
+            @DefaultValue("0") @QueryParam("_offset") int offset,
+            @DefaultValue("-1") @QueryParam("_limit") int limit) {
 
         if (!NorthboundUtils.isAuthorized(getUserName(), containerName, Privilege.READ, this)) {
             throw new UnauthorizedException("User is not authorized to perform this operation on container "
@@ -979,9 +1004,9 @@ public class StatisticsNorthbound {
             statistics.add(tableStat);
         }
         AllTableStatistics allstats = new AllTableStatistics(statistics);
-        if (queryString != null) {
+        if (queryString != null || offset > 0 || limit >= 0) {
             queryContext.createQuery(queryString, AllTableStatistics.class)
-                .filter(allstats, TableStatistics.class);
+                .filter(allstats, TableStatistics.class, offset, limit);
         }
         return allstats;
     }
@@ -13,6 +13,7 @@ import java.util.Set;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
@@ -120,6 +121,12 @@ public class SubnetsNorthbound {
      *
      * @param containerName
      *            container in which we want to query the subnets
+     * @param offset
+     *            Optional parameter, number of items to skip, counted after
+     *            the _q filter if any (Eg. 20). Defaults to 0
+     * @param limit
+     *            Optional parameter, maximum number of items to return (Eg.
+     *            10). Defaults to -1, no limit
      *
      * @return a List of SubnetConfig
      *
@@ -175,7 +182,9 @@ public class SubnetsNorthbound {
         @ResponseCode(code = 400, condition = "Incorrect query syntex") })
     @TypeHint(SubnetConfigs.class)
     public SubnetConfigs listSubnets(@PathParam("containerName") String containerName,
-        @QueryParam("_q") String queryString) {
+        @QueryParam("_q") String queryString,
+        @DefaultValue("0") @QueryParam("_offset") int offset,
+        @DefaultValue("-1") @QueryParam("_limit") int limit) {
 
         handleContainerDoesNotExist(containerName);
         if (!NorthboundUtils.isAuthorized(getUserName(), containerName, Privilege.READ, this)) {
@@ -188,9 +197,9 @@ public class SubnetsNorthbound {
             throw new ServiceUnavailableException("SwitchManager " + RestMessages.SERVICEUNAVAILABLE.toString());
         }
         List<SubnetConfig> subnets = switchManager.getSubnetsConfigList();
-        if (queryString != null) {
+        if (queryString != null || offset > 0 || limit >= 0) {
             subnets = queryContext.createQuery(queryString, SubnetConfig.class)
-                    .find(subnets);
+                    .find(subnets, offset, limit);
 
         }
         return new SubnetConfigs(subnets);
@@ -17,6 +17,7 @@ import java.util.Set;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
@@ -119,6 +120,12 @@ public class SwitchNorthbound {
      *
      * @param containerName
      *            Name of the Container (Eg. 'default')
+     * @param offset
+     *            Optional parameter, number of items to skip, counted after
+     *            the _q filter if any (Eg. 20). Defaults to 0
+     * @param limit
+     *            Optional parameter, maximum number of items to return (Eg.
+     *            10). Defaults to -1, no limit
      * @return A list of Pair each pair represents a
      *         {@link org.opendaylight.controller.sal.core.Node} and Set of
      *         {@link org.opendaylight.controller.sal.core.Property} attached to
@@ -213,7 +220,9 @@ public class SwitchNorthbound {
         @ResponseCode(code = 404, condition = "The containerName is not found"),
         @ResponseCode(code = 503, condition = "One or more of Controller Services are unavailable"),
         @ResponseCode(code = 400, condition = "Incorrect query syntex") })
-    public Nodes getNodes(@PathParam("containerName") String containerName, @QueryParam("_q") String queryString) {
+    public Nodes getNodes(@PathParam("containerName") String containerName, @QueryParam("_q") String queryString,
+            @DefaultValue("0") @QueryParam("_offset") int offset,
+            @DefaultValue("-1") @QueryParam("_limit") int limit) {
 
         if (!isValidContainer(containerName)) {
             throw new ResourceNotFoundException("Container " + containerName + " does not exist.");
@@ -246,9 +255,9 @@ public class SwitchNorthbound {
             res.add(nodeProps);
         }
         Nodes result = new Nodes(res);
-        if (queryString != null) {
+        if (queryString != null || offset > 0 || limit >= 0) {
             queryContext.createQuery(queryString, Nodes.class)
-                .filter(result, NodeProperties.class);
+                .filter(result, NodeProperties.class, offset, limit);
         }
         return result;
     }
@@ -505,6 +514,12 @@ public class SwitchNorthbound {
      *            Node Identifier as specified by
      *            {@link org.opendaylight.controller.sal.core.Node} (Eg.
      *            '00:00:00:00:00:00:00:03')
+     * @param offset
+     *            Optional parameter, number of items to skip, counted after
+     *            the _q filter if any (Eg. 20). Defaults to 0
+     * @param limit
+     *            Optional parameter, maximum number of items to return (Eg.
+     *            10). Defaults to -1, no limit
      * @return A List of Pair each pair represents a
      *         {@link org.opendaylight.controller.sal.core.NodeConnector} and
      *         its corresponding
@@ -584,7 +599,9 @@ public class SwitchNorthbound {
         @ResponseCode(code = 400, condition = "Incorrect query syntex") })
     public NodeConnectors getNodeConnectors(@PathParam("containerName") String containerName,
             @PathParam("nodeType") String nodeType, @PathParam("nodeId") String nodeId,
-            @QueryParam("_q") String queryString) {
+            @QueryParam("_q") String queryString,
+            @DefaultValue("0") @QueryParam("_offset") int offset,
+            @DefaultValue("-1") @QueryParam("_limit") int limit) {
 
         if (!isValidContainer(containerName)) {
             throw new ResourceNotFoundException("Container " + containerName + " does not exist.");
@@ -617,9 +634,9 @@ public class SwitchNorthbound {
             res.add(ncProps);
         }
         NodeConnectors result = new NodeConnectors(res);
-        if (queryString != null) {
+        if (queryString != null || offset > 0 || limit >= 0) {
             queryContext.createQuery(queryString, NodeConnectors.class)
-                .filter(result, NodeConnectorProperties.class);
+                .filter(result, NodeConnectorProperties.class, offset, limit);
         }
         return result;
     }
@@ -16,6 +16,7 @@ import java.util.concurrent.ConcurrentMap;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
@@ -88,6 +89,12 @@ public class TopologyNorthboundJAXRS {
      * @param containerName
      *            The container for which we want to retrieve the topology (Eg.
      *            'default')
+     * @param offset
+     *            Optional parameter, number of items to skip, counted after
+     *            the _q filter if any (Eg. 20). Defaults to 0
+     * @param limit
+     *            Optional parameter, maximum number of items to return (Eg.
+     *            10). Defaults to -1, no limit
      *
      * @return A List of EdgeProps each EdgeProp represent an Edge of the graph
      *         with the corresponding properties attached to it.
@@ -251,7 +258,9 @@ public class TopologyNorthboundJAXRS {
     @TypeHint(Topology.class)
     @StatusCodes({ @ResponseCode(code = 404, condition = "The Container Name was not found") })
     public Topology getTopology(@PathParam("containerName") String containerName,
-        @QueryParam("_q") String queryString) {
+        @QueryParam("_q") String queryString,
+        @DefaultValue("0") @QueryParam("_offset") int offset,
+        @DefaultValue("-1") @QueryParam("_limit") int limit) {
 
         if (!NorthboundUtils.isAuthorized(getUserName(), containerName, Privilege.READ, this)) {
             throw new UnauthorizedException("User is not authorized to perform this operation on container "
@@ -274,9 +283,9 @@ public class TopologyNorthboundJAXRS {
         }
         Topology result = new Topology(res);
 
-        if (queryString != null) {
+        if (queryString != null || offset > 0 || limit >= 0) {
             queryContext.createQuery(queryString, Topology.class)
-                .filter(result, EdgeProperties.class);
+                .filter(result, EdgeProperties.class, offset, limit);
         }
         return result;
     }
@@ -287,6 +296,12 @@ public class TopologyNorthboundJAXRS {
      * @param containerName
      *            The container for which we want to retrieve the user links
      *            (Eg. 'default')
+     * @param offset
+     *            Optional parameter, number of items to skip, counted after
+     *            the _q filter if any (Eg. 20). Defaults to 0
+     * @param limit
+     *            Optional parameter, maximum number of items to return (Eg.
+     *            10). Defaults to -1, no limit
      *
      * @return A List of user configured links
      *
@@ -328,7 +343,9 @@ public class TopologyNorthboundJAXRS {
     @TypeHint(TopologyUserLinks.class)
     @StatusCodes({ @ResponseCode(code = 404, condition = "The Container Name was not found") })
     public TopologyUserLinks getUserLinks(@PathParam("containerName") String containerName,
-        @QueryParam("_q") String queryString) {
+        @QueryParam("_q") String queryString,
+        @DefaultValue("0") @QueryParam("_offset") int offset,
+        @DefaultValue("-1") @QueryParam("_limit") int limit) {
 
         if (!NorthboundUtils.isAuthorized(getUserName(), containerName, Privilege.READ, this)) {
             throw new UnauthorizedException("User is not authorized to perform this operation on container "
@@ -346,9 +363,9 @@ public class TopologyNorthboundJAXRS {
         }
         TopologyUserLinks result = new TopologyUserLinks(
                 new ArrayList<TopologyUserLinkConfig>(userLinks.values()));
-        if (queryString != null) {
+        if (queryString != null || offset > 0 || limit >= 0) {
             queryContext.createQuery(queryString, TopologyUserLinks.class)
-                .filter(result, TopologyUserLinkConfig.class);
+                .filter(result, TopologyUserLinkConfig.class, offset, limit);
         }
         return result;
     }
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.protocol_plugin.openflow.core;
+
+/**
+ * Interface to be implemented by applications that send statistics requests
+ * to a switch without waiting for the reply.
+ *
+ */
+public interface IStatisticsReplyHandler {
+    /**
+     * This method is invoked once per request, when all the statistics replies
+     * have been received, the switch reported an error or the request timed
+     * out. It is called from the switch I/O or timer thread, so it should not
+     * block.
+     *
+     * @param sw
+     *            The switch the request was sent to
+     * @param result
+     *            List<OFStatistics>, the statistics records received from the
+     *            switch; OFError if the switch failed handle the request or
+     *            NULL if timeout has occurred while waiting for the response.
+     */
+    public void statisticsRequestCompleted(ISwitch sw, Object result);
+}
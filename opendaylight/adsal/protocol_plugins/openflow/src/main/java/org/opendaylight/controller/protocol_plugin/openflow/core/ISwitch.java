@@ -141,6 +141,24 @@ public interface ISwitch {
      */
     public Object syncSend(OFMessage msg);
 
+    /**
+     * Sends the OF messages, each with its own unique XID, followed by a
+     * single Barrier Request, and waits for a result from the switch. The
+     * errors the switch responds with are matched to the messages before the
+     * Barrier reply is processed.
+     *
+     * @param msgs
+     *            The messages to be sent
+     * @return An Object which has one of the followings instances/values: a
+     *         List of OFError, one for each message, with a null entry for
+     *         the messages which have been successfully processed by the
+     *         switch; Boolean with value false to indicate the Barrier reply
+     *         has not been received within a period of time; OFError to
+     *         indicate that the Barrier Request has been denied by the switch
+     *         or null if the switch is going down.
+     */
+    public Object syncSendBatch(List<OFMessage> msgs);
+
     /**
      * Returns a map containing all OFPhysicalPorts of this switch.
      *
@@ -212,6 +230,19 @@ public interface ISwitch {
      */
     public Object getStatistics(OFStatisticsRequest req);
 
+    /**
+     * Sends OFStatisticsRequest with a unique XID generated automatically and
+     * returns without waiting for the result. Multipart replies are collected
+     * as they arrive and the handler is invoked once with the same result
+     * {@link #getStatistics(OFStatisticsRequest)} would have returned.
+     *
+     * @param req
+     *            the OF Statistic Request to be sent
+     * @param handler
+     *            the handler to be notified of the result
+     */
+    public void getStatistics(OFStatisticsRequest req, IStatisticsReplyHandler handler);
+
     /**
      * Returns true if the switch has reached the operational state (has sent
      * FEATURE_REPLY to the controller).
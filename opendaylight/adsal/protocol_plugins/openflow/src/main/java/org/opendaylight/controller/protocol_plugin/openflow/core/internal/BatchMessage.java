@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.protocol_plugin.openflow.core.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+
+import org.opendaylight.controller.protocol_plugin.openflow.core.ISwitch;
+import org.openflow.protocol.OFBarrierRequest;
+import org.openflow.protocol.OFError;
+import org.openflow.protocol.OFMessage;
+
+/**
+ * This class implements the synchronous send of a batch of messages to a
+ * switch. Each message is sent with its own XID and the batch is followed by
+ * a single Barrier request message. The switch processes the messages in
+ * order, so any error it responds with for a message of the batch is received
+ * before the Barrier reply. It returns the errors once it gets the Barrier
+ * reply from the switch or after a timeout.
+ */
+public class BatchMessage implements Callable<Object> {
+    private final ISwitch sw;
+    private final List<OFMessage> msgs;
+    private final List<Integer> xids;
+    private final int barrierXid;
+    private final Map<Integer, Integer> index;
+    private final OFError[] errors;
+    private final CountDownLatch latch;
+    private volatile Object result;
+
+    public BatchMessage(ISwitch sw, List<OFMessage> msgs, List<Integer> xids,
+            int barrierXid) {
+        this.sw = sw;
+        this.msgs = msgs;
+        this.xids = xids;
+        this.barrierXid = barrierXid;
+        this.index = new HashMap<Integer, Integer>();
+        for (int i = 0; i < xids.size(); i++) {
+            index.put(xids.get(i), i);
+        }
+        this.errors = new OFError[msgs.size()];
+        this.latch = new CountDownLatch(1);
+    }
+
+    @Override
+    public Object call() throws Exception {
+        for (int i = 0; i < msgs.size(); i++) {
+            sw.asyncSend(msgs.get(i), xids.get(i));
+        }
+        OFBarrierRequest barrierMsg = new OFBarrierRequest();
+        sw.asyncSend(barrierMsg, barrierXid);
+        latch.await();
+        return result;
+    }
+
+    public List<Integer> getXids() {
+        return xids;
+    }
+
+    public int getBarrierXid() {
+        return barrierXid;
+    }
+
+    /**
+     * Records the error the switch responded with for one of the messages of
+     * the batch. An error for the Barrier request ends the batch.
+     */
+    public void error(Integer xid, OFError e) {
+        if (xid == barrierXid) {
+            result = e;
+            wakeup();
+            return;
+        }
+        Integer i = index.get(xid);
+        if (i != null) {
+            synchronized (errors) {
+                errors[i] = e;
+            }
+        }
+    }
+
+    /**
+     * Returns the errors received so far, one for each message of the batch,
+     * null for the messages without error
+     */
+    public List<OFError> getErrors() {
+        synchronized (errors) {
+            List<OFError> list = new ArrayList<OFError>(errors.length);
+            for (OFError e : errors) {
+                list.add(e);
+            }
+            return list;
+        }
+    }
+
+    public void wakeup() {
+        this.latch.countDown();
+    }
+}
@@ -13,8 +13,11 @@ import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.opendaylight.controller.protocol_plugin.openflow.core.ISwitch;
+import org.opendaylight.controller.protocol_plugin.openflow.core.IStatisticsReplyHandler;
 import org.openflow.protocol.OFError;
 import org.openflow.protocol.OFStatisticsReply;
 import org.openflow.protocol.OFStatisticsRequest;
@@ -28,8 +31,21 @@ public class StatisticsCollector implements Callable<Object> {
     private CountDownLatch latch;
     private Object result;
     private List<OFStatistics> stats;
+    private final IStatisticsReplyHandler handler;
+    private final AtomicBoolean completed = new AtomicBoolean(false);
+    private volatile ScheduledFuture<?> timeout;
 
     public StatisticsCollector(ISwitch sw, int xid, OFStatisticsRequest request) {
+        this(sw, xid, request, null);
+    }
+
+    /*
+     * Collector for a request whose result is delivered to the handler
+     * instead of a thread waiting in call()
+     */
+    public StatisticsCollector(ISwitch sw, int xid, OFStatisticsRequest request,
+            IStatisticsReplyHandler handler) {
+        this.handler = handler;
         this.sw = sw;
         this.xid = xid;
         this.request = request;
@@ -71,12 +87,31 @@ public class StatisticsCollector implements Callable<Object> {
         return this.xid;
     }
 
+    public void setTimeout(ScheduledFuture<?> timeout) {
+        this.timeout = timeout;
+    }
+
     public void wakeup() {
         this.latch.countDown();
+        if (handler != null && completed.compareAndSet(false, true)) {
+            ScheduledFuture<?> t = timeout;
+            if (t != null) {
+                t.cancel(false);
+            }
+            handler.statisticsRequestCompleted(sw, result);
+        }
     }
 
     public void wakeup(OFError errorMsg) {
         result = errorMsg;
         wakeup();
     }
+
+    /*
+     * No complete reply was received in time
+     */
+    public void expire() {
+        result = null;
+        wakeup();
+    }
 }
@@ -29,11 +29,14 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.opendaylight.controller.protocol_plugin.openflow.core.IController;
 import org.opendaylight.controller.protocol_plugin.openflow.core.IMessageReadWrite;
+import org.opendaylight.controller.protocol_plugin.openflow.core.IStatisticsReplyHandler;
 import org.opendaylight.controller.protocol_plugin.openflow.core.ISwitch;
 import org.openflow.protocol.OFBarrierReply;
 import org.openflow.protocol.OFBarrierRequest;
@@ -67,6 +70,11 @@ public class SwitchHandler implements ISwitch {
     private static final int SWITCH_LIVENESS_TIMER = 5000;
     private static final int switchLivenessTimeout = getSwitchLivenessTimeout();
     private final int MESSAGE_RESPONSE_TIMER = 2000;
+    /*
+     * Expires the asynchronous statistics requests of all the switches, so
+     * that no thread has to wait for the replies
+     */
+    private static final ScheduledThreadPoolExecutor statsRequestTimer = createStatsRequestTimer();
 
     private final String instanceName;
     private final ISwitch thisISwitch;
@@ -143,6 +151,20 @@ public class SwitchHandler implements ISwitch {
         }
     }
 
+    private static ScheduledThreadPoolExecutor createStatsRequestTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "Statistics Request Timer");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        // Most requests complete, do not keep their timeouts around
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
     public void start() {
         try {
             startTransmitThread();
@@ -619,6 +641,24 @@ public class SwitchHandler implements ISwitch {
         }
     }
 
+    @Override
+    public void getStatistics(final OFStatisticsRequest req, IStatisticsReplyHandler handler) {
+        final int xid = getNextXid();
+        final StatisticsCollector worker = new StatisticsCollector(this, xid, req, handler);
+        messageWaitingDone.put(xid, worker);
+        worker.setTimeout(statsRequestTimer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (messageWaitingDone.remove(xid, worker)) {
+                    logger.warn("Timeout while waiting for {} replies from {}",
+                            req.getType(), (isOperational() ? HexString.toHexString(sid) : "unknown"));
+                    worker.expire();
+                }
+            }
+        }, responseTimerValue, TimeUnit.MILLISECONDS));
+        asyncSend(req, xid);
+    }
+
     @Override
     public Object syncSend(OFMessage msg) {
         if (!running) {
@@ -629,17 +669,70 @@ public class SwitchHandler implements ISwitch {
         return syncSend(msg, xid);
     }
 
+    @Override
+    public Object syncSendBatch(List<OFMessage> msgs) {
+        if (!running) {
+            logger.debug("Switch is going down, ignore syncSendBatch");
+            return null;
+        }
+        List<Integer> xids = new ArrayList<Integer>(msgs.size());
+        for (int i = 0; i < msgs.size(); i++) {
+            xids.add(getNextXid());
+        }
+        BatchMessage worker = new BatchMessage(this, msgs, xids, getNextXid());
+        /*
+         * Register the worker under the XID of every message so that errors
+         * are matched on the receive path, ahead of the Barrier reply
+         */
+        for (Integer xid : xids) {
+            messageWaitingDone.put(xid, worker);
+        }
+        messageWaitingDone.put(worker.getBarrierXid(), worker);
+        try {
+            Future<Object> submit;
+            try {
+                submit = executor.submit(worker);
+            } catch (RejectedExecutionException re) {
+                return null;
+            }
+            try {
+                Object result = submit.get(responseTimerValue, TimeUnit.MILLISECONDS);
+                if (result == null) {
+                    return worker.getErrors();
+                }
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Send batch of {} messages failed --> {}", msgs.size(), result);
+                }
+                return result;
+            } catch (Exception e) {
+                logger.warn("Timeout while waiting for the Barrier reply of a batch of {} messages",
+                        msgs.size());
+                worker.wakeup();
+                return Boolean.FALSE;
+            }
+        } finally {
+            for (Integer xid : xids) {
+                messageWaitingDone.remove(xid, worker);
+            }
+            messageWaitingDone.remove(worker.getBarrierXid(), worker);
+        }
+    }
+
     /*
      * Either a BarrierReply or a OFError is received. If this is a reply for an
      * outstanding sync message, wake up associated task so that it can continue
      */
     private void processBarrierReply(OFBarrierReply msg) {
         Integer xid = msg.getXid();
-        SynchronousMessage worker = (SynchronousMessage) messageWaitingDone.remove(xid);
+        Callable<?> worker = messageWaitingDone.remove(xid);
         if (worker == null) {
             return;
         }
-        worker.wakeup();
+        if (worker instanceof BatchMessage) {
+            ((BatchMessage) worker).wakeup();
+        } else {
+            ((SynchronousMessage) worker).wakeup();
+        }
     }
 
     private void processErrorReply(OFError errorMsg) {
@@ -651,14 +744,16 @@ public class SwitchHandler implements ISwitch {
             xid = errorMsg.getXid();
         }
         /*
-         * the error can be a reply to a synchronous message or to a statistic
-         * request message
+         * the error can be a reply to a synchronous message, to a message of
+         * a batch or to a statistic request message
          */
         Callable<?> worker = messageWaitingDone.remove(xid);
         if (worker == null) {
             return;
         }
-        if (worker instanceof SynchronousMessage) {
+        if (worker instanceof BatchMessage) {
+            ((BatchMessage) worker).error(xid, errorMsg);
+        } else if (worker instanceof SynchronousMessage) {
             ((SynchronousMessage) worker).wakeup(errorMsg);
         } else {
             ((StatisticsCollector) worker).wakeup(errorMsg);
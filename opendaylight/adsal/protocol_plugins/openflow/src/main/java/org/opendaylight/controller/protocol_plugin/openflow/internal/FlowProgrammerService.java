@@ -9,8 +9,10 @@
 package org.opendaylight.controller.protocol_plugin.openflow.internal;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -411,6 +413,206 @@ public class FlowProgrammerService implements IPluginInFlowProgrammerService,
                 "Internal plugin error"));
     }
 
+    @Override
+    public List<Status> addFlows(Node node, List<Flow> flows) {
+        if (!connectionOutService.isLocal(node)) {
+            log.debug("Add flows will not be processed in a non-master controller for node " + node);
+            return batchStatus(flows.size(), new Status(StatusCode.NOTALLOWED,
+                    "This is not the master controller for " + node));
+        }
+
+        String action = "add";
+        if (!node.getType().equals(NodeIDType.OPENFLOW)) {
+            return batchStatus(flows.size(), new Status(StatusCode.NOTACCEPTABLE,
+                    errorString("send", action, "Invalid node type")));
+        }
+
+        Status[] result = new Status[flows.size()];
+        List<OFMessage> msgs = new ArrayList<OFMessage>();
+        List<Integer> msgFlows = new ArrayList<Integer>();
+        List<String> msgActions = new ArrayList<String>();
+        for (int i = 0; i < flows.size(); i++) {
+            Status status = validateFlow(flows.get(i));
+            if (!status.isSuccess()) {
+                result[i] = status;
+                continue;
+            }
+            msgs.add(new FlowConverter(flows.get(i)).getOFFlowMod(OFFlowMod.OFPFC_ADD, null));
+            msgFlows.add(i);
+            msgActions.add(action);
+        }
+        return batchSend(node, action, msgs, msgFlows, msgActions, result);
+    }
+
+    @Override
+    public List<Status> modifyFlows(Node node, List<Flow> oldFlows, List<Flow> newFlows) {
+        if (!connectionOutService.isLocal(node)) {
+            log.debug("Modify flows will not be processed in a non-master controller for node " + node);
+            return batchStatus(newFlows.size(), new Status(StatusCode.NOTALLOWED,
+                    "This is not the master controller for " + node));
+        }
+
+        String action = "modify";
+        if (!node.getType().equals(NodeIDType.OPENFLOW)) {
+            return batchStatus(newFlows.size(), new Status(StatusCode.NOTACCEPTABLE,
+                    errorString("send", action, "Invalid node type")));
+        }
+
+        Status[] result = new Status[newFlows.size()];
+        List<OFMessage> msgs = new ArrayList<OFMessage>();
+        List<Integer> msgFlows = new ArrayList<Integer>();
+        List<String> msgActions = new ArrayList<String>();
+        List<OFMessage> addMsgs = new ArrayList<OFMessage>();
+        List<Integer> addFlows = new ArrayList<Integer>();
+        for (int i = 0; i < newFlows.size(); i++) {
+            Flow oldFlow = oldFlows.get(i);
+            Flow newFlow = newFlows.get(i);
+            Status status = validateFlow(newFlow);
+            if (!status.isSuccess()) {
+                result[i] = status;
+                continue;
+            }
+            // Same as modifyFlowInternal, the flow is replaced if priority or
+            // match portion changed
+            if (oldFlow.getPriority() != newFlow.getPriority()
+                    || !oldFlow.getMatch().equals(newFlow.getMatch())) {
+                msgs.add(new FlowConverter(oldFlow).getOFFlowMod(
+                        OFFlowMod.OFPFC_DELETE_STRICT, OFPort.OFPP_NONE));
+                msgFlows.add(i);
+                msgActions.add("delete");
+                addMsgs.add(new FlowConverter(newFlow).getOFFlowMod(
+                        OFFlowMod.OFPFC_ADD, null));
+                addFlows.add(i);
+            } else {
+                msgs.add(new FlowConverter(newFlow).getOFFlowMod(
+                        OFFlowMod.OFPFC_MODIFY_STRICT, null));
+                msgFlows.add(i);
+                msgActions.add(action);
+            }
+        }
+
+        Status failure = sendBatch(node, action, msgs, msgFlows, msgActions, result);
+        if (failure == null) {
+            /*
+             * As in modifyFlowInternal, the new flow is only added once the
+             * old one is deleted, so the adds go in a second batch and skip
+             * the flows whose delete failed
+             */
+            msgs = new ArrayList<OFMessage>();
+            msgFlows = new ArrayList<Integer>();
+            msgActions = new ArrayList<String>();
+            for (int i = 0; i < addMsgs.size(); i++) {
+                if (result[addFlows.get(i)] == null) {
+                    msgs.add(addMsgs.get(i));
+                    msgFlows.add(addFlows.get(i));
+                    msgActions.add("add");
+                }
+            }
+            failure = sendBatch(node, action, msgs, msgFlows, msgActions, result);
+        }
+        return batchResult(result, failure);
+    }
+
+    @Override
+    public List<Status> removeFlows(Node node, List<Flow> flows) {
+        if (!connectionOutService.isLocal(node)) {
+            log.debug("Remove flows will not be processed in a non-master controller for node " + node);
+            return batchStatus(flows.size(), new Status(StatusCode.NOTALLOWED,
+                    "This is not the master controller for " + node));
+        }
+
+        String action = "remove";
+        if (!node.getType().equals(NodeIDType.OPENFLOW)) {
+            return batchStatus(flows.size(), new Status(StatusCode.NOTACCEPTABLE,
+                    errorString("send", action, "Invalid node type")));
+        }
+
+        Status[] result = new Status[flows.size()];
+        List<OFMessage> msgs = new ArrayList<OFMessage>();
+        List<Integer> msgFlows = new ArrayList<Integer>();
+        List<String> msgActions = new ArrayList<String>();
+        for (int i = 0; i < flows.size(); i++) {
+            msgs.add(new FlowConverter(flows.get(i)).getOFFlowMod(
+                    OFFlowMod.OFPFC_DELETE_STRICT, OFPort.OFPP_NONE));
+            msgFlows.add(i);
+            msgActions.add(action);
+        }
+        return batchSend(node, action, msgs, msgFlows, msgActions, result);
+    }
+
+    /*
+     * Sends the messages of a batch followed by a single Barrier message and
+     * waits for the Barrier reply. The messages do not go through asyncMsgSend:
+     * the switch matches the errors to the messages before the Barrier reply is
+     * processed, so no intermediate Barrier is needed and the xid2rid map is
+     * left untouched. msgFlows and msgActions give the flow index and the
+     * action of each message, result already holds the status of the flows
+     * which were rejected before sending.
+     */
+    private List<Status> batchSend(Node node, String action, List<OFMessage> msgs,
+            List<Integer> msgFlows, List<String> msgActions, Status[] result) {
+        return batchResult(result, sendBatch(node, action, msgs, msgFlows, msgActions, result));
+    }
+
+    /*
+     * Sends a batch as batchSend does and records the status of the messages
+     * which failed in result. Returns the status of all the other flows if
+     * the batch could not be sent, null otherwise.
+     */
+    private Status sendBatch(Node node, String action, List<OFMessage> msgs,
+            List<Integer> msgFlows, List<String> msgActions, Status[] result) {
+        Status failure = null;
+        if (controller == null) {
+            failure = new Status(StatusCode.INTERNALERROR, errorString("send", action,
+                    "Internal plugin error"));
+        } else if (!msgs.isEmpty()) {
+            ISwitch sw = controller.getSwitch((Long) node.getID());
+            if (sw == null) {
+                failure = new Status(StatusCode.GONE, errorString("send", action,
+                        "Switch is not available"));
+            } else {
+                Object reply = sw.syncSendBatch(msgs);
+                for (int i = 0; i < msgs.size(); i++) {
+                    int flow = msgFlows.get(i);
+                    if (result[flow] != null) {
+                        continue;
+                    }
+                    Object error;
+                    if (reply instanceof List) {
+                        error = ((List<?>) reply).get(i);
+                        if (error == null) {
+                            continue;
+                        }
+                    } else {
+                        // The Barrier failed, all the flows share its result
+                        error = reply;
+                    }
+                    result[flow] = getStatusInternal(error, msgActions.get(i), 0);
+                }
+            }
+        }
+        return failure;
+    }
+
+    /*
+     * Completes the statuses of a batch, the flows without a status get the
+     * failure of the batch if any, SUCCESS otherwise
+     */
+    private List<Status> batchResult(Status[] result, Status failure) {
+        for (int i = 0; i < result.length; i++) {
+            if (result[i] == null) {
+                result[i] = (failure != null) ? failure : new Status(StatusCode.SUCCESS);
+            }
+        }
+        return Arrays.asList(result);
+    }
+
+    private List<Status> batchStatus(int size, Status status) {
+        Status[] result = new Status[size];
+        Arrays.fill(result, status);
+        return Arrays.asList(result);
+    }
+
     @Override
     public Status removeAllFlows(Node node) {
         if (!connectionOutService.isLocal(node)) {
@@ -32,6 +32,7 @@ import org.opendaylight.controller.protocol_plugin.openflow.IInventoryShimExtern
 import org.opendaylight.controller.protocol_plugin.openflow.IOFStatisticsListener;
 import org.opendaylight.controller.protocol_plugin.openflow.IOFStatisticsManager;
 import org.opendaylight.controller.protocol_plugin.openflow.core.IController;
+import org.opendaylight.controller.protocol_plugin.openflow.core.IStatisticsReplyHandler;
 import org.opendaylight.controller.protocol_plugin.openflow.core.ISwitch;
 import org.opendaylight.controller.protocol_plugin.openflow.vendorextension.v6extension.V6Match;
 import org.opendaylight.controller.protocol_plugin.openflow.vendorextension.v6extension.V6StatsReply;
@@ -88,8 +89,12 @@ public class OFStatisticsManager implements IOFStatisticsManager, IInventoryShim
     private ConcurrentMap<Long, List<OFStatistics>> tableStatistics;
     private ConcurrentMap<Long, StatisticsTicks> statisticsTimerTicks;
     protected BlockingQueue<StatsRequest> pendingStatsRequests;
+    // Requests sent to the switches whose reply is not yet processed
+    private Set<StatsRequest> outstandingStatsRequests;
+    private BlockingQueue<StatsReply> receivedStatsReplies;
     protected BlockingQueue<Long> switchPortStatsUpdated;
     private Thread statisticsCollector;
+    private Thread statisticsProcessor;
     private Thread txRatesUpdater;
     private Timer statisticsTimer;
     private TimerTask statisticsTimerTask;
@@ -191,6 +196,8 @@ public class OFStatisticsManager implements IOFStatisticsManager, IInventoryShim
         portStatistics = new ConcurrentHashMap<Long, List<OFStatistics>>();
         tableStatistics = new ConcurrentHashMap<Long, List<OFStatistics>>();
         pendingStatsRequests = new LinkedBlockingQueue<StatsRequest>(getStatsQueueSize());
+        outstandingStatsRequests = Collections.newSetFromMap(new ConcurrentHashMap<StatsRequest, Boolean>());
+        receivedStatsReplies = new LinkedBlockingQueue<StatsReply>();
         statisticsTimerTicks = new ConcurrentHashMap<Long, StatisticsTicks>(INITIAL_SIZE);
         switchPortStatsUpdated = new LinkedBlockingQueue<Long>(INITIAL_SIZE);
         switchSupportsVendorExtStats = new ConcurrentHashMap<Long, Boolean>(INITIAL_SIZE);
@@ -207,14 +214,16 @@ public class OFStatisticsManager implements IOFStatisticsManager, IInventoryShim
             }
         };
 
-        // Initialize Statistics collector thread
+        // Initialize Statistics collector thread. It only sends the requests,
+        // the replies are handled by the statistics processor thread, so that
+        // a slow switch does not hold back the requests to the others
         statisticsCollector = new Thread(new Runnable() {
             @Override
             public void run() {
                 while (true) {
                     try {
                         StatsRequest req = pendingStatsRequests.take();
-                        queryStatisticsInternal(req.switchId, req.type);
+                        requestStatisticsInternal(req);
                     } catch (InterruptedException e) {
                         log.warn("Flow Statistics Collector thread "
                                 + "interrupted", e);
@@ -224,6 +233,22 @@ public class OFStatisticsManager implements IOFStatisticsManager, IInventoryShim
             }
         }, "Statistics Collector");
 
+        // Initialize Statistics processor thread
+        statisticsProcessor = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (true) {
+                    try {
+                        StatsReply reply = receivedStatsReplies.take();
+                        processStatisticsReply(reply);
+                    } catch (InterruptedException e) {
+                        log.warn("Statistics Processor thread interrupted", e);
+                        return;
+                    }
+                }
+            }
+        }, "Statistics Processor");
+
         // Initialize Tx Rate Updater thread
         txRatesUpdater = new Thread(new Runnable() {
             @Override
@@ -260,8 +285,8 @@ public class OFStatisticsManager implements IOFStatisticsManager, IInventoryShim
         // Start managed timers
         statisticsTimer.scheduleAtFixedRate(statisticsTimerTask, 0, TICK);
 
-        // Start statistics collector thread
-        statisticsCollector.start();
+        // Start statistics collector and processor threads
+        startStatisticsThreads();
 
         // Start bandwidth utilization computer thread
         txRatesUpdater.start();
@@ -279,6 +304,19 @@ public class OFStatisticsManager implements IOFStatisticsManager, IInventoryShim
     void stop() {
         // Stop managed timers
         statisticsTimer.cancel();
+
+        // Stop statistics collector and processor threads
+        statisticsCollector.interrupt();
+        statisticsProcessor.interrupt();
+    }
+
+    /*
+     * Starts the threads which send the statistics requests and process the
+     * replies
+     */
+    void startStatisticsThreads() {
+        statisticsCollector.start();
+        statisticsProcessor.start();
     }
 
     public void setStatisticsListener(IOFStatisticsListener s) {
@@ -296,7 +334,17 @@ public class OFStatisticsManager implements IOFStatisticsManager, IInventoryShim
         bundleContext.registerService(CommandProvider.class.getName(), this, null);
     }
 
-    private static class StatsRequest {
+    private static class StatsReply {
+        protected StatsRequest request;
+        protected Object result;
+
+        public StatsReply(StatsRequest request, Object result) {
+            this.request = request;
+            this.result = result;
+        }
+    }
+
+    static class StatsRequest {
         protected Long switchId;
         protected OFStatisticsType type;
 
@@ -514,11 +562,41 @@ public class OFStatisticsManager implements IOFStatisticsManager, IInventoryShim
                 HexString.toHexString(switchId));
     }
 
-    private void queryStatisticsInternal(Long switchId, OFStatisticsType statType) {
-
+    private void requestStatisticsInternal(final StatsRequest request) {
+        ISwitch sw = controller.getSwitch(request.switchId);
+        if (sw == null) {
+            return;
+        }
         // Query the switch on all matches
-        List<OFStatistics> values = this.fetchStatisticsFromSwitch(switchId, statType, null);
+        OFStatisticsRequest req = createStatisticsRequest(request.type, null);
+        if (req == null) {
+            return;
+        }
+        if (!outstandingStatsRequests.add(request)) {
+            log.trace("{} stats request for switch {} is still waiting for the reply",
+                    request.type, HexString.toHexString(request.switchId));
+            return;
+        }
+        sw.getStatistics(req, new IStatisticsReplyHandler() {
+            @Override
+            public void statisticsRequestCompleted(ISwitch sw, Object result) {
+                receivedStatsReplies.offer(new StatsReply(request, result));
+            }
+        });
+    }
 
+    private void processStatisticsReply(StatsReply reply) {
+        StatsRequest request = reply.request;
+        List<OFStatistics> values = processStatisticsResult(request.switchId, request.type, reply.result);
+        outstandingStatsRequests.remove(request);
+        if (!statisticsTimerTicks.containsKey(request.switchId)) {
+            // Switch was removed while the request was outstanding
+            return;
+        }
+        updateStatistics(request.switchId, request.type, values);
+    }
+
+    private void updateStatistics(Long switchId, OFStatisticsType statType, List<OFStatistics> values) {
         // If got a valid response update local cache and notify listeners
         if (!values.isEmpty()) {
             switch (statType) {
@@ -584,127 +662,137 @@ public class OFStatisticsManager implements IOFStatisticsManager, IInventoryShim
     /*
      * Generic function to get the statistics form an OF switch
      */
-    @SuppressWarnings("unchecked")
     private List<OFStatistics> fetchStatisticsFromSwitch(Long switchId,
             OFStatisticsType statsType, Object target) {
-        List<OFStatistics> values = Collections.emptyList();
-        String type = null;
         ISwitch sw = controller.getSwitch(switchId);
+        if (sw == null) {
+            return Collections.emptyList();
+        }
+        OFStatisticsRequest req = createStatisticsRequest(statsType, target);
+        if (req == null) {
+            return Collections.emptyList();
+        }
+        Object result = sw.getStatistics(req);
+        return processStatisticsResult(switchId, statsType, result);
+    }
 
-        if (sw != null) {
-            OFStatisticsRequest req = new OFStatisticsRequest();
-            req.setStatisticType(statsType);
-            int requestLength = req.getLengthU();
-
-            if (statsType == OFStatisticsType.FLOW) {
-                OFMatch match = null;
-                if (target == null) {
-                    // All flows request
-                    match = new OFMatch();
-                    match.setWildcards(0xffffffff);
-                } else if (!(target instanceof OFMatch)) {
-                    // Malformed request
-                    log.warn("Invalid target type for Flow stats request: {}",
-                            target.getClass());
-                    return Collections.emptyList();
-                } else {
-                    // Specific flow request
-                    match = (OFMatch) target;
-                }
-                OFFlowStatisticsRequest specificReq = new OFFlowStatisticsRequest();
-                specificReq.setMatch(match);
-                specificReq.setOutPort(OFPort.OFPP_NONE.getValue());
-                specificReq.setTableId((byte) 0xff);
-                req.setStatistics(Collections
-                        .singletonList((OFStatistics) specificReq));
-                requestLength += specificReq.getLength();
-                type = "FLOW";
-            } else if (statsType == OFStatisticsType.VENDOR) {
-                V6StatsRequest specificReq = new V6StatsRequest();
-                specificReq.setOutPort(OFPort.OFPP_NONE.getValue());
-                specificReq.setTableId((byte) 0xff);
-                req.setStatistics(Collections
-                        .singletonList((OFStatistics) specificReq));
-                requestLength += specificReq.getLength();
-                type = "VENDOR";
-            } else if (statsType == OFStatisticsType.AGGREGATE) {
-                OFAggregateStatisticsRequest specificReq = new OFAggregateStatisticsRequest();
-                OFMatch match = new OFMatch();
+    /*
+     * Builds the statistics request for the given type and target. Returns
+     * null if the target is not valid for the type
+     */
+    private OFStatisticsRequest createStatisticsRequest(OFStatisticsType statsType, Object target) {
+        OFStatisticsRequest req = new OFStatisticsRequest();
+        req.setStatisticType(statsType);
+        int requestLength = req.getLengthU();
+
+        if (statsType == OFStatisticsType.FLOW) {
+            OFMatch match = null;
+            if (target == null) {
+                // All flows request
+                match = new OFMatch();
                 match.setWildcards(0xffffffff);
-                specificReq.setMatch(match);
-                specificReq.setOutPort(OFPort.OFPP_NONE.getValue());
-                specificReq.setTableId((byte) 0xff);
-                req.setStatistics(Collections
-                        .singletonList((OFStatistics) specificReq));
-                requestLength += specificReq.getLength();
-                type = "AGGREGATE";
-            } else if (statsType == OFStatisticsType.PORT) {
-                short targetPort;
-                if (target == null) {
-                    // All ports request
-                    targetPort = OFPort.OFPP_NONE.getValue();
-                } else if (!(target instanceof Short)) {
+            } else if (!(target instanceof OFMatch)) {
+                // Malformed request
+                log.warn("Invalid target type for Flow stats request: {}",
+                        target.getClass());
+                return null;
+            } else {
+                // Specific flow request
+                match = (OFMatch) target;
+            }
+            OFFlowStatisticsRequest specificReq = new OFFlowStatisticsRequest();
+            specificReq.setMatch(match);
+            specificReq.setOutPort(OFPort.OFPP_NONE.getValue());
+            specificReq.setTableId((byte) 0xff);
+            req.setStatistics(Collections
+                    .singletonList((OFStatistics) specificReq));
+            requestLength += specificReq.getLength();
+        } else if (statsType == OFStatisticsType.VENDOR) {
+            V6StatsRequest specificReq = new V6StatsRequest();
+            specificReq.setOutPort(OFPort.OFPP_NONE.getValue());
+            specificReq.setTableId((byte) 0xff);
+            req.setStatistics(Collections
+                    .singletonList((OFStatistics) specificReq));
+            requestLength += specificReq.getLength();
+        } else if (statsType == OFStatisticsType.AGGREGATE) {
+            OFAggregateStatisticsRequest specificReq = new OFAggregateStatisticsRequest();
+            OFMatch match = new OFMatch();
+            match.setWildcards(0xffffffff);
+            specificReq.setMatch(match);
+            specificReq.setOutPort(OFPort.OFPP_NONE.getValue());
+            specificReq.setTableId((byte) 0xff);
+            req.setStatistics(Collections
+                    .singletonList((OFStatistics) specificReq));
+            requestLength += specificReq.getLength();
+        } else if (statsType == OFStatisticsType.PORT) {
+            short targetPort;
+            if (target == null) {
+                // All ports request
+                targetPort = OFPort.OFPP_NONE.getValue();
+            } else if (!(target instanceof Short)) {
+                // Malformed request
+                log.warn("Invalid target type for Port stats request: {}",
+                        target.getClass());
+                return null;
+            } else {
+                // Specific port request
+                targetPort = (Short) target;
+            }
+            OFPortStatisticsRequest specificReq = new OFPortStatisticsRequest();
+            specificReq.setPortNumber(targetPort);
+            req.setStatistics(Collections
+                    .singletonList((OFStatistics) specificReq));
+            requestLength += specificReq.getLength();
+        } else if (statsType == OFStatisticsType.QUEUE) {
+            OFQueueStatisticsRequest specificReq = new OFQueueStatisticsRequest();
+            specificReq.setPortNumber(OFPort.OFPP_ALL.getValue());
+            specificReq.setQueueId(0xffffffff);
+            req.setStatistics(Collections
+                    .singletonList((OFStatistics) specificReq));
+            requestLength += specificReq.getLength();
+        } else if (statsType == OFStatisticsType.TABLE) {
+            if(target != null){
+                if (!(target instanceof Byte)) {
                     // Malformed request
-                    log.warn("Invalid target type for Port stats request: {}",
+                    log.warn("Invalid table id for table stats request: {}",
                             target.getClass());
-                    return Collections.emptyList();
-                } else {
-                    // Specific port request
-                    targetPort = (Short) target;
+                    return null;
                 }
-                OFPortStatisticsRequest specificReq = new OFPortStatisticsRequest();
-                specificReq.setPortNumber(targetPort);
+                byte targetTable = (Byte) target;
+                OFTableStatistics specificReq = new OFTableStatistics();
+                specificReq.setTableId(targetTable);
                 req.setStatistics(Collections
                         .singletonList((OFStatistics) specificReq));
                 requestLength += specificReq.getLength();
-                type = "PORT";
-            } else if (statsType == OFStatisticsType.QUEUE) {
-                OFQueueStatisticsRequest specificReq = new OFQueueStatisticsRequest();
-                specificReq.setPortNumber(OFPort.OFPP_ALL.getValue());
-                specificReq.setQueueId(0xffffffff);
-                req.setStatistics(Collections
-                        .singletonList((OFStatistics) specificReq));
-                requestLength += specificReq.getLength();
-                type = "QUEUE";
-            } else if (statsType == OFStatisticsType.DESC) {
-                type = "DESC";
-            } else if (statsType == OFStatisticsType.TABLE) {
-                if(target != null){
-                    if (!(target instanceof Byte)) {
-                        // Malformed request
-                        log.warn("Invalid table id for table stats request: {}",
-                                target.getClass());
-                        return Collections.emptyList();
-                    }
-                    byte targetTable = (Byte) target;
-                    OFTableStatistics specificReq = new OFTableStatistics();
-                    specificReq.setTableId(targetTable);
-                    req.setStatistics(Collections
-                            .singletonList((OFStatistics) specificReq));
-                    requestLength += specificReq.getLength();
-                }
-                type = "TABLE";
             }
-            req.setLengthU(requestLength);
-            Object result = sw.getStatistics(req);
+        }
+        req.setLengthU(requestLength);
+        return req;
+    }
 
-            if (result == null) {
-                log.warn("Request Timed Out for ({}) from switch {}", type,
+    /*
+     * Interprets the result of a statistics request
+     */
+    @SuppressWarnings("unchecked")
+    private List<OFStatistics> processStatisticsResult(Long switchId,
+            OFStatisticsType statsType, Object result) {
+        List<OFStatistics> values = Collections.emptyList();
+        if (result == null) {
+            log.warn("Request Timed Out for ({}) from switch {}", statsType,
+                    HexString.toHexString(switchId));
+        } else if (result instanceof OFError) {
+            log.warn("Switch {} failed to handle ({}) stats request: {}",
+                    new Object[] { HexString.toHexString(switchId), statsType,
+                    Utils.getOFErrorString((OFError) result) });
+            if (this.switchSupportsVendorExtStats.get(switchId) == Boolean.TRUE) {
+                log.warn(
+                        "Switching back to regular Flow stats requests for switch {}",
                         HexString.toHexString(switchId));
-            } else if (result instanceof OFError) {
-                log.warn("Switch {} failed to handle ({}) stats request: {}",
-                        new Object[] { HexString.toHexString(switchId), type,
-                        Utils.getOFErrorString((OFError) result) });
-                if (this.switchSupportsVendorExtStats.get(switchId) == Boolean.TRUE) {
-                    log.warn(
-                            "Switching back to regular Flow stats requests for switch {}",
-                            HexString.toHexString(switchId));
-                    this.switchSupportsVendorExtStats.put(switchId,
-                            Boolean.FALSE);
-                }
-            } else {
-                values = (List<OFStatistics>) result;
+                this.switchSupportsVendorExtStats.put(switchId,
+                        Boolean.FALSE);
             }
+        } else {
+            values = (List<OFStatistics>) result;
         }
         return values;
     }
@@ -1049,6 +1137,7 @@ public class OFStatisticsManager implements IOFStatisticsManager, IInventoryShim
         ci.println("Timer Ticks: " + prettyPrintSwitchMap(statisticsTimerTicks));
         ci.println("PendingStatsQueue: " + pendingStatsRequests);
         ci.println("PendingStatsQueue size: " + pendingStatsRequests.size());
+        ci.println("Outstanding stats requests: " + outstandingStatsRequests.size());
         ci.println("Stats Collector alive: " + statisticsCollector.isAlive());
         ci.println("Stats Collector State: "
                 + statisticsCollector.getState().toString());
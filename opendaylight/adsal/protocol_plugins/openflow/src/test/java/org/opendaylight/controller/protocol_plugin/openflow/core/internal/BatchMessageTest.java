@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.protocol_plugin.openflow.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openflow.protocol.OFError;
+import org.openflow.protocol.OFFlowMod;
+import org.openflow.protocol.OFMessage;
+
+/**
+ * Unit test for the matching of the errors received for a batch of messages
+ * sent with {@link BatchMessage}.
+ */
+public class BatchMessageTest {
+    private BatchMessage batch;
+
+    @Before
+    public void setUp() {
+        List<OFMessage> msgs = Arrays.<OFMessage> asList(new OFFlowMod(), new OFFlowMod(), new OFFlowMod());
+        batch = new BatchMessage(null, msgs, Arrays.asList(10, 11, 12), 13);
+    }
+
+    @Test
+    public void testErrorIsMatchedToMessage() {
+        OFError error = new OFError();
+        batch.error(11, error);
+
+        List<OFError> errors = batch.getErrors();
+        assertEquals(3, errors.size());
+        assertNull(errors.get(0));
+        assertSame(error, errors.get(1));
+        assertNull(errors.get(2));
+    }
+
+    @Test
+    public void testUnknownXidIsIgnored() {
+        batch.error(42, new OFError());
+
+        assertEquals(Arrays.asList(null, null, null), batch.getErrors());
+    }
+
+    @Test
+    public void testBarrierErrorIsNotAMessageError() {
+        batch.error(13, new OFError());
+
+        assertEquals(Arrays.asList(null, null, null), batch.getErrors());
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.protocol_plugin.openflow.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.protocol_plugin.openflow.core.IStatisticsReplyHandler;
+import org.opendaylight.controller.protocol_plugin.openflow.core.ISwitch;
+import org.openflow.protocol.OFError;
+import org.openflow.protocol.OFStatisticsReply;
+import org.openflow.protocol.OFStatisticsRequest;
+import org.openflow.protocol.statistics.OFDescriptionStatistics;
+import org.openflow.protocol.statistics.OFStatistics;
+import org.openflow.protocol.statistics.OFStatisticsType;
+
+/**
+ * Unit test for the delivery of the result of a statistics request to an
+ * {@link IStatisticsReplyHandler}.
+ */
+public class StatisticsCollectorTest {
+    private final List<Object> results = new ArrayList<Object>();
+    private ScheduledExecutorService timer;
+    private StatisticsCollector collector;
+
+    @Before
+    public void setUp() {
+        timer = Executors.newSingleThreadScheduledExecutor();
+        OFStatisticsRequest request = new OFStatisticsRequest();
+        request.setStatisticType(OFStatisticsType.DESC);
+        collector = new StatisticsCollector(null, 1, request, new IStatisticsReplyHandler() {
+            @Override
+            public void statisticsRequestCompleted(ISwitch sw, Object result) {
+                results.add(result);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        timer.shutdownNow();
+    }
+
+    private static OFStatisticsReply reply(boolean more) {
+        OFStatisticsReply reply = new OFStatisticsReply();
+        reply.setStatisticType(OFStatisticsType.DESC);
+        reply.setFlags((short) (more ? 0x01 : 0));
+        reply.setStatistics(Collections.<OFStatistics> singletonList(new OFDescriptionStatistics()));
+        return reply;
+    }
+
+    private ScheduledFuture<?> scheduleTimeout() {
+        ScheduledFuture<?> timeout = timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                collector.expire();
+            }
+        }, 1, TimeUnit.HOURS);
+        collector.setTimeout(timeout);
+        return timeout;
+    }
+
+    @Test
+    public void testMultipartReplyIsDeliveredOnce() {
+        ScheduledFuture<?> timeout = scheduleTimeout();
+
+        assertFalse(collector.collect(reply(true)));
+        assertTrue(collector.collect(reply(false)));
+        collector.wakeup();
+
+        assertEquals(1, results.size());
+        assertEquals(2, ((List<?>) results.get(0)).size());
+        assertTrue(timeout.isCancelled());
+
+        // A timeout racing with the reply is ignored
+        collector.expire();
+        assertEquals(1, results.size());
+    }
+
+    @Test
+    public void testExpiredRequest() throws InterruptedException {
+        timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                collector.expire();
+            }
+        }, 10, TimeUnit.MILLISECONDS);
+        timer.shutdown();
+        assertTrue(timer.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(1, results.size());
+        assertNull(results.get(0));
+
+        // A reply arriving after the timeout is ignored
+        collector.collect(reply(false));
+        collector.wakeup();
+        assertEquals(1, results.size());
+    }
+
+    @Test
+    public void testErrorReply() {
+        OFError error = new OFError();
+        collector.wakeup(error);
+
+        assertEquals(1, results.size());
+        assertSame(error, results.get(0));
+    }
+}
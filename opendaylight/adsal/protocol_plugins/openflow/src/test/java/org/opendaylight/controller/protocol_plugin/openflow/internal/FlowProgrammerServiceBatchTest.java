@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.protocol_plugin.openflow.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.sal.action.Action;
+import org.opendaylight.controller.sal.action.Output;
+import org.opendaylight.controller.sal.connection.ConnectionLocality;
+import org.opendaylight.controller.sal.connection.IPluginOutConnectionService;
+import org.opendaylight.controller.sal.core.Node;
+import org.opendaylight.controller.sal.core.UpdateType;
+import org.opendaylight.controller.sal.flowprogrammer.Flow;
+import org.opendaylight.controller.sal.match.Match;
+import org.opendaylight.controller.sal.match.MatchType;
+import org.opendaylight.controller.sal.utils.NodeConnectorCreator;
+import org.opendaylight.controller.sal.utils.NodeCreator;
+import org.opendaylight.controller.sal.utils.Status;
+import org.opendaylight.controller.sal.utils.StatusCode;
+import org.openflow.protocol.OFBarrierRequest;
+import org.openflow.protocol.OFError;
+import org.openflow.protocol.OFError.OFErrorType;
+import org.openflow.protocol.OFError.OFFlowModFailedCode;
+import org.openflow.protocol.OFFlowMod;
+import org.openflow.protocol.OFMessage;
+
+/**
+ * Unit test for the flow batches programmed by {@link FlowProgrammerService}
+ * with a single Barrier message.
+ */
+public class FlowProgrammerServiceBatchTest {
+    private static final Long SWITCH_ID = 1L;
+
+    private FlowProgrammerService service;
+    private TestSwitch sw;
+    private Node node;
+    private boolean local = true;
+
+    @Before
+    public void setUp() {
+        sw = new TestSwitch(SWITCH_ID);
+        TestController controller = new TestController();
+        controller.addSwitch(sw);
+        node = NodeCreator.createOFNode(SWITCH_ID);
+
+        service = new FlowProgrammerService();
+        service.setController(controller);
+        service.setIPluginOutConnectionService(new IPluginOutConnectionService() {
+            @Override
+            public boolean isLocal(Node node) {
+                return local;
+            }
+
+            @Override
+            public ConnectionLocality getLocalityStatus(Node node) {
+                return local ? ConnectionLocality.LOCAL : ConnectionLocality.NOT_LOCAL;
+            }
+        });
+        service.updateNode(node, UpdateType.ADDED, null);
+    }
+
+    private Flow flow(short inPort, short outPort) {
+        Match match = new Match();
+        match.setField(MatchType.IN_PORT, NodeConnectorCreator.createOFNodeConnector(inPort, node));
+        List<Action> actions = new ArrayList<Action>();
+        actions.add(new Output(NodeConnectorCreator.createOFNodeConnector(outPort, node)));
+        return new Flow(match, actions);
+    }
+
+    private static OFError flowModFailed() {
+        OFError error = new OFError();
+        error.setErrorType((short) OFErrorType.OFPET_FLOW_MOD_FAILED.ordinal());
+        error.setErrorCode((short) OFFlowModFailedCode.OFPFMFC_ALL_TABLES_FULL.ordinal());
+        return error;
+    }
+
+    private static List<StatusCode> codes(List<Status> statuses) {
+        List<StatusCode> codes = new ArrayList<StatusCode>();
+        for (Status status : statuses) {
+            codes.add(status.getCode());
+        }
+        return codes;
+    }
+
+    @Test
+    public void testFailedFlowIsReported() {
+        sw.failBatchMessage(1, flowModFailed());
+
+        List<Status> result = service.addFlows(node,
+                Arrays.asList(flow((short) 1, (short) 2), flow((short) 2, (short) 3), flow((short) 3, (short) 4)));
+
+        assertEquals(Arrays.asList(StatusCode.SUCCESS, StatusCode.INTERNALERROR, StatusCode.SUCCESS),
+                codes(result));
+        assertTrue(result.get(1).getDescription().contains("OFPET_FLOW_MOD_FAILED"));
+    }
+
+    @Test
+    public void testBatchIsSentWithSingleBarrier() {
+        List<Flow> flows = new ArrayList<Flow>();
+        for (short i = 1; i <= 150; i++) {
+            flows.add(flow(i, (short) (i + 1)));
+        }
+
+        service.addFlows(node, flows);
+
+        assertEquals(1, sw.getBatches().size());
+        assertEquals(150, sw.getBatches().get(0).size());
+        int barriers = 0;
+        for (OFMessage msg : sw.getSentMessages()) {
+            if (msg instanceof OFBarrierRequest) {
+                barriers++;
+            }
+        }
+        assertEquals(1, barriers);
+    }
+
+    @Test
+    public void testInvalidFlowIsNotSent() {
+        Flow invalid = flow((short) 2, (short) 3);
+        // Network protocol without IP ethertype
+        invalid.getMatch().setField(MatchType.NW_PROTO, (byte) 6);
+
+        List<Status> result = service.addFlows(node, Arrays.asList(flow((short) 1, (short) 2), invalid));
+
+        assertEquals(Arrays.asList(StatusCode.SUCCESS, StatusCode.NOTACCEPTABLE), codes(result));
+        assertEquals(1, sw.getBatches().get(0).size());
+    }
+
+    private static List<Short> commands(List<OFMessage> batch) {
+        List<Short> commands = new ArrayList<Short>();
+        for (OFMessage msg : batch) {
+            commands.add(((OFFlowMod) msg).getCommand());
+        }
+        return commands;
+    }
+
+    @Test
+    public void testModifyWithFailedAdd() {
+        Flow oldFlow = flow((short) 1, (short) 2);
+        // The match changed, the old flow is deleted and the new one added
+        Flow newFlow = flow((short) 5, (short) 2);
+        Flow otherOld = flow((short) 3, (short) 4);
+        Flow otherNew = flow((short) 3, (short) 5);
+        // The add is the only message of the second batch
+        sw.failBatchMessage(1, 0, flowModFailed());
+
+        List<Status> result = service.modifyFlows(node, Arrays.asList(oldFlow, otherOld),
+                Arrays.asList(newFlow, otherNew));
+
+        assertEquals(Arrays.asList(StatusCode.INTERNALERROR, StatusCode.SUCCESS), codes(result));
+        assertTrue(result.get(0).getDescription().contains("add"));
+        assertEquals(2, sw.getBatches().size());
+        assertEquals(Arrays.asList(OFFlowMod.OFPFC_DELETE_STRICT, OFFlowMod.OFPFC_MODIFY_STRICT),
+                commands(sw.getBatches().get(0)));
+        assertEquals(Arrays.asList(OFFlowMod.OFPFC_ADD), commands(sw.getBatches().get(1)));
+    }
+
+    @Test
+    public void testModifyWithFailedDeleteSkipsAdd() {
+        Flow oldFlow = flow((short) 1, (short) 2);
+        Flow newFlow = flow((short) 5, (short) 2);
+        Flow otherOld = flow((short) 3, (short) 4);
+        Flow otherNew = flow((short) 6, (short) 4);
+        sw.failBatchMessage(0, 0, flowModFailed());
+
+        List<Status> result = service.modifyFlows(node, Arrays.asList(oldFlow, otherOld),
+                Arrays.asList(newFlow, otherNew));
+
+        assertEquals(Arrays.asList(StatusCode.INTERNALERROR, StatusCode.SUCCESS), codes(result));
+        assertTrue(result.get(0).getDescription().contains("delete"));
+        // Only the flow whose delete succeeded is added
+        assertEquals(2, sw.getBatches().size());
+        assertEquals(Arrays.asList(OFFlowMod.OFPFC_DELETE_STRICT, OFFlowMod.OFPFC_DELETE_STRICT),
+                commands(sw.getBatches().get(0)));
+        assertEquals(Arrays.asList(OFFlowMod.OFPFC_ADD), commands(sw.getBatches().get(1)));
+        assertEquals(new FlowConverter(otherNew).getOFFlowMod(OFFlowMod.OFPFC_ADD, null).getMatch(),
+                ((OFFlowMod) sw.getBatches().get(1).get(0)).getMatch());
+    }
+
+    @Test
+    public void testModifyInPlaceIsSentInSingleBatch() {
+        Flow oldFlow = flow((short) 1, (short) 2);
+        Flow newFlow = flow((short) 1, (short) 3);
+
+        List<Status> result = service.modifyFlows(node, Arrays.asList(oldFlow), Arrays.asList(newFlow));
+
+        assertEquals(Arrays.asList(StatusCode.SUCCESS), codes(result));
+        assertEquals(1, sw.getBatches().size());
+        assertEquals(Arrays.asList(OFFlowMod.OFPFC_MODIFY_STRICT), commands(sw.getBatches().get(0)));
+    }
+
+    @Test
+    public void testRemoveFlows() {
+        sw.failBatchMessage(0, flowModFailed());
+
+        List<Status> result = service.removeFlows(node,
+                Arrays.asList(flow((short) 1, (short) 2), flow((short) 2, (short) 3)));
+
+        assertEquals(Arrays.asList(StatusCode.INTERNALERROR, StatusCode.SUCCESS), codes(result));
+    }
+
+    @Test
+    public void testBarrierTimeout() {
+        sw.setBatchResult(Boolean.FALSE);
+
+        List<Status> result = service.addFlows(node,
+                Arrays.asList(flow((short) 1, (short) 2), flow((short) 2, (short) 3)));
+
+        assertEquals(Arrays.asList(StatusCode.TIMEOUT, StatusCode.TIMEOUT), codes(result));
+    }
+
+    @Test
+    public void testNonMasterController() {
+        local = false;
+
+        List<Status> result = service.addFlows(node, Arrays.asList(flow((short) 1, (short) 2)));
+
+        assertEquals(Arrays.asList(StatusCode.NOTALLOWED), codes(result));
+        assertTrue(sw.getBatches().isEmpty());
+    }
+
+    @Test
+    public void testSwitchNotAvailable() {
+        Node gone = NodeCreator.createOFNode(2L);
+
+        List<Status> result = service.addFlows(gone, Arrays.asList(flow((short) 1, (short) 2)));
+
+        assertEquals(Arrays.asList(StatusCode.GONE), codes(result));
+    }
+}
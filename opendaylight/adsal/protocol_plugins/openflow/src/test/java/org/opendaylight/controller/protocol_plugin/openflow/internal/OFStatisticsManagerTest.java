@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.protocol_plugin.openflow.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.protocol_plugin.openflow.IOFStatisticsListener;
+import org.opendaylight.controller.protocol_plugin.openflow.core.IStatisticsReplyHandler;
+import org.opendaylight.controller.sal.core.UpdateType;
+import org.opendaylight.controller.sal.utils.NodeCreator;
+import org.openflow.protocol.statistics.OFDescriptionStatistics;
+import org.openflow.protocol.statistics.OFStatistics;
+import org.openflow.protocol.statistics.OFStatisticsType;
+
+/**
+ * Unit test for the periodic statistics requests sent by
+ * {@link OFStatisticsManager} without waiting for the replies.
+ */
+public class OFStatisticsManagerTest {
+    private static final long TIMEOUT = 5000;
+    private static final Long SWITCH_ID = 1L;
+    // Switch whose replies tell that the previous ones were processed
+    private static final Long MARKER_ID = 2L;
+
+    private OFStatisticsManager manager;
+    private TestSwitch sw;
+    private TestSwitch marker;
+    private final BlockingQueue<Long> refreshed = new LinkedBlockingQueue<Long>();
+
+    private class DescriptionListener implements IOFStatisticsListener {
+        @Override
+        public void descriptionStatisticsRefreshed(Long switchId, List<OFStatistics> description) {
+            refreshed.add(switchId);
+        }
+
+        @Override
+        public void flowStatisticsRefreshed(Long switchId, List<OFStatistics> flows) {
+        }
+
+        @Override
+        public void portStatisticsRefreshed(Long switchId, List<OFStatistics> ports) {
+        }
+
+        @Override
+        public void tableStatisticsRefreshed(Long switchId, List<OFStatistics> tables) {
+        }
+    }
+
+    @Before
+    public void setUp() {
+        sw = new TestSwitch(SWITCH_ID);
+        marker = new TestSwitch(MARKER_ID);
+        TestController controller = new TestController();
+        controller.addSwitch(sw);
+        controller.addSwitch(marker);
+
+        manager = new OFStatisticsManager();
+        manager.setController(controller);
+        manager.setStatisticsListener(new DescriptionListener());
+        manager.init();
+        manager.updateNode(NodeCreator.createOFNode(SWITCH_ID), UpdateType.ADDED, null);
+        manager.updateNode(NodeCreator.createOFNode(MARKER_ID), UpdateType.ADDED, null);
+        manager.startStatisticsThreads();
+    }
+
+    @After
+    public void tearDown() {
+        manager.stop();
+    }
+
+    private static List<OFStatistics> descStatistics() {
+        return Collections.<OFStatistics> singletonList(new OFDescriptionStatistics());
+    }
+
+    private void requestDescStatistics(Long switchId) {
+        manager.pendingStatsRequests.offer(new OFStatisticsManager.StatsRequest(switchId,
+                OFStatisticsType.DESC));
+    }
+
+    /*
+     * Requests and replies are handled in order, so once the reply of the
+     * marker switch is processed, so are all the earlier requests and replies.
+     * Returns the switches whose description was refreshed in the meantime
+     */
+    private List<Long> awaitProcessing() throws InterruptedException {
+        requestDescStatistics(MARKER_ID);
+        IStatisticsReplyHandler handler = marker.nextStatisticsRequest(TIMEOUT);
+        assertNotNull("Marker request was not sent", handler);
+        handler.statisticsRequestCompleted(marker, descStatistics());
+
+        List<Long> notified = new ArrayList<Long>();
+        Long switchId = refreshed.poll(TIMEOUT, TimeUnit.MILLISECONDS);
+        while (!MARKER_ID.equals(switchId)) {
+            assertNotNull("Marker reply was not processed", switchId);
+            notified.add(switchId);
+            switchId = refreshed.poll(TIMEOUT, TimeUnit.MILLISECONDS);
+        }
+        return notified;
+    }
+
+    @Test
+    public void testReplyUpdatesTheCache() throws InterruptedException {
+        requestDescStatistics(SWITCH_ID);
+        IStatisticsReplyHandler handler = sw.nextStatisticsRequest(TIMEOUT);
+        assertNotNull(handler);
+
+        List<OFStatistics> values = descStatistics();
+        handler.statisticsRequestCompleted(sw, values);
+
+        assertEquals(Collections.singletonList(SWITCH_ID), awaitProcessing());
+        assertEquals(values, manager.getOFDescStatistics(SWITCH_ID));
+    }
+
+    @Test
+    public void testTimedOutRequestIsSentAgain() throws InterruptedException {
+        requestDescStatistics(SWITCH_ID);
+        IStatisticsReplyHandler handler = sw.nextStatisticsRequest(TIMEOUT);
+        assertNotNull(handler);
+
+        // The request expired without reply
+        handler.statisticsRequestCompleted(sw, null);
+
+        assertTrue(awaitProcessing().isEmpty());
+        assertTrue(manager.getOFDescStatistics(SWITCH_ID).isEmpty());
+
+        // It is no longer outstanding
+        requestDescStatistics(SWITCH_ID);
+        assertNotNull(sw.nextStatisticsRequest(TIMEOUT));
+    }
+
+    @Test
+    public void testOutstandingRequestIsNotSentAgain() throws InterruptedException {
+        requestDescStatistics(SWITCH_ID);
+        IStatisticsReplyHandler handler = sw.nextStatisticsRequest(TIMEOUT);
+        assertNotNull(handler);
+
+        requestDescStatistics(SWITCH_ID);
+        awaitProcessing();
+        assertNull(sw.nextStatisticsRequest(0));
+
+        // Once the reply is processed the next request goes out
+        handler.statisticsRequestCompleted(sw, descStatistics());
+        assertEquals(Collections.singletonList(SWITCH_ID), awaitProcessing());
+
+        requestDescStatistics(SWITCH_ID);
+        assertNotNull(sw.nextStatisticsRequest(TIMEOUT));
+    }
+
+    @Test
+    public void testReplyForRemovedSwitchIsDropped() throws InterruptedException {
+        requestDescStatistics(SWITCH_ID);
+        IStatisticsReplyHandler handler = sw.nextStatisticsRequest(TIMEOUT);
+        assertNotNull(handler);
+
+        manager.updateNode(NodeCreator.createOFNode(SWITCH_ID), UpdateType.REMOVED, null);
+        handler.statisticsRequestCompleted(sw, descStatistics());
+
+        assertTrue(awaitProcessing().isEmpty());
+        assertTrue(manager.getOFDescStatistics(SWITCH_ID).isEmpty());
+
+        // The request is no longer outstanding either
+        requestDescStatistics(SWITCH_ID);
+        assertNotNull(sw.nextStatisticsRequest(TIMEOUT));
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.protocol_plugin.openflow.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.opendaylight.controller.protocol_plugin.openflow.core.IController;
+import org.opendaylight.controller.protocol_plugin.openflow.core.IMessageListener;
+import org.opendaylight.controller.protocol_plugin.openflow.core.ISwitch;
+import org.opendaylight.controller.protocol_plugin.openflow.core.ISwitchStateListener;
+import org.openflow.protocol.OFType;
+
+/**
+ * Controller which only knows about the switches the tests add to it.
+ */
+class TestController implements IController {
+    private final Map<Long, ISwitch> switches = new HashMap<Long, ISwitch>();
+
+    void addSwitch(ISwitch sw) {
+        switches.put(sw.getId(), sw);
+    }
+
+    @Override
+    public void addMessageListener(OFType type, IMessageListener listener) {
+    }
+
+    @Override
+    public void removeMessageListener(OFType type, IMessageListener listener) {
+    }
+
+    @Override
+    public void addSwitchStateListener(ISwitchStateListener listener) {
+    }
+
+    @Override
+    public void removeSwitchStateListener(ISwitchStateListener listener) {
+    }
+
+    @Override
+    public Map<Long, ISwitch> getSwitches() {
+        return switches;
+    }
+
+    @Override
+    public ISwitch getSwitch(Long switchId) {
+        return switches.get(switchId);
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.protocol_plugin.openflow.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.opendaylight.controller.protocol_plugin.openflow.core.IStatisticsReplyHandler;
+import org.opendaylight.controller.protocol_plugin.openflow.core.ISwitch;
+import org.openflow.protocol.OFBarrierRequest;
+import org.openflow.protocol.OFError;
+import org.openflow.protocol.OFMessage;
+import org.openflow.protocol.OFPhysicalPort;
+import org.openflow.protocol.OFStatisticsRequest;
+
+/**
+ * Switch which records the messages and statistics requests sent to it, for
+ * the tests to reply to.
+ */
+class TestSwitch implements ISwitch {
+    private final Long id;
+    private final AtomicInteger xid = new AtomicInteger();
+    private final List<OFMessage> sent = Collections.synchronizedList(new ArrayList<OFMessage>());
+    private final BlockingQueue<IStatisticsReplyHandler> statsHandlers = new LinkedBlockingQueue<IStatisticsReplyHandler>();
+    private final List<List<OFMessage>> batches = new ArrayList<List<OFMessage>>();
+    private final Map<Integer, OFError> batchErrors = new HashMap<Integer, OFError>();
+    private final Map<Integer, Map<Integer, OFError>> singleBatchErrors = new HashMap<Integer, Map<Integer, OFError>>();
+    private Object batchResult;
+
+    TestSwitch(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Waits for the next asynchronous statistics request sent to the switch
+     *
+     * @return the handler to complete the request with, null if no request
+     *         was sent in time
+     */
+    IStatisticsReplyHandler nextStatisticsRequest(long timeoutMillis) throws InterruptedException {
+        return statsHandlers.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Makes the switch respond with an error for the message at the given
+     * position of the next batches
+     */
+    void failBatchMessage(int index, OFError error) {
+        batchErrors.put(index, error);
+    }
+
+    /**
+     * Makes the switch respond with an error for the message at the given
+     * position of the given batch, counting the batches sent from 0
+     */
+    void failBatchMessage(int batch, int index, OFError error) {
+        Map<Integer, OFError> errors = singleBatchErrors.get(batch);
+        if (errors == null) {
+            errors = new HashMap<Integer, OFError>();
+            singleBatchErrors.put(batch, errors);
+        }
+        errors.put(index, error);
+    }
+
+    /**
+     * Makes the next batches end with the given result instead of the Barrier
+     * reply, e.g. Boolean.FALSE for a timeout
+     */
+    void setBatchResult(Object result) {
+        batchResult = result;
+    }
+
+    List<List<OFMessage>> getBatches() {
+        return batches;
+    }
+
+    List<OFMessage> getSentMessages() {
+        synchronized (sent) {
+            return new ArrayList<OFMessage>(sent);
+        }
+    }
+
+    @Override
+    public int getNextXid() {
+        return xid.incrementAndGet();
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public Byte getTables() {
+        return 1;
+    }
+
+    @Override
+    public Integer getActions() {
+        return 0;
+    }
+
+    @Override
+    public Integer getCapabilities() {
+        return 0;
+    }
+
+    @Override
+    public Integer getBuffers() {
+        return 0;
+    }
+
+    @Override
+    public Date getConnectedDate() {
+        return null;
+    }
+
+    @Override
+    public Integer asyncSend(OFMessage msg) {
+        return asyncSend(msg, getNextXid());
+    }
+
+    @Override
+    public Integer asyncSend(OFMessage msg, int xid) {
+        msg.setXid(xid);
+        sent.add(msg);
+        return xid;
+    }
+
+    @Override
+    public Integer asyncFastSend(OFMessage msg) {
+        return asyncSend(msg);
+    }
+
+    @Override
+    public Integer asyncFastSend(OFMessage msg, int xid) {
+        return asyncSend(msg, xid);
+    }
+
+    @Override
+    public Object syncSend(OFMessage msg) {
+        asyncSend(msg);
+        return Boolean.TRUE;
+    }
+
+    @Override
+    public Object syncSendBatch(List<OFMessage> msgs) {
+        batches.add(msgs);
+        for (OFMessage msg : msgs) {
+            asyncSend(msg);
+        }
+        asyncSend(new OFBarrierRequest());
+        if (batchResult != null) {
+            return batchResult;
+        }
+        Map<Integer, OFError> thisBatchErrors = singleBatchErrors.get(batches.size() - 1);
+        List<OFError> errors = new ArrayList<OFError>(msgs.size());
+        for (int i = 0; i < msgs.size(); i++) {
+            if (thisBatchErrors != null && thisBatchErrors.containsKey(i)) {
+                errors.add(thisBatchErrors.get(i));
+            } else {
+                errors.add(batchErrors.get(i));
+            }
+        }
+        return errors;
+    }
+
+    @Override
+    public Map<Short, OFPhysicalPort> getPhysicalPorts() {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public Set<Short> getPorts() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public OFPhysicalPort getPhysicalPort(Short portNumber) {
+        return null;
+    }
+
+    @Override
+    public Integer getPortBandwidth(Short portNumber) {
+        return null;
+    }
+
+    @Override
+    public boolean isPortEnabled(short portNumber) {
+        return false;
+    }
+
+    @Override
+    public boolean isPortEnabled(OFPhysicalPort port) {
+        return false;
+    }
+
+    @Override
+    public List<OFPhysicalPort> getEnabledPorts() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Object getStatistics(OFStatisticsRequest req) {
+        // Blocking requests time out
+        return null;
+    }
+
+    @Override
+    public void getStatistics(OFStatisticsRequest req, IStatisticsReplyHandler handler) {
+        asyncSend(req);
+        statsHandlers.add(handler);
+    }
+
+    @Override
+    public boolean isOperational() {
+        return true;
+    }
+
+    @Override
+    public Object syncSendBarrierMessage() {
+        return Boolean.TRUE;
+    }
+
+    @Override
+    public Object asyncSendBarrierMessage() {
+        return Boolean.TRUE;
+    }
+
+    @Override
+    public void deleteAllFlows() {
+    }
+}
@@ -8,6 +8,9 @@
 
 package org.opendaylight.controller.protocol_plugins.stub.internal;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.opendaylight.controller.sal.flowprogrammer.Flow;
 import org.opendaylight.controller.sal.flowprogrammer.IPluginInFlowProgrammerService;
 import org.opendaylight.controller.sal.core.Node;
@@ -114,6 +117,45 @@ public class FlowProgrammerService implements IPluginInFlowProgrammerService
         return new Status(StatusCode.SUCCESS);
     }
 
+    /**
+     * Synchronously add a batch of flows to the network node
+     *
+     * @param node
+     * @param flows
+     */
+    public List<Status> addFlows(Node node, List<Flow> flows){
+        return success(flows.size());
+    }
+
+    /**
+     * Synchronously modify a batch of existing flows on the network node
+     *
+     * @param node
+     * @param oldFlows
+     * @param newFlows
+     */
+    public List<Status> modifyFlows(Node node, List<Flow> oldFlows, List<Flow> newFlows){
+        return success(newFlows.size());
+    }
+
+    /**
+     * Synchronously remove a batch of flows from the network node
+     *
+     * @param node
+     * @param flows
+     */
+    public List<Status> removeFlows(Node node, List<Flow> flows){
+        return success(flows.size());
+    }
+
+    private List<Status> success(int size) {
+        List<Status> result = new ArrayList<Status>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(new Status(StatusCode.SUCCESS));
+        }
+        return result;
+    }
+
     /**
      * Remove all flows present on the network node
      *
@@ -53,9 +53,20 @@ import org.apache.commons.collections15.Transformer;
 @SuppressWarnings("rawtypes")
 public class DijkstraImplementation implements IRouting, ITopologyManagerClusterWideAware {
     private static Logger log = LoggerFactory.getLogger(DijkstraImplementation.class);
+    private static final Short BASE_BW = Short.valueOf((short) 0);
     private ConcurrentMap<Short, Graph<Node, Edge>> topologyBWAware;
-    private ConcurrentMap<Short, DijkstraShortestPath<Node, Edge>> sptBWAware;
-    DijkstraShortestPath<Node, Edge> mtp; // Max Throughput Path
+    /*
+     * Shortest path calculations run on read-only copies of the graphs in
+     * topologyBWAware. Topology updates publish new snapshots instead of
+     * resetting the ones in use, so route lookups never wait for topology
+     * updates. Each thread runs its lookups on its own calculator of the
+     * snapshot, as the calculator path cache is not thread safe.
+     */
+    private ConcurrentMap<Short, TopologySnapshot> sptBWAware;
+    volatile TopologySnapshot mtp; // Max Throughput Path
+    private Transformer<Edge, ? extends Number> maxThroughputTransformer;
+    // BWs whose topology changed since it was last published
+    private final Set<Short> changedBWs = new HashSet<Short>();
     private Set<IListenRoutingUpdates> routingAware;
     private ISwitchManager switchManager;
     private ITopologyManager topologyManager;
@@ -159,7 +170,80 @@ public class DijkstraImplementation implements IRouting, ITopologyManagerCluster
             log.error("Default Topology Graph is null");
             return;
         }
-        mtp = new DijkstraShortestPath<Node, Edge>(g, mtTransformer);
+        maxThroughputTransformer = mtTransformer;
+        mtp = new TopologySnapshot(copyOf(g), mtTransformer);
+    }
+
+    /**
+     * Read-only copy of a topology graph, published for the route lookups.
+     * Every thread gets its own shortest path calculator on the snapshot, so
+     * the lookups share no state which needs locking.
+     */
+    static final class TopologySnapshot {
+        private final Graph<Node, Edge> graph;
+        private final ThreadLocal<DijkstraShortestPath<Node, Edge>> calculators;
+
+        TopologySnapshot(final Graph<Node, Edge> graph, final Transformer<Edge, ? extends Number> transformer) {
+            this.graph = graph;
+            this.calculators = new ThreadLocal<DijkstraShortestPath<Node, Edge>>() {
+                @Override
+                protected DijkstraShortestPath<Node, Edge> initialValue() {
+                    if (transformer == null) {
+                        return new DijkstraShortestPath<Node, Edge>(graph);
+                    }
+                    return new DijkstraShortestPath<Node, Edge>(graph, transformer);
+                }
+            };
+        }
+
+        Graph<Node, Edge> getGraph() {
+            return graph;
+        }
+
+        List<Edge> getPath(Node src, Node dst) {
+            return calculators.get().getPath(src, dst);
+        }
+
+        List<Edge> getMaxThroughputPath(Node src, Node dst) {
+            return calculators.get().getMaxThroughputPath(src, dst);
+        }
+    }
+
+    private static Graph<Node, Edge> copyOf(Graph<Node, Edge> topo) {
+        Graph<Node, Edge> copy = new SparseMultigraph<Node, Edge>();
+        for (Node node : topo.getVertices()) {
+            copy.addVertex(node);
+        }
+        for (Edge edge : topo.getEdges()) {
+            copy.addEdge(edge, topo.getSource(edge), topo.getDest(edge), EdgeType.DIRECTED);
+        }
+        return copy;
+    }
+
+    /**
+     * Replace the snapshots for the given BW with new ones working on a copy
+     * of the current topology
+     */
+    private synchronized void publishTopology(Short bw) {
+        Graph<Node, Edge> topo = this.topologyBWAware.get(bw);
+        if (topo == null) {
+            return;
+        }
+        Graph<Node, Edge> snapshot = copyOf(topo);
+        this.sptBWAware.put(bw, new TopologySnapshot(snapshot, null));
+        if (bw.equals(BASE_BW) && (mtp != null)) {
+            mtp = new TopologySnapshot(snapshot, maxThroughputTransformer);
+        }
+        this.changedBWs.remove(bw);
+    }
+
+    /**
+     * Returns the topology graph currently used by the route lookups for the
+     * given BW
+     */
+    Graph<Node, Edge> getPublishedTopology(Short bw) {
+        TopologySnapshot snapshot = this.sptBWAware.get(bw);
+        return snapshot == null ? null : snapshot.getGraph();
     }
 
     @Override
@@ -171,7 +255,8 @@ public class DijkstraImplementation implements IRouting, ITopologyManagerCluster
     }
 
     @Override
-    public synchronized Path getMaxThroughputRoute(Node src, Node dst) {
+    public Path getMaxThroughputRoute(Node src, Node dst) {
+        TopologySnapshot mtp = this.mtp;
         if (mtp == null) {
             log.error("Max Throughput Path Calculation Uninitialized!");
             return null;
@@ -195,8 +280,8 @@ public class DijkstraImplementation implements IRouting, ITopologyManagerCluster
     }
 
     @Override
-    public synchronized Path getRoute(final Node src, final Node dst, final Short Bw) {
-        DijkstraShortestPath<Node, Edge> spt = this.sptBWAware.get(Bw);
+    public Path getRoute(final Node src, final Node dst, final Short Bw) {
+        TopologySnapshot spt = this.sptBWAware.get(Bw);
         if (spt == null) {
             return null;
         }
@@ -219,52 +304,41 @@ public class DijkstraImplementation implements IRouting, ITopologyManagerCluster
 
     @Override
     public synchronized void clear() {
-        DijkstraShortestPath<Node, Edge> spt;
-        for (Short bw : this.sptBWAware.keySet()) {
-            spt = this.sptBWAware.get(bw);
-            if (spt != null) {
-                spt.reset();
-            }
+        for (Short bw : this.topologyBWAware.keySet()) {
+            publishTopology(bw);
         }
-        clearMaxThroughput();
     }
 
     @Override
     public synchronized void clearMaxThroughput() {
         if (mtp != null) {
-            mtp.reset(); // reset max throughput path
+            publishTopology(BASE_BW); // reset max throughput path
         }
     }
 
     @SuppressWarnings({ "unchecked" })
     private synchronized boolean updateTopo(Edge edge, Short bw, UpdateType type) {
         Graph<Node, Edge> topo = this.topologyBWAware.get(bw);
-        DijkstraShortestPath<Node, Edge> spt = this.sptBWAware.get(bw);
         boolean edgePresentInGraph = false;
-        Short baseBW = Short.valueOf((short) 0);
 
         if (topo == null) {
             // Create topology for this BW
             Graph<Node, Edge> g = new SparseMultigraph();
             this.topologyBWAware.put(bw, g);
             topo = this.topologyBWAware.get(bw);
-            this.sptBWAware.put(bw, new DijkstraShortestPath(g));
-            spt = this.sptBWAware.get(bw);
+            this.changedBWs.add(bw);
         }
 
         if (topo != null) {
             NodeConnector src = edge.getTailNodeConnector();
             NodeConnector dst = edge.getHeadNodeConnector();
-            if (spt == null) {
-                spt = new DijkstraShortestPath(topo);
-                this.sptBWAware.put(bw, spt);
-            }
 
             switch (type) {
             case ADDED:
                 // Make sure the vertex are there before adding the edge
-                topo.addVertex(src.getNode());
-                topo.addVertex(dst.getNode());
+                if (topo.addVertex(src.getNode()) | topo.addVertex(dst.getNode())) {
+                    this.changedBWs.add(bw);
+                }
                 // Add the link between
                 edgePresentInGraph = topo.containsEdge(edge);
                 if (edgePresentInGraph == false) {
@@ -274,6 +348,7 @@ public class DijkstraImplementation implements IRouting, ITopologyManagerCluster
                         log.error("", e);
                         return edgePresentInGraph;
                     }
+                    this.changedBWs.add(bw);
                 }
             case CHANGED:
                 // Mainly raised only on properties update, so not really useful
@@ -282,7 +357,9 @@ public class DijkstraImplementation implements IRouting, ITopologyManagerCluster
             case REMOVED:
                 // Remove the edge
                 try {
-                    topo.removeEdge(new Edge(src, dst));
+                    if (topo.removeEdge(new Edge(src, dst))) {
+                        this.changedBWs.add(bw);
+                    }
                 } catch (final ConstructionException e) {
                     log.error("", e);
                     return edgePresentInGraph;
@@ -294,19 +371,17 @@ public class DijkstraImplementation implements IRouting, ITopologyManagerCluster
                         && (topo.outDegree(src.getNode()) == 0)) {
                     log.debug("Removing vertex {}", src);
                     topo.removeVertex(src.getNode());
+                    this.changedBWs.add(bw);
                 }
 
                 if (topo.containsVertex(dst.getNode()) && (topo.inDegree(dst.getNode()) == 0)
                         && (topo.outDegree(dst.getNode()) == 0)) {
                     log.debug("Removing vertex {}", dst);
                     topo.removeVertex(dst.getNode());
+                    this.changedBWs.add(bw);
                 }
                 break;
             }
-            spt.reset();
-            if (bw.equals(baseBW)) {
-                clearMaxThroughput();
-            }
         } else {
             log.error("Cannot find topology for BW {} this is unexpected!", bw);
         }
@@ -359,16 +434,23 @@ public class DijkstraImplementation implements IRouting, ITopologyManagerCluster
     public void edgeUpdate(List<TopoEdgeUpdate> topoedgeupdateList) {
         log.trace("Start of a Bulk EdgeUpdate with " + topoedgeupdateList.size() + " elements");
         boolean callListeners = false;
-        for (int i = 0; i < topoedgeupdateList.size(); i++) {
-            Edge e = topoedgeupdateList.get(i).getEdge();
-            Set<Property> p = topoedgeupdateList.get(i)
-                    .getProperty();
-            UpdateType type = topoedgeupdateList.get(i)
-                    .getUpdateType();
-            boolean isLocal = topoedgeupdateList.get(i)
-                    .isLocal();
-            if ((edgeUpdate(e, type, p, isLocal)) && (!callListeners)) {
-                callListeners = true;
+        synchronized (this) {
+            for (int i = 0; i < topoedgeupdateList.size(); i++) {
+                Edge e = topoedgeupdateList.get(i).getEdge();
+                Set<Property> p = topoedgeupdateList.get(i)
+                        .getProperty();
+                UpdateType type = topoedgeupdateList.get(i)
+                        .getUpdateType();
+                boolean isLocal = topoedgeupdateList.get(i)
+                        .isLocal();
+                if ((edgeUpdate(e, type, p, isLocal)) && (!callListeners)) {
+                    callListeners = true;
+                }
+            }
+            // Publish the resulting topologies once for the whole bulk, only
+            // for the BWs which changed
+            for (Short bw : new ArrayList<Short>(this.changedBWs)) {
+                publishTopology(bw);
             }
         }
 
@@ -401,13 +483,13 @@ public class DijkstraImplementation implements IRouting, ITopologyManagerCluster
     public void init() {
         log.debug("Routing init() is called");
         this.topologyBWAware = new ConcurrentHashMap<Short, Graph<Node, Edge>>();
-        this.sptBWAware = new ConcurrentHashMap<Short, DijkstraShortestPath<Node, Edge>>();
+        this.sptBWAware = new ConcurrentHashMap<Short, TopologySnapshot>();
         // Now create the default topology, which doesn't consider the
         // BW, also create the corresponding Dijkstra calculation
         Graph<Node, Edge> g = new SparseMultigraph();
         Short sZero = Short.valueOf((short) 0);
         this.topologyBWAware.put(sZero, g);
-        this.sptBWAware.put(sZero, new DijkstraShortestPath(g));
+        publishTopology(sZero);
         // Topologies for other BW will be added on a needed base
     }
 
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.routing.dijkstra_implementation.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.sal.core.Bandwidth;
+import org.opendaylight.controller.sal.core.ConstructionException;
+import org.opendaylight.controller.sal.core.Edge;
+import org.opendaylight.controller.sal.core.Node;
+import org.opendaylight.controller.sal.core.Path;
+import org.opendaylight.controller.sal.core.Property;
+import org.opendaylight.controller.sal.core.UpdateType;
+import org.opendaylight.controller.sal.topology.TopoEdgeUpdate;
+import org.opendaylight.controller.sal.utils.NodeConnectorCreator;
+import org.opendaylight.controller.sal.utils.NodeCreator;
+
+import edu.uci.ics.jung.graph.Graph;
+
+/**
+ * Unit test for the publication of the topology snapshots the route lookups
+ * run on.
+ */
+public class DijkstraImplementationTest {
+    private static final Short BASE_BW = Short.valueOf((short) 0);
+    private static final int NODES = 10;
+
+    private DijkstraImplementation imp;
+    private List<Node> nodes;
+
+    @Before
+    public void setUp() {
+        imp = new DijkstraImplementation();
+        imp.init();
+        nodes = new ArrayList<Node>();
+        for (long i = 1; i <= NODES; i++) {
+            nodes.add(NodeCreator.createOFNode(i));
+        }
+    }
+
+    private Edge edge(int from, int to) throws ConstructionException {
+        return new Edge(NodeConnectorCreator.createOFNodeConnector((short) to, nodes.get(from)),
+                NodeConnectorCreator.createOFNodeConnector((short) from, nodes.get(to)));
+    }
+
+    private static TopoEdgeUpdate update(Edge edge, UpdateType type) {
+        Set<Property> props = new HashSet<Property>();
+        props.add(new Bandwidth(0));
+        return new TopoEdgeUpdate(edge, props, type);
+    }
+
+    /**
+     * Edges from the first to the last node through all the others
+     */
+    private List<Edge> chain() throws ConstructionException {
+        List<Edge> chain = new ArrayList<Edge>();
+        for (int i = 0; i < NODES - 1; i++) {
+            chain.add(edge(i, i + 1));
+        }
+        return chain;
+    }
+
+    private void addEdges(List<Edge> edges) {
+        List<TopoEdgeUpdate> updates = new ArrayList<TopoEdgeUpdate>();
+        for (Edge edge : edges) {
+            updates.add(update(edge, UpdateType.ADDED));
+        }
+        imp.edgeUpdate(updates);
+    }
+
+    @Test
+    public void testBulkUpdateIsPublishedOnce() throws ConstructionException {
+        Graph<Node, Edge> initial = imp.getPublishedTopology(BASE_BW);
+        Assert.assertEquals(0, initial.getEdgeCount());
+
+        addEdges(chain());
+
+        Graph<Node, Edge> published = imp.getPublishedTopology(BASE_BW);
+        Assert.assertNotSame(initial, published);
+        Assert.assertEquals(NODES - 1, published.getEdgeCount());
+        Assert.assertEquals(NODES, published.getVertexCount());
+        // The published snapshot is a copy, not the graph being updated
+        Assert.assertEquals(0, initial.getEdgeCount());
+    }
+
+    @Test
+    public void testUnchangedTopologyIsNotPublished() throws ConstructionException {
+        List<Edge> chain = chain();
+        addEdges(chain);
+        Graph<Node, Edge> published = imp.getPublishedTopology(BASE_BW);
+
+        // Edges already known and property changes leave the topology as is
+        List<TopoEdgeUpdate> updates = new ArrayList<TopoEdgeUpdate>();
+        updates.add(update(chain.get(0), UpdateType.ADDED));
+        updates.add(update(chain.get(1), UpdateType.CHANGED));
+        imp.edgeUpdate(updates);
+
+        Assert.assertSame(published, imp.getPublishedTopology(BASE_BW));
+
+        imp.edgeUpdate(Collections.singletonList(update(chain.get(0), UpdateType.REMOVED)));
+
+        Assert.assertNotSame(published, imp.getPublishedTopology(BASE_BW));
+        Assert.assertEquals(NODES - 2, imp.getPublishedTopology(BASE_BW).getEdgeCount());
+    }
+
+    @Test
+    public void testRoutesDuringTopologyChurn() throws Exception {
+        final List<Edge> chain = chain();
+        addEdges(chain);
+        final Edge shortcut = edge(0, NODES - 1);
+        final Path chainPath = new Path(chain);
+        final Path shortcutPath = new Path(Collections.singletonList(shortcut));
+
+        final AtomicBoolean done = new AtomicBoolean(false);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        final CountDownLatch readersDone = new CountDownLatch(4);
+        for (int r = 0; r < 4; r++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        while (!done.get()) {
+                            Path route = imp.getRoute(nodes.get(0), nodes.get(NODES - 1));
+                            if (!chainPath.equals(route) && !shortcutPath.equals(route)) {
+                                throw new AssertionError("Unexpected route " + route);
+                            }
+                        }
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    } finally {
+                        readersDone.countDown();
+                    }
+                }
+            }).start();
+        }
+
+        // Add and remove the shortcut while the readers look the route up
+        for (int i = 0; i < 500; i++) {
+            imp.edgeUpdate(Collections.singletonList(update(shortcut, UpdateType.ADDED)));
+            imp.edgeUpdate(Collections.singletonList(update(shortcut, UpdateType.REMOVED)));
+        }
+        done.set(true);
+        readersDone.await();
+
+        Assert.assertNull(failure.get());
+        Assert.assertEquals(chainPath, imp.getRoute(nodes.get(0), nodes.get(NODES - 1)));
+    }
+}
@@ -8,6 +8,8 @@
 
 package org.opendaylight.controller.sal.flowprogrammer;
 
+import java.util.List;
+
 import org.opendaylight.controller.sal.core.Node;
 import org.opendaylight.controller.sal.utils.Status;
 
@@ -86,6 +88,50 @@ public interface IFlowProgrammerService {
      */
     Status removeFlowAsync(Node node, Flow flow);
 
+    /**
+     * Synchronously add a batch of flows to the network node. The flows are
+     * sent asynchronously and followed by a single Barrier message, the call
+     * returns once the Barrier reply arrives.
+     *
+     * @param node
+     *            The target network node
+     * @param flows
+     *            The flows to install
+     * @return The status of each flow request, in the order of the passed
+     *         flows
+     */
+    List<Status> addFlows(Node node, List<Flow> flows);
+
+    /**
+     * Synchronously modify a batch of existing flows on the network node. The
+     * flows are sent asynchronously and followed by a single Barrier message,
+     * the call returns once the Barrier reply arrives.
+     *
+     * @param node
+     *            The target network node
+     * @param oldFlows
+     *            The existing flows to modify
+     * @param newFlows
+     *            The new flows to install, one for each of the old flows
+     * @return The status of each flow request, in the order of the passed
+     *         flows
+     */
+    List<Status> modifyFlows(Node node, List<Flow> oldFlows, List<Flow> newFlows);
+
+    /**
+     * Synchronously remove a batch of flows from the network node. The flows
+     * are sent asynchronously and followed by a single Barrier message, the
+     * call returns once the Barrier reply arrives.
+     *
+     * @param node
+     *            The target network node
+     * @param flows
+     *            The flows to remove
+     * @return The status of each flow request, in the order of the passed
+     *         flows
+     */
+    List<Status> removeFlows(Node node, List<Flow> flows);
+
     /**
      * Remove all flows present on the network node
      *
@@ -8,6 +8,8 @@
 
 package org.opendaylight.controller.sal.flowprogrammer;
 
+import java.util.List;
+
 import org.opendaylight.controller.sal.core.Node;
 import org.opendaylight.controller.sal.utils.Status;
 
@@ -120,6 +122,62 @@ public interface IPluginInFlowProgrammerService {
      */
     Status removeFlowAsync(Node node, Flow flow, long rid);
 
+    /**
+     * Synchronously add a batch of flows to the network node. The flows are
+     * sent asynchronously and followed by a single Barrier message, the call
+     * returns once the Barrier reply arrives.
+     *
+     * @param node
+     *            the network node
+     *            {@link org.opendaylight.controller.sal.core.Node} on which the
+     *            flows got added
+     * @param flows
+     *            the flows
+     *            {@link org.opendaylight.controller.sal.flowprogrammer.Flow}
+     *            that got added
+     * @return List of Status the operation status of each flow
+     *         {@link org.opendaylight.controller.sal.utils.Status}
+     */
+    List<Status> addFlows(Node node, List<Flow> flows);
+
+    /**
+     * Synchronously modify a batch of existing flows on the network node. The
+     * flows are sent asynchronously and followed by a single Barrier message,
+     * the call returns once the Barrier reply arrives.
+     *
+     * @param node
+     *            the network node
+     *            {@link org.opendaylight.controller.sal.core.Node} on which the
+     *            flows got modified
+     * @param oldFlows
+     *            the original flows
+     *            {@link org.opendaylight.controller.sal.flowprogrammer.Flow}
+     * @param newFlows
+     *            the new flows, one for each of the original flows
+     *            {@link org.opendaylight.controller.sal.flowprogrammer.Flow}
+     * @return List of Status the operation status of each flow
+     *         {@link org.opendaylight.controller.sal.utils.Status}
+     */
+    List<Status> modifyFlows(Node node, List<Flow> oldFlows, List<Flow> newFlows);
+
+    /**
+     * Synchronously remove a batch of flows from the network node. The flows
+     * are sent asynchronously and followed by a single Barrier message, the
+     * call returns once the Barrier reply arrives.
+     *
+     * @param node
+     *            the network node
+     *            {@link org.opendaylight.controller.sal.core.Node} on which the
+     *            flows got removed
+     * @param flows
+     *            the flows
+     *            {@link org.opendaylight.controller.sal.flowprogrammer.Flow}
+     *            that got removed
+     * @return List of Status the operation status of each flow
+     *         {@link org.opendaylight.controller.sal.utils.Status}
+     */
+    List<Status> removeFlows(Node node, List<Flow> flows);
+
     /**
      * Remove all flows present on the network node
      *
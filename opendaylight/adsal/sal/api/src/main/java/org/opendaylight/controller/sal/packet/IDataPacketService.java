@@ -30,7 +30,10 @@ public interface IDataPacketService {
     void transmitDataPacket(RawPacket outPkt);
 
     /**
-     * Decode a Data Packet received as a raw stream
+     * Decode a Data Packet received as a raw stream. The packet is decoded
+     * only once, further calls for the same RawPacket return the same
+     * instance, which is shared among all the listeners and must not be
+     * modified.
      *
      * @param pkt Raw Packet to be decoded
      *
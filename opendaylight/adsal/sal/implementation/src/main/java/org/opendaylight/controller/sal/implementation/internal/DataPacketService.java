@@ -17,19 +17,20 @@
 package org.opendaylight.controller.sal.implementation.internal;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import org.opendaylight.controller.sal.core.ConstructionException;
 import org.opendaylight.controller.sal.core.NodeConnector;
 import org.opendaylight.controller.sal.match.Match;
+import org.opendaylight.controller.sal.match.MatchType;
 import org.opendaylight.controller.sal.packet.Ethernet;
 import org.opendaylight.controller.sal.packet.IDataPacketService;
 import org.opendaylight.controller.sal.packet.IListenDataPacket;
@@ -60,7 +61,46 @@ public class DataPacketService implements IPluginOutDataPacketService,
     private ConcurrentHashMap<String, ProtocolService<IPluginInDataPacketService>>
         pluginInDataService =
         new ConcurrentHashMap<String, ProtocolService<IPluginInDataPacketService>>();
-    private Map<String, AtomicInteger> statistics = new HashMap<String, AtomicInteger>();
+    private ConcurrentMap<String, StripedCounter> statistics = new ConcurrentHashMap<String, StripedCounter>();
+    /**
+     * Key under which the decoded packet is attached to the RawPacket, so
+     * that all the listeners share a single decoding
+     */
+    private static final Object DECODED_PACKET_PROP = new Object();
+
+    /**
+     * Counter spread over several cells, so that the threads of the plugins
+     * dispatching packets do not all contend on the same atomic variable
+     */
+    private static final class StripedCounter {
+        // Cells are this many longs apart, so that they sit in different
+        // cache lines
+        private static final int PADDING = 8;
+        private static final int STRIPES = stripes();
+
+        private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+
+        private static int stripes() {
+            int stripes = 1;
+            while (stripes < Runtime.getRuntime().availableProcessors()) {
+                stripes <<= 1;
+            }
+            return stripes;
+        }
+
+        void increment() {
+            int stripe = (int) (Thread.currentThread().getId() & (STRIPES - 1));
+            cells.incrementAndGet(stripe * PADDING);
+        }
+
+        long sum() {
+            long sum = 0;
+            for (int i = 0; i < STRIPES; i++) {
+                sum += cells.get(i * PADDING);
+            }
+            return sum;
+        }
+    }
 
     /**
      * Queue for packets that need to be transmitted to Data Path
@@ -84,13 +124,37 @@ public class DataPacketService implements IPluginOutDataPacketService,
         private IListenDataPacket listener;
         private String dependency;
         private Match match;
+        // Match types of the filter, all need to be present in the packet
+        private List<MatchType> matchTypes;
 
         DataPacketListener(String name, IListenDataPacket s, String dependency,
                 Match match) {
             this.listenerName = name;
             this.listener = s;
             this.dependency = dependency;
-            this.match = match;
+            this.match = (match == null || match.getMatches() == 0) ? null : match;
+            this.matchTypes = (this.match == null) ? null : this.match.getMatchesList();
+        }
+
+        /**
+         * Whether the packet is of interest for the listener, the packet
+         * match is only computed if the listener has a filter
+         */
+        boolean accepts(PacketMatch pkt) {
+            if (match == null) {
+                return true;
+            }
+            Match pktMatch = pkt.getMatch();
+            if (pktMatch == null) {
+                // Packet could not be decoded, let the listener decide
+                return true;
+            }
+            for (MatchType type : matchTypes) {
+                if (!pktMatch.isPresent(type)) {
+                    return false;
+                }
+            }
+            return match.intersetcs(pktMatch);
         }
 
         @Override
@@ -138,10 +202,42 @@ public class DataPacketService implements IPluginOutDataPacketService,
     private Set<DataPacketListener> indexDataPacket = Collections
             .synchronizedSet(new HashSet<DataPacketListener>());
 
+    /**
+     * Header fields of a received packet, computed on first use and then
+     * shared by the filters of all the listeners
+     */
+    private class PacketMatch {
+        private final RawPacket pkt;
+        private Match match;
+        private boolean computed = false;
+
+        PacketMatch(RawPacket pkt) {
+            this.pkt = pkt;
+        }
+
+        Match getMatch() {
+            if (!computed) {
+                computed = true;
+                Packet decoded = decodeDataPacket(pkt);
+                if (decoded != null) {
+                    try {
+                        match = decoded.getMatch();
+                        match.setField(MatchType.IN_PORT, pkt.getIncomingNodeConnector());
+                    } catch (Exception e) {
+                        logger.debug("Failed to extract the header fields of packet: {}", e.getMessage());
+                        match = null;
+                    }
+                }
+            }
+            return match;
+        }
+    }
+
     /**
      * Loop for processing Received packets
      */
     private void dispatchPacket(RawPacket pkt) {
+        PacketMatch pktMatch = new PacketMatch(pkt);
 
         // for now we treat all listeners as serial listeners
         for (List<DataPacketListener> serialListeners : listenDataPacket) {
@@ -151,9 +247,11 @@ public class DataPacketService implements IPluginOutDataPacketService,
                 // copies
                 IListenDataPacket s = (l == null ? null : l.listener);
                 if (s != null) {
+                    if (!l.accepts(pktMatch)) {
+                        increaseStat("RXPacketFiltered");
+                        continue;
+                    }
                     try {
-                        // TODO Make sure to filter based on the match too,
-                        // later on
                         PacketResult res = s.receiveDataPacket(pkt);
                         increaseStat("RXPacketSuccess");
                         if (res.equals(PacketResult.CONSUME)) {
@@ -384,16 +482,24 @@ public class DataPacketService implements IPluginOutDataPacketService,
             return;
         }
 
-        AtomicInteger currValue = null;
-        synchronized (this.statistics) {
-            currValue = this.statistics.get(name);
-
+        StripedCounter currValue = this.statistics.get(name);
+        if (currValue == null) {
+            StripedCounter newValue = new StripedCounter();
+            currValue = this.statistics.putIfAbsent(name, newValue);
             if (currValue == null) {
-                this.statistics.put(name, new AtomicInteger(0));
-                return;
+                currValue = newValue;
             }
         }
-        currValue.incrementAndGet();
+        currValue.increment();
+    }
+
+    /**
+     * Returns the current value of the named statistic, 0 if it was never
+     * increased
+     */
+    long getStatistic(String name) {
+        StripedCounter counter = this.statistics.get(name);
+        return (counter == null) ? 0 : counter.sum();
     }
 
     @Override
@@ -430,6 +536,11 @@ public class DataPacketService implements IPluginOutDataPacketService,
         if (pkt == null) {
             return null;
         }
+        // The packet is decoded once and shared by all the listeners
+        Object decoded = pkt.getProps(DECODED_PACKET_PROP);
+        if (decoded instanceof Packet) {
+            return (Packet) decoded;
+        }
         byte[] data = pkt.getPacketData();
         if (data.length <= 0) {
             return null;
@@ -441,6 +552,7 @@ public class DataPacketService implements IPluginOutDataPacketService,
             } catch (Exception e) {
                 logger.warn("Failed to decode packet: {}", e.getMessage());
             }
+            pkt.setProps(DECODED_PACKET_PROP, res);
             return res;
         }
         return null;
@@ -14,6 +14,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -179,6 +180,52 @@ public class FlowProgrammerService implements IFlowProgrammerService,
         return new Status(StatusCode.NOSERVICE, "Plugin unuvailable");
     }
 
+    @Override
+    public List<Status> addFlows(Node node, List<Flow> flows) {
+        if (pluginFlowProgrammer != null) {
+            ProtocolService<IPluginInFlowProgrammerService> service =
+                this.pluginFlowProgrammer.get(node.getType());
+            if (service != null) {
+                return service.getService().addFlows(node, flows);
+            }
+        }
+        return noService(flows.size());
+    }
+
+    @Override
+    public List<Status> modifyFlows(Node node, List<Flow> oldFlows, List<Flow> newFlows) {
+        if (oldFlows.size() != newFlows.size()) {
+            throw new IllegalArgumentException("Number of old flows " + oldFlows.size()
+                    + " does not match number of new flows " + newFlows.size());
+        }
+        if (pluginFlowProgrammer != null) {
+            ProtocolService<IPluginInFlowProgrammerService> service =
+                this.pluginFlowProgrammer.get(node.getType());
+            if (service != null) {
+                return service.getService().modifyFlows(node, oldFlows, newFlows);
+            }
+        }
+        return noService(oldFlows.size());
+    }
+
+    @Override
+    public List<Status> removeFlows(Node node, List<Flow> flows) {
+        if (pluginFlowProgrammer != null) {
+            ProtocolService<IPluginInFlowProgrammerService> service =
+                this.pluginFlowProgrammer.get(node.getType());
+            if (service != null) {
+                return service.getService().removeFlows(node, flows);
+            }
+        }
+        return noService(flows.size());
+    }
+
+    private List<Status> noService(int size) {
+        Status[] result = new Status[size];
+        Arrays.fill(result, new Status(StatusCode.NOSERVICE, "Plugin unuvailable"));
+        return Arrays.asList(result);
+    }
+
     @Override
     public Status addFlowAsync(Node node, Flow flow) {
         if (pluginFlowProgrammer != null) {
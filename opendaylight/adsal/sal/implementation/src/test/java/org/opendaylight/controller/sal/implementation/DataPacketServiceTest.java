@@ -92,6 +92,23 @@ public class DataPacketServiceTest {
         Assert.assertTrue(targetProtocolAddress[3] == (byte)0xFE);
         }
 
+        @Test
+        public void DataPacketServiceDecodeOnceTest() throws ConstructionException {
+        DataPacketService dService = new DataPacketService();
+        byte[] data = { 10, 12, 14, 20, 55, 69, //DMAC
+                -90, -20, -100, -82, -78, -97, //SMAC
+                8, 6, //ethype
+                0, 1, 8, 0, 6, 4, 0, 1, // arp header
+                -90, -20, -100, -82, -78, -97, 9, 9, 9, 1, // sender
+                0, 0, 0, 0, 0, 0, 9, 9, 9, -2 }; // target
+        RawPacket rawPkt = new RawPacket(data);
+
+        Packet decodedPkt = dService.decodeDataPacket(rawPkt);
+        Assert.assertNotNull(decodedPkt);
+        Assert.assertSame(decodedPkt, dService.decodeDataPacket(rawPkt));
+        Assert.assertNotSame(decodedPkt, dService.decodeDataPacket(new RawPacket(data)));
+        }
+
         @Test
         public void DataPacketServiceEncodeTest() throws ConstructionException, InstantiationException, IllegalAccessException {
 
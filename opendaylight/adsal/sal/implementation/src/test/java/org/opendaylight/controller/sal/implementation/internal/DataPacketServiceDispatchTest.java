@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.sal.implementation.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.sal.core.ConstructionException;
+import org.opendaylight.controller.sal.match.Match;
+import org.opendaylight.controller.sal.match.MatchType;
+import org.opendaylight.controller.sal.packet.IListenDataPacket;
+import org.opendaylight.controller.sal.packet.PacketResult;
+import org.opendaylight.controller.sal.packet.RawPacket;
+import org.opendaylight.controller.sal.utils.EtherTypes;
+import org.opendaylight.controller.sal.utils.NodeConnectorCreator;
+import org.opendaylight.controller.sal.utils.NodeCreator;
+
+/**
+ * Unit test for the dispatching of received packets by
+ * {@link DataPacketService} to listeners registered with a
+ * salListenerFilter.
+ */
+public class DataPacketServiceDispatchTest {
+    // ARP request, ethertype 0x0806
+    private static final byte[] ARP_PACKET = { 10, 12, 14, 20, 55, 69, // DMAC
+            -90, -20, -100, -82, -78, -97, // SMAC
+            8, 6, // ethertype
+            0, 1, 8, 0, 6, 4, 0, 1, // arp header
+            -90, -20, -100, -82, -78, -97, 9, 9, 9, 1, // sender
+            0, 0, 0, 0, 0, 0, 9, 9, 9, -2 }; // target
+
+    private DataPacketService dService;
+    private final List<String> received = new ArrayList<String>();
+
+    private class Listener implements IListenDataPacket {
+        private final String name;
+        private final PacketResult result;
+
+        Listener(String name, PacketResult result) {
+            this.name = name;
+            this.result = result;
+        }
+
+        @Override
+        public PacketResult receiveDataPacket(RawPacket inPkt) {
+            received.add(name);
+            return result;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        dService = new DataPacketService();
+    }
+
+    private void addListener(String name, String dependency, Match filter, PacketResult result) {
+        Map<String, Object> props = new HashMap<String, Object>();
+        props.put("salListenerName", name);
+        if (dependency != null) {
+            props.put("salListenerDependency", dependency);
+        }
+        if (filter != null) {
+            props.put("salListenerFilter", filter);
+        }
+        dService.setListenDataPacket(props, new Listener(name, result));
+    }
+
+    private static Match filter(MatchType type, Object value) {
+        Match match = new Match();
+        match.setField(type, value);
+        return match;
+    }
+
+    private static RawPacket packet(byte[] data) throws ConstructionException {
+        RawPacket pkt = new RawPacket(data);
+        pkt.setIncomingNodeConnector(NodeConnectorCreator.createOFNodeConnector((short) 1,
+                NodeCreator.createOFNode(1L)));
+        return pkt;
+    }
+
+    @Test
+    public void testMatchingFilter() throws ConstructionException {
+        addListener("arp", null, filter(MatchType.DL_TYPE, EtherTypes.ARP.shortValue()), PacketResult.KEEP_PROCESSING);
+
+        dService.receiveDataPacket(packet(ARP_PACKET));
+
+        assertEquals(Arrays.asList("arp"), received);
+        assertEquals(0, dService.getStatistic("RXPacketFiltered"));
+        assertEquals(1, dService.getStatistic("RXPacketSuccess"));
+    }
+
+    @Test
+    public void testNonMatchingFilter() throws ConstructionException {
+        addListener("ipv4", null, filter(MatchType.DL_TYPE, EtherTypes.IPv4.shortValue()), PacketResult.KEEP_PROCESSING);
+        addListener("all", null, null, PacketResult.KEEP_PROCESSING);
+
+        dService.receiveDataPacket(packet(ARP_PACKET));
+
+        assertEquals(Arrays.asList("all"), received);
+        assertEquals(1, dService.getStatistic("RXPacketFiltered"));
+    }
+
+    @Test
+    public void testFilterOnMissingField() throws ConstructionException {
+        // An ARP packet has no network protocol field
+        addListener("nwProto", null, filter(MatchType.NW_PROTO, (byte) 6), PacketResult.KEEP_PROCESSING);
+
+        dService.receiveDataPacket(packet(ARP_PACKET));
+
+        assertEquals(0, received.size());
+        assertEquals(1, dService.getStatistic("RXPacketFiltered"));
+    }
+
+    @Test
+    public void testUndecodablePacketReachesFilteredListener() throws ConstructionException {
+        addListener("arp", null, filter(MatchType.DL_TYPE, EtherTypes.ARP.shortValue()), PacketResult.KEEP_PROCESSING);
+
+        // Without header fields the filter cannot be evaluated, the listener decides
+        dService.receiveDataPacket(packet(new byte[0]));
+
+        assertEquals(Arrays.asList("arp"), received);
+        assertEquals(0, dService.getStatistic("RXPacketFiltered"));
+    }
+
+    @Test
+    public void testConsumeStopsTheSerialChain() throws ConstructionException {
+        addListener("first", null, filter(MatchType.DL_TYPE, EtherTypes.ARP.shortValue()), PacketResult.CONSUME);
+        addListener("second", "first", null, PacketResult.KEEP_PROCESSING);
+        addListener("other", null, null, PacketResult.KEEP_PROCESSING);
+
+        dService.receiveDataPacket(packet(ARP_PACKET));
+
+        // The other chain still gets the packet
+        assertEquals(Arrays.asList("first", "other"), received);
+        assertEquals(1, dService.getStatistic("RXPacketSerialExit"));
+    }
+
+    @Test
+    public void testFilteredListenerDoesNotStopTheSerialChain() throws ConstructionException {
+        addListener("first", null, filter(MatchType.DL_TYPE, EtherTypes.IPv4.shortValue()), PacketResult.CONSUME);
+        addListener("second", "first", null, PacketResult.KEEP_PROCESSING);
+
+        dService.receiveDataPacket(packet(ARP_PACKET));
+
+        assertEquals(Arrays.asList("second"), received);
+        assertEquals(1, dService.getStatistic("RXPacketFiltered"));
+        assertEquals(0, dService.getStatistic("RXPacketSerialExit"));
+    }
+
+    @Test
+    public void testFilteredCounter() throws ConstructionException {
+        addListener("ipv4", null, filter(MatchType.DL_TYPE, EtherTypes.IPv4.shortValue()), PacketResult.KEEP_PROCESSING);
+        addListener("arp", null, filter(MatchType.DL_TYPE, EtherTypes.ARP.shortValue()), PacketResult.KEEP_PROCESSING);
+
+        for (int i = 0; i < 5; i++) {
+            dService.receiveDataPacket(packet(ARP_PACKET));
+        }
+
+        assertEquals(5, dService.getStatistic("RXPacketFiltered"));
+        assertEquals(5, dService.getStatistic("RXPacketSuccess"));
+    }
+}
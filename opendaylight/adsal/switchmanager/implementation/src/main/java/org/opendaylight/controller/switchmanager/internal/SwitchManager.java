@@ -30,6 +30,7 @@ import org.eclipse.osgi.framework.console.CommandInterpreter;
 import org.eclipse.osgi.framework.console.CommandProvider;
 import org.opendaylight.controller.clustering.services.CacheConfigException;
 import org.opendaylight.controller.clustering.services.CacheExistException;
+import org.opendaylight.controller.clustering.services.ICacheUpdateAware;
 import org.opendaylight.controller.clustering.services.IClusterContainerServices;
 import org.opendaylight.controller.clustering.services.IClusterServices;
 import org.opendaylight.controller.configuration.ConfigurationObject;
@@ -81,7 +82,8 @@ import org.slf4j.LoggerFactory;
  * are maintained in the default container only.
  */
 public class SwitchManager implements ISwitchManager, IConfigurationContainerAware,
-                                      IObjectReader, IListenInventoryUpdates, CommandProvider {
+                                      IObjectReader, IListenInventoryUpdates, CommandProvider,
+                                      ICacheUpdateAware<NodeConnector, Map<String, Property>> {
     private static Logger log = LoggerFactory.getLogger(SwitchManager.class);
     private static final String SUBNETS_FILE_NAME = "subnets.conf";
     private static final String SPAN_FILE_NAME = "spanPorts.conf";
@@ -96,6 +98,13 @@ public class SwitchManager implements ISwitchManager, IConfigurationContainerAwa
     private ConcurrentMap<Node, Map<String, Property>> nodeProps;
     private ConcurrentMap<NodeConnector, Map<String, Property>> nodeConnectorProps;
     private ConcurrentMap<Node, Map<String, NodeConnector>> nodeConnectorNames;
+    /*
+     * Local index of the node connectors present in nodeConnectorProps, per
+     * node. It is kept in sync with local updates directly and with updates
+     * from other cluster members through the cache update callbacks.
+     */
+    private final ConcurrentMap<Node, Set<NodeConnector>> nodeConnectorIndex = new ConcurrentHashMap<Node, Set<NodeConnector>>();
+    static final String NODE_CONNECTOR_PROPS_CACHE = "switchmanager.nodeConnectorProps";
     private ConcurrentMap<String, Property> controllerProps;
     private IInventoryService inventoryService;
     private IStatisticsManager statisticsManager;
@@ -170,6 +179,7 @@ public class SwitchManager implements ISwitchManager, IConfigurationContainerAwa
         // Instantiate cluster synced variables
         allocateCaches();
         retrieveCaches();
+        rebuildNodeConnectorIndex();
 
         // Add controller MAC, if first node in the cluster
         if ((!controllerProps.containsKey(MacAddress.name)) && (controllerProperties != null)) {
@@ -207,7 +217,7 @@ public class SwitchManager implements ISwitchManager, IConfigurationContainerAwa
             clusterContainerService.createCache("switchmanager.nodeProps",
                     EnumSet.of(IClusterServices.cacheMode.TRANSACTIONAL));
             clusterContainerService.createCache(
-                    "switchmanager.nodeConnectorProps",
+                    NODE_CONNECTOR_PROPS_CACHE,
                     EnumSet.of(IClusterServices.cacheMode.TRANSACTIONAL));
             clusterContainerService.createCache(
                     "switchmanager.nodeConnectorNames",
@@ -260,7 +270,7 @@ public class SwitchManager implements ISwitchManager, IConfigurationContainerAwa
         }
 
         nodeConnectorProps = (ConcurrentMap<NodeConnector, Map<String, Property>>) clusterContainerService
-                .getCache("switchmanager.nodeConnectorProps");
+                .getCache(NODE_CONNECTOR_PROPS_CACHE);
         if (nodeConnectorProps == null) {
             log.error("\nFailed to get cache for nodeConnectorProps");
         }
@@ -1082,15 +1092,10 @@ public class SwitchManager implements ISwitchManager, IConfigurationContainerAwa
         }
 
         nodeConnectorNames.remove(node);
-        Set<NodeConnector> removeNodeConnectorSet = new HashSet<NodeConnector>();
-        for (Map.Entry<NodeConnector, Map<String, Property>> entry : nodeConnectorProps.entrySet()) {
-            NodeConnector nodeConnector = entry.getKey();
-            if (nodeConnector.getNode().equals(node)) {
-                removeNodeConnectorSet.add(nodeConnector);
-            }
-        }
+        Set<NodeConnector> removeNodeConnectorSet = getNodeConnectors(node);
         for (NodeConnector nc : removeNodeConnectorSet) {
             nodeConnectorProps.remove(nc);
+            unindexNodeConnector(nc);
         }
 
         // check if span ports need to be cleaned up
@@ -1349,11 +1354,7 @@ public class SwitchManager implements ISwitchManager, IConfigurationContainerAwa
         }
 
         Set<NodeConnector> nodeConnectorSet = new HashSet<NodeConnector>();
-        for (Map.Entry<NodeConnector, Map<String, Property>> entry : nodeConnectorProps.entrySet()) {
-            NodeConnector nodeConnector = entry.getKey();
-            if (!nodeConnector.getNode().equals(node)) {
-                continue;
-            }
+        for (NodeConnector nodeConnector : getIndexedNodeConnectors(node)) {
             if (isNodeConnectorEnabled(nodeConnector)) {
                 nodeConnectorSet.add(nodeConnector);
             }
@@ -1369,11 +1370,7 @@ public class SwitchManager implements ISwitchManager, IConfigurationContainerAwa
         }
 
         Set<NodeConnector> nodeConnectorSet = new HashSet<NodeConnector>();
-        for (Map.Entry<NodeConnector, Map<String, Property>> entry : nodeConnectorProps.entrySet()) {
-            NodeConnector nodeConnector = entry.getKey();
-            if (!nodeConnector.getNode().equals(node)) {
-                continue;
-            }
+        for (NodeConnector nodeConnector : getIndexedNodeConnectors(node)) {
             nodeConnectorSet.add(nodeConnector);
         }
 
@@ -1387,10 +1384,8 @@ public class SwitchManager implements ISwitchManager, IConfigurationContainerAwa
         }
 
         Set<NodeConnector> nodeConnectorSet = new HashSet<NodeConnector>();
-        for (Map.Entry<NodeConnector, Map<String, Property>> entry : nodeConnectorProps.entrySet()) {
-            NodeConnector nodeConnector = entry.getKey();
-            if (!nodeConnector.getNode().equals(node)
-                    || isSpecial(nodeConnector)) {
+        for (NodeConnector nodeConnector : getIndexedNodeConnectors(node)) {
+            if (isSpecial(nodeConnector)) {
                 continue;
             }
             nodeConnectorSet.add(nodeConnector);
@@ -1467,6 +1462,7 @@ public class SwitchManager implements ISwitchManager, IConfigurationContainerAwa
                     return new Status(StatusCode.CONFLICT, msg);
                 }
             }
+            indexNodeConnector(nodeConnector);
             return new Status(StatusCode.SUCCESS);
         }
 
@@ -1480,6 +1476,7 @@ public class SwitchManager implements ISwitchManager, IConfigurationContainerAwa
                 return new Status(StatusCode.CONFLICT, msg);
             }
         }
+        indexNodeConnector(nodeConnector);
 
         if (prop.getName().equals(Name.NamePropName)) {
             if (nodeConnectorNames != null) {
@@ -1608,10 +1605,91 @@ public class SwitchManager implements ISwitchManager, IConfigurationContainerAwa
             }
         }
         nodeConnectorProps.remove(nodeConnector);
+        unindexNodeConnector(nodeConnector);
 
         return new Status(StatusCode.SUCCESS);
     }
 
+    private void indexNodeConnector(NodeConnector nodeConnector) {
+        Node node = nodeConnector.getNode();
+        while (true) {
+            Set<NodeConnector> indexed = nodeConnectorIndex.get(node);
+            if (indexed == null) {
+                Set<NodeConnector> newSet = Collections.newSetFromMap(new ConcurrentHashMap<NodeConnector, Boolean>());
+                indexed = nodeConnectorIndex.putIfAbsent(node, newSet);
+                if (indexed == null) {
+                    indexed = newSet;
+                }
+            }
+            indexed.add(nodeConnector);
+            /*
+             * The set may have been dropped by unindexNodeConnector while it
+             * was empty, in which case the node connector is indexed again
+             */
+            if (nodeConnectorIndex.get(node) == indexed) {
+                return;
+            }
+        }
+    }
+
+    private void unindexNodeConnector(NodeConnector nodeConnector) {
+        Node node = nodeConnector.getNode();
+        Set<NodeConnector> indexed = nodeConnectorIndex.get(node);
+        if (indexed != null) {
+            indexed.remove(nodeConnector);
+            if (indexed.isEmpty()) {
+                // Only removed if still empty, so removed nodes leave no entry behind
+                nodeConnectorIndex.remove(node, indexed);
+            }
+        }
+    }
+
+    private void rebuildNodeConnectorIndex() {
+        nodeConnectorIndex.clear();
+        if (nodeConnectorProps != null) {
+            for (NodeConnector nodeConnector : nodeConnectorProps.keySet()) {
+                indexNodeConnector(nodeConnector);
+            }
+        }
+    }
+
+    /**
+     * Returns the indexed node connectors of the node which are still present
+     * in the nodeConnectorProps cache
+     */
+    private Set<NodeConnector> getIndexedNodeConnectors(Node node) {
+        Set<NodeConnector> indexed = nodeConnectorIndex.get(node);
+        if (indexed == null) {
+            return Collections.emptySet();
+        }
+        Set<NodeConnector> present = new HashSet<NodeConnector>();
+        for (NodeConnector nodeConnector : indexed) {
+            if (nodeConnectorProps.containsKey(nodeConnector)) {
+                present.add(nodeConnector);
+            }
+        }
+        return present;
+    }
+
+    @Override
+    public void entryCreated(NodeConnector key, String cacheName, boolean originLocal) {
+        if (NODE_CONNECTOR_PROPS_CACHE.equals(cacheName) && nodeConnectorProps.containsKey(key)) {
+            indexNodeConnector(key);
+        }
+    }
+
+    @Override
+    public void entryUpdated(NodeConnector key, Map<String, Property> newValue, String cacheName, boolean originLocal) {
+        entryCreated(key, cacheName, originLocal);
+    }
+
+    @Override
+    public void entryDeleted(NodeConnector key, String cacheName, boolean originLocal) {
+        if (NODE_CONNECTOR_PROPS_CACHE.equals(cacheName) && !nodeConnectorProps.containsKey(key)) {
+            unindexNodeConnector(key);
+        }
+    }
+
     /**
      * Function called by the dependency manager when all the required
      * dependencies are satisfied
@@ -1817,6 +1895,7 @@ public class SwitchManager implements ISwitchManager, IConfigurationContainerAwa
         nodeProps.clear();
         nodeConnectorProps.clear();
         nodeConnectorNames.clear();
+        nodeConnectorIndex.clear();
         spanNodeConnectors.clear();
     }
 
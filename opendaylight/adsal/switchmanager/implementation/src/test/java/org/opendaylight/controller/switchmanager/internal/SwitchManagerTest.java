@@ -27,8 +27,11 @@ import org.opendaylight.controller.sal.utils.NodeConnectorCreator;
 import org.opendaylight.controller.sal.utils.NodeCreator;
 import org.opendaylight.controller.sal.utils.Status;
 import org.opendaylight.controller.switchmanager.SubnetConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class SwitchManagerTest {
+    private static final Logger log = LoggerFactory.getLogger(SwitchManagerTest.class);
 
     @Test
     public void testSwitchManagerAddRemoveSubnet() throws ConstructionException {
@@ -168,4 +171,66 @@ public class SwitchManagerTest {
         Assert.assertTrue(nodes.isEmpty());
     }
 
+    @Test
+    public void testSwitchManagerReaddNodeConnector() {
+        SwitchManager switchmgr = new SwitchManager();
+        switchmgr.startUp();
+
+        Set<Property> props = new HashSet<Property>();
+        props.add(new State(State.EDGE_UP));
+
+        Node node = NodeCreator.createOFNode(1L);
+        NodeConnector nc = NodeConnectorCreator.createOFNodeConnector((short) 1, node);
+        switchmgr.updateNode(node, UpdateType.ADDED, props);
+
+        switchmgr.updateNodeConnector(nc, UpdateType.ADDED, props);
+        Assert.assertTrue(switchmgr.getNodeConnectors(node).contains(nc));
+
+        Assert.assertTrue(switchmgr.removeNodeConnectorAllProps(nc).isSuccess());
+        Assert.assertTrue(switchmgr.getNodeConnectors(node).isEmpty());
+
+        // The node's emptied index entry is dropped, re-adding indexes it anew
+        switchmgr.updateNodeConnector(nc, UpdateType.ADDED, props);
+        Assert.assertTrue(switchmgr.getNodeConnectors(node).contains(nc));
+    }
+
+    @Test
+    public void testSwitchManagerNodeConnectorsAtScale() {
+        final int nodeCount = 1000;
+        final short portCount = 48;
+        SwitchManager switchmgr = new SwitchManager();
+        switchmgr.startUp();
+
+        Set<Property> props = new HashSet<Property>();
+        props.add(new State(State.EDGE_UP));
+
+        List<Node> nodes = new ArrayList<Node>();
+        for (long n = 1; n <= nodeCount; n++) {
+            Node node = NodeCreator.createOFNode(n);
+            nodes.add(node);
+            switchmgr.updateNode(node, UpdateType.ADDED, props);
+            for (short p = 1; p <= portCount; p++) {
+                switchmgr.updateNodeConnector(NodeConnectorCreator.createOFNodeConnector(p, node),
+                        UpdateType.ADDED, props);
+            }
+        }
+
+        long start = System.nanoTime();
+        for (Node node : nodes) {
+            Set<NodeConnector> ncs = switchmgr.getNodeConnectors(node);
+            Assert.assertEquals(portCount, ncs.size());
+            for (NodeConnector nc : ncs) {
+                Assert.assertEquals(node, nc.getNode());
+            }
+            Assert.assertEquals(portCount, switchmgr.getUpNodeConnectors(node).size());
+        }
+        log.info("Looked up the node connectors of {} nodes with {} ports each in {} ms",
+                new Object[] { nodeCount, portCount, (System.nanoTime() - start) / 1000000 });
+
+        // Removing a node leaves the other nodes' connectors in place
+        switchmgr.updateNode(nodes.get(0), UpdateType.REMOVED, null);
+        Assert.assertTrue(switchmgr.getNodeConnectors(nodes.get(0)).isEmpty());
+        Assert.assertEquals(portCount, switchmgr.getNodeConnectors(nodes.get(1)).size());
+    }
+
 }
@@ -37,7 +37,8 @@ public interface ITopologyManager {
 
     /**
      * Retrieves a map of all known link connections between nodes
-     * including their properties
+     * including their properties. The map is an unmodifiable snapshot
+     * which is shared among the callers until the topology changes.
      * @return the map as specified
      */
     public Map<Edge, Set<Property>> getEdges();
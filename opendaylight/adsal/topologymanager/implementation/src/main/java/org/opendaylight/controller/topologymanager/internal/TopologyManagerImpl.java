@@ -50,6 +50,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Dictionary;
 import java.util.EnumSet;
 import java.util.HashMap;
@@ -66,6 +67,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The class describes TopologyManager which is the central repository of the
@@ -95,6 +97,13 @@ public class TopologyManagerImpl implements
     private ISwitchManager switchManager;
     // DB of all the Edges with properties which constitute our topology
     private ConcurrentMap<Edge, Set<Property>> edgesDB;
+    // Immutable copy of edgesDB shared by all the getEdges() callers. It is
+    // rebuilt on the first read after edgesDB changed, as tracked by the
+    // version which is bumped after every change to edgesDB
+    private volatile EdgesSnapshot edgesSnapshot;
+    private final AtomicLong edgesVersion = new AtomicLong();
+    // Nodes known to SwitchManager, indexed by their node ID string
+    private final ConcurrentMap<String, Node> nodesByIDString = new ConcurrentHashMap<String, Node>();
     // DB of all NodeConnector which are part of ISL Edges, meaning they
     // are connected to another NodeConnector on the other side of an ISL link.
     // NodeConnector of a Production Edge is not part of this DB.
@@ -117,6 +126,16 @@ public class TopologyManagerImpl implements
     private Timer pendingTimer;
     private Thread updateThread;
 
+    private static final class EdgesSnapshot {
+        private final long version;
+        private final Map<Edge, Set<Property>> edges;
+
+        private EdgesSnapshot(long version, Map<Edge, Set<Property>> edges) {
+            this.version = version;
+            this.edges = edges;
+        }
+    }
+
     private class PendingEdgeUpdate extends TopoEdgeUpdate {
         private PendingEdgeUpdate(Edge e, Set<Property> p, UpdateType t) {
             super(e, p, t);
@@ -186,6 +205,7 @@ public class TopologyManagerImpl implements
 
     void nonClusterObjectCreate() {
         edgesDB = new ConcurrentHashMap<Edge, Set<Property>>();
+        edgesChanged();
         hostsDB = new ConcurrentHashMap<NodeConnector, Set<ImmutablePair<Host, Set<Property>>>>();
         nodeConnectorsDB = new ConcurrentHashMap<NodeConnector, Set<Property>>();
         userLinksDB = new ConcurrentHashMap<String, TopologyUserLinkConfig>();
@@ -328,6 +348,7 @@ public class TopologyManagerImpl implements
         }
 
         this.edgesDB = (ConcurrentMap<Edge, Set<Property>>) this.clusterContainerService.getCache(TOPOEDGESDB);
+        edgesChanged();
         if (edgesDB == null) {
             log.error("Failed to get cache for " + TOPOEDGESDB);
         }
@@ -509,23 +530,31 @@ public class TopologyManagerImpl implements
      */
 
     private NodeConnector updateNCTypeFromSwitchMgr(NodeConnector nc) {
-
-        for (Node node : switchManager.getNodes()) {
-            String nodeName = node.getNodeIDString();
-            log.trace("Switch Manager Node Name: {}, NodeConnector Node Name: {}", nodeName,
-                    nc.getNode().getNodeIDString());
-            if (nodeName.equals(nc.getNode().getNodeIDString())) {
-                NodeConnector nodeConnector = NodeConnectorCreator
-                        .createNodeConnector(node.getType(), nc.getID(), node);
-                return nodeConnector;
+        String ncNodeName = nc.getNode().getNodeIDString();
+        Node node = nodesByIDString.get(ncNodeName);
+        if (node == null) {
+            // Node may have been added before we started listening to the
+            // inventory updates
+            for (Node swNode : switchManager.getNodes()) {
+                String nodeName = swNode.getNodeIDString();
+                log.trace("Switch Manager Node Name: {}, NodeConnector Node Name: {}", nodeName, ncNodeName);
+                if (nodeName.equals(ncNodeName)) {
+                    nodesByIDString.put(nodeName, swNode);
+                    node = swNode;
+                    break;
+                }
             }
         }
+        if (node != null) {
+            return NodeConnectorCreator.createNodeConnector(node.getType(), nc.getID(), node);
+        }
         return null;
     }
 
     /**
-     * The Map returned is a copy of the current topology hence if the topology
-     * changes the copy doesn't
+     * The Map returned is an unmodifiable snapshot of the current topology
+     * hence if the topology changes the snapshot doesn't. The same snapshot is
+     * returned to all the callers until the topology changes.
      *
      * @return A Map representing the current topology expressed as edges of the
      *         network
@@ -536,22 +565,36 @@ public class TopologyManagerImpl implements
             return null;
         }
 
+        long version = edgesVersion.get();
+        EdgesSnapshot snapshot = edgesSnapshot;
+        if (snapshot != null && snapshot.version == version) {
+            return snapshot.edges;
+        }
+
         Map<Edge, Set<Property>> edgeMap = new HashMap<Edge, Set<Property>>();
         Set<Property> props;
         for (Map.Entry<Edge, Set<Property>> edgeEntry : edgesDB.entrySet()) {
             // Sets of props are copied because the composition of
             // those properties could change with time
-            props = new HashSet<Property>(edgeEntry.getValue());
+            props = Collections.unmodifiableSet(new HashSet<Property>(edgeEntry.getValue()));
             // We can simply reuse the key because the object is
             // immutable so doesn't really matter that we are
             // referencing the only owned by a different table, the
             // meaning is the same because doesn't change with time.
             edgeMap.put(edgeEntry.getKey(), props);
         }
+        edgeMap = Collections.unmodifiableMap(edgeMap);
 
+        // If edgesDB changed while copying, the snapshot is tagged with an old
+        // version and will not be served again
+        edgesSnapshot = new EdgesSnapshot(version, edgeMap);
         return edgeMap;
     }
 
+    private void edgesChanged() {
+        edgesVersion.incrementAndGet();
+    }
+
     @Override
     public Set<NodeConnector> getNodeConnectorWithHost() {
         if (this.hostsDB == null) {
@@ -623,11 +666,12 @@ public class TopologyManagerImpl implements
         }
         ImmutablePair<Host, Set<Property>> thisHost = new ImmutablePair<Host, Set<Property>>(h, props);
 
-        // get the host list
-        Set<ImmutablePair<Host, Set<Property>>> hostSet = this.hostsDB.get(port);
-        if(hostSet == null) {
-            hostSet = new HashSet<ImmutablePair<Host, Set<Property>>>();
-        }
+        // get the host list, the set stored in hostsDB is never modified
+        // so that readers can walk it without holding any lock
+        Set<ImmutablePair<Host, Set<Property>>> currHostSet = this.hostsDB.get(port);
+        Set<ImmutablePair<Host, Set<Property>>> hostSet = (currHostSet == null) ?
+                new HashSet<ImmutablePair<Host, Set<Property>>>() :
+                new HashSet<ImmutablePair<Host, Set<Property>>>(currHostSet);
         switch (t) {
         case ADDED:
         case CHANGED:
@@ -638,7 +682,7 @@ public class TopologyManagerImpl implements
             hostSet.remove(thisHost);
             if(hostSet.isEmpty()) {
                 //remove only if hasn't been concurrently modified
-                this.hostsDB.remove(port, hostSet);
+                this.hostsDB.remove(port, currHostSet);
             } else {
                 this.hostsDB.put(port, hostSet);
             }
@@ -784,6 +828,7 @@ public class TopologyManagerImpl implements
             // Now add this in the database eventually overriding
             // something that may have been already existing
             this.edgesDB.put(e, props);
+            edgesChanged();
 
             // Now populate the DB of NodeConnectors
             // NOTE WELL: properties are empty sets, not really needed
@@ -798,6 +843,7 @@ public class TopologyManagerImpl implements
         case REMOVED:
             // Now remove the edge from edgesDB
             this.edgesDB.remove(e);
+            edgesChanged();
 
             // Now lets update the NodeConnectors DB, the assumption
             // here is that two NodeConnector are exclusively
@@ -859,6 +905,7 @@ public class TopologyManagerImpl implements
 
             // Finally update
             this.edgesDB.put(e, props);
+            edgesChanged();
             log.trace("Edge {}  {}", e.toString(), type.name());
             break;
         }
@@ -1104,7 +1151,14 @@ public class TopologyManagerImpl implements
 
     @Override
     public void notifyNode(Node node, UpdateType type, Map<String, Property> propMap) {
-        // NOP
+        if (node == null) {
+            return;
+        }
+        if (type == UpdateType.REMOVED) {
+            nodesByIDString.remove(node.getNodeIDString(), node);
+        } else {
+            nodesByIDString.put(node.getNodeIDString(), node);
+        }
     }
 
     @Override
@@ -1121,6 +1175,7 @@ public class TopologyManagerImpl implements
             // This is the case of an Edge being added to the topology DB
             final Edge e = (Edge) key;
             log.trace("Edge {} CREATED isLocal:{}", e, originLocal);
+            edgesChanged();
             edgeUpdateClusterWide(e, UpdateType.ADDED, null, originLocal);
         }
     }
@@ -1130,6 +1185,7 @@ public class TopologyManagerImpl implements
         if (cacheName.equals(TOPOEDGESDB)) {
             final Edge e = (Edge) key;
             log.trace("Edge {} UPDATED isLocal:{}", e, originLocal);
+            edgesChanged();
             final Set<Property> props = (Set<Property>) new_value;
             edgeUpdateClusterWide(e, UpdateType.CHANGED, props, originLocal);
         }
@@ -1140,6 +1196,7 @@ public class TopologyManagerImpl implements
         if (cacheName.equals(TOPOEDGESDB)) {
             final Edge e = (Edge) key;
             log.trace("Edge {} DELETED isLocal:{}", e, originLocal);
+            edgesChanged();
             edgeUpdateClusterWide(e, UpdateType.REMOVED, null, originLocal);
         }
     }
@@ -440,7 +440,8 @@ public class TopologyManagerImplTest {
         topoManagerImpl.setSwitchManager(swMgr);
         setNodeEdges(topoManagerImpl, swMgr);
 
-        Map<Edge, Set<Property>> edgeProperty = topoManagerImpl.getEdges();
+        // The returned snapshot is read-only
+        Map<Edge, Set<Property>> edgeProperty = new HashMap<Edge, Set<Property>>(topoManagerImpl.getEdges());
 
         for (Iterator<Map.Entry<Edge, Set<Property>>> i = edgeProperty
                 .entrySet().iterator(); i.hasNext();) {
@@ -880,4 +881,148 @@ public class TopologyManagerImplTest {
         Thread.sleep(1000);
         Assert.assertEquals(0, topoManagerImpl.getEdges().size());
     }
+
+    @Test
+    public void testGetEdgesSnapshot() throws ConstructionException,
+           InterruptedException {
+        TestSwitchManager swMgr = new TestSwitchManager();
+        topoManagerImpl.setSwitchManager(swMgr);
+        topoManagerImpl.nonClusterObjectCreate();
+
+        TopologyUserLinkConfig link = new TopologyUserLinkConfig("link1",
+                "OF|1@OF|2", "OF|1@OF|3");
+        swMgr.addNodeConnectors(link);
+
+        // The same snapshot is returned until the topology changes
+        Map<Edge, Set<Property>> snapshot = topoManagerImpl.getEdges();
+        Assert.assertTrue(snapshot.isEmpty());
+        Assert.assertSame(snapshot, topoManagerImpl.getEdges());
+        try {
+            snapshot.put(null, null);
+            Assert.fail("Snapshot of the edges is modifiable");
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+
+        // Edge addition
+        Assert.assertTrue(topoManagerImpl.addUserLink(link).isSuccess());
+        Map<Edge, Set<Property>> added = topoManagerImpl.getEdges();
+        Assert.assertNotSame(snapshot, added);
+        Assert.assertEquals(2, added.size());
+        Assert.assertSame(added, topoManagerImpl.getEdges());
+        try {
+            added.values().iterator().next().add(new Description("Test edge"));
+            Assert.fail("Edge properties of the snapshot are modifiable");
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+
+        // Edge properties change
+        Edge edge = added.keySet().iterator().next();
+        Set<Property> props = new HashSet<Property>();
+        props.add(new Description("Test edge"));
+        List<TopoEdgeUpdate> topoedgeupdateList = new ArrayList<TopoEdgeUpdate>();
+        topoedgeupdateList.add(new TopoEdgeUpdate(edge, props, UpdateType.CHANGED));
+        topoManagerImpl.edgeUpdate(topoedgeupdateList);
+        Assert.assertTrue(topoManagerImpl.flushUpdateQueue(5000));
+        // Give TopologyManger time to update its edges DB.
+        Thread.sleep(1000);
+        Map<Edge, Set<Property>> changed = topoManagerImpl.getEdges();
+        Assert.assertNotSame(added, changed);
+        Assert.assertTrue(changed.get(edge).contains(new Description("Test edge")));
+        Assert.assertFalse(added.get(edge).contains(new Description("Test edge")));
+
+        // Edge removal
+        Assert.assertTrue(topoManagerImpl.deleteUserLink(link.getName()).isSuccess());
+        Map<Edge, Set<Property>> removed = topoManagerImpl.getEdges();
+        Assert.assertNotSame(changed, removed);
+        Assert.assertTrue(removed.isEmpty());
+        Assert.assertEquals(2, changed.size());
+    }
+
+    @Test
+    public void testCacheUpdatesInvalidateEdgesSnapshot() throws ConstructionException {
+        TestSwitchManager swMgr = new TestSwitchManager();
+        topoManagerImpl.setSwitchManager(swMgr);
+        topoManagerImpl.nonClusterObjectCreate();
+
+        Edge edge = new Edge(NodeConnectorCreator.createOFNodeConnector((short) 1,
+                NodeCreator.createOFNode(1000L)), NodeConnectorCreator.createOFNodeConnector(
+                (short) 2, NodeCreator.createOFNode(2000L)));
+
+        // Edges written by the other controllers of the cluster
+        Map<Edge, Set<Property>> snapshot = topoManagerImpl.getEdges();
+        topoManagerImpl.entryCreated(edge, TopologyManagerImpl.TOPOEDGESDB, false);
+        Assert.assertNotSame(snapshot, topoManagerImpl.getEdges());
+
+        snapshot = topoManagerImpl.getEdges();
+        topoManagerImpl.entryUpdated(edge, new HashSet<Property>(), TopologyManagerImpl.TOPOEDGESDB, false);
+        Assert.assertNotSame(snapshot, topoManagerImpl.getEdges());
+
+        snapshot = topoManagerImpl.getEdges();
+        topoManagerImpl.entryDeleted(edge, TopologyManagerImpl.TOPOEDGESDB, false);
+        Assert.assertNotSame(snapshot, topoManagerImpl.getEdges());
+
+        // Updates of the other caches do not
+        snapshot = topoManagerImpl.getEdges();
+        topoManagerImpl.entryCreated("link1", TopologyManagerImpl.TOPOUSERLINKSDB, false);
+        Assert.assertSame(snapshot, topoManagerImpl.getEdges());
+    }
+
+    @Test
+    public void testProductionNodeConnectorTypeFromInventory() throws ConstructionException,
+           InterruptedException {
+        TestSwitchManager swMgr = new TestSwitchManager();
+        topoManagerImpl.setSwitchManager(swMgr);
+        topoManagerImpl.nonClusterObjectCreate();
+
+        // Discovery only knows the OF nodes, so it reports the port of the
+        // ONEPK node as a production port
+        Node pkNode = new Node(NodeIDType.ONEPK, "pk1");
+        Node prodNode = new Node(NodeIDType.PRODUCTION, "pk1");
+        NodeConnector tail = NodeConnectorCreator.createOFNodeConnector((short) 1,
+                NodeCreator.createOFNode(1000L));
+        swMgr.addNodeConnectors(tail);
+
+        // Node known from the inventory notifications
+        topoManagerImpl.notifyNode(pkNode, UpdateType.ADDED, null);
+        Edge edge = addProductionEdge(swMgr, tail, new NodeConnector(NodeConnectorIDType.PRODUCTION,
+                "port1", prodNode));
+        Assert.assertEquals(NodeConnectorIDType.ONEPK, edge.getHeadNodeConnector().getType());
+
+        // Node no longer known
+        topoManagerImpl.notifyNode(pkNode, UpdateType.REMOVED, null);
+        edge = addProductionEdge(swMgr, tail, new NodeConnector(NodeConnectorIDType.PRODUCTION,
+                "port2", prodNode));
+        Assert.assertEquals(NodeConnectorIDType.PRODUCTION, edge.getHeadNodeConnector().getType());
+
+        // Node added to the inventory before the notifications were received
+        swMgr.nodeSet.add(pkNode);
+        edge = addProductionEdge(swMgr, tail, new NodeConnector(NodeConnectorIDType.PRODUCTION,
+                "port3", prodNode));
+        Assert.assertEquals(NodeConnectorIDType.ONEPK, edge.getHeadNodeConnector().getType());
+    }
+
+    /*
+     * Adds the edge and returns it as stored in the topology
+     */
+    private Edge addProductionEdge(TestSwitchManager swMgr, NodeConnector tail, NodeConnector head)
+            throws ConstructionException, InterruptedException {
+        swMgr.nodeConnectorSet.add(head);
+        List<TopoEdgeUpdate> topoedgeupdateList = new ArrayList<TopoEdgeUpdate>();
+        topoedgeupdateList.add(new TopoEdgeUpdate(new Edge(tail, head), new HashSet<Property>(),
+                UpdateType.ADDED));
+        topoManagerImpl.edgeUpdate(topoedgeupdateList);
+        Assert.assertTrue(topoManagerImpl.flushUpdateQueue(5000));
+        // Give TopologyManger time to update its edges DB.
+        Thread.sleep(1000);
+
+        for (Edge e : topoManagerImpl.getEdges().keySet()) {
+            if (e.getHeadNodeConnector().getID().equals(head.getID())) {
+                return e;
+            }
+        }
+        Assert.fail("Edge not found " + head);
+        return null;
+    }
 }
@@ -13,11 +13,14 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.NotThreadSafe;
 import javax.annotation.concurrent.ThreadSafe;
@@ -109,6 +112,13 @@ public class ConfigRegistryImpl implements AutoCloseable, ConfigRegistryImplMXBe
     @GuardedBy("this") // switched in every 2ndPC
     private CloseableServiceReferenceReadableRegistry readableSRRegistry = ServiceReferenceRegistryImpl.createInitialSRLookupRegistry();
 
+    // instantiates independent modules in parallel during commit, not owned by this registry
+    @Nullable
+    private final ExecutorService commitExecutor;
+
+    @GuardedBy("this")
+    private Map<ObjectName, Long> lastCommitInstantiationTimes = Collections.emptyMap();
+
     // constructor
     public ConfigRegistryImpl(ModuleFactoriesResolver resolver,
                               MBeanServer configMBeanServer, CodecRegistry codecRegistry) {
@@ -120,7 +130,21 @@ public class ConfigRegistryImpl implements AutoCloseable, ConfigRegistryImplMXBe
     public ConfigRegistryImpl(ModuleFactoriesResolver resolver,
                               MBeanServer configMBeanServer,
                               BaseJMXRegistrator baseJMXRegistrator, CodecRegistry codecRegistry) {
+        this(resolver, configMBeanServer, baseJMXRegistrator, codecRegistry, null);
+    }
+
+    /**
+     * @param commitExecutor executor on which modules that do not depend on
+     *            each other are instantiated in parallel during commit, null
+     *            to instantiate all modules serially. It is not shut down by
+     *            this registry.
+     */
+    public ConfigRegistryImpl(ModuleFactoriesResolver resolver,
+                              MBeanServer configMBeanServer,
+                              BaseJMXRegistrator baseJMXRegistrator, CodecRegistry codecRegistry,
+                              @Nullable ExecutorService commitExecutor) {
         this.resolver = resolver;
+        this.commitExecutor = commitExecutor;
         this.beanToOsgiServiceManager = new BeanToOsgiServiceManager();
         this.configMBeanServer = configMBeanServer;
         this.baseJMXRegistrator = baseJMXRegistrator;
@@ -181,7 +205,7 @@ public class ConfigRegistryImpl implements AutoCloseable, ConfigRegistryImplMXBe
         ConfigTransactionControllerInternal transactionController = new ConfigTransactionControllerImpl(
                 txLookupRegistry, version, codecRegistry,
                 versionCounter, allCurrentFactories, transactionsMBeanServer,
-                configMBeanServer, blankTransaction, writableRegistry);
+                configMBeanServer, blankTransaction, writableRegistry, commitExecutor);
         try {
             txLookupRegistry.registerMBean(transactionController, transactionController.getControllerObjectName());
         } catch (InstanceAlreadyExistsException e) {
@@ -278,6 +302,12 @@ public class ConfigRegistryImpl implements AutoCloseable, ConfigRegistryImplMXBe
 
         // can register runtime beans
         List<ModuleIdentifier> orderedModuleIdentifiers = configTransactionController.secondPhaseCommit();
+        Map<ObjectName, Long> instantiationTimes = new LinkedHashMap<>();
+        for (Entry<ModuleIdentifier, Long> time : configTransactionController.getModuleInstantiationTimes(
+                orderedModuleIdentifiers).entrySet()) {
+            instantiationTimes.put(ObjectNameUtil.createReadOnlyModuleON(time.getKey()), time.getValue());
+        }
+        lastCommitInstantiationTimes = Collections.unmodifiableMap(instantiationTimes);
         txLookupRegistry.close();
         configTransactionController.close();
 
@@ -391,6 +421,14 @@ public class ConfigRegistryImpl implements AutoCloseable, ConfigRegistryImplMXBe
                 recreatedInstances);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized Map<ObjectName, Long> getLastCommitInstantiationTimes() {
+        return lastCommitInstantiationTimes;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -7,6 +7,8 @@
  */
 package org.opendaylight.controller.config.manager.impl;
 
+import java.util.Map;
+import javax.management.ObjectName;
 import org.opendaylight.controller.config.api.ConfigRegistry;
 
 /**
@@ -21,4 +23,11 @@ public interface ConfigRegistryImplMXBean extends ConfigRegistry {
      */
     long getVersion();
 
+    /**
+     * @return time in milliseconds getInstance() took for each module
+     *         instantiated by the last successful commit, keyed by the read
+     *         only module name
+     */
+    Map<ObjectName, Long> getLastCommitInstantiationTimes();
+
 }
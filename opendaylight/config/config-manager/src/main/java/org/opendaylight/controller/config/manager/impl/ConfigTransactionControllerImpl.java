@@ -10,14 +10,23 @@ package org.opendaylight.controller.config.manager.impl;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.lang.String.format;
 
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.Lists;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
@@ -82,11 +91,25 @@ class ConfigTransactionControllerImpl implements
     @GuardedBy("this")
     private final SearchableServiceReferenceWritableRegistry writableSRRegistry;
 
+    /**
+     * Instantiates independent modules in parallel during commit, null to
+     * instantiate all modules serially.
+     */
+    @Nullable
+    private final ExecutorService commitExecutor;
+
+    /**
+     * Time in milliseconds getInstance() took for each module, written by
+     * the threads instantiating the modules.
+     */
+    private final Map<ModuleIdentifier, Long> instantiationTimes = new ConcurrentHashMap<>();
+
     public ConfigTransactionControllerImpl(ConfigTransactionLookupRegistry txLookupRegistry,
                                            long parentVersion, CodecRegistry codecRegistry, long currentVersion,
                                            Map<String, Entry<ModuleFactory, BundleContext>> currentlyRegisteredFactories,
                                            MBeanServer transactionsMBeanServer, MBeanServer configMBeanServer,
-                                           boolean blankTransaction, SearchableServiceReferenceWritableRegistry  writableSRRegistry) {
+                                           boolean blankTransaction, SearchableServiceReferenceWritableRegistry  writableSRRegistry,
+                                           @Nullable ExecutorService commitExecutor) {
         this.txLookupRegistry = txLookupRegistry;
         String transactionName = txLookupRegistry.getTransactionIdentifier().getName();
         this.controllerON = ObjectNameUtil.createTransactionControllerON(transactionName);
@@ -101,6 +124,7 @@ class ConfigTransactionControllerImpl implements
         this.configMBeanServer = configMBeanServer;
         this.blankTransaction = blankTransaction;
         this.writableSRRegistry = writableSRRegistry;
+        this.commitExecutor = commitExecutor;
     }
 
     @Override
@@ -390,22 +414,16 @@ class ConfigTransactionControllerImpl implements
         // The source of a dependency closes itself and calls getInstance recursively on the dependencies (in case of reconfiguration)
         // This makes close() calls from top to bottom while createInstance() calls are performed bottom to top
         List<ModuleIdentifier> sortedModuleIdentifiers = Lists.reverse(dependencyResolverManager.getSortedModuleIdentifiers());
-        for (ModuleIdentifier moduleIdentifier : sortedModuleIdentifiers) {
-            Module module = allModules.get(moduleIdentifier);
-
-            try {
-                LOG.debug("About to commit {} in transaction {}",
-                        moduleIdentifier, getTransactionIdentifier());
-                AutoCloseable instance = module.getInstance();
-                checkNotNull(instance, "Instance is null:{} in transaction {}", moduleIdentifier, getTransactionIdentifier());
-            } catch (Exception e) {
-                LOG.error("Commit failed on {} in transaction {}", moduleIdentifier,
-                        getTransactionIdentifier(), e);
-                internalAbort();
-                throw new IllegalStateException(
-                        format("Error - getInstance() failed for %s in transaction %s",
-                                moduleIdentifier, getTransactionIdentifier()), e);
+        if (commitExecutor == null) {
+            for (ModuleIdentifier moduleIdentifier : sortedModuleIdentifiers) {
+                try {
+                    instantiateModule(moduleIdentifier, allModules.get(moduleIdentifier));
+                } catch (Exception e) {
+                    throw commitFailed(moduleIdentifier, e);
+                }
             }
+        } else {
+            instantiateModulesInParallel(sortedModuleIdentifiers, allModules);
         }
 
         LOG.trace("Committed configuration {}", getTransactionIdentifier());
@@ -414,6 +432,117 @@ class ConfigTransactionControllerImpl implements
         return sortedModuleIdentifiers;
     }
 
+    /**
+     * Instantiate modules on {@link #commitExecutor}. Modules which reconfigure
+     * an old instance are instantiated serially first, in the same top to
+     * bottom order as in serial commit, so that old instances are still closed
+     * before the instances they depend on. All remaining modules are new and
+     * are instantiated bottom to top, one dependency depth at a time, as
+     * modules with the same depth cannot depend on each other. If any module
+     * fails, no further depth is started and the failure of the module which
+     * serial commit would have instantiated first is reported, regardless of
+     * which module failed first in time.
+     */
+    private void instantiateModulesInParallel(final List<ModuleIdentifier> sortedModuleIdentifiers,
+                                              final Map<ModuleIdentifier, Module> allModules) {
+        for (ModuleIdentifier moduleIdentifier : sortedModuleIdentifiers) {
+            if (dependencyResolverManager.findModuleInternalTransactionalInfo(moduleIdentifier).hasOldModule()) {
+                try {
+                    instantiateModule(moduleIdentifier, allModules.get(moduleIdentifier));
+                } catch (Exception e) {
+                    throw commitFailed(moduleIdentifier, e);
+                }
+            }
+        }
+
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        for (List<ModuleIdentifier> sameDepth : dependencyResolverManager.getModuleIdentifiersByDependencyDepth()) {
+            List<ModuleIdentifier> identifiers = new ArrayList<>(sameDepth.size());
+            List<Callable<Void>> tasks = new ArrayList<>(sameDepth.size());
+            for (final ModuleIdentifier moduleIdentifier : sameDepth) {
+                if (dependencyResolverManager.findModuleInternalTransactionalInfo(moduleIdentifier).hasOldModule()) {
+                    continue;
+                }
+                final Module module = allModules.get(moduleIdentifier);
+                identifiers.add(moduleIdentifier);
+                tasks.add(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        Thread currentThread = Thread.currentThread();
+                        ClassLoader oldClassLoader = currentThread.getContextClassLoader();
+                        currentThread.setContextClassLoader(contextClassLoader);
+                        try {
+                            instantiateModule(moduleIdentifier, module);
+                        } finally {
+                            currentThread.setContextClassLoader(oldClassLoader);
+                        }
+                        return null;
+                    }
+                });
+            }
+
+            if (tasks.isEmpty()) {
+                continue;
+            }
+
+            List<Future<Void>> results;
+            try {
+                results = commitExecutor.invokeAll(tasks);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw commitFailed(identifiers.get(0), e);
+            }
+
+            // serial commit goes through the modules of one depth in reverse order
+            for (int i = results.size() - 1; i >= 0; i--) {
+                try {
+                    results.get(i).get();
+                } catch (ExecutionException e) {
+                    throw commitFailed(identifiers.get(i), e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw commitFailed(identifiers.get(i), e);
+                }
+            }
+        }
+    }
+
+    private void instantiateModule(final ModuleIdentifier moduleIdentifier, final Module module) {
+        LOG.debug("About to commit {} in transaction {}",
+                moduleIdentifier, getTransactionIdentifier());
+        Stopwatch stopwatch = new Stopwatch().start();
+        AutoCloseable instance = module.getInstance();
+        checkNotNull(instance, "Instance is null:{} in transaction {}", moduleIdentifier, getTransactionIdentifier());
+        long elapsed = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+        instantiationTimes.put(moduleIdentifier, elapsed);
+        LOG.debug("Instance of {} obtained in {} ms in transaction {}", moduleIdentifier,
+                elapsed, getTransactionIdentifier());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<ModuleIdentifier, Long> getModuleInstantiationTimes(List<ModuleIdentifier> orderedModuleIdentifiers) {
+        Map<ModuleIdentifier, Long> result = new LinkedHashMap<>();
+        for (ModuleIdentifier moduleIdentifier : orderedModuleIdentifiers) {
+            Long time = instantiationTimes.get(moduleIdentifier);
+            if (time != null) {
+                result.put(moduleIdentifier, time);
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private IllegalStateException commitFailed(final ModuleIdentifier moduleIdentifier, final Throwable cause) {
+        LOG.error("Commit failed on {} in transaction {}", moduleIdentifier,
+                getTransactionIdentifier(), cause);
+        internalAbort();
+        return new IllegalStateException(
+                format("Error - getInstance() failed for %s in transaction %s",
+                        moduleIdentifier, getTransactionIdentifier()), cause);
+    }
+
     @Override
     public synchronized void abortConfig() {
         transactionStatus.checkNotCommitStarted();
@@ -9,6 +9,7 @@ package org.opendaylight.controller.config.manager.impl;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import javax.management.ObjectName;
 import org.opendaylight.controller.config.api.ModuleIdentifier;
 import org.opendaylight.controller.config.api.ValidationException;
@@ -56,6 +57,15 @@ interface ConfigTransactionControllerInternal extends
      */
     List<ModuleIdentifier> secondPhaseCommit();
 
+    /**
+     * @param orderedModuleIdentifiers modules in the order of the result
+     * @return time in milliseconds
+     *         {@link org.opendaylight.controller.config.spi.Module#getInstance()}
+     *         took for each module instantiated by
+     *         {@link #secondPhaseCommit()}
+     */
+    Map<ModuleIdentifier, Long> getModuleInstantiationTimes(List<ModuleIdentifier> orderedModuleIdentifiers);
+
     /**
      * @return ObjectName of this transaction controller
      */
@@ -108,6 +108,23 @@ public class DependencyResolverManager implements DependencyResolverFactory, Aut
         return result;
     }
 
+    /**
+     * @return module identifiers grouped by their dependency depth, starting
+     *         with modules without dependencies. Modules within one group do
+     *         not depend on each other.
+     */
+    public List<List<ModuleIdentifier>> getModuleIdentifiersByDependencyDepth() {
+        List<List<ModuleIdentifier>> result = new ArrayList<>();
+        for (DependencyResolverImpl dri : getAllSorted()) {
+            int depth = dri.getMaxDependencyDepth();
+            while (result.size() <= depth) {
+                result.add(new ArrayList<ModuleIdentifier>());
+            }
+            result.get(depth).add(dri.getIdentifier());
+        }
+        return result;
+    }
+
     public ModuleInternalTransactionalInfo destroyModule(
             final ModuleIdentifier moduleIdentifier) {
         transactionStatus.checkNotCommitted();
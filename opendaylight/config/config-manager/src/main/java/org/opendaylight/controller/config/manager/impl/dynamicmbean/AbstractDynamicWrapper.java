@@ -24,20 +24,16 @@ import javax.management.AttributeNotFoundException;
 import javax.management.InstanceAlreadyExistsException;
 import javax.management.InstanceNotFoundException;
 import javax.management.IntrospectionException;
-import javax.management.ListenerNotFoundException;
 import javax.management.MBeanAttributeInfo;
 import javax.management.MBeanConstructorInfo;
 import javax.management.MBeanException;
 import javax.management.MBeanInfo;
 import javax.management.MBeanNotificationInfo;
 import javax.management.MBeanOperationInfo;
+import javax.management.MBeanRegistration;
 import javax.management.MBeanRegistrationException;
 import javax.management.MBeanServer;
-import javax.management.MBeanServerDelegate;
-import javax.management.MBeanServerNotification;
 import javax.management.NotCompliantMBeanException;
-import javax.management.Notification;
-import javax.management.NotificationListener;
 import javax.management.ObjectName;
 import javax.management.ReflectionException;
 import org.opendaylight.controller.config.api.ModuleIdentifier;
@@ -55,42 +51,7 @@ import org.slf4j.LoggerFactory;
  * provides additional functionality - namely it disallows setting attribute on
  * a read only wrapper.
  */
-abstract class AbstractDynamicWrapper implements DynamicMBeanModuleWrapper {
-    private static final class ModuleNotificationListener implements NotificationListener {
-        private final ObjectName objectNameInternal;
-        private final MBeanServer internalServer;
-        private final ObjectName thisWrapperObjectName;
-        private final MBeanServer configMBeanServer;
-
-        private ModuleNotificationListener(final ObjectName objectNameInternal, final MBeanServer internalServer,
-                final ObjectName thisWrapperObjectName, final MBeanServer configMBeanServer) {
-            this.objectNameInternal = objectNameInternal;
-            this.internalServer = internalServer;
-            this.thisWrapperObjectName = thisWrapperObjectName;
-            this.configMBeanServer = configMBeanServer;
-        }
-
-        @Override
-        public void handleNotification(final Notification n, final Object handback) {
-            if (n instanceof MBeanServerNotification
-                    && n.getType()
-                        .equals(MBeanServerNotification.UNREGISTRATION_NOTIFICATION)) {
-                if (((MBeanServerNotification) n).getMBeanName().equals(
-                        thisWrapperObjectName)) {
-                    try {
-                        internalServer.unregisterMBean(objectNameInternal);
-                        configMBeanServer.removeNotificationListener(
-                                MBeanServerDelegate.DELEGATE_NAME, this);
-                    } catch (MBeanRegistrationException
-                            | ListenerNotFoundException
-                            | InstanceNotFoundException e) {
-                        throw new IllegalStateException(e);
-                    }
-                }
-            }
-        }
-    }
-
+abstract class AbstractDynamicWrapper implements DynamicMBeanModuleWrapper, MBeanRegistration {
     private static final Logger LOG = LoggerFactory.getLogger(AbstractDynamicWrapper.class);
     protected final boolean writable;
     protected final Module module;
@@ -112,8 +73,7 @@ abstract class AbstractDynamicWrapper implements DynamicMBeanModuleWrapper {
         this.internalServer = internalServer;
         this.objectNameInternal = thisWrapperObjectName;
         // register the actual instance into an mbean server.
-        registerActualModule(module, thisWrapperObjectName, objectNameInternal,
-                internalServer, configMBeanServer);
+        registerActualModule(module, objectNameInternal, internalServer);
         Set<Class<?>> jmxInterfaces = InterfacesHelper.getMXInterfaces(module
                 .getClass());
         this.attributeHolderMap = buildMBeanInfo(module, writable,
@@ -124,15 +84,15 @@ abstract class AbstractDynamicWrapper implements DynamicMBeanModuleWrapper {
     }
 
     /**
-     * Register module into an internal mbean server, attach listener to the
-     * platform mbean server. Wait until this wrapper gets unregistered, in that
-     * case unregister the module and remove listener.
+     * Register module into an internal mbean server. The module is
+     * unregistered once this wrapper gets unregistered, see
+     * {@link #postDeregister()}. This used to be done by a notification
+     * listener attached to the config mbean server per wrapper, which made
+     * every unregistration notify all live wrappers.
      */
-    private final NotificationListener registerActualModule(final Module module,
-                                                            final ObjectName thisWrapperObjectName,
-                                                            final ObjectName objectNameInternal,
-                                                            final MBeanServer internalServer,
-                                                            final MBeanServer configMBeanServer) {
+    private static void registerActualModule(final Module module,
+                                             final ObjectName objectNameInternal,
+                                             final MBeanServer internalServer) {
 
         try {
             internalServer.registerMBean(module, objectNameInternal);
@@ -141,15 +101,39 @@ abstract class AbstractDynamicWrapper implements DynamicMBeanModuleWrapper {
             throw new IllegalStateException(
                     "Error occured during mbean registration with name " + objectNameInternal, e);
         }
+    }
 
-        NotificationListener listener = new ModuleNotificationListener(objectNameInternal, internalServer, thisWrapperObjectName, configMBeanServer);
+    private void unregisterActualModule() {
         try {
-            configMBeanServer.addNotificationListener(
-                    MBeanServerDelegate.DELEGATE_NAME, listener, null, null);
+            internalServer.unregisterMBean(objectNameInternal);
         } catch (InstanceNotFoundException e) {
-            throw new RuntimeException("Could not add notification listener", e);
+            LOG.debug("Module {} was already unregistered from internal server", objectNameInternal, e);
+        } catch (MBeanRegistrationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // MBeanRegistration methods
+
+    @Override
+    public ObjectName preRegister(final MBeanServer server, final ObjectName name) {
+        return name;
+    }
+
+    @Override
+    public void postRegister(final Boolean registrationDone) {
+        if (Boolean.FALSE.equals(registrationDone)) {
+            unregisterActualModule();
         }
-        return listener;
+    }
+
+    @Override
+    public void preDeregister() {
+    }
+
+    @Override
+    public void postDeregister() {
+        unregisterActualModule();
     }
 
     private static MBeanInfo generateMBeanInfo(final String className, final Module module,
@@ -13,9 +13,12 @@ import static org.opendaylight.controller.config.manager.impl.util.OsgiRegistrat
 import java.lang.management.ManagementFactory;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import javax.management.InstanceAlreadyExistsException;
 import javax.management.MBeanServer;
 import org.opendaylight.controller.config.manager.impl.ConfigRegistryImpl;
+import org.opendaylight.controller.config.manager.impl.jmx.BaseJMXRegistrator;
 import org.opendaylight.controller.config.manager.impl.jmx.ConfigRegistryJMXRegistrator;
 import org.opendaylight.controller.config.manager.impl.osgi.mapping.CodecRegistryProvider;
 import org.opendaylight.controller.config.manager.impl.osgi.mapping.ModuleInfoBundleTracker;
@@ -29,6 +32,12 @@ import org.osgi.framework.BundleContext;
 import org.osgi.util.tracker.ServiceTracker;
 
 public class ConfigManagerActivator implements BundleActivator {
+    /**
+     * Number of threads instantiating independent modules during commit.
+     * Values lower than 2 keep instantiating modules serially.
+     */
+    private static final String COMMIT_PARALLELISM_PROP = "config.commit.parallelism";
+
     private final MBeanServer configMBeanServer = ManagementFactory.getPlatformMBeanServer();
 
     private AutoCloseable autoCloseable;
@@ -48,8 +57,18 @@ public class ConfigManagerActivator implements BundleActivator {
         // start config registry
         BundleContextBackedModuleFactoriesResolver bundleContextBackedModuleFactoriesResolver = new BundleContextBackedModuleFactoriesResolver(
                 context);
+        int commitParallelism = Integer.getInteger(COMMIT_PARALLELISM_PROP, 0);
+        final ExecutorService commitExecutor = commitParallelism > 1 ? new ForkJoinPool(commitParallelism) : null;
         ConfigRegistryImpl configRegistry = new ConfigRegistryImpl(bundleContextBackedModuleFactoriesResolver, configMBeanServer,
-                codecRegistryProvider.getCodecRegistry());
+                new BaseJMXRegistrator(configMBeanServer), codecRegistryProvider.getCodecRegistry(), commitExecutor);
+        AutoCloseable commitExecutorCloser = new AutoCloseable() {
+            @Override
+            public void close() {
+                if (commitExecutor != null) {
+                    commitExecutor.shutdown();
+                }
+            }
+        };
 
         // track bundles containing factories
         BlankTransactionServiceTracker blankTransactionServiceTracker = new BlankTransactionServiceTracker(
@@ -80,7 +99,7 @@ public class ConfigManagerActivator implements BundleActivator {
         serviceTracker.open();
 
         List<AutoCloseable> list = Arrays.asList(
-                codecRegistryProvider, clsReg,configRegistry, wrap(bundleTracker), configRegReg, configRegistryJMXRegistrator, wrap(serviceTracker));
+                codecRegistryProvider, clsReg,configRegistry, commitExecutorCloser, wrap(bundleTracker), configRegReg, configRegistryJMXRegistrator, wrap(serviceTracker));
         autoCloseable = OsgiRegistrationUtil.aggregate(list);
     }
 
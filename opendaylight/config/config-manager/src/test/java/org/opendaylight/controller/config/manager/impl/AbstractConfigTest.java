@@ -23,6 +23,7 @@ import java.util.Dictionary;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import javax.management.InstanceAlreadyExistsException;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
@@ -111,6 +112,12 @@ public abstract class AbstractConfigTest extends
     // this method should be called in @Before
     protected void initConfigTransactionManagerImpl(
             ModuleFactoriesResolver resolver) {
+        initConfigTransactionManagerImpl(resolver, null);
+    }
+
+    // this method should be called in @Before
+    protected void initConfigTransactionManagerImpl(
+            ModuleFactoriesResolver resolver, ExecutorService commitExecutor) {
 
         final MBeanServer platformMBeanServer = ManagementFactory
                 .getPlatformMBeanServer();
@@ -122,7 +129,7 @@ public abstract class AbstractConfigTest extends
         baseJmxRegistrator = new BaseJMXRegistrator(internalJmxRegistrator);
 
         configRegistry = new ConfigRegistryImpl(resolver,
-                platformMBeanServer, baseJmxRegistrator, getCodecRegistry());
+                platformMBeanServer, baseJmxRegistrator, getCodecRegistry(), commitExecutor);
 
         try {
             configRegistryJMXRegistrator.registerToJMX(configRegistry);
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.config.manager.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.config.api.ConfigRegistry;
+import org.opendaylight.controller.config.api.DynamicMBeanWithInstance;
+import org.opendaylight.controller.config.api.ModuleIdentifier;
+import org.opendaylight.controller.config.api.jmx.CommitStatus;
+import org.opendaylight.controller.config.api.jmx.ObjectNameUtil;
+import org.opendaylight.controller.config.manager.impl.factoriesresolver.HardcodedModuleFactoriesResolver;
+import org.opendaylight.controller.config.spi.Module;
+import org.opendaylight.controller.config.util.ConfigTransactionJMXClient;
+
+/**
+ * Tests commit of modules with a commit executor injected into
+ * {@link ConfigRegistryImpl}.
+ */
+public class ParallelCommitTest extends AbstractConfigTest {
+    private static final String FACTORY_NAME = "parallel-commit";
+
+    // threads which called getInstance() on a new module, by instance name
+    private static final Map<String, Thread> instantiatingThreads = new ConcurrentHashMap<>();
+    // when set, all new modules wait on it in getInstance()
+    private static volatile CyclicBarrier barrier;
+
+    private ExecutorService commitExecutor;
+
+    @Before
+    public void setUp() {
+        instantiatingThreads.clear();
+        barrier = null;
+        commitExecutor = Executors.newFixedThreadPool(3);
+        super.initConfigTransactionManagerImpl(new HardcodedModuleFactoriesResolver(mockedContext,
+                new ClassBasedModuleFactory(FACTORY_NAME, CommitTestingModule.class)), commitExecutor);
+    }
+
+    @After
+    public void tearDown() {
+        commitExecutor.shutdownNow();
+    }
+
+    public static interface CommitTestingModuleMXBean {
+        boolean isFail();
+
+        void setFail(boolean fail);
+
+        long getFailureDelay();
+
+        void setFailureDelay(long failureDelay);
+    }
+
+    public static class CommitTestingModule implements Module, CommitTestingModuleMXBean {
+        private final ModuleIdentifier identifier;
+        private final AutoCloseable oldInstance;
+        private boolean fail;
+        private long failureDelay;
+        private AutoCloseable instance;
+
+        public CommitTestingModule(DynamicMBeanWithInstance old, ModuleIdentifier identifier) {
+            this.identifier = identifier;
+            this.oldInstance = old == null ? null : old.getInstance();
+        }
+
+        @Override
+        public boolean isFail() {
+            return fail;
+        }
+
+        @Override
+        public void setFail(boolean fail) {
+            this.fail = fail;
+        }
+
+        @Override
+        public long getFailureDelay() {
+            return failureDelay;
+        }
+
+        @Override
+        public void setFailureDelay(long failureDelay) {
+            this.failureDelay = failureDelay;
+        }
+
+        @Override
+        public void validate() {
+        }
+
+        @Override
+        public boolean canReuse(Module oldModule) {
+            return oldInstance != null;
+        }
+
+        @Override
+        public AutoCloseable getInstance() {
+            if (instance == null) {
+                instantiatingThreads.put(identifier.getInstanceName(), Thread.currentThread());
+                if (fail) {
+                    Uninterruptibles.sleepUninterruptibly(failureDelay, TimeUnit.MILLISECONDS);
+                    throw new IllegalStateException("Failing " + identifier);
+                }
+                CyclicBarrier currentBarrier = barrier;
+                if (oldInstance == null && currentBarrier != null) {
+                    try {
+                        currentBarrier.await(10, TimeUnit.SECONDS);
+                    } catch (Exception e) {
+                        throw new IllegalStateException("Modules were not instantiated in parallel", e);
+                    }
+                }
+                instance = oldInstance != null ? oldInstance : new AutoCloseable() {
+                    @Override
+                    public void close() {
+                    }
+                };
+            }
+            return instance;
+        }
+
+        @Override
+        public ModuleIdentifier getIdentifier() {
+            return identifier;
+        }
+    }
+
+    private static CommitTestingModuleMXBean createModule(ConfigTransactionJMXClient transaction,
+            String instanceName) throws Exception {
+        ObjectName on = transaction.createModule(FACTORY_NAME, instanceName);
+        return transaction.newMXBeanProxy(on, CommitTestingModuleMXBean.class);
+    }
+
+    @Test
+    public void testIndependentModulesAreInstantiatedInParallel() throws Exception {
+        // both modules block until the other one is being instantiated too
+        barrier = new CyclicBarrier(2);
+
+        ConfigTransactionJMXClient transaction = configRegistryClient.createTransaction();
+        createModule(transaction, "a");
+        createModule(transaction, "b");
+        CommitStatus status = transaction.commit();
+        assertStatus(status, 2, 0, 0);
+
+        assertNotSame(Thread.currentThread(), instantiatingThreads.get("a"));
+        assertNotSame(Thread.currentThread(), instantiatingThreads.get("b"));
+        assertNotSame(instantiatingThreads.get("a"), instantiatingThreads.get("b"));
+
+        ObjectName a = ObjectNameUtil.createReadOnlyModuleON(FACTORY_NAME, "a");
+        ObjectName b = ObjectNameUtil.createReadOnlyModuleON(FACTORY_NAME, "b");
+        assertEquals(Sets.newHashSet(a, b), configRegistry.getLastCommitInstantiationTimes().keySet());
+
+        // the timing is exported over JMX
+        TabularData times = (TabularData) ManagementFactory.getPlatformMBeanServer().getAttribute(
+                ConfigRegistry.OBJECT_NAME, "LastCommitInstantiationTimes");
+        assertEquals(2, times.size());
+    }
+
+    @Test
+    public void testReportedFailureDoesNotDependOnTiming() throws Exception {
+        // b and c fail in both commits, in opposite order in time
+        String firstReported = commitFailingModules(500, 0);
+        String secondReported = commitFailingModules(0, 500);
+        assertEquals(firstReported, secondReported);
+    }
+
+    private String commitFailingModules(long failureDelayB, long failureDelayC) throws Exception {
+        ConfigTransactionJMXClient transaction = configRegistryClient.createTransaction();
+        createModule(transaction, "a");
+        CommitTestingModuleMXBean b = createModule(transaction, "b");
+        b.setFail(true);
+        b.setFailureDelay(failureDelayB);
+        CommitTestingModuleMXBean c = createModule(transaction, "c");
+        c.setFail(true);
+        c.setFailureDelay(failureDelayC);
+
+        try {
+            configRegistry.commitConfig(transaction.getObjectName());
+            fail("Commit should fail");
+        } catch (IllegalStateException e) {
+            String message = e.getMessage();
+            boolean failedB = message.contains("instanceName='b'");
+            assertTrue("Unexpected failure " + message, failedB || message.contains("instanceName='c'"));
+            return failedB ? "b" : "c";
+        }
+        throw new AssertionError("unreachable");
+    }
+
+    @Test
+    public void testReconfiguredModulesAreInstantiatedSerially() throws Exception {
+        ConfigTransactionJMXClient transaction = configRegistryClient.createTransaction();
+        createModule(transaction, "a");
+        transaction.commit();
+
+        instantiatingThreads.clear();
+
+        transaction = configRegistryClient.createTransaction();
+        createModule(transaction, "b");
+        CommitStatus status = transaction.commit();
+        assertStatus(status, 1, 0, 1);
+
+        // the copied module is instantiated on the committing thread, the new one on the executor
+        assertSame(Thread.currentThread(), instantiatingThreads.get("a"));
+        assertNotSame(Thread.currentThread(), instantiatingThreads.get("b"));
+        assertEquals(2, configRegistry.getLastCommitInstantiationTimes().size());
+    }
+}
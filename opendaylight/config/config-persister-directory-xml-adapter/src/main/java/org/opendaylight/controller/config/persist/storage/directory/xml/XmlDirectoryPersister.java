@@ -36,6 +36,9 @@ import org.slf4j.LoggerFactory;
 public class XmlDirectoryPersister implements Persister {
     private static final Logger LOG = LoggerFactory.getLogger(XmlDirectoryPersister.class);
 
+    // JAXB context is thread safe and expensive to create, share it for all loaded files
+    private static volatile JAXBContext jaxbContext;
+
     private final File storage;
     private final Optional<FilenameFilter> extensionsFilter;
 
@@ -107,8 +110,7 @@ public class XmlDirectoryPersister implements Persister {
     }
 
     public static ConfigSnapshotHolder loadLastConfig(final File file) throws JAXBException {
-        JAXBContext jaxbContext = JAXBContext.newInstance(ConfigSnapshot.class);
-        Unmarshaller um = jaxbContext.createUnmarshaller();
+        Unmarshaller um = getJaxbContext().createUnmarshaller();
         XMLInputFactory xif = XMLInputFactory.newFactory();
         xif.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
         xif.setProperty(XMLInputFactory.SUPPORT_DTD, false);
@@ -120,6 +122,15 @@ public class XmlDirectoryPersister implements Persister {
         }
     }
 
+    private static JAXBContext getJaxbContext() throws JAXBException {
+        JAXBContext context = jaxbContext;
+        if (context == null) {
+            context = JAXBContext.newInstance(ConfigSnapshot.class);
+            jaxbContext = context;
+        }
+        return context;
+    }
+
     private static ConfigSnapshotHolder asHolder(final ConfigSnapshot unmarshalled) {
         return new ConfigSnapshotHolder() {
             @Override
@@ -38,6 +38,11 @@ public class XmlFileStorageAdapter implements StorageAdapter, Persister {
     private static Integer numberOfStoredBackups;
     private File storage;
 
+    // Last read or written content of storage, reused as long as the file is not modified by anyone else
+    private Config lastConfig;
+    private long lastConfigModified;
+    private long lastConfigLength;
+
     @Override
     public Persister instantiate(PropertiesProvider propertiesProvider) {
         File storage = extractStorageFileFromProperties(propertiesProvider);
@@ -68,8 +73,9 @@ public class XmlFileStorageAdapter implements StorageAdapter, Persister {
     }
 
     @VisibleForTesting
-    public void setFileStorage(File storage) {
+    public synchronized void setFileStorage(File storage) {
         this.storage = storage;
+        this.lastConfig = null;
     }
 
     @VisibleForTesting
@@ -92,23 +98,42 @@ public class XmlFileStorageAdapter implements StorageAdapter, Persister {
     }
 
     @Override
-    public void persistConfig(ConfigSnapshotHolder holder) throws IOException {
+    public synchronized void persistConfig(ConfigSnapshotHolder holder) throws IOException {
         Preconditions.checkNotNull(storage, "Storage file is null");
 
-        Config cfg = Config.fromXml(storage);
+        Config cfg = readConfig();
+        // Forget cached content until the file is written successfully
+        lastConfig = null;
         cfg.addConfigSnapshot(ConfigSnapshot.fromConfigSnapshot(holder), numberOfStoredBackups);
         cfg.toXml(storage);
+        rememberConfig(cfg);
+    }
+
+    private Config readConfig() {
+        if (lastConfig != null && storage.lastModified() == lastConfigModified && storage.length() == lastConfigLength) {
+            LOG.trace("Storage file {} not modified, reusing its content", storage);
+            return lastConfig;
+        }
+        Config cfg = Config.fromXml(storage);
+        rememberConfig(cfg);
+        return cfg;
+    }
+
+    private void rememberConfig(Config cfg) {
+        lastConfig = cfg;
+        lastConfigModified = storage.lastModified();
+        lastConfigLength = storage.length();
     }
 
     @Override
-    public List<ConfigSnapshotHolder> loadLastConfigs() throws IOException {
+    public synchronized List<ConfigSnapshotHolder> loadLastConfigs() throws IOException {
         Preconditions.checkNotNull(storage, "Storage file is null");
 
         if (!storage.exists()) {
             return Collections.emptyList();
         }
 
-        Optional<ConfigSnapshot> lastSnapshot = Config.fromXml(storage).getLastSnapshot();
+        Optional<ConfigSnapshot> lastSnapshot = readConfig().getLastSnapshot();
 
         if (lastSnapshot.isPresent()) {
             return Lists.newArrayList(toConfigSnapshot(lastSnapshot.get()));
@@ -31,6 +31,10 @@ import org.apache.commons.lang3.StringUtils;
 @XmlRootElement(name = "persisted-snapshots")
 public final class Config {
 
+    // JAXB contexts are thread safe and expensive to create, they are shared by all instances
+    private static volatile JAXBContext marshallingContext;
+    private static volatile JAXBContext unmarshallingContext;
+
     private List<ConfigSnapshot> snapshots;
 
     Config(List<ConfigSnapshot> snapshots) {
@@ -54,11 +58,7 @@ public final class Config {
     public void toXml(File to) {
         try {
 
-            // TODO Moxy has to be used instead of default jaxb impl due to a bug
-            // default implementation has a bug that prevents from serializing xml in a string
-            JAXBContext jaxbContext = org.eclipse.persistence.jaxb.JAXBContextFactory.createContext(new Class[]{Config.class}, null);
-
-            Marshaller marshaller = jaxbContext.createMarshaller();
+            Marshaller marshaller = getMarshallingContext().createMarshaller();
 
             marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
 
@@ -74,8 +74,7 @@ public final class Config {
         }
 
         try {
-            JAXBContext jaxbContext = JAXBContext.newInstance(Config.class);
-            Unmarshaller um = jaxbContext.createUnmarshaller();
+            Unmarshaller um = getUnmarshallingContext().createUnmarshaller();
             XMLInputFactory xif = XMLInputFactory.newFactory();
             xif.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
             xif.setProperty(XMLInputFactory.SUPPORT_DTD, false);
@@ -86,6 +85,26 @@ public final class Config {
         }
     }
 
+    private static JAXBContext getMarshallingContext() throws JAXBException {
+        JAXBContext jaxbContext = marshallingContext;
+        if (jaxbContext == null) {
+            // TODO Moxy has to be used instead of default jaxb impl due to a bug
+            // default implementation has a bug that prevents from serializing xml in a string
+            jaxbContext = org.eclipse.persistence.jaxb.JAXBContextFactory.createContext(new Class[]{Config.class}, null);
+            marshallingContext = jaxbContext;
+        }
+        return jaxbContext;
+    }
+
+    private static JAXBContext getUnmarshallingContext() throws JAXBException {
+        JAXBContext jaxbContext = unmarshallingContext;
+        if (jaxbContext == null) {
+            jaxbContext = JAXBContext.newInstance(Config.class);
+            unmarshallingContext = jaxbContext;
+        }
+        return jaxbContext;
+    }
+
     private static boolean isEmpty(File from) {
         return from.length() == 0 || isBlank(from);
     }
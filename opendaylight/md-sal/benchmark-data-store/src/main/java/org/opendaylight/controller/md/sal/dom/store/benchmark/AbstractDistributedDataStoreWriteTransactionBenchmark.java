@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.store.benchmark;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Address;
+import com.typesafe.config.ConfigFactory;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.datastore.ClusterWrapper;
+import org.opendaylight.controller.cluster.datastore.Configuration;
+import org.opendaylight.controller.cluster.datastore.DatastoreContext;
+import org.opendaylight.controller.cluster.datastore.DistributedDataStore;
+import org.opendaylight.controller.cluster.datastore.shardstrategy.ShardStrategyFactory;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadWriteTransaction;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreThreePhaseCommitCohort;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Base for the benchmarks of write operations for DistributedDataStore running a single member,
+ * so the front-end always talks to shard leaders in the same actor system. The shards do not
+ * persist their journal. Subclasses provide the shard configuration.
+ */
+public abstract class AbstractDistributedDataStoreWriteTransactionBenchmark extends AbstractInMemoryWriteTransactionBenchmark {
+
+    private static final long LEADER_WAIT_MILLIS = 10000;
+
+    private ActorSystem actorSystem;
+    private DistributedDataStore domStore;
+
+    private static final class LocalClusterWrapper implements ClusterWrapper {
+        @Override
+        public void subscribeToMemberEvents(ActorRef actorRef) {
+        }
+
+        @Override
+        public String getCurrentMemberName() {
+            return "member-1";
+        }
+
+        @Override
+        public Address getSelfAddress() {
+            return null;
+        }
+    }
+
+    protected abstract Configuration createConfiguration();
+
+    @Setup(Level.Trial)
+    @Override
+    public void setUp() throws Exception {
+        actorSystem = ActorSystem.create("distributed-datastore-benchmark",
+                ConfigFactory.load("distributed-datastore-benchmark"));
+
+        Configuration config = createConfiguration();
+        ShardStrategyFactory.setConfiguration(config);
+
+        domStore = new DistributedDataStore(actorSystem, "benchmark", new LocalClusterWrapper(), config,
+                DatastoreContext.newBuilder().persistent(false).build());
+        schemaContext = BenchmarkModel.createTestContext();
+        domStore.onGlobalContextUpdated(schemaContext);
+
+        // The shard has to elect itself before it accepts transactions
+        long deadline = System.currentTimeMillis() + LEADER_WAIT_MILLIS;
+        while (true) {
+            try {
+                initTestNode();
+                break;
+            } catch (Exception e) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw e;
+                }
+                Thread.sleep(100);
+            }
+        }
+    }
+
+    @TearDown
+    @Override
+    public void tearDown() {
+        try {
+            domStore.close();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            actorSystem.shutdown();
+            actorSystem.awaitTermination();
+            schemaContext = null;
+            domStore = null;
+        }
+    }
+
+    private void initTestNode() throws Exception {
+        final YangInstanceIdentifier testPath = YangInstanceIdentifier.builder(BenchmarkModel.TEST_PATH)
+            .build();
+        DOMStoreReadWriteTransaction writeTx = domStore.newReadWriteTransaction();
+        writeTx.write(testPath, provideOuterListNode());
+
+        commit(writeTx.ready());
+    }
+
+    private static void commit(DOMStoreThreePhaseCommitCohort cohort) throws Exception {
+        cohort.canCommit().get();
+        cohort.preCommit().get();
+        cohort.commit().get();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public void write10KSingleNodeWithOneInnerItemInOneCommitBenchmark() throws Exception {
+        DOMStoreReadWriteTransaction writeTx = domStore.newReadWriteTransaction();
+        for (int outerListKey = 0; outerListKey < OUTER_LIST_10K; ++outerListKey) {
+            writeTx.write(OUTER_LIST_10K_PATHS[outerListKey], OUTER_LIST_ONE_ITEM_INNER_LIST[outerListKey]);
+        }
+        commit(writeTx.ready());
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public void write10KSingleNodeWithOneInnerItemInCommitPerWriteBenchmark() throws Exception {
+        for (int outerListKey = 0; outerListKey < OUTER_LIST_10K; ++outerListKey) {
+            DOMStoreReadWriteTransaction writeTx = domStore.newReadWriteTransaction();
+            writeTx.write(OUTER_LIST_10K_PATHS[outerListKey], OUTER_LIST_ONE_ITEM_INNER_LIST[outerListKey]);
+
+            commit(writeTx.ready());
+        }
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public void write10KSingleNodeWithTenInnerItemsInOneCommitBenchmark() throws Exception {
+        DOMStoreReadWriteTransaction writeTx = domStore.newReadWriteTransaction();
+        for (int outerListKey = 0; outerListKey < OUTER_LIST_10K; ++outerListKey) {
+            writeTx.write(OUTER_LIST_10K_PATHS[outerListKey], OUTER_LIST_TEN_ITEM_INNER_LIST[outerListKey]);
+        }
+        commit(writeTx.ready());
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.store.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.datastore.Configuration;
+import org.opendaylight.controller.cluster.datastore.ConfigurationImpl;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark for testing of performance of write operations for DistributedDataStore with the
+ * entries of the outer list spread over four shards by the PrefixShardStrategy. Compare with
+ * {@link DistributedDataStoreWriteTransactionBenchmark} to see how the writes scale with the
+ * number of shards.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class PrefixShardedDataStoreWriteTransactionBenchmark extends AbstractDistributedDataStoreWriteTransactionBenchmark {
+
+    @Override
+    protected Configuration createConfiguration() {
+        return new ConfigurationImpl("benchmark-prefix-module-shards.conf", "benchmark-prefix-modules.conf");
+    }
+}
@@ -7,7 +7,9 @@
  */
 package org.opendaylight.controller.sal.compatibility;
 
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -130,6 +132,38 @@ public class FlowProgrammerAdapter implements IPluginInFlowProgrammerService, Sa
         return FlowProgrammerAdapter.toStatus(true);
     }
 
+    @Override
+    public List<Status> addFlows(final Node node, final List<Flow> flows) {
+        final List<Future<RpcResult<TransactionStatus>>> futures = new ArrayList<>(flows.size());
+        for (final Flow flow : flows) {
+            futures.add(internalAddFlowAsync(node, flow, 0));
+        }
+        return toFutureStatus(futures);
+    }
+
+    @Override
+    public List<Status> modifyFlows(final Node node, final List<Flow> oldFlows, final List<Flow> newFlows) {
+        if (oldFlows.size() != newFlows.size()) {
+            throw new IllegalArgumentException("Number of old flows " + oldFlows.size()
+                    + " does not match number of new flows " + newFlows.size());
+        }
+
+        final List<Future<RpcResult<TransactionStatus>>> futures = new ArrayList<>(newFlows.size());
+        for (int i = 0; i < newFlows.size(); i++) {
+            futures.add(internalModifyFlowAsync(node, oldFlows.get(i), newFlows.get(i), 0));
+        }
+        return toFutureStatus(futures);
+    }
+
+    @Override
+    public List<Status> removeFlows(final Node node, final List<Flow> flows) {
+        final List<Future<RpcResult<TransactionStatus>>> futures = new ArrayList<>(flows.size());
+        for (final Flow flow : flows) {
+            futures.add(internalRemoveFlowAsync(node, flow, 0));
+        }
+        return toFutureStatus(futures);
+    }
+
     @Override
     public Status removeAllFlows(final Node node) {
         // FIXME: unfinished?
@@ -300,6 +334,18 @@ public class FlowProgrammerAdapter implements IPluginInFlowProgrammerService, Sa
         return new Status(StatusCode.INTERNALERROR);
     }
 
+    /*
+     * All the transactions of a batch are committed before waiting for the
+     * first one, so that they are processed together
+     */
+    private static List<Status> toFutureStatus(final List<Future<RpcResult<TransactionStatus>>> futures) {
+        final List<Status> result = new ArrayList<>(futures.size());
+        for (final Future<RpcResult<TransactionStatus>> future : futures) {
+            result.add(toFutureStatus(future));
+        }
+        return result;
+    }
+
     @SuppressWarnings("unchecked")
     private Map<Flow,UUID> getCache() {
         final IClusterGlobalServices cgs = getClusterGlobalServices();
@@ -84,4 +84,22 @@ public interface ConfigParams {
      */
     long getElectionTimeoutFactor();
 
+    /**
+     * Whether a follower whose election timeout elapsed first asks its peers if
+     * they would vote for it, and only starts an election, bumping the term, if
+     * a majority would. Peers which heard from a leader recently say no, so an
+     * isolated or paused follower cannot depose a healthy leader.
+     * <p/>
+     * Members which predate pre-votes see them as real votes, so this must
+     * only be enabled once every member understands them.
+     */
+    boolean isPreVoteEnabled();
+
+    /**
+     * Whether a follower extends its election timeout beyond the configured one
+     * when the heartbeats it receives from the leader arrive with a lot of
+     * jitter.
+     */
+    boolean isAdaptiveElectionTimeoutEnabled();
+
 }
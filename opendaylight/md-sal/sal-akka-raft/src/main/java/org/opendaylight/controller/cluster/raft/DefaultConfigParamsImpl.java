@@ -51,6 +51,10 @@ public class DefaultConfigParamsImpl implements ConfigParams {
 
     private long electionTimeoutFactor = 2;
 
+    private boolean preVoteEnabled = false;
+
+    private boolean adaptiveElectionTimeoutEnabled = false;
+
     public void setHeartBeatInterval(FiniteDuration heartBeatInterval) {
         this.heartBeatInterval = heartBeatInterval;
     }
@@ -75,6 +79,14 @@ public class DefaultConfigParamsImpl implements ConfigParams {
         this.electionTimeoutFactor = electionTimeoutFactor;
     }
 
+    public void setPreVoteEnabled(boolean preVoteEnabled) {
+        this.preVoteEnabled = preVoteEnabled;
+    }
+
+    public void setAdaptiveElectionTimeoutEnabled(boolean adaptiveElectionTimeoutEnabled) {
+        this.adaptiveElectionTimeoutEnabled = adaptiveElectionTimeoutEnabled;
+    }
+
     @Override
     public long getSnapshotBatchCount() {
         return snapshotBatchCount;
@@ -120,4 +132,14 @@ public class DefaultConfigParamsImpl implements ConfigParams {
     public long getElectionTimeoutFactor() {
         return electionTimeoutFactor;
     }
+
+    @Override
+    public boolean isPreVoteEnabled() {
+        return preVoteEnabled;
+    }
+
+    @Override
+    public boolean isAdaptiveElectionTimeoutEnabled() {
+        return adaptiveElectionTimeoutEnabled;
+    }
 }
@@ -113,6 +113,12 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
 
     private int currentRecoveryBatchCount;
 
+    /**
+     * The index of the last entry applied to the derived actor's state. It trails the context's
+     * last applied index while the ApplyState messages are queued
+     */
+    private long stateAppliedIndex = -1;
+
 
 
     public RaftActor(String id, Map<String, String> peerAddresses) {
@@ -172,6 +178,8 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
 
                 onRecoveryComplete();
 
+                stateAppliedIndex = context.getLastApplied();
+
                 initializeBehavior();
             }
         }
@@ -256,6 +264,8 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
 
         onRecoveryComplete();
 
+        stateAppliedIndex = context.getLastApplied();
+
         String recoveryTime = "";
         if(recoveryTimer != null) {
             recoveryTimer.stop();
@@ -297,6 +307,8 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
             applyState(applyState.getClientActor(), applyState.getIdentifier(),
                 applyState.getReplicatedLogEntry().getData());
 
+            stateAppliedIndex = applyState.getReplicatedLogEntry().getIndex();
+
         } else if (message instanceof ApplyLogEntries){
             ApplyLogEntries ale = (ApplyLogEntries) message;
             if(LOG.isDebugEnabled()) {
@@ -323,6 +335,7 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
             replicatedLog = new ReplicatedLogImpl(snapshot);
             context.setReplicatedLog(replicatedLog);
             context.setLastApplied(snapshot.getLastAppliedIndex());
+            stateAppliedIndex = snapshot.getLastAppliedIndex();
 
         } else if (message instanceof FindLeader) {
             getSender().tell(
@@ -432,6 +445,7 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
 
                             // Apply the state immediately
                             applyState(clientActor, identifier, data);
+                            stateAppliedIndex = replicatedLogEntry.getIndex();
 
                             // Send a ApplyLogEntries message so that we write the fact that we applied
                             // the state to durable storage
@@ -495,6 +509,20 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
         return currentBehavior.getLeaderId();
     }
 
+    /**
+     * Derived actors can call this method to check if, as a Follower, their
+     * state is recent enough to serve reads instead of the Leader. Only the
+     * entries which have been passed to applyState count, not those whose
+     * ApplyState is still queued
+     *
+     * @param maxLagMillis how long ago the Leader may have last been heard from
+     * @return true if this RaftActor is a Follower caught up with the Leader
+     */
+    protected boolean isFollowerCaughtUpWithLeader(long maxLagMillis) {
+        return currentBehavior instanceof Follower &&
+                ((Follower) currentBehavior).isCaughtUpWithLeader(maxLagMillis, stateAppliedIndex);
+    }
+
     protected RaftState getRaftState() {
         return currentBehavior.state();
     }
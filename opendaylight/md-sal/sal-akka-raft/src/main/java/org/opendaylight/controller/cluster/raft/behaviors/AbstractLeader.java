@@ -259,6 +259,11 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         return this;
     }
 
+    @Override
+    protected boolean hasRecentLeader() {
+        return true;
+    }
+
     @Override
     public RaftState state() {
         return RaftState.Leader;
@@ -270,7 +275,7 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
 
         Object message = fromSerializableMessage(originalMessage);
 
-        if (message instanceof RaftRPC) {
+        if (isTermBearing(message)) {
             RaftRPC rpc = (RaftRPC) message;
             // If RPC request or response contains term T > currentTerm:
             // set currentTerm = T, convert to follower (§5.1)
@@ -22,6 +22,7 @@ import org.opendaylight.controller.cluster.raft.base.messages.ApplyState;
 import org.opendaylight.controller.cluster.raft.base.messages.ElectionTimeout;
 import org.opendaylight.controller.cluster.raft.messages.AppendEntries;
 import org.opendaylight.controller.cluster.raft.messages.AppendEntriesReply;
+import org.opendaylight.controller.cluster.raft.messages.RaftRPC;
 import org.opendaylight.controller.cluster.raft.messages.RequestVote;
 import org.opendaylight.controller.cluster.raft.messages.RequestVoteReply;
 import scala.concurrent.duration.FiniteDuration;
@@ -139,6 +140,10 @@ public abstract class AbstractRaftActorBehavior implements RaftActorBehavior {
             LOG.debug(requestVote.toString());
         }
 
+        if(requestVote.isPreVote()) {
+            return preVote(sender, requestVote);
+        }
+
         boolean grantVote = false;
 
         //  Reply false if term < currentTerm (§5.1)
@@ -150,23 +155,7 @@ public abstract class AbstractRaftActorBehavior implements RaftActorBehavior {
         } else if (votedFor() == null || votedFor()
             .equals(requestVote.getCandidateId())) {
 
-            boolean candidateLatest = false;
-
-            // From §5.4.1
-            // Raft determines which of two logs is more up-to-date
-            // by comparing the index and term of the last entries in the
-            // logs. If the logs have last entries with different terms, then
-            // the log with the later term is more up-to-date. If the logs
-            // end with the same term, then whichever log is longer is
-            // more up-to-date.
-            if (requestVote.getLastLogTerm() > lastTerm()) {
-                candidateLatest = true;
-            } else if ((requestVote.getLastLogTerm() == lastTerm())
-                && requestVote.getLastLogIndex() >= lastIndex()) {
-                candidateLatest = true;
-            }
-
-            if (candidateLatest) {
+            if (isCandidateLogUpToDate(requestVote)) {
                 grantVote = true;
                 context.getTermInformation().updateAndPersist(requestVote.getTerm(),
                     requestVote.getCandidateId());
@@ -178,6 +167,73 @@ public abstract class AbstractRaftActorBehavior implements RaftActorBehavior {
         return this;
     }
 
+    /**
+     * Answers a pre-vote RequestVote. The vote is granted if the candidate
+     * would be granted it in the term it wants to start and no leader was heard
+     * from recently. Neither the term nor the vote of this RaftActor change.
+     * A granted reply carries the term asked for, so the candidate can tell
+     * which pre-vote it answers, a refused one carries our current term.
+     *
+     * @param sender
+     * @param requestVote
+     * @return
+     */
+    private RaftActorBehavior preVote(ActorRef sender, RequestVote requestVote) {
+        boolean grantVote = requestVote.getTerm() > currentTerm() &&
+            isCandidateLogUpToDate(requestVote) && !hasRecentLeader();
+
+        sender.tell(new RequestVoteReply(grantVote ? requestVote.getTerm() : currentTerm(),
+            grantVote, true), actor());
+
+        return this;
+    }
+
+    private boolean isCandidateLogUpToDate(RequestVote requestVote) {
+        // From §5.4.1
+        // Raft determines which of two logs is more up-to-date
+        // by comparing the index and term of the last entries in the
+        // logs. If the logs have last entries with different terms, then
+        // the log with the later term is more up-to-date. If the logs
+        // end with the same term, then whichever log is longer is
+        // more up-to-date.
+        if (requestVote.getLastLogTerm() > lastTerm()) {
+            return true;
+        }
+
+        return requestVote.getLastLogTerm() == lastTerm()
+            && requestVote.getLastLogIndex() >= lastIndex();
+    }
+
+    /**
+     * Derived classes override this to refuse pre-votes while they know of a
+     * live leader
+     *
+     * @return true if a leader was active within the election timeout
+     */
+    protected boolean hasRecentLeader() {
+        return false;
+    }
+
+    /**
+     * Pre-vote requests and granted pre-vote replies carry the term the
+     * candidate would start, which must not make anybody move to that term
+     *
+     * @param message
+     * @return true if the term of the message is to be acted upon
+     */
+    protected boolean isTermBearing(Object message) {
+        if (message instanceof RequestVote) {
+            return !((RequestVote) message).isPreVote();
+        }
+
+        if (message instanceof RequestVoteReply) {
+            RequestVoteReply reply = (RequestVoteReply) message;
+            return !(reply.isPreVote() && reply.isVoteGranted());
+        }
+
+        return message instanceof RaftRPC;
+    }
+
     /**
      * Derived classes should not directly handle RequestVoteReply messages it
      * should let the base class handle it first. Once the base class handles
@@ -81,6 +81,11 @@ public class Candidate extends AbstractRaftActorBehavior {
     @Override protected RaftActorBehavior handleRequestVoteReply(ActorRef sender,
         RequestVoteReply requestVoteReply) {
 
+        // Late answers to the pre-vote which made us a Candidate are not votes
+        if (requestVoteReply.isPreVote()) {
+            return this;
+        }
+
         if (requestVoteReply.isVoteGranted()) {
             voteCount++;
         }
@@ -101,7 +106,7 @@ public class Candidate extends AbstractRaftActorBehavior {
 
         Object message = fromSerializableMessage(originalMessage);
 
-        if (message instanceof RaftRPC) {
+        if (isTermBearing(message)) {
 
             RaftRPC rpc = (RaftRPC) message;
 
@@ -9,9 +9,13 @@
 package org.opendaylight.controller.cluster.raft.behaviors;
 
 import akka.actor.ActorRef;
+import akka.actor.ActorSelection;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.protobuf.ByteString;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.cluster.raft.RaftActorContext;
 import org.opendaylight.controller.cluster.raft.RaftState;
 import org.opendaylight.controller.cluster.raft.ReplicatedLogEntry;
@@ -23,7 +27,9 @@ import org.opendaylight.controller.cluster.raft.messages.AppendEntriesReply;
 import org.opendaylight.controller.cluster.raft.messages.InstallSnapshot;
 import org.opendaylight.controller.cluster.raft.messages.InstallSnapshotReply;
 import org.opendaylight.controller.cluster.raft.messages.RaftRPC;
+import org.opendaylight.controller.cluster.raft.messages.RequestVote;
 import org.opendaylight.controller.cluster.raft.messages.RequestVoteReply;
+import scala.concurrent.duration.FiniteDuration;
 
 /**
  * The behavior of a RaftActor in the Follower state
@@ -33,12 +39,29 @@ import org.opendaylight.controller.cluster.raft.messages.RequestVoteReply;
  * <li> If election timeout elapses without receiving AppendEntries
  * RPC from current leader or granting vote to candidate:
  * convert to candidate
+ * <li> If pre-vote is enabled, convert to candidate only once a majority of
+ * the servers, none of which heard from a leader recently, would vote for it
  * </ul>
  */
 public class Follower extends AbstractRaftActorBehavior {
 
     private SnapshotTracker snapshotTracker = null;
 
+    // When the last in-sync AppendEntries was received from the leader and the
+    // leader's commit index it carried
+    private long lastLeaderContactNanos = -1;
+    private long leaderCommitIndex = -1;
+
+    // When any AppendEntries was last received from the leader
+    private long lastLeaderMessageNanos = -1;
+
+    private final HeartbeatIntervalEstimator heartbeatEstimator = new HeartbeatIntervalEstimator();
+
+    // The term asked for in the pre-vote in progress, -1 when there is none,
+    // and the peers which granted it
+    private long preVoteTerm = -1;
+    private final Set<ActorRef> preVoters = new HashSet<>();
+
     public Follower(RaftActorContext context) {
         super(context);
 
@@ -91,6 +114,11 @@ public class Follower extends AbstractRaftActorBehavior {
         // If we got here then we do appear to be talking to the leader
         leaderId = appendEntries.getLeaderId();
 
+        long now = System.nanoTime();
+        lastLeaderMessageNanos = now;
+        heartbeatEstimator.messageReceived(now);
+        resetPreVote();
+
         // 2. Reply false if log doesn’t contain an entry at prevLogIndex
         // whose term matches prevLogTerm (§5.3)
 
@@ -252,22 +280,115 @@ public class Follower extends AbstractRaftActorBehavior {
             applyLogToStateMachine(appendEntries.getLeaderCommit());
         }
 
+        lastLeaderContactNanos = System.nanoTime();
+        leaderCommitIndex = appendEntries.getLeaderCommit();
+
         sender.tell(new AppendEntriesReply(context.getId(), currentTerm(), true,
             lastIndex(), lastTerm()), actor());
 
         return this;
     }
 
+    /**
+     * Checks whether the state of this follower can stand in for the leader's, that is the leader
+     * was heard from within the given time and every entry it had committed at that point has
+     * been applied to the state.
+     *
+     * @param maxLagMillis how long ago the leader may have last been heard from
+     * @param stateAppliedIndex the index of the last entry the actor has applied to its state,
+     *                          which trails the last applied index until the ApplyState messages
+     *                          have been processed
+     * @return true if the follower is caught up with the leader
+     */
+    public boolean isCaughtUpWithLeader(long maxLagMillis, long stateAppliedIndex) {
+        if(lastLeaderContactNanos == -1) {
+            return false;
+        }
+
+        long lagNanos = System.nanoTime() - lastLeaderContactNanos;
+        return lagNanos <= TimeUnit.MILLISECONDS.toNanos(maxLagMillis) &&
+                stateAppliedIndex >= leaderCommitIndex;
+    }
+
     @Override protected RaftActorBehavior handleAppendEntriesReply(ActorRef sender,
         AppendEntriesReply appendEntriesReply) {
         return this;
     }
 
+    @Override protected RaftActorBehavior requestVote(ActorRef sender, RequestVote requestVote) {
+        RaftActorBehavior behavior = super.requestVote(sender, requestVote);
+
+        // Once we voted for somebody else our own pre-vote is moot
+        if (!requestVote.isPreVote() && requestVote.getCandidateId().equals(votedFor())) {
+            resetPreVote();
+        }
+
+        return behavior;
+    }
+
     @Override protected RaftActorBehavior handleRequestVoteReply(ActorRef sender,
         RequestVoteReply requestVoteReply) {
+
+        // Only granted answers to the pre-vote in progress count, each peer once
+        if (preVoteTerm != -1 && requestVoteReply.isPreVote() && requestVoteReply.isVoteGranted() &&
+                requestVoteReply.getTerm() == preVoteTerm) {
+            preVoters.add(sender);
+
+            // Our own pre-vote counts as well
+            if (preVoters.size() + 1 >= getMajorityVoteCount(context.getPeerAddresses().size())) {
+                return switchBehavior(new Candidate(context));
+            }
+        }
+
         return this;
     }
 
+    @Override protected boolean hasRecentLeader() {
+        return lastLeaderMessageNanos != -1 && System.nanoTime() - lastLeaderMessageNanos <
+            context.getConfigParams().getElectionTimeOutInterval().toNanos();
+    }
+
+    @Override protected FiniteDuration electionDuration() {
+        FiniteDuration duration = super.electionDuration();
+        if (context.getConfigParams().isAdaptiveElectionTimeoutEnabled()) {
+            // The random variance keeps followers from timing out together, so
+            // it is added on top of the estimate rather than absorbed by it
+            FiniteDuration configured = context.getConfigParams().getElectionTimeOutInterval();
+            return duration.$plus(heartbeatEstimator.electionTimeout(configured).$minus(configured));
+        }
+
+        return duration;
+    }
+
+    /**
+     * Asks the peers whether they would vote for us in the next term, without
+     * changing our term. The Follower becomes a Candidate once a majority
+     * agreed.
+     */
+    private void startPreVote() {
+        long nextTerm = currentTerm() + 1;
+
+        preVoteTerm = nextTerm;
+        preVoters.clear();
+
+        if(LOG.isDebugEnabled()) {
+            LOG.debug("Starting pre-vote for term {}", nextTerm);
+        }
+
+        for (String peerId : context.getPeerAddresses().keySet()) {
+            ActorSelection peerActor = context.getPeerActorSelection(peerId);
+            if(peerActor != null) {
+                peerActor.tell(new RequestVote(nextTerm, context.getId(),
+                        lastIndex(), lastTerm(), true), actor());
+            }
+        }
+    }
+
+    private void resetPreVote() {
+        preVoteTerm = -1;
+        preVoters.clear();
+    }
+
     @Override public RaftState state() {
         return RaftState.Follower;
     }
@@ -276,18 +397,26 @@ public class Follower extends AbstractRaftActorBehavior {
 
         Object message = fromSerializableMessage(originalMessage);
 
-        if (message instanceof RaftRPC) {
+        if (isTermBearing(message)) {
             RaftRPC rpc = (RaftRPC) message;
             // If RPC request or response contains term T > currentTerm:
             // set currentTerm = T, convert to follower (§5.1)
             // This applies to all RPC messages and responses
             if (rpc.getTerm() > context.getTermInformation().getCurrentTerm()) {
                 context.getTermInformation().updateAndPersist(rpc.getTerm(), null);
+                resetPreVote();
             }
         }
 
         if (message instanceof ElectionTimeout) {
-            return switchBehavior(new Candidate(context));
+            if (!context.getConfigParams().isPreVoteEnabled() ||
+                    context.getPeerAddresses().isEmpty()) {
+                return switchBehavior(new Candidate(context));
+            }
+
+            startPreVote();
+            scheduleElection(electionDuration());
+            return this;
 
         } else if (message instanceof InstallSnapshot) {
             InstallSnapshot installSnapshot = (InstallSnapshot) message;
@@ -352,6 +481,11 @@ public class Follower extends AbstractRaftActorBehavior {
         stopElection();
     }
 
+    @VisibleForTesting
+    HeartbeatIntervalEstimator getHeartbeatEstimator() {
+        return heartbeatEstimator;
+    }
+
     @VisibleForTesting
     ByteString getSnapshotChunksCollected(){
         return snapshotTracker != null ? snapshotTracker.getCollectedChunks() : ByteString.EMPTY;
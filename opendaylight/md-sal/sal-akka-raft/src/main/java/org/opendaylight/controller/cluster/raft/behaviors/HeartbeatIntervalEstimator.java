@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.cluster.raft.behaviors;
+
+import java.util.concurrent.TimeUnit;
+import scala.concurrent.duration.FiniteDuration;
+
+/**
+ * Estimates how long a follower should wait for the next message from the
+ * leader, from the smoothed mean and mean deviation of the intervals between
+ * the messages received so far, the same way TCP estimates its retransmission
+ * timeout (RFC 6298).
+ */
+final class HeartbeatIntervalEstimator {
+
+    // The election timeout is never extended beyond this multiple of the
+    // configured one, a leader which is really gone must still be replaced
+    static final int MAX_TIMEOUT_MULTIPLIER = 4;
+
+    private long lastNanos = -1;
+    private long meanNanos = -1;
+    private long deviationNanos;
+
+    /**
+     * Records the arrival of a message from the leader
+     *
+     * @param nowNanos the current System.nanoTime()
+     */
+    void messageReceived(long nowNanos) {
+        if (lastNanos != -1) {
+            long interval = nowNanos - lastNanos;
+            if (meanNanos == -1) {
+                meanNanos = interval;
+                deviationNanos = interval / 2;
+            } else {
+                // deviation = 3/4 deviation + 1/4 |mean - interval|
+                // mean = 7/8 mean + 1/8 interval
+                deviationNanos += (Math.abs(meanNanos - interval) - deviationNanos) / 4;
+                meanNanos += (interval - meanNanos) / 8;
+            }
+        }
+
+        lastNanos = nowNanos;
+    }
+
+    /**
+     * @param configured the configured election timeout
+     * @return the configured election timeout, extended if the intervals
+     *         observed so far vary too much for it
+     */
+    FiniteDuration electionTimeout(FiniteDuration configured) {
+        if (meanNanos == -1) {
+            return configured;
+        }
+
+        long configuredNanos = configured.toNanos();
+        long estimated = Math.min(meanNanos + 4 * deviationNanos,
+            configuredNanos * MAX_TIMEOUT_MULTIPLIER);
+        if (estimated <= configuredNanos) {
+            return configured;
+        }
+
+        return new FiniteDuration(TimeUnit.NANOSECONDS.toMillis(estimated), TimeUnit.MILLISECONDS);
+    }
+}
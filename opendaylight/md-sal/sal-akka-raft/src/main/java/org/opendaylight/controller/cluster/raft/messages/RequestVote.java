@@ -23,12 +23,22 @@ public class RequestVote extends AbstractRaftRPC {
     // term of candidate’s last log entry (§5.4)
     private long lastLogTerm;
 
+    // true if the candidate only asks whether it would get the vote, in which
+    // case term is the term it would start and nobody updates its own term
+    private boolean preVote;
+
     public RequestVote(long term, String candidateId, long lastLogIndex,
         long lastLogTerm) {
+        this(term, candidateId, lastLogIndex, lastLogTerm, false);
+    }
+
+    public RequestVote(long term, String candidateId, long lastLogIndex,
+        long lastLogTerm, boolean preVote) {
         super(term);
         this.candidateId = candidateId;
         this.lastLogIndex = lastLogIndex;
         this.lastLogTerm = lastLogTerm;
+        this.preVote = preVote;
     }
 
     // added for testing while serialize-messages=on
@@ -51,6 +61,10 @@ public class RequestVote extends AbstractRaftRPC {
         return lastLogTerm;
     }
 
+    public boolean isPreVote() {
+        return preVote;
+    }
+
     public void setCandidateId(String candidateId) {
         this.candidateId = candidateId;
     }
@@ -70,6 +84,7 @@ public class RequestVote extends AbstractRaftRPC {
         sb.append("candidateId='").append(candidateId).append('\'');
         sb.append(", lastLogIndex=").append(lastLogIndex);
         sb.append(", lastLogTerm=").append(lastLogTerm);
+        sb.append(", preVote=").append(preVote);
         sb.append('}');
         return sb.toString();
     }
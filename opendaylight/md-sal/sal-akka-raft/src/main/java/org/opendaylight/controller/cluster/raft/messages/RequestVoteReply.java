@@ -14,9 +14,17 @@ public class RequestVoteReply extends AbstractRaftRPC {
     // true means candidate received vot
     private final boolean voteGranted;
 
+    // true if this is the answer to a pre-vote RequestVote
+    private final boolean preVote;
+
     public RequestVoteReply(long term, boolean voteGranted) {
+        this(term, voteGranted, false);
+    }
+
+    public RequestVoteReply(long term, boolean voteGranted, boolean preVote) {
         super(term);
         this.voteGranted = voteGranted;
+        this.preVote = preVote;
     }
 
     public long getTerm() {
@@ -26,4 +34,8 @@ public class RequestVoteReply extends AbstractRaftRPC {
     public boolean isVoteGranted() {
         return voteGranted;
     }
+
+    public boolean isPreVote() {
+        return preVote;
+    }
 }
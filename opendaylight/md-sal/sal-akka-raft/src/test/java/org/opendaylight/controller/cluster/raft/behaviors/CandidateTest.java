@@ -284,6 +284,29 @@ public class CandidateTest extends AbstractRaftActorBehaviorTest {
         }};
     }
 
+    @Test
+    public void testPreVoteDoesNotChangeTerm() {
+        MockRaftActorContext raftActorContext =
+            (MockRaftActorContext) createActorContext();
+        raftActorContext.setPeerAddresses(twoPeers);
+        Candidate candidate = new Candidate(raftActorContext);
+
+        long term = raftActorContext.getTermInformation().getCurrentTerm();
+
+        RaftActorBehavior behavior = candidate.handleMessage(peerActor1,
+            new RequestVote(term + 1, "other", 10000, 999, true));
+
+        Assert.assertTrue(behavior instanceof Candidate);
+        assertEquals(term, raftActorContext.getTermInformation().getCurrentTerm());
+        assertEquals(raftActorContext.getId(), raftActorContext.getTermInformation().getVotedFor());
+
+        // Granted pre-votes for a later term are neither votes nor a reason to step down
+        behavior = behavior.handleMessage(peerActor1, new RequestVoteReply(term + 1, true, true));
+
+        Assert.assertTrue(behavior instanceof Candidate);
+        assertEquals(term, raftActorContext.getTermInformation().getCurrentTerm());
+    }
+
 
 
     @Override protected RaftActorBehavior createBehavior(RaftActorContext actorContext) {
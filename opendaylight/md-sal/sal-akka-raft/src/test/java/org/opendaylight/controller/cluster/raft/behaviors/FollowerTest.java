@@ -1,6 +1,7 @@
 package org.opendaylight.controller.cluster.raft.behaviors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import akka.actor.ActorRef;
@@ -13,8 +14,11 @@ import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import org.junit.Test;
 import org.opendaylight.controller.cluster.raft.DefaultConfigParamsImpl;
 import org.opendaylight.controller.cluster.raft.MockRaftActorContext;
@@ -30,6 +34,7 @@ import org.opendaylight.controller.cluster.raft.messages.RequestVote;
 import org.opendaylight.controller.cluster.raft.messages.RequestVoteReply;
 import org.opendaylight.controller.cluster.raft.utils.DoNothingActor;
 import org.opendaylight.controller.cluster.raft.utils.MessageCollectorActor;
+import scala.concurrent.duration.FiniteDuration;
 
 public class FollowerTest extends AbstractRaftActorBehaviorTest {
 
@@ -87,6 +92,171 @@ public class FollowerTest extends AbstractRaftActorBehaviorTest {
         assertTrue(raftBehavior instanceof Candidate);
     }
 
+    @Test
+    public void testHandleElectionTimeoutWithPreVote() throws Exception {
+        new JavaTestKit(getSystem()) {{
+            ActorRef peerActor1 = getSystem().actorOf(Props.create(MessageCollectorActor.class));
+            ActorRef peerActor2 = getSystem().actorOf(Props.create(MessageCollectorActor.class));
+
+            MockRaftActorContext context = (MockRaftActorContext) createActorContext();
+            context.getTermInformation().update(5, null);
+
+            DefaultConfigParamsImpl configParams = new DefaultConfigParamsImpl();
+            configParams.setPreVoteEnabled(true);
+            context.setConfigParams(configParams);
+
+            Map<String, String> peerAddresses = new HashMap<>();
+            peerAddresses.put("peer-1", peerActor1.path().toString());
+            peerAddresses.put("peer-2", peerActor2.path().toString());
+            context.setPeerAddresses(peerAddresses);
+
+            Follower follower = new Follower(context);
+
+            RaftActorBehavior raftBehavior = follower.handleMessage(followerActor, new ElectionTimeout());
+
+            // The pre-vote neither changes the state nor the term
+            assertTrue(raftBehavior instanceof Follower);
+            assertEquals(5, context.getTermInformation().getCurrentTerm());
+
+            RequestVote requestVote = (RequestVote) MessageCollectorActor.getFirstMatching(
+                    peerActor1, RequestVote.class);
+            assertNotNull(requestVote);
+            assertTrue(requestVote.isPreVote());
+            assertEquals(6, requestVote.getTerm());
+
+            // A reply which is not a pre-vote is not counted
+            raftBehavior = raftBehavior.handleMessage(peerActor1, new RequestVoteReply(5, true));
+            assertTrue(raftBehavior instanceof Follower);
+
+            // Neither is a pre-vote for another term
+            raftBehavior = raftBehavior.handleMessage(peerActor1, new RequestVoteReply(5, true, true));
+            assertTrue(raftBehavior instanceof Follower);
+
+            raftBehavior = raftBehavior.handleMessage(peerActor1, new RequestVoteReply(6, true, true));
+            assertTrue(raftBehavior instanceof Candidate);
+            assertEquals(6, context.getTermInformation().getCurrentTerm());
+        }};
+    }
+
+    @Test
+    public void testPreVoteRepliesAreCountedPerRound() throws Exception {
+        new JavaTestKit(getSystem()) {{
+            Map<String, String> peerAddresses = new HashMap<>();
+            List<ActorRef> peers = new ArrayList<>();
+            for(int i = 1; i <= 4; i++) {
+                ActorRef peerActor = getSystem().actorOf(Props.create(MessageCollectorActor.class));
+                peers.add(peerActor);
+                peerAddresses.put("peer-" + i, peerActor.path().toString());
+            }
+
+            MockRaftActorContext context = (MockRaftActorContext) createActorContext();
+            context.getTermInformation().update(5, null);
+
+            DefaultConfigParamsImpl configParams = new DefaultConfigParamsImpl();
+            configParams.setPreVoteEnabled(true);
+            context.setConfigParams(configParams);
+            context.setPeerAddresses(peerAddresses);
+
+            RaftActorBehavior raftBehavior = new Follower(context);
+            raftBehavior = raftBehavior.handleMessage(followerActor, new ElectionTimeout());
+
+            // Three of five votes are needed, a peer answering twice counts once
+            raftBehavior = raftBehavior.handleMessage(peers.get(0), new RequestVoteReply(6, true, true));
+            raftBehavior = raftBehavior.handleMessage(peers.get(0), new RequestVoteReply(6, true, true));
+            assertTrue(raftBehavior instanceof Follower);
+
+            // A real election for a later term ends the pre-vote
+            raftBehavior = raftBehavior.handleMessage(peers.get(3), new RequestVote(7, "peer-4", 10000, 999));
+            assertEquals(7, context.getTermInformation().getCurrentTerm());
+            assertEquals("peer-4", context.getTermInformation().getVotedFor());
+
+            // So late answers to it are ignored
+            raftBehavior = raftBehavior.handleMessage(peers.get(1), new RequestVoteReply(6, true, true));
+            raftBehavior = raftBehavior.handleMessage(peers.get(2), new RequestVoteReply(6, true, true));
+            assertTrue(raftBehavior instanceof Follower);
+            assertEquals(7, context.getTermInformation().getCurrentTerm());
+
+            // A new round in the new term starts counting from scratch
+            raftBehavior = raftBehavior.handleMessage(followerActor, new ElectionTimeout());
+            raftBehavior = raftBehavior.handleMessage(peers.get(0), new RequestVoteReply(8, true, true));
+            assertTrue(raftBehavior instanceof Follower);
+            raftBehavior = raftBehavior.handleMessage(peers.get(1), new RequestVoteReply(8, true, true));
+            assertTrue(raftBehavior instanceof Candidate);
+            assertEquals(8, context.getTermInformation().getCurrentTerm());
+        }};
+    }
+
+    @Test
+    public void testAdaptiveElectionDurationKeepsVariance() throws Exception {
+        MockRaftActorContext context = (MockRaftActorContext) createActorContext();
+
+        DefaultConfigParamsImpl configParams = new DefaultConfigParamsImpl();
+        configParams.setAdaptiveElectionTimeoutEnabled(true);
+        context.setConfigParams(configParams);
+
+        Follower follower = new Follower(context);
+
+        // A long gap between leader messages extends the timeout to its cap
+        follower.getHeartbeatEstimator().messageReceived(0);
+        follower.getHeartbeatEstimator().messageReceived(TimeUnit.MINUTES.toNanos(1));
+
+        FiniteDuration estimated = configParams.getElectionTimeOutInterval().$times(
+                HeartbeatIntervalEstimator.MAX_TIMEOUT_MULTIPLIER);
+        FiniteDuration max = estimated.$plus(new FiniteDuration(configParams.getElectionTimeVariance(),
+                TimeUnit.MILLISECONDS));
+
+        Set<FiniteDuration> durations = new HashSet<>();
+        for(int i = 0; i < 50; i++) {
+            FiniteDuration duration = follower.electionDuration();
+            assertTrue("Duration below the estimate: " + duration, duration.gteq(estimated));
+            assertTrue("Duration above the variance: " + duration, duration.lt(max));
+            durations.add(duration);
+        }
+
+        assertTrue("Random variance missing", durations.size() > 1);
+
+        follower.close();
+    }
+
+    @Test
+    public void testHandlePreVoteRequestVote() throws Exception {
+        new JavaTestKit(getSystem()) {{
+            ActorRef candidateActor = getSystem().actorOf(Props.create(MessageCollectorActor.class));
+
+            RaftActorContext context = createActorContext();
+            context.getTermInformation().update(1, null);
+
+            RaftActorBehavior follower = createBehavior(context);
+
+            follower.handleMessage(candidateActor, new RequestVote(2, "candidate", 10000, 999, true));
+
+            RequestVoteReply reply = (RequestVoteReply) MessageCollectorActor.getFirstMatching(
+                    candidateActor, RequestVoteReply.class);
+            assertNotNull(reply);
+            assertTrue(reply.isPreVote());
+            assertTrue(reply.isVoteGranted());
+            assertEquals(2, reply.getTerm());
+
+            // Granting a pre-vote neither moves to the term nor records the vote
+            assertEquals(1, context.getTermInformation().getCurrentTerm());
+            assertEquals(null, context.getTermInformation().getVotedFor());
+
+            // Once the leader is heard from, pre-votes are refused
+            ActorRef leaderActor = getSystem().actorOf(Props.create(MessageCollectorActor.class));
+            follower.handleMessage(leaderActor, new AppendEntries(1, "leader", -1, -1,
+                    new ArrayList<ReplicatedLogEntry>(), -1));
+
+            ActorRef otherCandidateActor = getSystem().actorOf(Props.create(MessageCollectorActor.class));
+            follower.handleMessage(otherCandidateActor, new RequestVote(2, "candidate", 10000, 999, true));
+
+            reply = (RequestVoteReply) MessageCollectorActor.getFirstMatching(
+                    otherCandidateActor, RequestVoteReply.class);
+            assertNotNull(reply);
+            assertFalse(reply.isVoteGranted());
+            assertEquals(1, context.getTermInformation().getCurrentTerm());
+        }};
+    }
+
     @Test
     public void testHandleRequestVoteWhenSenderTermEqualToCurrentTermAndVotedForIsNull(){
         new JavaTestKit(getSystem()) {{
@@ -191,6 +361,46 @@ public class FollowerTest extends AbstractRaftActorBehaviorTest {
         }};
     }
 
+    @Test
+    public void testIsCaughtUpWithLeader() throws Exception {
+        new JavaTestKit(getSystem()) {{
+
+            RaftActorContext context =
+                createActorContext();
+
+            context.setLastApplied(100);
+            setLastLogEntry((MockRaftActorContext) context, 1, 100,
+                new MockRaftActorContext.MockPayload(""));
+            ((MockRaftActorContext) context).getReplicatedLog().setSnapshotIndex(99);
+
+            Follower follower = new Follower(context);
+
+            // Nothing heard from the leader yet
+            assertFalse(follower.isCaughtUpWithLeader(60000, 100));
+
+            List<ReplicatedLogEntry> entries =
+                Arrays.asList(
+                        (ReplicatedLogEntry) new MockRaftActorContext.MockReplicatedLogEntry(2, 101,
+                                new MockRaftActorContext.MockPayload("foo"))
+                );
+
+            follower.handleMessage(getRef(), new AppendEntries(2, "leader-1", 100, 1, entries, 101));
+
+            assertEquals(101L, context.getLastApplied());
+
+            // The ApplyState for the new entry has not been processed yet
+            assertFalse(follower.isCaughtUpWithLeader(60000, 100));
+            assertTrue(follower.isCaughtUpWithLeader(60000, 101));
+
+            // The leader has committed entries this follower does not have yet
+            follower.handleMessage(getRef(), new AppendEntries(2, "leader-1", 101, 2,
+                    new ArrayList<ReplicatedLogEntry>(), 105));
+
+            assertFalse(follower.isCaughtUpWithLeader(60000, 101));
+
+        }};
+    }
+
     /**
      * This test verifies that when an AppendEntries is received a specific prevLogTerm
      * which does not match the term that is in RaftActors log entry at prevLogIndex
@@ -0,0 +1,65 @@
+package org.opendaylight.controller.cluster.raft.behaviors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import scala.concurrent.duration.FiniteDuration;
+
+public class HeartbeatIntervalEstimatorTest {
+
+    private static final FiniteDuration CONFIGURED = new FiniteDuration(1000, TimeUnit.MILLISECONDS);
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Test
+    public void testNoMessages() {
+        HeartbeatIntervalEstimator estimator = new HeartbeatIntervalEstimator();
+
+        assertEquals(CONFIGURED, estimator.electionTimeout(CONFIGURED));
+
+        estimator.messageReceived(millis(0));
+
+        assertEquals(CONFIGURED, estimator.electionTimeout(CONFIGURED));
+    }
+
+    @Test
+    public void testRegularHeartbeats() {
+        HeartbeatIntervalEstimator estimator = new HeartbeatIntervalEstimator();
+
+        for(int i = 0; i < 50; i++) {
+            estimator.messageReceived(millis(i * 100));
+        }
+
+        assertEquals(CONFIGURED, estimator.electionTimeout(CONFIGURED));
+    }
+
+    @Test
+    public void testJitteryHeartbeats() {
+        HeartbeatIntervalEstimator estimator = new HeartbeatIntervalEstimator();
+
+        long now = 0;
+        for(int i = 0; i < 50; i++) {
+            now += i % 2 == 0 ? 100 : 900;
+            estimator.messageReceived(millis(now));
+        }
+
+        FiniteDuration timeout = estimator.electionTimeout(CONFIGURED);
+        assertTrue("Timeout not extended: " + timeout, timeout.gt(CONFIGURED));
+        assertTrue("Timeout not capped: " + timeout,
+                timeout.lteq(CONFIGURED.$times(HeartbeatIntervalEstimator.MAX_TIMEOUT_MULTIPLIER)));
+    }
+
+    @Test
+    public void testTimeoutIsCapped() {
+        HeartbeatIntervalEstimator estimator = new HeartbeatIntervalEstimator();
+
+        estimator.messageReceived(millis(0));
+        estimator.messageReceived(millis(60000));
+
+        assertEquals(CONFIGURED.$times(HeartbeatIntervalEstimator.MAX_TIMEOUT_MULTIPLIER),
+                estimator.electionTimeout(CONFIGURED));
+    }
+}
@@ -40,6 +40,7 @@ import org.opendaylight.controller.cluster.raft.messages.AppendEntries;
 import org.opendaylight.controller.cluster.raft.messages.AppendEntriesReply;
 import org.opendaylight.controller.cluster.raft.messages.InstallSnapshot;
 import org.opendaylight.controller.cluster.raft.messages.InstallSnapshotReply;
+import org.opendaylight.controller.cluster.raft.messages.RequestVote;
 import org.opendaylight.controller.cluster.raft.messages.RequestVoteReply;
 import org.opendaylight.controller.cluster.raft.utils.DoNothingActor;
 import org.opendaylight.controller.cluster.raft.utils.MessageCollectorActor;
@@ -1104,6 +1105,40 @@ public class LeaderTest extends AbstractRaftActorBehaviorTest {
             }};
     }
 
+    @Test
+    public void testPreVoteNeitherChangesTermNorDeposesLeader() {
+        new JavaTestKit(getSystem()) {{
+            ActorRef candidateActor = getSystem().actorOf(Props.create(MessageCollectorActor.class));
+
+            MockRaftActorContext leaderActorContext =
+                new MockRaftActorContext("leader", getSystem(), leaderActor);
+            leaderActorContext.getTermInformation().update(5, "leader");
+
+            Leader leader = new Leader(leaderActorContext);
+
+            RaftActorBehavior behavior = leader.handleMessage(candidateActor,
+                new RequestVote(6, "candidate", 10000, 999, true));
+
+            assertEquals(RaftState.Leader, behavior.state());
+            assertEquals(5, leaderActorContext.getTermInformation().getCurrentTerm());
+            assertEquals("leader", leaderActorContext.getTermInformation().getVotedFor());
+
+            // An active leader refuses pre-votes
+            RequestVoteReply reply = (RequestVoteReply) MessageCollectorActor.getFirstMatching(
+                candidateActor, RequestVoteReply.class);
+            assertNotNull(reply);
+            assertTrue(reply.isPreVote());
+            Assert.assertFalse(reply.isVoteGranted());
+            assertEquals(5, reply.getTerm());
+
+            // A granted pre-vote reply does not carry a term to move to either
+            behavior = behavior.handleMessage(candidateActor, new RequestVoteReply(6, true, true));
+
+            assertEquals(RaftState.Leader, behavior.state());
+            assertEquals(5, leaderActorContext.getTermInformation().getCurrentTerm());
+        }};
+    }
+
     @Test
     public void testIsolatedLeaderCheckNoFollowers() {
         new JavaTestKit(getSystem()) {{
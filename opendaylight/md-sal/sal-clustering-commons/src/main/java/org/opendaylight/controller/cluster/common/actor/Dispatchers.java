@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.cluster.common.actor;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Resolves the dispatcher an actor is to be deployed on. A dispatcher is used if it is defined
+ * in the actor system's configuration, otherwise the actor falls back to the default dispatcher,
+ * so configurations without the dispatchers keep working as before.
+ * <p/>
+ * A shard can be given a dispatcher of its own, for example a PinnedDispatcher which dedicates
+ * a thread to it, by defining <code>shard-dispatcher-&lt;shard name&gt;</code>.
+ */
+public class Dispatchers {
+    public static final String DEFAULT_DISPATCHER_PATH = "akka.actor.default-dispatcher";
+    public static final String SHARD_DISPATCHER_PATH = "shard-dispatcher";
+    public static final String TRANSACTION_DISPATCHER_PATH = "transaction-dispatcher";
+    public static final String NOTIFICATION_DISPATCHER_PATH = "notification-dispatcher";
+
+    private final akka.dispatch.Dispatchers dispatchers;
+
+    public enum DispatcherType {
+        Shard(SHARD_DISPATCHER_PATH),
+        Transaction(TRANSACTION_DISPATCHER_PATH),
+        Notification(NOTIFICATION_DISPATCHER_PATH);
+
+        private final String path;
+
+        private DispatcherType(String path) {
+            this.path = path;
+        }
+    }
+
+    public Dispatchers(akka.dispatch.Dispatchers dispatchers) {
+        Preconditions.checkNotNull(dispatchers, "dispatchers should not be null");
+        this.dispatchers = dispatchers;
+    }
+
+    public String getDispatcherPath(DispatcherType dispatcherType) {
+        if(dispatchers.hasDispatcher(dispatcherType.path)) {
+            return dispatcherType.path;
+        }
+
+        return DEFAULT_DISPATCHER_PATH;
+    }
+
+    /**
+     * @param shardName the name of the shard, without the member and type
+     * @return the path of the dispatcher configured for the shard, the shard dispatcher if there
+     *         is none
+     */
+    public String getShardDispatcherPath(String shardName) {
+        String path = SHARD_DISPATCHER_PATH + "-" + shardName;
+        if(dispatchers.hasDispatcher(path)) {
+            return path;
+        }
+
+        return getDispatcherPath(DispatcherType.Shard);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.cluster.common.actor;
+
+import akka.actor.ActorRef;
+import akka.dispatch.Envelope;
+import akka.dispatch.MessageQueue;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.opendaylight.controller.cluster.reporting.MetricsReporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reports the number of queued messages and the time messages wait in the queue of the metered
+ * mailboxes to the {@link org.opendaylight.controller.cluster.reporting.MetricsReporter}.
+ */
+final class MailboxMetrics {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MailboxMetrics.class);
+
+    private static final String QUEUE_SIZE = "q-size";
+    private static final String WAIT_TIME = "mailbox-wait-time";
+
+    private final MetricRegistry registry = MetricsReporter.getInstance().getMetricsRegistry();
+
+    void monitor(scala.Option<ActorRef> owner, final MessageQueue queue, WaitTimeSampler sampler) {
+        if (owner.isEmpty()) {
+            return; //there's no actor to monitor
+        }
+
+        String actorName = owner.get().path().toStringWithoutAddress();
+        String queueSizeName = MetricRegistry.name(actorName, QUEUE_SIZE);
+        if (!registry.getMetrics().containsKey(queueSizeName)) {
+            try {
+                registry.register(queueSizeName, new Gauge<Integer>() {
+                    @Override
+                    public Integer getValue() {
+                        return queue.numberOfMessages();
+                    }
+                });
+            } catch (IllegalArgumentException e) {
+                LOG.warn("Unable to register queue size in metrics registry. Failed with exception {}. ", e);
+            }
+        }
+
+        // The timer is shared by the queues of all incarnations of the actor
+        sampler.setWaitTimer(registry.timer(MetricRegistry.name(actorName, WAIT_TIME)));
+    }
+
+    /**
+     * Measures the mailbox wait time on a sample of the messages, without allocating anything
+     * per message. One enqueued message at a time is timestamped, the sample is taken when that
+     * message is dequeued and the next enqueued message is timestamped after that. As the queue
+     * is FIFO, a sample covers the time it took the actor to process everything ahead of it.
+     */
+    static final class WaitTimeSampler {
+        private final AtomicBoolean sampling = new AtomicBoolean();
+        private volatile Envelope sampledEnvelope;
+        private volatile long sampledAtNanos;
+        private volatile Timer waitTimer;
+
+        void setWaitTimer(Timer waitTimer) {
+            this.waitTimer = waitTimer;
+        }
+
+        /**
+         * Called before the envelope is put on the queue.
+         */
+        void enqueued(Envelope handle) {
+            if (waitTimer != null && sampling.compareAndSet(false, true)) {
+                sampledAtNanos = System.nanoTime();
+                sampledEnvelope = handle;
+            }
+        }
+
+        /**
+         * Called with what was taken from the queue, null if it was empty.
+         */
+        void dequeued(Envelope handle) {
+            Envelope sampled = sampledEnvelope;
+            if (sampled != null) {
+                if (handle == sampled) {
+                    waitTimer.update(System.nanoTime() - sampledAtNanos, TimeUnit.NANOSECONDS);
+                    endSample();
+                } else if (handle == null) {
+                    // The queue is empty, so the sampled message went to the dead letters
+                    endSample();
+                }
+            }
+        }
+
+        private void endSample() {
+            sampledEnvelope = null;
+            sampling.set(false);
+        }
+    }
+}
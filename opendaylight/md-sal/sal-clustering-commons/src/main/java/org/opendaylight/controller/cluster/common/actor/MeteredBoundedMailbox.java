@@ -11,83 +11,59 @@ package org.opendaylight.controller.cluster.common.actor;
 import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
 import akka.dispatch.BoundedDequeBasedMailbox;
+import akka.dispatch.Envelope;
 import akka.dispatch.MailboxType;
 import akka.dispatch.ProducesMessageQueue;
-import com.codahale.metrics.Gauge;
-import com.codahale.metrics.MetricRegistry;
 import com.typesafe.config.Config;
-import org.opendaylight.controller.cluster.reporting.MetricsReporter;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import scala.concurrent.duration.FiniteDuration;
 
+/**
+ * Bounded mailbox which reports the number of queued messages and the time messages wait in
+ * the queue before the actor receives them to the
+ * {@link org.opendaylight.controller.cluster.reporting.MetricsReporter}.
+ */
 public class MeteredBoundedMailbox implements MailboxType, ProducesMessageQueue<MeteredBoundedMailbox.MeteredMessageQueue> {
 
-    private final Logger LOG = LoggerFactory.getLogger(MeteredBoundedMailbox.class);
-
     private MeteredMessageQueue queue;
     private Integer capacity;
     private FiniteDuration pushTimeOut;
-    private MetricRegistry registry;
-
-    private final String QUEUE_SIZE = "q-size";
+    private final MailboxMetrics metrics = new MailboxMetrics();
 
     public MeteredBoundedMailbox(ActorSystem.Settings settings, Config config) {
 
         CommonConfig commonConfig = new CommonConfig(settings.config());
         this.capacity = commonConfig.getMailBoxCapacity();
         this.pushTimeOut = commonConfig.getMailBoxPushTimeout();
-
-        MetricsReporter reporter = MetricsReporter.getInstance();
-        registry = reporter.getMetricsRegistry();
     }
 
 
     @Override
     public MeteredMessageQueue create(final scala.Option<ActorRef> owner, scala.Option<ActorSystem> system) {
         this.queue = new MeteredMessageQueue(this.capacity, this.pushTimeOut);
-        monitorQueueSize(owner, this.queue);
+        metrics.monitor(owner, this.queue, this.queue.sampler);
         return this.queue;
     }
 
-    private void monitorQueueSize(scala.Option<ActorRef> owner, final MeteredMessageQueue monitoredQueue) {
-        if (owner.isEmpty()) {
-            return; //there's no actor to monitor
-        }
-        String actorName = owner.get().path().toStringWithoutAddress();
-        String metricName = MetricRegistry.name(actorName, QUEUE_SIZE);
-
-        if (registry.getMetrics().containsKey(metricName))
-            return; //already registered
-
-        Gauge<Integer> queueSize = getQueueSizeGuage(monitoredQueue);
-        registerQueueSizeMetric(metricName, queueSize);
-    }
-
-
     public static class MeteredMessageQueue extends BoundedDequeBasedMailbox.MessageQueue {
         private static final long serialVersionUID = 1L;
 
+        private final transient MailboxMetrics.WaitTimeSampler sampler = new MailboxMetrics.WaitTimeSampler();
+
         public MeteredMessageQueue(int capacity, FiniteDuration pushTimeOut) {
             super(capacity, pushTimeOut);
         }
-    }
 
-    private Gauge<Integer> getQueueSizeGuage(final MeteredMessageQueue monitoredQueue ){
-        return new Gauge<Integer>() {
-            @Override
-            public Integer getValue() {
-                return monitoredQueue.size();
-            }
-        };
-    }
+        @Override
+        public void enqueue(ActorRef receiver, Envelope handle) {
+            sampler.enqueued(handle);
+            super.enqueue(receiver, handle);
+        }
 
-    private void registerQueueSizeMetric(String metricName, Gauge<Integer> metric){
-        try {
-            registry.register(metricName,metric);
-        } catch (IllegalArgumentException e) {
-            LOG.warn("Unable to register queue size in metrics registry. Failed with exception {}. ", e);
+        @Override
+        public Envelope dequeue() {
+            Envelope handle = super.dequeue();
+            sampler.dequeued(handle);
+            return handle;
         }
     }
 }
-
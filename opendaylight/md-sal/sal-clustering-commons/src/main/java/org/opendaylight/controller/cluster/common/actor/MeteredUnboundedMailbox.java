@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.cluster.common.actor;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.dispatch.Envelope;
+import akka.dispatch.MailboxType;
+import akka.dispatch.ProducesMessageQueue;
+import akka.dispatch.UnboundedDequeBasedMailbox;
+import com.typesafe.config.Config;
+
+/**
+ * Unbounded mailbox with the same metrics as the {@link MeteredBoundedMailbox}, for actors which
+ * must not have messages dropped, like the raft actors. The queue is deque based, so persistent
+ * actors can stash.
+ */
+public class MeteredUnboundedMailbox implements MailboxType, ProducesMessageQueue<MeteredUnboundedMailbox.MeteredMessageQueue> {
+
+    private final MailboxMetrics metrics = new MailboxMetrics();
+
+    public MeteredUnboundedMailbox(ActorSystem.Settings settings, Config config) {
+    }
+
+    @Override
+    public MeteredMessageQueue create(final scala.Option<ActorRef> owner, scala.Option<ActorSystem> system) {
+        MeteredMessageQueue queue = new MeteredMessageQueue();
+        metrics.monitor(owner, queue, queue.sampler);
+        return queue;
+    }
+
+    public static class MeteredMessageQueue extends UnboundedDequeBasedMailbox.MessageQueue {
+        private static final long serialVersionUID = 1L;
+
+        private final transient MailboxMetrics.WaitTimeSampler sampler = new MailboxMetrics.WaitTimeSampler();
+
+        @Override
+        public void enqueue(ActorRef receiver, Envelope handle) {
+            sampler.enqueued(handle);
+            super.enqueue(receiver, handle);
+        }
+
+        @Override
+        public Envelope dequeue() {
+            Envelope handle = super.dequeue();
+            sampler.dequeued(handle);
+            return handle;
+        }
+    }
+}
@@ -12,6 +12,9 @@ import akka.japi.Procedure;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import com.google.common.base.Preconditions;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.cluster.reporting.MetricsReporter;
 
 /**
@@ -23,6 +26,10 @@ import org.opendaylight.controller.cluster.reporting.MetricsReporter;
  *     <li>message processing rate by message type</li>
  * </ul>
  *
+ * The timers are resolved once per actor and message type, so metering a message does not
+ * build metric names or look up the registry. The time messages wait in the mailbox is
+ * captured separately by {@link MeteredBoundedMailbox}.
+ * <p/>
  * The information is reported to {@link org.opendaylight.controller.cluster.reporting.MetricsReporter}
  */
 public class MeteringBehavior implements Procedure<Object> {
@@ -35,6 +42,9 @@ public class MeteringBehavior implements Procedure<Object> {
     private String actorQualifiedName;
     private Timer msgProcessingTimer;
 
+    // Only accessed from the actor's receive, so it needs no synchronization
+    private final Map<Class<?>, Timer> msgProcessingTimersByMsgType = new HashMap<>();
+
     /**
      *
      * @param actor whose behaviour needs to be metered
@@ -66,7 +76,8 @@ public class MeteringBehavior implements Procedure<Object> {
 
     /**
      * Uses 2 timers to measure message processing rate. One for overall message processing rate and
-     * another to measure rate by message type. The timers are re-used if they were previously created.
+     * another to measure rate by message type. The timer for a message type is resolved from the registry
+     * the first time the actor receives a message of that type and re-used afterwards.
      * <p/>
      * {@link com.codahale.metrics.MetricRegistry} maintains a reservoir for different timers where
      * collected timings are kept. It exposes various metrics for each timer based on collected
@@ -82,21 +93,26 @@ public class MeteringBehavior implements Procedure<Object> {
      */
     @Override
     public void apply(Object message) throws Exception {
-        final String messageType = message.getClass().getSimpleName();
-
-        final String msgProcessingTimeByMsgType =
-                MetricRegistry.name(actorQualifiedName, MSG_PROCESSING_RATE, messageType);
-
-        final Timer msgProcessingTimerByMsgType = METRICREGISTRY.timer(msgProcessingTimeByMsgType);
-
-        //start timers
-        final Timer.Context context = msgProcessingTimer.time();
-        final Timer.Context contextByMsgType = msgProcessingTimerByMsgType.time();
+        final Timer msgProcessingTimerByMsgType = getMsgProcessingTimer(message.getClass());
+
+        final long start = System.nanoTime();
+        try {
+            meteredActor.onReceive(message);
+        } finally {
+            final long elapsed = System.nanoTime() - start;
+            msgProcessingTimer.update(elapsed, TimeUnit.NANOSECONDS);
+            msgProcessingTimerByMsgType.update(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
 
-        meteredActor.onReceive(message);
+    private Timer getMsgProcessingTimer(Class<?> messageClass) {
+        Timer timer = msgProcessingTimersByMsgType.get(messageClass);
+        if(timer == null) {
+            timer = METRICREGISTRY.timer(MetricRegistry.name(actorQualifiedName, MSG_PROCESSING_RATE,
+                    messageClass.getSimpleName()));
+            msgProcessingTimersByMsgType.put(messageClass, timer);
+        }
 
-        //stop timers
-        contextByMsgType.stop();
-        context.stop();
+        return timer;
     }
 }
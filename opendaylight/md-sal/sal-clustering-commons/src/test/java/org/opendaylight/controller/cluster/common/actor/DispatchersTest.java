@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.cluster.common.actor;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import org.junit.Test;
+
+public class DispatchersTest {
+
+    @Test
+    public void testGetDispatcherPathWhenNotConfigured() {
+        akka.dispatch.Dispatchers mockDispatchers = mock(akka.dispatch.Dispatchers.class);
+        doReturn(false).when(mockDispatchers).hasDispatcher(anyString());
+
+        Dispatchers dispatchers = new Dispatchers(mockDispatchers);
+
+        assertEquals(Dispatchers.DEFAULT_DISPATCHER_PATH,
+                dispatchers.getDispatcherPath(Dispatchers.DispatcherType.Shard));
+        assertEquals(Dispatchers.DEFAULT_DISPATCHER_PATH,
+                dispatchers.getDispatcherPath(Dispatchers.DispatcherType.Transaction));
+        assertEquals(Dispatchers.DEFAULT_DISPATCHER_PATH,
+                dispatchers.getDispatcherPath(Dispatchers.DispatcherType.Notification));
+        assertEquals(Dispatchers.DEFAULT_DISPATCHER_PATH, dispatchers.getShardDispatcherPath("inventory"));
+    }
+
+    @Test
+    public void testGetDispatcherPathWhenConfigured() {
+        akka.dispatch.Dispatchers mockDispatchers = mock(akka.dispatch.Dispatchers.class);
+        doReturn(false).when(mockDispatchers).hasDispatcher(anyString());
+        doReturn(true).when(mockDispatchers).hasDispatcher(Dispatchers.SHARD_DISPATCHER_PATH);
+        doReturn(true).when(mockDispatchers).hasDispatcher(Dispatchers.TRANSACTION_DISPATCHER_PATH);
+        doReturn(true).when(mockDispatchers).hasDispatcher(Dispatchers.SHARD_DISPATCHER_PATH + "-inventory");
+
+        Dispatchers dispatchers = new Dispatchers(mockDispatchers);
+
+        assertEquals(Dispatchers.SHARD_DISPATCHER_PATH,
+                dispatchers.getDispatcherPath(Dispatchers.DispatcherType.Shard));
+        assertEquals(Dispatchers.TRANSACTION_DISPATCHER_PATH,
+                dispatchers.getDispatcherPath(Dispatchers.DispatcherType.Transaction));
+        assertEquals(Dispatchers.DEFAULT_DISPATCHER_PATH,
+                dispatchers.getDispatcherPath(Dispatchers.DispatcherType.Notification));
+        assertEquals(Dispatchers.SHARD_DISPATCHER_PATH + "-inventory",
+                dispatchers.getShardDispatcherPath("inventory"));
+        assertEquals(Dispatchers.SHARD_DISPATCHER_PATH, dispatchers.getShardDispatcherPath("topology"));
+    }
+}
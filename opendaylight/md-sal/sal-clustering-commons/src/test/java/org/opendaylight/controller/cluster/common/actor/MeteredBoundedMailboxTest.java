@@ -13,14 +13,19 @@ import akka.actor.DeadLetter;
 import akka.actor.Props;
 import akka.actor.UntypedActor;
 import akka.testkit.JavaTestKit;
+import com.codahale.metrics.Timer;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.opendaylight.controller.cluster.reporting.MetricsReporter;
 import scala.concurrent.duration.FiniteDuration;
 
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
 public class MeteredBoundedMailboxTest {
 
     private static ActorSystem actorSystem;
@@ -67,6 +72,36 @@ public class MeteredBoundedMailboxTest {
         Object[] eleven = mockReceiver.receiveN(11, TWENTY_SEC);
     }
 
+    @Test
+    public void shouldMeasureMailboxWaitTime() throws InterruptedException {
+        final JavaTestKit mockReceiver = new JavaTestKit(actorSystem);
+
+        final FiniteDuration TWENTY_SEC = new FiniteDuration(20, TimeUnit.SECONDS);
+
+        ActorRef pingPongActor = actorSystem.actorOf(PingPongActor.props(lock).withMailbox(config.getMailBoxName()),
+                                                     "waitingpingpongactor");
+
+        lock.lock();
+        //the 1st message is dequeued and the actor waits on the lock,
+        //the 2nd one is sampled and waits in the queue until the lock is released
+        pingPongActor.tell("ping", mockReceiver.getRef());
+        Thread.sleep(100);
+        for (int i=0;i<4;i++){
+            pingPongActor.tell("ping", mockReceiver.getRef());
+        }
+
+        Thread.sleep(200);
+        lock.unlock();
+
+        mockReceiver.receiveN(5, TWENTY_SEC);
+
+        Timer waitTimer = MetricsReporter.getInstance().getMetricsRegistry().getTimers().get(
+                pingPongActor.path().toStringWithoutAddress() + ".mailbox-wait-time");
+        assertNotNull(waitTimer);
+        assertTrue(waitTimer.getCount() > 0);
+        assertTrue(waitTimer.getSnapshot().getMax() >= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
     /**
      * For testing
      */
@@ -46,6 +46,15 @@ public interface Configuration {
      */
     List<String> getShardNamesFromModuleName(String moduleName);
 
+    /**
+     * Given a shardName find the prefix of the module's data tree, if any, which the shard
+     * was configured with for the PrefixShardStrategy
+     *
+     * @param shardName
+     * @return
+     */
+    Optional<String> getPrefixFromShardName(String shardName);
+
     /**
      * Given a shardName find all the members on which it belongs
      *
@@ -28,6 +28,7 @@ import java.util.Map;
 import java.util.Set;
 import org.opendaylight.controller.cluster.datastore.shardstrategy.DefaultShardStrategy;
 import org.opendaylight.controller.cluster.datastore.shardstrategy.ModuleShardStrategy;
+import org.opendaylight.controller.cluster.datastore.shardstrategy.PrefixShardStrategy;
 import org.opendaylight.controller.cluster.datastore.shardstrategy.ShardStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,6 +53,7 @@ public class ConfigurationImpl implements Configuration {
     private final ListMultimap<String, String> moduleNameToShardName;
     private final Map<String, ShardStrategy> moduleNameToStrategy;
     private final Map<String, String> namespaceToModuleName;
+    private final Map<String, String> shardNameToPrefix;
     private final Set<String> allShardNames;
 
     public ConfigurationImpl(final String moduleShardsConfigPath,
@@ -90,6 +92,7 @@ public class ConfigurationImpl implements Configuration {
         this.moduleNameToShardName = createModuleNameToShardName(moduleShards);
         this.moduleNameToStrategy = createModuleNameToStrategy(modules);
         this.namespaceToModuleName = createNamespaceToModuleName(modules);
+        this.shardNameToPrefix = createShardNameToPrefix(moduleShards);
     }
 
     private static Set<String> createAllShardNames(Iterable<ModuleShard> moduleShards) {
@@ -102,6 +105,18 @@ public class ConfigurationImpl implements Configuration {
         return b.build();
     }
 
+    private static Map<String, String> createShardNameToPrefix(Iterable<ModuleShard> moduleShards) {
+        final com.google.common.collect.ImmutableMap.Builder<String, String> b = ImmutableMap.builder();
+        for(ModuleShard ms : moduleShards){
+            for(Shard s : ms.getShards()) {
+                if(s.getPrefix() != null) {
+                    b.put(s.getName(), s.getPrefix());
+                }
+            }
+        }
+        return b.build();
+    }
+
     private static Map<String, ShardStrategy> createModuleNameToStrategy(Iterable<Module> modules) {
         final com.google.common.collect.ImmutableMap.Builder<String, ShardStrategy> b = ImmutableMap.builder();
         for (Module m : modules) {
@@ -172,6 +187,12 @@ public class ConfigurationImpl implements Configuration {
         return moduleNameToShardName.get(moduleName);
     }
 
+    @Override
+    public Optional<String> getPrefixFromShardName(final String shardName) {
+        Preconditions.checkNotNull(shardName, "shardName should not be null");
+        return Optional.fromNullable(shardNameToPrefix.get(shardName));
+    }
+
     @Override public List<String> getMembersFromShardName(final String shardName) {
 
         Preconditions.checkNotNull(shardName, "shardName should not be null");
@@ -229,7 +250,8 @@ public class ConfigurationImpl implements Configuration {
             for(ConfigObject shard : shardsConfigObjectList){
                 String shardName = shard.get("name").unwrapped().toString();
                 List<String> replicas = shard.toConfig().getStringList("replicas");
-                shards.add(new Shard(shardName, replicas));
+                String prefix = shard.containsKey("prefix") ? shard.get("prefix").unwrapped().toString() : null;
+                shards.add(new Shard(shardName, replicas, prefix));
             }
 
             b.add(new ModuleShard(moduleName, shards));
@@ -259,10 +281,12 @@ public class ConfigurationImpl implements Configuration {
     private static class Shard {
         private final String name;
         private final List<String> replicas;
+        private final String prefix;
 
-        Shard(final String name, final List<String> replicas) {
+        Shard(final String name, final List<String> replicas, final String prefix) {
             this.name = name;
             this.replicas = replicas;
+            this.prefix = prefix;
         }
 
         public String getName() {
@@ -272,6 +296,10 @@ public class ConfigurationImpl implements Configuration {
         public List<String> getReplicas() {
             return replicas;
         }
+
+        public String getPrefix() {
+            return prefix;
+        }
     }
 
     private class Module {
@@ -285,6 +313,8 @@ public class ConfigurationImpl implements Configuration {
             this.nameSpace = nameSpace;
             if(ModuleShardStrategy.NAME.equals(shardStrategy)){
                 this.shardStrategy = new ModuleShardStrategy(name, ConfigurationImpl.this);
+            } else if(PrefixShardStrategy.NAME.equals(shardStrategy)){
+                this.shardStrategy = new PrefixShardStrategy(name, ConfigurationImpl.this);
             } else {
                 this.shardStrategy = DefaultShardStrategy.getInstance();
             }
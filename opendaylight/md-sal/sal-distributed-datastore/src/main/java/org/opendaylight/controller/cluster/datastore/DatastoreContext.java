@@ -37,13 +37,15 @@ public class DatastoreContext {
     private final boolean persistent;
     private final ConfigurationReader configurationReader;
     private final long shardElectionTimeoutFactor;
+    private final long shardFollowerReadMaxLagInMillis;
 
     private DatastoreContext(InMemoryDOMDataStoreConfigProperties dataStoreProperties,
             ConfigParams shardRaftConfig, String dataStoreMXBeanType, int operationTimeoutInSeconds,
             Duration shardTransactionIdleTimeout, int shardTransactionCommitTimeoutInSeconds,
             int shardTransactionCommitQueueCapacity, Timeout shardInitializationTimeout,
             Timeout shardLeaderElectionTimeout,
-            boolean persistent, ConfigurationReader configurationReader, long shardElectionTimeoutFactor) {
+            boolean persistent, ConfigurationReader configurationReader, long shardElectionTimeoutFactor,
+            long shardFollowerReadMaxLagInMillis) {
         this.dataStoreProperties = dataStoreProperties;
         this.shardRaftConfig = shardRaftConfig;
         this.dataStoreMXBeanType = dataStoreMXBeanType;
@@ -56,6 +58,7 @@ public class DatastoreContext {
         this.persistent = persistent;
         this.configurationReader = configurationReader;
         this.shardElectionTimeoutFactor = shardElectionTimeoutFactor;
+        this.shardFollowerReadMaxLagInMillis = shardFollowerReadMaxLagInMillis;
     }
 
     public static Builder newBuilder() {
@@ -110,6 +113,14 @@ public class DatastoreContext {
         return this.shardElectionTimeoutFactor;
     }
 
+    /**
+     * @return how long ago a follower may have last heard from the leader and still serve
+     *         read-only transactions from its replica, 0 if reads always go to the leader
+     */
+    public long getShardFollowerReadMaxLagInMillis() {
+        return shardFollowerReadMaxLagInMillis;
+    }
+
     public static class Builder {
         private InMemoryDOMDataStoreConfigProperties dataStoreProperties;
         private Duration shardTransactionIdleTimeout = Duration.create(10, TimeUnit.MINUTES);
@@ -127,6 +138,9 @@ public class DatastoreContext {
         private int shardIsolatedLeaderCheckIntervalInMillis = shardHeartbeatIntervalInMillis * 10;
         private int shardSnapshotDataThresholdPercentage = 12;
         private long shardElectionTimeoutFactor = 2;
+        private long shardFollowerReadMaxLagInMillis = 0;
+        private boolean shardPreVoteEnabled = false;
+        private boolean shardAdaptiveElectionTimeoutEnabled = true;
 
         public Builder shardTransactionIdleTimeout(Duration shardTransactionIdleTimeout) {
             this.shardTransactionIdleTimeout = shardTransactionIdleTimeout;
@@ -209,6 +223,21 @@ public class DatastoreContext {
             return this;
         }
 
+        public Builder shardFollowerReadMaxLagInMillis(long shardFollowerReadMaxLagInMillis){
+            this.shardFollowerReadMaxLagInMillis = shardFollowerReadMaxLagInMillis;
+            return this;
+        }
+
+        public Builder shardPreVoteEnabled(boolean shardPreVoteEnabled){
+            this.shardPreVoteEnabled = shardPreVoteEnabled;
+            return this;
+        }
+
+        public Builder shardAdaptiveElectionTimeoutEnabled(boolean shardAdaptiveElectionTimeoutEnabled){
+            this.shardAdaptiveElectionTimeoutEnabled = shardAdaptiveElectionTimeoutEnabled;
+            return this;
+        }
+
 
         public DatastoreContext build() {
             DefaultConfigParamsImpl raftConfig = new DefaultConfigParamsImpl();
@@ -218,6 +247,8 @@ public class DatastoreContext {
             raftConfig.setSnapshotBatchCount(shardSnapshotBatchCount);
             raftConfig.setSnapshotDataThresholdPercentage(shardSnapshotDataThresholdPercentage);
             raftConfig.setElectionTimeoutFactor(shardElectionTimeoutFactor);
+            raftConfig.setPreVoteEnabled(shardPreVoteEnabled);
+            raftConfig.setAdaptiveElectionTimeoutEnabled(shardAdaptiveElectionTimeoutEnabled);
             raftConfig.setIsolatedLeaderCheckInterval(
                 new FiniteDuration(shardIsolatedLeaderCheckIntervalInMillis, TimeUnit.MILLISECONDS));
 
@@ -225,7 +256,8 @@ public class DatastoreContext {
                     operationTimeoutInSeconds, shardTransactionIdleTimeout,
                     shardTransactionCommitTimeoutInSeconds, shardTransactionCommitQueueCapacity,
                     shardInitializationTimeout, shardLeaderElectionTimeout,
-                    persistent, configurationReader, shardElectionTimeoutFactor);
+                    persistent, configurationReader, shardElectionTimeoutFactor,
+                    shardFollowerReadMaxLagInMillis);
         }
     }
 }
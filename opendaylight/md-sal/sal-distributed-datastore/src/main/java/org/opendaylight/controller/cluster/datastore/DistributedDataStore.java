@@ -11,7 +11,12 @@ package org.opendaylight.controller.cluster.datastore;
 import akka.actor.ActorSystem;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.List;
 import org.opendaylight.controller.cluster.datastore.identifiers.ShardManagerIdentifier;
+import org.opendaylight.controller.cluster.datastore.jmx.mbeans.datastore.DatastoreInfo;
+import org.opendaylight.controller.cluster.datastore.shardstrategy.PrefixShardStrategy;
+import org.opendaylight.controller.cluster.datastore.shardstrategy.ShardStrategy;
 import org.opendaylight.controller.cluster.datastore.shardstrategy.ShardStrategyFactory;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
 import org.opendaylight.controller.md.sal.common.api.data.AsyncDataBroker;
@@ -21,6 +26,7 @@ import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadWriteTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreTransactionChain;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreWriteTransaction;
+import org.opendaylight.yangtools.concepts.AbstractListenerRegistration;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -39,6 +45,8 @@ public class DistributedDataStore implements DOMStore, SchemaContextListener, Au
 
     private final ActorContext actorContext;
 
+    private final DatastoreInfo datastoreInfoMBean;
+
     public DistributedDataStore(ActorSystem actorSystem, String type, ClusterWrapper cluster,
             Configuration configuration, DatastoreContext datastoreContext) {
         Preconditions.checkNotNull(actorSystem, "actorSystem should not be null");
@@ -55,10 +63,14 @@ public class DistributedDataStore implements DOMStore, SchemaContextListener, Au
                 ShardManager.props(type, cluster, configuration, datastoreContext)
                     .withMailbox(ActorContext.MAILBOX), shardManagerId ),
                 cluster, configuration, datastoreContext);
+
+        datastoreInfoMBean = DatastoreInfo.createDatastoreMBean("distributed-datastore-" + type,
+                datastoreContext.getDataStoreMXBeanType(), actorContext);
     }
 
     public DistributedDataStore(ActorContext actorContext) {
         this.actorContext = Preconditions.checkNotNull(actorContext, "actorContext should not be null");
+        this.datastoreInfoMBean = null;
     }
 
     @SuppressWarnings("unchecked")
@@ -73,7 +85,13 @@ public class DistributedDataStore implements DOMStore, SchemaContextListener, Au
 
         LOG.debug("Registering listener: {} for path: {} scope: {}", listener, path, scope);
 
-        String shardName = ShardStrategyFactory.getStrategy(path).findShard(path);
+        ShardStrategy strategy = ShardStrategyFactory.getStrategy(path);
+        if(strategy instanceof PrefixShardStrategy && ((PrefixShardStrategy) strategy).isAtOrAboveList(path)) {
+            return registerChangeListener(((PrefixShardStrategy) strategy).getShardsAtOrBelow(path),
+                    path, listener, scope);
+        }
+
+        String shardName = strategy.findShard(path);
 
         final DataChangeListenerRegistrationProxy listenerRegistrationProxy =
                 new DataChangeListenerRegistrationProxy(shardName, actorContext, listener);
@@ -82,6 +100,33 @@ public class DistributedDataStore implements DOMStore, SchemaContextListener, Au
         return listenerRegistrationProxy;
     }
 
+    /**
+     * Registers the listener with every shard holding data below the path. Each of them notifies
+     * the listener of the changes to its own part of the data.
+     */
+    private <L extends AsyncDataChangeListener<YangInstanceIdentifier, NormalizedNode<?, ?>>>
+            ListenerRegistration<L> registerChangeListener(List<String> shardNames,
+                    YangInstanceIdentifier path, L listener, AsyncDataBroker.DataChangeScope scope) {
+        final List<DataChangeListenerRegistrationProxy> registrations = new ArrayList<>(shardNames.size());
+        for(String shardName : shardNames) {
+            LOG.debug("Registering listener: {} for path: {} on shard: {}", listener, path, shardName);
+
+            DataChangeListenerRegistrationProxy registration =
+                    new DataChangeListenerRegistrationProxy(shardName, actorContext, listener);
+            registration.init(path, scope);
+            registrations.add(registration);
+        }
+
+        return new AbstractListenerRegistration<L>(listener) {
+            @Override
+            protected void removeRegistration() {
+                for(DataChangeListenerRegistrationProxy registration : registrations) {
+                    registration.close();
+                }
+            }
+        };
+    }
+
     @Override
     public DOMStoreTransactionChain createTransactionChain() {
         return new TransactionChainProxy(actorContext);
@@ -109,6 +154,10 @@ public class DistributedDataStore implements DOMStore, SchemaContextListener, Au
 
     @Override
     public void close() throws Exception {
+        if(datastoreInfoMBean != null) {
+            datastoreInfoMBean.unregisterMBean();
+        }
+
         actorContext.shutdown();
     }
 
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import akka.actor.ActorSelection;
+import akka.dispatch.Mapper;
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import java.util.concurrent.Semaphore;
+import org.opendaylight.controller.cluster.datastore.identifiers.TransactionIdentifier;
+import org.opendaylight.controller.cluster.datastore.messages.ForwardedReadyTransaction;
+import org.opendaylight.controller.cluster.datastore.messages.ReadyTransactionReply;
+import org.opendaylight.controller.cluster.datastore.modification.DeleteModification;
+import org.opendaylight.controller.cluster.datastore.modification.MergeModification;
+import org.opendaylight.controller.cluster.datastore.modification.MutableCompositeModification;
+import org.opendaylight.controller.cluster.datastore.modification.WriteModification;
+import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadTransaction;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreThreePhaseCommitCohort;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreTransaction;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreWriteTransaction;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.concurrent.Future;
+
+/**
+ * TransactionContext for a shard whose leader runs in the same actor system. The operations are
+ * performed directly on the transaction created on the shard's data store, only the ready is
+ * handed to the Shard actor, which then coordinates the three phase commit as usual.
+ */
+final class LocalTransactionContext extends AbstractTransactionContext {
+    private static final Logger LOG = LoggerFactory.getLogger(LocalTransactionContext.class);
+
+    private final DOMStoreTransaction transaction;
+    private final ActorSelection shard;
+    private final ActorContext actorContext;
+    private final SchemaContext schemaContext;
+    private final Semaphore operationLimiter;
+    private final OperationCompleter operationCompleter;
+    private final MutableCompositeModification modification = new MutableCompositeModification();
+    private Throwable modificationFailure;
+
+    LocalTransactionContext(DOMStoreTransaction transaction, ActorSelection shard,
+            TransactionIdentifier identifier, ActorContext actorContext, SchemaContext schemaContext,
+            Semaphore operationLimiter, OperationCompleter operationCompleter) {
+        super(identifier);
+        this.transaction = transaction;
+        this.shard = shard;
+        this.actorContext = actorContext;
+        this.schemaContext = schemaContext;
+        this.operationLimiter = operationLimiter;
+        this.operationCompleter = operationCompleter;
+    }
+
+    @Override
+    public void closeTransaction() {
+        LOG.debug("Tx {} closeTransaction called", identifier);
+
+        transaction.close();
+    }
+
+    @Override
+    public Future<ActorSelection> readyTransaction() {
+        LOG.debug("Tx {} readyTransaction called", identifier);
+
+        if(modificationFailure != null) {
+            operationLimiter.release();
+            return akka.dispatch.Futures.failed(modificationFailure);
+        }
+
+        DOMStoreThreePhaseCommitCohort cohort;
+        try {
+            cohort = ((DOMStoreWriteTransaction) transaction).ready();
+        } catch (Exception e) {
+            operationLimiter.release();
+            return akka.dispatch.Futures.failed(e);
+        }
+
+        // The shard caches the cohort and replies with its own path, as it does when the
+        // ShardTransaction actor forwards the ready.
+        Future<Object> replyFuture = actorContext.executeOperationAsync(shard,
+                new ForwardedReadyTransaction(identifier.toString(), DataStoreVersions.CURRENT_VERSION,
+                        cohort, modification, false));
+        replyFuture.onComplete(operationCompleter, actorContext.getActorSystem().dispatcher());
+
+        return replyFuture.transform(new Mapper<Object, ActorSelection>() {
+            @Override
+            public ActorSelection checkedApply(Object reply) {
+                if (reply instanceof ReadyTransactionReply) {
+                    return actorContext.actorSelection(((ReadyTransactionReply)reply).getCohortPath());
+                }
+
+                // Throwing an exception here will fail the Future.
+                throw new IllegalArgumentException(String.format("Invalid reply type %s",
+                        reply.getClass()));
+            }
+        }, TransactionProxy.SAME_FAILURE_TRANSFORMER, actorContext.getActorSystem().dispatcher());
+    }
+
+    @Override
+    public void deleteData(YangInstanceIdentifier path) {
+        LOG.debug("Tx {} deleteData called path = {}", identifier, path);
+
+        try {
+            ((DOMStoreWriteTransaction) transaction).delete(path);
+            modification.addModification(new DeleteModification(path));
+        } catch (Exception e) {
+            onModificationFailed(e);
+        } finally {
+            operationLimiter.release();
+        }
+    }
+
+    @Override
+    public void mergeData(YangInstanceIdentifier path, NormalizedNode<?, ?> data) {
+        LOG.debug("Tx {} mergeData called path = {}", identifier, path);
+
+        try {
+            ((DOMStoreWriteTransaction) transaction).merge(path, data);
+            modification.addModification(new MergeModification(path, data, schemaContext));
+        } catch (Exception e) {
+            onModificationFailed(e);
+        } finally {
+            operationLimiter.release();
+        }
+    }
+
+    @Override
+    public void writeData(YangInstanceIdentifier path, NormalizedNode<?, ?> data) {
+        LOG.debug("Tx {} writeData called path = {}", identifier, path);
+
+        try {
+            ((DOMStoreWriteTransaction) transaction).write(path, data);
+            modification.addModification(new WriteModification(path, data, schemaContext));
+        } catch (Exception e) {
+            onModificationFailed(e);
+        } finally {
+            operationLimiter.release();
+        }
+    }
+
+    private void onModificationFailed(Exception e) {
+        LOG.debug("Tx {} modification failed: {}", identifier, e);
+
+        if(modificationFailure == null) {
+            modificationFailure = e;
+        }
+    }
+
+    @Override
+    public CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> readData(
+            YangInstanceIdentifier path) {
+        LOG.debug("Tx {} readData called path = {}", identifier, path);
+
+        try {
+            // Honor the read uncommitted semantics the same way the remote context does
+            if(modificationFailure != null) {
+                return Futures.immediateFailedCheckedFuture(new ReadFailedException(
+                        "The read could not be performed because a previous put, merge,"
+                        + "or delete operation failed", modificationFailure));
+            }
+
+            return ((DOMStoreReadTransaction) transaction).read(path);
+        } finally {
+            operationLimiter.release();
+        }
+    }
+
+    @Override
+    public CheckedFuture<Boolean, ReadFailedException> dataExists(YangInstanceIdentifier path) {
+        LOG.debug("Tx {} dataExists called path = {}", identifier, path);
+
+        try {
+            if(modificationFailure != null) {
+                return Futures.immediateFailedCheckedFuture(new ReadFailedException(
+                        "The data exists could not be performed because a previous "
+                        + "put, merge, or delete operation failed", modificationFailure));
+            }
+
+            return ((DOMStoreReadTransaction) transaction).exists(path);
+        } finally {
+            operationLimiter.release();
+        }
+    }
+}
@@ -36,6 +36,7 @@ import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import org.opendaylight.controller.cluster.DataPersistenceProvider;
 import org.opendaylight.controller.cluster.common.actor.CommonConfig;
+import org.opendaylight.controller.cluster.common.actor.Dispatchers;
 import org.opendaylight.controller.cluster.common.actor.MeteringBehavior;
 import org.opendaylight.controller.cluster.datastore.ShardCommitCoordinator.CohortEntry;
 import org.opendaylight.controller.cluster.datastore.compat.BackwardsCompatibleThreePhaseCommitCohort;
@@ -51,6 +52,8 @@ import org.opendaylight.controller.cluster.datastore.messages.CanCommitTransacti
 import org.opendaylight.controller.cluster.datastore.messages.CloseTransactionChain;
 import org.opendaylight.controller.cluster.datastore.messages.CommitTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.CommitTransactionReply;
+import org.opendaylight.controller.cluster.datastore.messages.CreateLocalTransaction;
+import org.opendaylight.controller.cluster.datastore.messages.CreateLocalTransactionReply;
 import org.opendaylight.controller.cluster.datastore.messages.CreateTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.CreateTransactionReply;
 import org.opendaylight.controller.cluster.datastore.messages.EnableNotification;
@@ -77,6 +80,7 @@ import org.opendaylight.controller.md.sal.dom.store.impl.InMemoryDOMDataStore;
 import org.opendaylight.controller.md.sal.dom.store.impl.InMemoryDOMDataStoreFactory;
 import org.opendaylight.controller.protobuff.messages.common.NormalizedNodeMessages;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreThreePhaseCommitCohort;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreTransactionChain;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreTransactionFactory;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreWriteTransaction;
@@ -142,6 +146,10 @@ public class Shard extends RaftActor {
 
     private final Map<String, DOMStoreTransactionChain> transactionChains = new HashMap<>();
 
+    private final String transactionDispatcherPath;
+
+    private final String notificationDispatcherPath;
+
     protected Shard(final ShardIdentifier name, final Map<ShardIdentifier, String> peerAddresses,
             final DatastoreContext datastoreContext, final SchemaContext schemaContext) {
         super(name.toString(), mapPeerAddresses(peerAddresses),
@@ -175,6 +183,10 @@ public class Shard extends RaftActor {
         transactionCommitTimeout = TimeUnit.MILLISECONDS.convert(
                 datastoreContext.getShardTransactionCommitTimeoutInSeconds(), TimeUnit.SECONDS);
 
+        Dispatchers dispatchers = new Dispatchers(context().system().dispatchers());
+        transactionDispatcherPath = dispatchers.getDispatcherPath(Dispatchers.DispatcherType.Transaction);
+        notificationDispatcherPath = dispatchers.getDispatcherPath(Dispatchers.DispatcherType.Notification);
+
         // create a notifier actor for each cluster member
         roleChangeNotifier = createRoleChangeNotifier(name.toString());
     }
@@ -246,6 +258,8 @@ public class Shard extends RaftActor {
             handleReadDataReply(message);
         } else if (message.getClass().equals(CreateTransaction.SERIALIZABLE_CLASS)) {
             handleCreateTransaction(message);
+        } else if (message instanceof CreateLocalTransaction) {
+            handleCreateLocalTransaction((CreateLocalTransaction) message);
         } else if(message instanceof ForwardedReadyTransaction) {
             handleForwardedReadyTransaction((ForwardedReadyTransaction)message);
         } else if(message.getClass().equals(CanCommitTransaction.SERIALIZABLE_CLASS)) {
@@ -475,6 +489,40 @@ public class Shard extends RaftActor {
         }
     }
 
+    private void handleCreateLocalTransaction(final CreateLocalTransaction createTransaction) {
+        if (isLeader() || canReadFromFollower(createTransaction)) {
+            // The front-end is co-located with us so it gets the data store transaction itself and
+            // only comes back to us with the ForwardedReadyTransaction.
+            try {
+                if(LOG.isDebugEnabled()) {
+                    LOG.debug("Creating local transaction : {} ", createTransaction.getTransactionId());
+                }
+
+                DOMStoreTransaction transaction = createTypedTransaction(
+                        createTransaction.getTransactionType(), createTransaction.getTransactionChainId());
+
+                getSender().tell(new CreateLocalTransactionReply(createTransaction.getTransactionId(),
+                        transaction), getSelf());
+            } catch (Exception e) {
+                getSender().tell(new akka.actor.Status.Failure(e), getSelf());
+            }
+        } else {
+            handleCreateTransaction(createTransaction.toCreateTransaction().toSerializable());
+        }
+    }
+
+    /**
+     * A read-only transaction, outside of a chain, may be served by a follower which has kept up
+     * with the leader closely enough.
+     */
+    private boolean canReadFromFollower(final CreateLocalTransaction createTransaction) {
+        long maxLag = datastoreContext.getShardFollowerReadMaxLagInMillis();
+        return maxLag > 0 &&
+                createTransaction.getTransactionType() == TransactionProxy.TransactionType.READ_ONLY.ordinal() &&
+                createTransaction.getTransactionChainId().isEmpty() &&
+                isFollowerCaughtUpWithLeader(maxLag);
+    }
+
     private void handleReadDataReply(final Object message) {
         // This must be for install snapshot. Don't want to open this up and trigger
         // deSerialization
@@ -498,9 +546,8 @@ public class Shard extends RaftActor {
         }
     }
 
-    private ActorRef createTypedTransactionActor(int transactionType,
-            ShardTransactionIdentifier transactionId, String transactionChainId,
-            short clientVersion ) {
+    private DOMStoreTransaction createTypedTransaction(int transactionType,
+            String transactionChainId) {
 
         DOMStoreTransactionFactory factory = store;
 
@@ -521,32 +568,19 @@ public class Shard extends RaftActor {
 
             shardMBean.incrementReadOnlyTransactionCount();
 
-            return getContext().actorOf(
-                ShardTransaction.props(factory.newReadOnlyTransaction(), getSelf(),
-                        schemaContext,datastoreContext, shardMBean,
-                        transactionId.getRemoteTransactionId(), clientVersion),
-                        transactionId.toString());
+            return factory.newReadOnlyTransaction();
 
         } else if (transactionType == TransactionProxy.TransactionType.READ_WRITE.ordinal()) {
 
             shardMBean.incrementReadWriteTransactionCount();
 
-            return getContext().actorOf(
-                ShardTransaction.props(factory.newReadWriteTransaction(), getSelf(),
-                        schemaContext, datastoreContext, shardMBean,
-                        transactionId.getRemoteTransactionId(), clientVersion),
-                        transactionId.toString());
-
+            return factory.newReadWriteTransaction();
 
         } else if (transactionType == TransactionProxy.TransactionType.WRITE_ONLY.ordinal()) {
 
             shardMBean.incrementWriteOnlyTransactionCount();
 
-            return getContext().actorOf(
-                ShardTransaction.props(factory.newWriteOnlyTransaction(), getSelf(),
-                        schemaContext, datastoreContext, shardMBean,
-                        transactionId.getRemoteTransactionId(), clientVersion),
-                        transactionId.toString());
+            return factory.newWriteOnlyTransaction();
         } else {
             throw new IllegalArgumentException(
                 "Shard="+name + ":CreateTransaction message has unidentified transaction type="
@@ -554,6 +588,18 @@ public class Shard extends RaftActor {
         }
     }
 
+    private ActorRef createTypedTransactionActor(int transactionType,
+            ShardTransactionIdentifier transactionId, String transactionChainId,
+            short clientVersion ) {
+
+        DOMStoreTransaction transaction = createTypedTransaction(transactionType, transactionChainId);
+
+        return getContext().actorOf(
+            ShardTransaction.props(transaction, getSelf(), schemaContext, datastoreContext,
+                    shardMBean, transactionId.getRemoteTransactionId(), clientVersion)
+                    .withDispatcher(transactionDispatcherPath), transactionId.toString());
+    }
+
     private void createTransaction(CreateTransaction createTransaction) {
         try {
             ActorRef transactionActor = createTransaction(createTransaction.getTransactionType(),
@@ -634,7 +680,8 @@ public class Shard extends RaftActor {
         }
 
         ActorRef listenerRegistration = getContext().actorOf(
-                DataChangeListenerRegistration.props(registration));
+                DataChangeListenerRegistration.props(registration)
+                        .withDispatcher(notificationDispatcherPath));
 
         LOG.debug("registerDataChangeListener sending reply, listenerRegistrationPath = {} ",
                     listenerRegistration.path());
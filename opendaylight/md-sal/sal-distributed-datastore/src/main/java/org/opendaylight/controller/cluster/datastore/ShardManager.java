@@ -29,6 +29,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import org.opendaylight.controller.cluster.DataPersistenceProvider;
 import org.opendaylight.controller.cluster.common.actor.AbstractUntypedPersistentActorWithMetering;
+import org.opendaylight.controller.cluster.common.actor.Dispatchers;
 import org.opendaylight.controller.cluster.datastore.identifiers.ShardIdentifier;
 import org.opendaylight.controller.cluster.datastore.identifiers.ShardManagerIdentifier;
 import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shardmanager.ShardManagerInfo;
@@ -43,6 +44,7 @@ import org.opendaylight.controller.cluster.datastore.messages.PeerAddressResolve
 import org.opendaylight.controller.cluster.datastore.messages.PrimaryFound;
 import org.opendaylight.controller.cluster.datastore.messages.PrimaryNotFound;
 import org.opendaylight.controller.cluster.datastore.messages.UpdateSchemaContext;
+import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
 import org.opendaylight.yangtools.yang.model.api.ModuleIdentifier;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import scala.concurrent.duration.Duration;
@@ -286,8 +288,9 @@ public class ShardManager extends AbstractUntypedPersistentActorWithMetering {
                     LOG.info("Sending new SchemaContext to Shards");
                     for (ShardInformation info : localShards.values()) {
                         if (info.getActor() == null) {
-                            info.setActor(getContext().actorOf(Shard.props(info.getShardId(),
-                                            info.getPeerAddresses(), datastoreContext, schemaContext),
+                            info.setActor(getContext().actorOf(withShardMailbox(Shard.props(info.getShardId(),
+                                            info.getPeerAddresses(), datastoreContext, schemaContext)
+                                            .withDispatcher(shardDispatcherPath(info.getShardId()))),
                                     info.getShardId().toString()));
                         } else {
                             info.getActor().tell(message, getSelf());
@@ -368,6 +371,34 @@ public class ShardManager extends AbstractUntypedPersistentActorWithMetering {
         return ShardIdentifier.builder().memberName(memberName).shardName(shardName).type(type).build();
     }
 
+    /**
+     * The dispatcher configured for the shard if there is one, the shared shard
+     * dispatcher otherwise, so a busy shard cannot hold up the actor system's
+     * default dispatcher
+     *
+     * @param shardId
+     * @return
+     */
+    private String shardDispatcherPath(ShardIdentifier shardId) {
+        return new Dispatchers(getContext().system().dispatchers()).getShardDispatcherPath(
+                shardId.getShardName());
+    }
+
+    /**
+     * Deploys the shard on the metered unbounded shard mailbox when it is configured, on the
+     * dispatcher's mailbox otherwise
+     *
+     * @param props
+     * @return
+     */
+    private Props withShardMailbox(Props props) {
+        if(getContext().system().settings().config().hasPath(ActorContext.SHARD_MAILBOX)) {
+            return props.withMailbox(ActorContext.SHARD_MAILBOX);
+        }
+
+        return props;
+    }
+
     /**
      * Create shards that are local to the member on which the ShardManager
      * runs
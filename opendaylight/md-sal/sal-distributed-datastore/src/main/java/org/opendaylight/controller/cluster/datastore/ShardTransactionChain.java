@@ -12,6 +12,7 @@ import akka.actor.ActorRef;
 import akka.actor.Props;
 import akka.japi.Creator;
 import org.opendaylight.controller.cluster.common.actor.AbstractUntypedActor;
+import org.opendaylight.controller.cluster.common.actor.Dispatchers;
 import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardStats;
 import org.opendaylight.controller.cluster.datastore.messages.CloseTransactionChain;
 import org.opendaylight.controller.cluster.datastore.messages.CloseTransactionChainReply;
@@ -29,6 +30,7 @@ public class ShardTransactionChain extends AbstractUntypedActor {
     private final DatastoreContext datastoreContext;
     private final SchemaContext schemaContext;
     private final ShardStats shardStats;
+    private final String transactionDispatcherPath;
 
     public ShardTransactionChain(DOMStoreTransactionChain chain, SchemaContext schemaContext,
             DatastoreContext datastoreContext, ShardStats shardStats) {
@@ -36,6 +38,8 @@ public class ShardTransactionChain extends AbstractUntypedActor {
         this.datastoreContext = datastoreContext;
         this.schemaContext = schemaContext;
         this.shardStats = shardStats;
+        this.transactionDispatcherPath = new Dispatchers(context().system().dispatchers())
+                .getDispatcherPath(Dispatchers.DispatcherType.Transaction);
     }
 
     @Override
@@ -63,21 +67,24 @@ public class ShardTransactionChain extends AbstractUntypedActor {
                     ShardTransaction.props( chain.newReadOnlyTransaction(), getShardActor(),
                             schemaContext, datastoreContext, shardStats,
                             createTransaction.getTransactionId(),
-                            createTransaction.getVersion()), transactionName);
+                            createTransaction.getVersion()).withDispatcher(transactionDispatcherPath),
+                            transactionName);
         } else if (createTransaction.getTransactionType() ==
                 TransactionProxy.TransactionType.READ_WRITE.ordinal()) {
             return getContext().actorOf(
                     ShardTransaction.props( chain.newReadWriteTransaction(), getShardActor(),
                             schemaContext, datastoreContext, shardStats,
                             createTransaction.getTransactionId(),
-                            createTransaction.getVersion()), transactionName);
+                            createTransaction.getVersion()).withDispatcher(transactionDispatcherPath),
+                            transactionName);
         } else if (createTransaction.getTransactionType() ==
                 TransactionProxy.TransactionType.WRITE_ONLY.ordinal()) {
             return getContext().actorOf(
                     ShardTransaction.props( chain.newWriteOnlyTransaction(), getShardActor(),
                             schemaContext, datastoreContext, shardStats,
                             createTransaction.getTransactionId(),
-                            createTransaction.getVersion()), transactionName);
+                            createTransaction.getVersion()).withDispatcher(transactionDispatcherPath),
+                            transactionName);
         } else {
             throw new IllegalArgumentException (
                     "CreateTransaction message has unidentified transaction type=" +
@@ -14,16 +14,22 @@ import akka.dispatch.OnComplete;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.FinalizablePhantomReference;
 import com.google.common.base.FinalizableReferenceQueue;
+import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
@@ -33,8 +39,12 @@ import javax.annotation.concurrent.GuardedBy;
 import org.opendaylight.controller.cluster.datastore.exceptions.NoShardLeaderException;
 import org.opendaylight.controller.cluster.datastore.identifiers.TransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.messages.CloseTransaction;
+import org.opendaylight.controller.cluster.datastore.messages.CreateLocalTransaction;
+import org.opendaylight.controller.cluster.datastore.messages.CreateLocalTransactionReply;
 import org.opendaylight.controller.cluster.datastore.messages.CreateTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.CreateTransactionReply;
+import org.opendaylight.controller.cluster.datastore.shardstrategy.PrefixShardStrategy;
+import org.opendaylight.controller.cluster.datastore.shardstrategy.ShardStrategy;
 import org.opendaylight.controller.cluster.datastore.shardstrategy.ShardStrategyFactory;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
@@ -168,6 +178,7 @@ public class TransactionProxy implements DOMStoreReadWriteTransaction {
      * Stores the create transaction results per shard.
      */
     private final Map<String, TransactionFutureCallback> txFutureCallbackMap = new HashMap<>();
+    private final Set<String> shardsWithParentStructure = new HashSet<>();
 
     private final TransactionType transactionType;
     private final ActorContext actorContext;
@@ -253,6 +264,11 @@ public class TransactionProxy implements DOMStoreReadWriteTransaction {
 
         LOG.debug("Tx {} read {}", identifier, path);
 
+        ShardStrategy strategy = ShardStrategyFactory.getStrategy(path);
+        if(isAtOrAbovePrefixList(strategy, path)) {
+            return readSplit((PrefixShardStrategy) strategy, path);
+        }
+
         throttleOperation();
 
         TransactionFutureCallback txFutureCallback = getOrCreateTxFutureCallback(path);
@@ -273,6 +289,19 @@ public class TransactionProxy implements DOMStoreReadWriteTransaction {
 
         LOG.debug("Tx {} exists {}", identifier, path);
 
+        ShardStrategy strategy = ShardStrategyFactory.getStrategy(path);
+        if(isAtOrAbovePrefixList(strategy, path)) {
+            // Whether the data exists depends on the data of all the shards
+            return MappingCheckedFuture.create(Futures.transform(
+                    readSplit((PrefixShardStrategy) strategy, path),
+                    new Function<Optional<NormalizedNode<?, ?>>, Boolean>() {
+                        @Override
+                        public Boolean apply(Optional<NormalizedNode<?, ?>> data) {
+                            return data.isPresent();
+                        }
+                    }), ReadFailedException.MAPPER);
+        }
+
         throttleOperation();
 
         TransactionFutureCallback txFutureCallback = getOrCreateTxFutureCallback(path);
@@ -318,9 +347,17 @@ public class TransactionProxy implements DOMStoreReadWriteTransaction {
 
         LOG.debug("Tx {} write {}", identifier, path);
 
+        ShardStrategy strategy = ShardStrategyFactory.getStrategy(path);
+        if(isAtOrAbovePrefixList(strategy, path)) {
+            enqueueSplitModifications((PrefixShardStrategy) strategy,
+                    ((PrefixShardStrategy) strategy).splitWrite(path, data));
+            return;
+        }
+
         throttleOperation();
 
         TransactionFutureCallback txFutureCallback = getOrCreateTxFutureCallback(path);
+        ensureParentStructure(strategy, path, txFutureCallback);
         txFutureCallback.enqueueModifyOperation(new TransactionOperation() {
             @Override
             public void invoke(TransactionContext transactionContext) {
@@ -336,9 +373,17 @@ public class TransactionProxy implements DOMStoreReadWriteTransaction {
 
         LOG.debug("Tx {} merge {}", identifier, path);
 
+        ShardStrategy strategy = ShardStrategyFactory.getStrategy(path);
+        if(isAtOrAbovePrefixList(strategy, path)) {
+            enqueueSplitModifications((PrefixShardStrategy) strategy,
+                    ((PrefixShardStrategy) strategy).splitMerge(path, data));
+            return;
+        }
+
         throttleOperation();
 
         TransactionFutureCallback txFutureCallback = getOrCreateTxFutureCallback(path);
+        ensureParentStructure(strategy, path, txFutureCallback);
         txFutureCallback.enqueueModifyOperation(new TransactionOperation() {
             @Override
             public void invoke(TransactionContext transactionContext) {
@@ -354,6 +399,13 @@ public class TransactionProxy implements DOMStoreReadWriteTransaction {
 
         LOG.debug("Tx {} delete {}", identifier, path);
 
+        ShardStrategy strategy = ShardStrategyFactory.getStrategy(path);
+        if(isAtOrAbovePrefixList(strategy, path)) {
+            enqueueSplitModifications((PrefixShardStrategy) strategy,
+                    ((PrefixShardStrategy) strategy).splitDelete(path));
+            return;
+        }
+
         throttleOperation();
 
         TransactionFutureCallback txFutureCallback = getOrCreateTxFutureCallback(path);
@@ -408,6 +460,10 @@ public class TransactionProxy implements DOMStoreReadWriteTransaction {
     protected void onTransactionReady(List<Future<ActorSelection>> cohortFutures) {
     }
 
+    private boolean isShardLocal(ActorSelection shard) {
+        return actorContext.isPathLocal(shard.anchorPath().toString());
+    }
+
     /**
      * Method called to send a CreateTransaction message to a shard.
      *
@@ -444,12 +500,123 @@ public class TransactionProxy implements DOMStoreReadWriteTransaction {
         }
     }
 
+    private static boolean isAtOrAbovePrefixList(ShardStrategy strategy, YangInstanceIdentifier path) {
+        return strategy instanceof PrefixShardStrategy && ((PrefixShardStrategy) strategy).isAtOrAboveList(path);
+    }
+
+    /**
+     * Reads a path at or above one of the lists of a PrefixShardStrategy from all the shards
+     * holding data below it and merges the results.
+     */
+    private CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> readSplit(
+            final PrefixShardStrategy strategy, final YangInstanceIdentifier path) {
+        final List<String> shardNames = strategy.getShardsAtOrBelow(path);
+        List<ListenableFuture<Optional<NormalizedNode<?, ?>>>> futures = new ArrayList<>();
+        for(String shardName : shardNames) {
+            LOG.debug("Tx {} split read {} on {}", identifier, path, shardName);
+
+            throttleOperation();
+
+            futures.add(getOrCreateTxFutureCallback(shardName).enqueueReadOperation(
+                    new ReadOperation<Optional<NormalizedNode<?, ?>>>() {
+                @Override
+                public CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> invoke(
+                        TransactionContext transactionContext) {
+                    return transactionContext.readData(path);
+                }
+            }));
+        }
+
+        ListenableFuture<Optional<NormalizedNode<?, ?>>> merged = Futures.transform(Futures.allAsList(futures),
+                new Function<List<Optional<NormalizedNode<?, ?>>>, Optional<NormalizedNode<?, ?>>>() {
+                    @Override
+                    public Optional<NormalizedNode<?, ?>> apply(List<Optional<NormalizedNode<?, ?>>> results) {
+                        Map<String, Optional<NormalizedNode<?, ?>>> byShard = new LinkedHashMap<>();
+                        for(int i = 0; i < shardNames.size(); i++) {
+                            byShard.put(shardNames.get(i), results.get(i));
+                        }
+
+                        return strategy.mergeReads(path, byShard);
+                    }
+                });
+
+        return MappingCheckedFuture.create(merged, ReadFailedException.MAPPER);
+    }
+
+    /**
+     * Enqueues the parts of a modification which spans the shards of a PrefixShardStrategy on
+     * the transactions of their shards.
+     */
+    private void enqueueSplitModifications(PrefixShardStrategy strategy,
+            List<PrefixShardStrategy.ShardModification> modifications) {
+        for(final PrefixShardStrategy.ShardModification modification : modifications) {
+            LOG.debug("Tx {} split {}", identifier, modification);
+
+            throttleOperation();
+
+            TransactionFutureCallback txFutureCallback = getOrCreateTxFutureCallback(
+                    modification.getShardName());
+            ensureParentStructure(strategy, modification.getPath(), txFutureCallback);
+            txFutureCallback.enqueueModifyOperation(new TransactionOperation() {
+                @Override
+                public void invoke(TransactionContext transactionContext) {
+                    switch(modification.getType()) {
+                        case WRITE:
+                            transactionContext.writeData(modification.getPath(), modification.getData());
+                            break;
+                        case MERGE:
+                            transactionContext.mergeData(modification.getPath(), modification.getData());
+                            break;
+                        default:
+                            transactionContext.deleteData(modification.getPath());
+                            break;
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Merges the structure above the list entry the path points into, if the path was routed to
+     * one of the shards of a PrefixShardStrategy and this is the first modification on it.
+     */
+    private void ensureParentStructure(ShardStrategy strategy, YangInstanceIdentifier path,
+            TransactionFutureCallback txFutureCallback) {
+        if(!(strategy instanceof PrefixShardStrategy) ||
+                !shardsWithParentStructure.add(txFutureCallback.getShardName())) {
+            return;
+        }
+
+        final Optional<NormalizedNode<?, ?>> parents = ((PrefixShardStrategy) strategy).getParentStructure(path);
+        if(!parents.isPresent()) {
+            return;
+        }
+
+        final YangInstanceIdentifier parentPath = YangInstanceIdentifier.of(
+                path.getPathArguments().iterator().next().getNodeType());
+
+        LOG.debug("Tx {} merge parent structure {} on shard {}", identifier, parentPath,
+                txFutureCallback.getShardName());
+
+        throttleOperation();
+
+        txFutureCallback.enqueueModifyOperation(new TransactionOperation() {
+            @Override
+            public void invoke(TransactionContext transactionContext) {
+                transactionContext.mergeData(parentPath, parents.get());
+            }
+        });
+    }
+
     private String shardNameFromIdentifier(YangInstanceIdentifier path){
         return ShardStrategyFactory.getStrategy(path).findShard(path);
     }
 
     private TransactionFutureCallback getOrCreateTxFutureCallback(YangInstanceIdentifier path) {
-        String shardName = shardNameFromIdentifier(path);
+        return getOrCreateTxFutureCallback(shardNameFromIdentifier(path));
+    }
+
+    private TransactionFutureCallback getOrCreateTxFutureCallback(String shardName) {
         TransactionFutureCallback txFutureCallback = txFutureCallbackMap.get(shardName);
         if(txFutureCallback == null) {
             Future<ActorSelection> findPrimaryFuture = actorContext.findPrimaryShardAsync(shardName);
@@ -648,10 +815,19 @@ public class TransactionProxy implements DOMStoreReadWriteTransaction {
          * Performs a CreateTransaction try async.
          */
         private void tryCreateTransaction() {
-            Future<Object> createTxFuture = sendCreateTransaction(primaryShard,
-                    new CreateTransaction(identifier.toString(),
-                            TransactionProxy.this.transactionType.ordinal(),
-                            getTransactionChainId()).toSerializable());
+            Object createMessage;
+            if(isShardLocal(primaryShard)) {
+                // The shard runs in our actor system - if it's the leader we get its data store
+                // transaction and skip the ShardTransaction actor.
+                createMessage = new CreateLocalTransaction(identifier.toString(),
+                        TransactionProxy.this.transactionType.ordinal(), getTransactionChainId());
+            } else {
+                createMessage = new CreateTransaction(identifier.toString(),
+                        TransactionProxy.this.transactionType.ordinal(),
+                        getTransactionChainId()).toSerializable();
+            }
+
+            Future<Object> createTxFuture = sendCreateTransaction(primaryShard, createMessage);
 
             createTxFuture.onComplete(this, actorContext.getActorSystem().dispatcher());
         }
@@ -695,7 +871,17 @@ public class TransactionProxy implements DOMStoreReadWriteTransaction {
                     LOG.debug("Tx {} Creating NoOpTransaction because of error: {}", identifier,
                             failure.getMessage());
 
+                    // The cached primary shard location may be stale, look it up again next time
+                    actorContext.invalidatePrimaryShard(shardName);
+
                     localTransactionContext = new NoOpTransactionContext(failure, identifier, operationLimiter);
+                } else if (response instanceof CreateLocalTransactionReply) {
+                    LOG.debug("Tx {} Received local transaction for shard {}", identifier, shardName);
+
+                    localTransactionContext = new LocalTransactionContext(
+                            ((CreateLocalTransactionReply) response).getTransaction(), primaryShard,
+                            identifier, actorContext, schemaContext, operationLimiter,
+                            operationCompleter);
                 } else if (response.getClass().equals(CreateTransactionReply.SERIALIZABLE_CLASS)) {
                     localTransactionContext = createValidTransactionContext(
                             CreateTransactionReply.fromSerializable(response));
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.cluster.datastore.jmx.mbeans.datastore;
+
+import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
+import org.opendaylight.controller.md.sal.common.util.jmx.AbstractMXBean;
+
+/**
+ * Exposes the client side statistics kept by the ActorContext of a distributed datastore.
+ */
+public class DatastoreInfo extends AbstractMXBean implements DatastoreInfoMXBean {
+
+    public static String JMX_CATEGORY_DATASTORE = "DistributedDatastore";
+
+    private final ActorContext actorContext;
+
+    public DatastoreInfo(String name, String mxBeanType, ActorContext actorContext) {
+        super(name, mxBeanType, JMX_CATEGORY_DATASTORE);
+        this.actorContext = actorContext;
+    }
+
+    public static DatastoreInfo createDatastoreMBean(String name, String mxBeanType,
+            ActorContext actorContext) {
+        DatastoreInfo datastoreInfo = new DatastoreInfo(name, mxBeanType, actorContext);
+
+        datastoreInfo.registerMBean();
+
+        return datastoreInfo;
+    }
+
+    @Override
+    public long getPrimaryShardCacheHitCount() {
+        return actorContext.getPrimaryShardCacheStats().hitCount();
+    }
+
+    @Override
+    public long getPrimaryShardCacheMissCount() {
+        return actorContext.getPrimaryShardCacheStats().missCount();
+    }
+
+    @Override
+    public long getPrimaryShardCacheSize() {
+        return actorContext.getPrimaryShardCacheSize();
+    }
+}
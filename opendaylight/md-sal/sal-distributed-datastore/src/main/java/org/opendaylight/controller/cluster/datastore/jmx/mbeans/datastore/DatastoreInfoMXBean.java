@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.cluster.datastore.jmx.mbeans.datastore;
+
+/**
+ * MXBean interface for the client side statistics of a distributed datastore.
+ */
+public interface DatastoreInfoMXBean {
+
+    long getPrimaryShardCacheHitCount();
+
+    long getPrimaryShardCacheMissCount();
+
+    long getPrimaryShardCacheSize();
+}
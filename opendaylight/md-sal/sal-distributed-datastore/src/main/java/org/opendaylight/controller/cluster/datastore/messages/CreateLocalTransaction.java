@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.messages;
+
+/**
+ * Message sent by the front-end to a Shard in the same actor system to create a transaction
+ * which the front-end accesses directly, without a ShardTransaction actor. This message is never
+ * serialized. If the Shard is not the leader it is handled like a {@link CreateTransaction}.
+ */
+public class CreateLocalTransaction {
+    private final String transactionId;
+    private final int transactionType;
+    private final String transactionChainId;
+
+    public CreateLocalTransaction(String transactionId, int transactionType,
+            String transactionChainId) {
+        this.transactionId = transactionId;
+        this.transactionType = transactionType;
+        this.transactionChainId = transactionChainId;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public int getTransactionType() {
+        return transactionType;
+    }
+
+    public String getTransactionChainId() {
+        return transactionChainId;
+    }
+
+    public CreateTransaction toCreateTransaction() {
+        return new CreateTransaction(transactionId, transactionType, transactionChainId);
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.messages;
+
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreTransaction;
+
+/**
+ * Reply to {@link CreateLocalTransaction} carrying the transaction created on the shard's
+ * data store. This message is never serialized.
+ */
+public class CreateLocalTransactionReply {
+    private final String transactionId;
+    private final DOMStoreTransaction transaction;
+
+    public CreateLocalTransactionReply(String transactionId, DOMStoreTransaction transaction) {
+        this.transactionId = transactionId;
+        this.transaction = transaction;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public DOMStoreTransaction getTransaction() {
+        return transaction;
+    }
+}
@@ -0,0 +1,566 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.cluster.datastore.shardstrategy;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.opendaylight.controller.cluster.datastore.Configuration;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
+
+/**
+ * ShardStrategy which spreads the entries of a keyed list of a module over several shards.
+ * <p>
+ * The shards of the module which have a prefix in module-shards.conf, for example
+ * <code>prefix = "nodes/node"</code>, hold the entries of that list. The prefix is the path of
+ * local names from the top-level container of the module down to the list, through containers
+ * only. An entry is assigned to one of the shards sharing the prefix by hashing the string
+ * values of its keys, so every member places it in the same shard. Everything else in the
+ * module is kept in the first shard of the module without a prefix.
+ * <p>
+ * A modification on a path at or above the list has to be split with {@link #splitWrite},
+ * {@link #splitMerge} or {@link #splitDelete}, so that each list entry ends up in its shard.
+ * A read or a data change listener on such a path has to cover all the shards returned by
+ * {@link #getShardsAtOrBelow}, and the data read from them is combined with
+ * {@link #mergeReads}.
+ */
+public class PrefixShardStrategy implements ShardStrategy {
+
+    public static final String NAME = "prefix";
+
+    private final String moduleName;
+    private final Configuration configuration;
+
+    private volatile Mapping mapping;
+
+    public PrefixShardStrategy(String moduleName, Configuration configuration) {
+        this.moduleName = moduleName;
+        this.configuration = configuration;
+    }
+
+    @Override
+    public String findShard(YangInstanceIdentifier path) {
+        Mapping m = getMapping();
+
+        List<PathArgument> args = toList(path);
+        Prefix prefix = m.findPrefix(args);
+        if(prefix == null) {
+            return m.baseShard;
+        }
+
+        NodeIdentifierWithPredicates entry = (NodeIdentifierWithPredicates) args.get(prefix.localNames.size());
+        return prefix.shards.get(bucket(entry, prefix.shards.size()));
+    }
+
+    /**
+     * Returns the containers and the empty list leading to the list entry the path points into,
+     * rooted at the first path argument, if the path belongs in one of the prefix shards or is
+     * the list itself. A prefix shard stores only the entries of the list, so the structure has
+     * to be merged into a transaction on it before any of the entries can be written.
+     *
+     * @param path the path of the data being written
+     * @return the structure above the list entry, absent if the path is in the base shard
+     */
+    public Optional<NormalizedNode<?, ?>> getParentStructure(YangInstanceIdentifier path) {
+        List<PathArgument> args = toList(path);
+        Prefix prefix = getMapping().findPrefix(args);
+        if(prefix == null) {
+            prefix = getMapping().findListAt(args);
+        }
+
+        if(prefix == null) {
+            return Optional.absent();
+        }
+
+        int last = prefix.localNames.size() - 1;
+        DataContainerChild<?, ?> node = ImmutableNodes.mapNodeBuilder(args.get(last).getNodeType()).build();
+        for(int i = last - 1; i >= 0; i--) {
+            node = ImmutableContainerNodeBuilder.create().withNodeIdentifier(
+                    new NodeIdentifier(args.get(i).getNodeType())).withChild(node).build();
+        }
+
+        return Optional.<NormalizedNode<?, ?>>of(node);
+    }
+
+    /**
+     * Returns whether the path is at or above one of the prefix lists, in which case a
+     * modification on it spans the base shard and the prefix shards and has to be split.
+     */
+    public boolean isAtOrAboveList(YangInstanceIdentifier path) {
+        return !getMapping().findListsBelow(toList(path)).isEmpty();
+    }
+
+    /**
+     * Splits a write on a path at or above one of the prefix lists. The base shard gets the data
+     * without the lists and every prefix shard gets a write of the list with the entries it
+     * holds, which removes the entries the data does not contain.
+     */
+    public List<ShardModification> splitWrite(YangInstanceIdentifier path, NormalizedNode<?, ?> data) {
+        return split(ShardModification.Type.WRITE, path, data);
+    }
+
+    /**
+     * Splits a merge on a path at or above one of the prefix lists. The base shard gets the data
+     * without the lists and the prefix shards get a merge of the entries they hold.
+     */
+    public List<ShardModification> splitMerge(YangInstanceIdentifier path, NormalizedNode<?, ?> data) {
+        return split(ShardModification.Type.MERGE, path, data);
+    }
+
+    /**
+     * Splits a delete on a path at or above one of the prefix lists. The base shard deletes the
+     * path and every prefix shard deletes the list.
+     */
+    public List<ShardModification> splitDelete(YangInstanceIdentifier path) {
+        return split(ShardModification.Type.DELETE, path, null);
+    }
+
+    /**
+     * Returns the shards holding the data at or below a path at or above one of the prefix lists:
+     * the base shard, unless the path is the list itself, followed by the shards of the lists.
+     */
+    public List<String> getShardsAtOrBelow(YangInstanceIdentifier path) {
+        Mapping m = getMapping();
+        List<PathArgument> args = toList(path);
+
+        List<String> shards = new ArrayList<>();
+        if(!m.isListPath(args)) {
+            shards.add(m.baseShard);
+        }
+
+        for(Prefix prefix : m.findListsBelow(args)) {
+            shards.addAll(prefix.shards);
+        }
+
+        return shards;
+    }
+
+    /**
+     * Combines the data read at a path at or above one of the prefix lists from the shards
+     * returned by {@link #getShardsAtOrBelow}. A prefix shard contributes the entries of its
+     * list only, the structure above an empty list is the one merged in by
+     * {@link #getParentStructure} and does not make the data present.
+     *
+     * @param path the path which was read
+     * @param results the data read from each shard, by shard name
+     * @return the data at the path
+     */
+    public Optional<NormalizedNode<?, ?>> mergeReads(YangInstanceIdentifier path,
+            Map<String, Optional<NormalizedNode<?, ?>>> results) {
+        Mapping m = getMapping();
+        List<PathArgument> args = toList(path);
+
+        NormalizedNode<?, ?> merged = null;
+        for(Map.Entry<String, Optional<NormalizedNode<?, ?>>> result : results.entrySet()) {
+            if(!result.getValue().isPresent()) {
+                continue;
+            }
+
+            NormalizedNode<?, ?> data = result.getValue().get();
+            Prefix prefix = m.findPrefixOfShard(result.getKey());
+            if(prefix != null) {
+                Optional<NormalizedNode<?, ?>> list = findChild(data, below(args, prefix), 0);
+                if(!list.isPresent() || !(list.get() instanceof MapNode) ||
+                        ((MapNode) list.get()).getValue().isEmpty()) {
+                    continue;
+                }
+            }
+
+            merged = merged == null ? data : mergeNodes(merged, data);
+        }
+
+        return Optional.<NormalizedNode<?, ?>>fromNullable(merged);
+    }
+
+    private List<ShardModification> split(ShardModification.Type type, YangInstanceIdentifier path,
+            NormalizedNode<?, ?> data) {
+        Mapping m = getMapping();
+        List<PathArgument> args = toList(path);
+        List<Prefix> lists = m.findListsBelow(args);
+        Preconditions.checkArgument(!lists.isEmpty(), "Path %s is not at or above a list of module %s",
+                path, moduleName);
+
+        List<ShardModification> modifications = new ArrayList<>();
+        NormalizedNode<?, ?> baseData = data;
+
+        for(Prefix prefix : lists) {
+            List<QName> below = below(args, prefix);
+            YangInstanceIdentifier.InstanceIdentifierBuilder builder = YangInstanceIdentifier.builder(path);
+            for(QName qname : below) {
+                builder.node(qname);
+            }
+
+            YangInstanceIdentifier listPath = builder.build();
+
+            if(type == ShardModification.Type.DELETE) {
+                for(String shard : prefix.shards) {
+                    modifications.add(new ShardModification(shard, type, listPath, null));
+                }
+                continue;
+            }
+
+            Optional<NormalizedNode<?, ?>> list = findChild(data, below, 0);
+            if(list.isPresent() || type == ShardModification.Type.WRITE) {
+                QName listQName = below.isEmpty() ? args.get(args.size() - 1).getNodeType() :
+                    below.get(below.size() - 1);
+                List<CollectionNodeBuilder<MapEntryNode, MapNode>> entries = new ArrayList<>();
+                boolean[] hasEntries = new boolean[prefix.shards.size()];
+                for(int i = 0; i < prefix.shards.size(); i++) {
+                    entries.add(ImmutableNodes.mapNodeBuilder(listQName));
+                }
+
+                if(list.isPresent() && list.get() instanceof MapNode) {
+                    for(MapEntryNode entry : ((MapNode) list.get()).getValue()) {
+                        int bucket = bucket(entry.getIdentifier(), prefix.shards.size());
+                        entries.get(bucket).withChild(entry);
+                        hasEntries[bucket] = true;
+                    }
+                }
+
+                for(int i = 0; i < prefix.shards.size(); i++) {
+                    // A write replaces the list, so it goes to the shards without entries too
+                    if(type == ShardModification.Type.WRITE || hasEntries[i]) {
+                        modifications.add(new ShardModification(prefix.shards.get(i), type, listPath,
+                                entries.get(i).build()));
+                    }
+                }
+            }
+
+            if(baseData != null) {
+                baseData = below.isEmpty() ? null : withoutChild(baseData, below, 0);
+            }
+        }
+
+        if(type == ShardModification.Type.DELETE) {
+            if(!m.isListPath(args)) {
+                modifications.add(0, new ShardModification(m.baseShard, type, path, null));
+            }
+        } else if(baseData != null) {
+            modifications.add(0, new ShardModification(m.baseShard, type, path, baseData));
+        }
+
+        return modifications;
+    }
+
+    /**
+     * Returns the names of the nodes from the path down to the list of the prefix.
+     */
+    private static List<QName> below(List<PathArgument> args, Prefix prefix) {
+        // The prefix is made of local names, the nodes below the path are in the namespace
+        // of the module
+        QName moduleQName = args.get(0).getNodeType();
+        List<QName> below = new ArrayList<>();
+        for(int i = args.size(); i < prefix.localNames.size(); i++) {
+            below.add(QName.create(moduleQName, prefix.localNames.get(i)));
+        }
+
+        return below;
+    }
+
+    /**
+     * Merges the containers and lists of two nodes read from different shards. Any other node
+     * present in both is taken from the first one.
+     */
+    private static NormalizedNode<?, ?> mergeNodes(NormalizedNode<?, ?> first, NormalizedNode<?, ?> second) {
+        if(first instanceof ContainerNode && second instanceof ContainerNode) {
+            Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> children = new LinkedHashMap<>();
+            for(DataContainerChild<? extends PathArgument, ?> child : ((ContainerNode) first).getValue()) {
+                children.put(child.getIdentifier(), child);
+            }
+
+            for(DataContainerChild<? extends PathArgument, ?> child : ((ContainerNode) second).getValue()) {
+                DataContainerChild<? extends PathArgument, ?> existing = children.get(child.getIdentifier());
+                children.put(child.getIdentifier(), existing == null ? child :
+                    (DataContainerChild<? extends PathArgument, ?>) mergeNodes(existing, child));
+            }
+
+            DataContainerNodeBuilder<NodeIdentifier, ContainerNode> builder =
+                    ImmutableContainerNodeBuilder.create().withNodeIdentifier(((ContainerNode) first).getIdentifier());
+            for(DataContainerChild<? extends PathArgument, ?> child : children.values()) {
+                builder.withChild(child);
+            }
+
+            return builder.build();
+        }
+
+        if(first instanceof MapNode && second instanceof MapNode) {
+            CollectionNodeBuilder<MapEntryNode, MapNode> builder = ImmutableNodes.mapNodeBuilder(first.getNodeType());
+            for(MapEntryNode entry : ((MapNode) first).getValue()) {
+                builder.withChild(entry);
+            }
+            for(MapEntryNode entry : ((MapNode) second).getValue()) {
+                builder.withChild(entry);
+            }
+
+            return builder.build();
+        }
+
+        return first;
+    }
+
+    private static Optional<NormalizedNode<?, ?>> findChild(NormalizedNode<?, ?> node, List<QName> path,
+            int index) {
+        if(index == path.size()) {
+            return Optional.<NormalizedNode<?, ?>>of(node);
+        }
+
+        if(!(node instanceof ContainerNode)) {
+            return Optional.absent();
+        }
+
+        Optional<DataContainerChild<? extends PathArgument, ?>> child =
+                ((ContainerNode) node).getChild(new NodeIdentifier(path.get(index)));
+        if(!child.isPresent()) {
+            return Optional.absent();
+        }
+
+        return findChild(child.get(), path, index + 1);
+    }
+
+    /**
+     * Returns a copy of the container with the node at the relative path removed.
+     */
+    private static NormalizedNode<?, ?> withoutChild(NormalizedNode<?, ?> node, List<QName> path, int index) {
+        if(!(node instanceof ContainerNode)) {
+            return node;
+        }
+
+        ContainerNode container = (ContainerNode) node;
+        NodeIdentifier childId = new NodeIdentifier(path.get(index));
+        if(!container.getChild(childId).isPresent()) {
+            return node;
+        }
+
+        DataContainerNodeBuilder<NodeIdentifier, ContainerNode> builder =
+                ImmutableContainerNodeBuilder.create().withNodeIdentifier(container.getIdentifier());
+        for(DataContainerChild<? extends PathArgument, ?> child : container.getValue()) {
+            if(!childId.equals(child.getIdentifier())) {
+                builder.withChild(child);
+            } else if(index < path.size() - 1) {
+                builder.withChild((DataContainerChild<?, ?>) withoutChild(child, path, index + 1));
+            }
+        }
+
+        return builder.build();
+    }
+
+    private static List<PathArgument> toList(YangInstanceIdentifier path) {
+        Iterable<PathArgument> args = path.getPathArguments();
+        if(args instanceof List) {
+            return (List<PathArgument>) args;
+        }
+
+        return ImmutableList.copyOf(args);
+    }
+
+    private static int bucket(NodeIdentifierWithPredicates entry, int buckets) {
+        // Object.hashCode() of the key values is not guaranteed to be the same on all
+        // members, String.hashCode() is
+        int hash = 0;
+        for(Object value : entry.getKeyValues().values()) {
+            hash = 31 * hash + String.valueOf(value).hashCode();
+        }
+
+        return (hash & Integer.MAX_VALUE) % buckets;
+    }
+
+    private Mapping getMapping() {
+        // The configuration is still being read when the strategy is created
+        Mapping m = mapping;
+        if(m == null) {
+            m = new Mapping(moduleName, configuration);
+            mapping = m;
+        }
+
+        return m;
+    }
+
+    private static final class Prefix {
+        private final List<String> localNames;
+        private final List<String> shards = new ArrayList<>();
+
+        Prefix(List<String> localNames) {
+            this.localNames = localNames;
+        }
+
+        boolean matches(List<PathArgument> args) {
+            int size = localNames.size();
+            if(args.size() <= size || !(args.get(size) instanceof NodeIdentifierWithPredicates)) {
+                return false;
+            }
+
+            for(int i = 0; i < size; i++) {
+                if(!localNames.get(i).equals(args.get(i).getNodeType().getLocalName())) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Returns whether the path is the list or one of the containers above it.
+         */
+        boolean isAtOrAbove(List<PathArgument> args) {
+            if(args.isEmpty() || args.size() > localNames.size()) {
+                return false;
+            }
+
+            for(int i = 0; i < args.size(); i++) {
+                if(!(args.get(i) instanceof NodeIdentifier) ||
+                        !localNames.get(i).equals(args.get(i).getNodeType().getLocalName())) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * A part of a modification which was split over the shards of a PrefixShardStrategy.
+     */
+    public static final class ShardModification {
+        public enum Type {
+            WRITE,
+            MERGE,
+            DELETE
+        }
+
+        private final String shardName;
+        private final Type type;
+        private final YangInstanceIdentifier path;
+        private final NormalizedNode<?, ?> data;
+
+        ShardModification(String shardName, Type type, YangInstanceIdentifier path, NormalizedNode<?, ?> data) {
+            this.shardName = shardName;
+            this.type = type;
+            this.path = path;
+            this.data = data;
+        }
+
+        public String getShardName() {
+            return shardName;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public YangInstanceIdentifier getPath() {
+            return path;
+        }
+
+        /**
+         * @return the data to write or merge, null for a delete
+         */
+        public NormalizedNode<?, ?> getData() {
+            return data;
+        }
+
+        @Override
+        public String toString() {
+            return type + " " + path + " on " + shardName;
+        }
+    }
+
+    private static final class Mapping {
+        private final String baseShard;
+        private final List<Prefix> prefixes;
+
+        Mapping(String moduleName, Configuration configuration) {
+            String base = null;
+            Map<String, Prefix> byPrefix = new LinkedHashMap<>();
+
+            for(String shardName : configuration.getShardNamesFromModuleName(moduleName)) {
+                Optional<String> prefix = configuration.getPrefixFromShardName(shardName);
+                if(!prefix.isPresent()) {
+                    if(base == null) {
+                        base = shardName;
+                    }
+                    continue;
+                }
+
+                Prefix p = byPrefix.get(prefix.get());
+                if(p == null) {
+                    p = new Prefix(ImmutableList.copyOf(Splitter.on('/').omitEmptyStrings().trimResults()
+                            .split(prefix.get())));
+                    byPrefix.put(prefix.get(), p);
+                }
+                p.shards.add(shardName);
+            }
+
+            this.baseShard = base != null ? base : DefaultShardStrategy.DEFAULT_SHARD;
+            this.prefixes = ImmutableList.copyOf(byPrefix.values());
+        }
+
+        Prefix findPrefix(List<PathArgument> args) {
+            for(Prefix p : prefixes) {
+                if(p.matches(args)) {
+                    return p;
+                }
+            }
+
+            return null;
+        }
+
+        Prefix findListAt(List<PathArgument> args) {
+            for(Prefix p : prefixes) {
+                if(p.localNames.size() == args.size() && p.isAtOrAbove(args)) {
+                    return p;
+                }
+            }
+
+            return null;
+        }
+
+        Prefix findPrefixOfShard(String shardName) {
+            for(Prefix p : prefixes) {
+                if(p.shards.contains(shardName)) {
+                    return p;
+                }
+            }
+
+            return null;
+        }
+
+        boolean isListPath(List<PathArgument> args) {
+            return findListAt(args) != null;
+        }
+
+        List<Prefix> findListsBelow(List<PathArgument> args) {
+            List<Prefix> lists = new ArrayList<>();
+            for(Prefix p : prefixes) {
+                if(p.isAtOrAbove(args)) {
+                    lists.add(p);
+                }
+            }
+
+            return lists;
+        }
+    }
+}
@@ -16,11 +16,15 @@ import akka.actor.ActorSystem;
 import akka.actor.Address;
 import akka.actor.PoisonPill;
 import akka.dispatch.Mapper;
+import akka.dispatch.OnComplete;
 import akka.pattern.AskTimeoutException;
 import akka.util.Timeout;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.cluster.common.actor.CommonConfig;
 import org.opendaylight.controller.cluster.datastore.ClusterWrapper;
@@ -58,6 +62,7 @@ public class ActorContext {
         LOG = LoggerFactory.getLogger(ActorContext.class);
 
     public static final String MAILBOX = "bounded-mailbox";
+    public static final String SHARD_MAILBOX = "shard-mailbox";
 
     private static final Mapper<Throwable, Throwable> FIND_PRIMARY_FAILURE_TRANSFORMER =
                                                               new Mapper<Throwable, Throwable>() {
@@ -85,6 +90,7 @@ public class ActorContext {
     private final Timeout operationTimeout;
     private final String selfAddressHostPort;
     private final int transactionOutstandingOperationLimit;
+    private final Cache<String, Future<ActorSelection>> primaryShardCache;
 
     public ActorContext(ActorSystem actorSystem, ActorRef shardManager,
             ClusterWrapper clusterWrapper, Configuration configuration) {
@@ -113,6 +119,14 @@ public class ActorContext {
         }
 
         transactionOutstandingOperationLimit = new CommonConfig(this.getActorSystem().settings().config()).getMailBoxCapacity();
+
+        // Entries expire so that a shard which moved because of cluster membership changes
+        // is eventually looked up again even if no transaction failed against it.
+        primaryShardCache = CacheBuilder.newBuilder()
+                .expireAfterWrite(datastoreContext.getShardLeaderElectionTimeout().duration().toMillis(),
+                        TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
     }
 
     public DatastoreContext getDatastoreContext() {
@@ -161,7 +175,59 @@ public class ActorContext {
         return Optional.of(actorSystem.actorSelection(path));
     }
 
+    /**
+     * Finds the primary shard for the given shard name asynchronously. The
+     * location is cached so that subsequent lookups do not involve the
+     * ShardManager; concurrent lookups of an uncached shard share the same
+     * FindPrimary request.
+     *
+     * @param shardName the name of the shard
+     * @return a Future from which to obtain the ActorSelection of the primary shard
+     */
     public Future<ActorSelection> findPrimaryShardAsync(final String shardName) {
+        Future<ActorSelection> cached = primaryShardCache.getIfPresent(shardName);
+        if(cached != null) {
+            return cached;
+        }
+
+        final Future<ActorSelection> future = doFindPrimaryShardAsync(shardName);
+        cached = primaryShardCache.asMap().putIfAbsent(shardName, future);
+        if(cached != null) {
+            return cached;
+        }
+
+        future.onComplete(new OnComplete<ActorSelection>() {
+            @Override
+            public void onComplete(Throwable failure, ActorSelection primaryShard) {
+                if(failure != null) {
+                    primaryShardCache.asMap().remove(shardName, future);
+                }
+            }
+        }, getActorSystem().dispatcher());
+
+        return future;
+    }
+
+    /**
+     * Drops the cached location of the primary shard for the given shard name,
+     * the next lookup will ask the ShardManager again.
+     *
+     * @param shardName the name of the shard
+     */
+    public void invalidatePrimaryShard(String shardName) {
+        LOG.debug("Invalidating cached primary shard for {}", shardName);
+        primaryShardCache.invalidate(shardName);
+    }
+
+    public CacheStats getPrimaryShardCacheStats() {
+        return primaryShardCache.stats();
+    }
+
+    public long getPrimaryShardCacheSize() {
+        return primaryShardCache.size();
+    }
+
+    private Future<ActorSelection> doFindPrimaryShardAsync(final String shardName) {
         Future<Object> future = executeOperationAsync(shardManager,
                 new FindPrimary(shardName, true).toSerializable(),
                 datastoreContext.getShardInitializationTimeout());
@@ -67,6 +67,9 @@ public class DistributedOperationalDataStoreProviderModule extends
                 .shardIsolatedLeaderCheckIntervalInMillis(
                     props.getShardIsolatedLeaderCheckIntervalInMillis().getValue())
                 .shardElectionTimeoutFactor(props.getShardElectionTimeoutFactor().getValue())
+                .shardFollowerReadMaxLagInMillis(props.getShardFollowerReadMaxLagInMillis())
+                .shardPreVoteEnabled(props.getShardPreVoteEnabled().booleanValue())
+                .shardAdaptiveElectionTimeoutEnabled(props.getShardAdaptiveElectionTimeoutEnabled().booleanValue())
                 .build();
 
         return DistributedDataStoreFactory.createInstance("operational",
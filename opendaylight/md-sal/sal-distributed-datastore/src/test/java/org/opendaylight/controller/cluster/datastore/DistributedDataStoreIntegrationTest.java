@@ -9,6 +9,7 @@ import akka.actor.PoisonPill;
 import com.google.common.base.Optional;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.Uninterruptibles;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -37,9 +38,11 @@ import org.opendaylight.controller.sal.core.spi.data.DOMStoreTransactionChain;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreWriteTransaction;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 
 public class DistributedDataStoreIntegrationTest extends AbstractActorTest {
@@ -774,6 +777,77 @@ public class DistributedDataStoreIntegrationTest extends AbstractActorTest {
         }};
     }
 
+    @Test
+    public void testModificationsAboveThePrefixList() throws Exception{
+        new IntegrationTestKit(getSystem()) {{
+            DistributedDataStore dataStore = setupDistributedDataStore("testModificationsAboveThePrefixList",
+                    new ConfigurationImpl("prefix-module-shards.conf", "prefix-modules.conf"), true,
+                    "cars-base", "cars-1", "cars-2");
+
+            // altima hashes to cars-1 and sentra to cars-2, so the merge commits on all three shards
+
+            MapEntryNode altima = CarsModel.newCarEntry("altima", BigInteger.valueOf(1000));
+            MapEntryNode sentra = CarsModel.newCarEntry("sentra", BigInteger.valueOf(3000));
+
+            DOMStoreWriteTransaction writeTx = dataStore.newWriteOnlyTransaction();
+            writeTx.merge(CarsModel.BASE_PATH, ImmutableContainerNodeBuilder.create()
+                    .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(CarsModel.BASE_QNAME))
+                    .withChild(ImmutableNodes.mapNodeBuilder(CarsModel.CAR_QNAME)
+                            .withChild(altima).withChild(sentra).build()).build());
+            doCommit(writeTx.ready());
+
+            DOMStoreReadTransaction readTx = dataStore.newReadOnlyTransaction();
+
+            Optional<NormalizedNode<?, ?>> optional = readTx.read(CarsModel.newCarPath("altima")).
+                    get(5, TimeUnit.SECONDS);
+            assertEquals("isPresent", true, optional.isPresent());
+            assertEquals("Data node", altima, optional.get());
+
+            optional = readTx.read(CarsModel.newCarPath("sentra")).get(5, TimeUnit.SECONDS);
+            assertEquals("isPresent", true, optional.isPresent());
+            assertEquals("Data node", sentra, optional.get());
+
+            // The base shard holds the container without the list
+
+            optional = readTx.read(CarsModel.BASE_PATH).get(5, TimeUnit.SECONDS);
+            assertEquals("isPresent", true, optional.isPresent());
+            assertEquals("Data node", CarsModel.emptyContainer(), optional.get());
+
+            // A write of the parent replaces the entries in every shard
+
+            MapEntryNode accord = CarsModel.newCarEntry("accord", BigInteger.valueOf(2000));
+
+            writeTx = dataStore.newWriteOnlyTransaction();
+            writeTx.write(CarsModel.BASE_PATH, ImmutableContainerNodeBuilder.create()
+                    .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(CarsModel.BASE_QNAME))
+                    .withChild(ImmutableNodes.mapNodeBuilder(CarsModel.CAR_QNAME)
+                            .withChild(accord).build()).build());
+            doCommit(writeTx.ready());
+
+            readTx = dataStore.newReadOnlyTransaction();
+            assertEquals("altima present", false, readTx.read(CarsModel.newCarPath("altima")).
+                    get(5, TimeUnit.SECONDS).isPresent());
+            assertEquals("sentra present", false, readTx.read(CarsModel.newCarPath("sentra")).
+                    get(5, TimeUnit.SECONDS).isPresent());
+
+            optional = readTx.read(CarsModel.newCarPath("accord")).get(5, TimeUnit.SECONDS);
+            assertEquals("isPresent", true, optional.isPresent());
+            assertEquals("Data node", accord, optional.get());
+
+            // A delete of the list removes the entries in every shard
+
+            writeTx = dataStore.newWriteOnlyTransaction();
+            writeTx.delete(CarsModel.CAR_LIST_PATH);
+            doCommit(writeTx.ready());
+
+            readTx = dataStore.newReadOnlyTransaction();
+            assertEquals("accord present", false, readTx.read(CarsModel.newCarPath("accord")).
+                    get(5, TimeUnit.SECONDS).isPresent());
+
+            cleanup(dataStore);
+        }};
+    }
+
     class IntegrationTestKit extends ShardTestKit {
 
         IntegrationTestKit(ActorSystem actorSystem) {
@@ -786,8 +860,13 @@ public class DistributedDataStoreIntegrationTest extends AbstractActorTest {
 
         DistributedDataStore setupDistributedDataStore(String typeName, boolean waitUntilLeader,
                 String... shardNames) {
+            return setupDistributedDataStore(typeName, new ConfigurationImpl("module-shards.conf",
+                    "modules.conf"), waitUntilLeader, shardNames);
+        }
+
+        DistributedDataStore setupDistributedDataStore(String typeName, Configuration config,
+                boolean waitUntilLeader, String... shardNames) {
             MockClusterWrapper cluster = new MockClusterWrapper();
-            Configuration config = new ConfigurationImpl("module-shards.conf", "modules.conf");
             ShardStrategyFactory.setConfiguration(config);
 
             DatastoreContext datastoreContext = datastoreContextBuilder.build();
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.cluster.datastore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isA;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import akka.actor.ActorRef;
+import akka.actor.ActorSelection;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.dispatch.Futures;
+import akka.testkit.JavaTestKit;
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.CheckedFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.cluster.datastore.identifiers.TransactionIdentifier;
+import org.opendaylight.controller.cluster.datastore.messages.ForwardedReadyTransaction;
+import org.opendaylight.controller.cluster.datastore.messages.ReadyTransactionReply;
+import org.opendaylight.controller.cluster.datastore.modification.DeleteModification;
+import org.opendaylight.controller.cluster.datastore.modification.MergeModification;
+import org.opendaylight.controller.cluster.datastore.modification.MutableCompositeModification;
+import org.opendaylight.controller.cluster.datastore.modification.WriteModification;
+import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
+import org.opendaylight.controller.cluster.datastore.utils.DoNothingActor;
+import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadWriteTransaction;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreThreePhaseCommitCohort;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import scala.concurrent.Await;
+import scala.concurrent.duration.Duration;
+
+public class LocalTransactionContextTest {
+
+    private static ActorSystem system;
+
+    @Mock
+    private ActorContext mockActorContext;
+
+    @Mock
+    private DOMStoreReadWriteTransaction mockTransaction;
+
+    private final Semaphore operationLimiter = new Semaphore(10);
+
+    private final NormalizedNode<?, ?> node = ImmutableNodes.containerNode(TestModel.TEST_QNAME);
+
+    private ActorSelection shard;
+
+    private LocalTransactionContext transactionContext;
+
+    @BeforeClass
+    public static void setUpClass() {
+        system = ActorSystem.create("test");
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        JavaTestKit.shutdownActorSystem(system);
+        system = null;
+    }
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+
+        doReturn(system).when(mockActorContext).getActorSystem();
+
+        ActorRef shardActor = system.actorOf(Props.create(DoNothingActor.class));
+        shard = system.actorSelection(shardActor.path());
+        doReturn(shard).when(mockActorContext).actorSelection(shardActor.path().toString());
+
+        transactionContext = new LocalTransactionContext(mockTransaction, shard,
+                new TransactionIdentifier("member-1", 1), mockActorContext, TestModel.createTestContext(),
+                operationLimiter, new OperationCompleter(operationLimiter));
+    }
+
+    /**
+     * Takes a permit like the TransactionProxy does before handing an operation to the context.
+     */
+    private void acquire() {
+        operationLimiter.acquireUninterruptibly();
+    }
+
+    @Test
+    public void testModificationsAreApplied() {
+        acquire();
+        transactionContext.writeData(TestModel.TEST_PATH, node);
+        acquire();
+        transactionContext.mergeData(TestModel.TEST_PATH, node);
+        acquire();
+        transactionContext.deleteData(TestModel.TEST_PATH);
+
+        verify(mockTransaction).write(TestModel.TEST_PATH, node);
+        verify(mockTransaction).merge(TestModel.TEST_PATH, node);
+        verify(mockTransaction).delete(TestModel.TEST_PATH);
+
+        assertEquals("Available permits", 10, operationLimiter.availablePermits());
+    }
+
+    @Test
+    public void testReadsAreServedByTheTransaction() throws Exception {
+        CheckedFuture<Optional<NormalizedNode<?, ?>>, ReadFailedException> readFuture =
+                com.google.common.util.concurrent.Futures.immediateCheckedFuture(
+                        Optional.<NormalizedNode<?, ?>>of(node));
+        doReturn(readFuture).when(mockTransaction).read(TestModel.TEST_PATH);
+
+        CheckedFuture<Boolean, ReadFailedException> existsFuture =
+                com.google.common.util.concurrent.Futures.immediateCheckedFuture(true);
+        doReturn(existsFuture).when(mockTransaction).exists(TestModel.TEST_PATH);
+
+        acquire();
+        assertSame(readFuture, transactionContext.readData(TestModel.TEST_PATH));
+        acquire();
+        assertSame(existsFuture, transactionContext.dataExists(TestModel.TEST_PATH));
+
+        assertEquals("Available permits", 10, operationLimiter.availablePermits());
+    }
+
+    @Test
+    public void testReadyForwardsCohortAndModifications() throws Exception {
+        DOMStoreThreePhaseCommitCohort mockCohort = mock(DOMStoreThreePhaseCommitCohort.class);
+        doReturn(mockCohort).when(mockTransaction).ready();
+
+        doReturn(Futures.successful((Object) new ReadyTransactionReply(shard.anchorPath().toString()))).when(
+                mockActorContext).executeOperationAsync(eq(shard), isA(ForwardedReadyTransaction.class));
+        ActorSelection cohortSelection = system.actorSelection(shard.anchorPath());
+        doReturn(cohortSelection).when(mockActorContext).actorSelection(shard.anchorPath().toString());
+
+        acquire();
+        transactionContext.writeData(TestModel.TEST_PATH, node);
+        acquire();
+        transactionContext.mergeData(TestModel.TEST_PATH, node);
+        acquire();
+        transactionContext.deleteData(TestModel.TEST_PATH);
+
+        acquire();
+        ActorSelection actual = Await.result(transactionContext.readyTransaction(),
+                Duration.create(5, TimeUnit.SECONDS));
+        assertEquals("Cohort", cohortSelection, actual);
+
+        ArgumentCaptor<ForwardedReadyTransaction> readyCaptor =
+                ArgumentCaptor.forClass(ForwardedReadyTransaction.class);
+        verify(mockActorContext).executeOperationAsync(eq(shard), readyCaptor.capture());
+
+        ForwardedReadyTransaction ready = readyCaptor.getValue();
+        assertSame("getCohort", mockCohort, ready.getCohort());
+        assertEquals("getTxnClientVersion", DataStoreVersions.CURRENT_VERSION, ready.getTxnClientVersion());
+
+        MutableCompositeModification modification = (MutableCompositeModification) ready.getModification();
+        assertEquals("Modifications", 3, modification.getModifications().size());
+        assertEquals(WriteModification.class, modification.getModifications().get(0).getClass());
+        assertEquals(MergeModification.class, modification.getModifications().get(1).getClass());
+        assertEquals(DeleteModification.class, modification.getModifications().get(2).getClass());
+    }
+
+    @Test
+    public void testModificationFailure() throws Exception {
+        doThrow(new IllegalStateException("mock")).when(mockTransaction).write(
+                any(YangInstanceIdentifier.class), any(NormalizedNode.class));
+
+        acquire();
+        transactionContext.writeData(TestModel.TEST_PATH, node);
+        assertEquals("Available permits", 10, operationLimiter.availablePermits());
+
+        // Later reads and the ready fail with the modification's failure
+        acquire();
+        try {
+            transactionContext.readData(TestModel.TEST_PATH).checkedGet();
+            fail("Expected ReadFailedException");
+        } catch(ReadFailedException e) {
+            assertEquals(IllegalStateException.class, e.getCause().getClass());
+        }
+
+        acquire();
+        try {
+            Await.result(transactionContext.readyTransaction(), Duration.create(5, TimeUnit.SECONDS));
+            fail("Expected IllegalStateException");
+        } catch(IllegalStateException e) {
+            // Expected
+        }
+
+        verify(mockTransaction, never()).ready();
+        verify(mockActorContext, never()).executeOperationAsync(any(ActorSelection.class),
+                isA(ForwardedReadyTransaction.class));
+        assertEquals("Available permits", 10, operationLimiter.availablePermits());
+    }
+}
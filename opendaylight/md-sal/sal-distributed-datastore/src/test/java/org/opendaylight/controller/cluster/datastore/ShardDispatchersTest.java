@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.cluster.datastore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.LocalActorRef;
+import akka.actor.PoisonPill;
+import akka.dispatch.MessageQueue;
+import akka.pattern.Patterns;
+import akka.testkit.JavaTestKit;
+import akka.util.Timeout;
+import com.typesafe.config.ConfigFactory;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.common.actor.Dispatchers;
+import org.opendaylight.controller.cluster.common.actor.MeteredUnboundedMailbox;
+import org.opendaylight.controller.cluster.datastore.identifiers.ShardIdentifier;
+import org.opendaylight.controller.cluster.datastore.messages.CreateTransaction;
+import org.opendaylight.controller.cluster.datastore.messages.FindLocalShard;
+import org.opendaylight.controller.cluster.datastore.messages.LocalShardFound;
+import org.opendaylight.controller.cluster.datastore.messages.RegisterChangeListener;
+import org.opendaylight.controller.cluster.datastore.messages.RegisterChangeListenerReply;
+import org.opendaylight.controller.cluster.datastore.messages.UpdateSchemaContext;
+import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
+import org.opendaylight.controller.cluster.datastore.utils.InMemoryJournal;
+import org.opendaylight.controller.cluster.datastore.utils.InMemorySnapshotStore;
+import org.opendaylight.controller.cluster.datastore.utils.MockClusterWrapper;
+import org.opendaylight.controller.cluster.datastore.utils.MockConfiguration;
+import org.opendaylight.controller.cluster.datastore.utils.MockDataChangeListener;
+import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
+import org.opendaylight.controller.md.sal.common.api.data.AsyncDataBroker;
+import org.opendaylight.controller.protobuff.messages.transaction.ShardTransactionMessages.CreateTransactionReply;
+import scala.concurrent.Await;
+import scala.concurrent.Future;
+import scala.concurrent.duration.FiniteDuration;
+
+/**
+ * Verifies the actors of the data store are deployed on the dispatchers and mailboxes configured
+ * for them.
+ */
+public class ShardDispatchersTest {
+
+    private static final FiniteDuration TIMEOUT = new FiniteDuration(5, TimeUnit.SECONDS);
+
+    private static ActorSystem system;
+
+    @BeforeClass
+    public static void setUpClass() {
+        system = ActorSystem.create("dispatchers-test", ConfigFactory.parseString(
+                "shard-dispatcher { type = Dispatcher, executor = \"fork-join-executor\" }\n" +
+                "transaction-dispatcher { type = Dispatcher, executor = \"fork-join-executor\" }\n" +
+                "notification-dispatcher { type = Dispatcher, executor = \"fork-join-executor\" }\n" +
+                "shard-mailbox { mailbox-type = \"" + MeteredUnboundedMailbox.class.getName() + "\" }")
+                .withFallback(ConfigFactory.load()));
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        JavaTestKit.shutdownActorSystem(system);
+        system = null;
+    }
+
+    @Before
+    public void setUp() {
+        InMemorySnapshotStore.clear();
+        InMemoryJournal.clear();
+    }
+
+    @After
+    public void tearDown() {
+        InMemorySnapshotStore.clear();
+        InMemoryJournal.clear();
+    }
+
+    private static String dispatcherOf(ActorRef actor) {
+        return ((LocalActorRef) actor).underlying().dispatcher().id();
+    }
+
+    private static MessageQueue messageQueueOf(ActorRef actor) {
+        return ((LocalActorRef) actor).underlying().mailbox().messageQueue();
+    }
+
+    private static ActorRef resolve(String path) throws Exception {
+        return Await.result(system.actorSelection(path).resolveOne(TIMEOUT), TIMEOUT);
+    }
+
+    @Test
+    public void testShardDeployment() throws Exception {
+        ActorRef shardManager = system.actorOf(ShardManager.props("config", new MockClusterWrapper(),
+                new MockConfiguration(), DatastoreContext.newBuilder().build()));
+
+        shardManager.tell(new UpdateSchemaContext(TestModel.createTestContext()), ActorRef.noSender());
+
+        Future<Object> future = Patterns.ask(shardManager, new FindLocalShard(Shard.DEFAULT_NAME, true),
+                new Timeout(TIMEOUT));
+        ActorRef shard = ((LocalShardFound) Await.result(future, TIMEOUT)).getPath();
+
+        assertEquals("Shard dispatcher", Dispatchers.SHARD_DISPATCHER_PATH, dispatcherOf(shard));
+        MessageQueue queue = messageQueueOf(shard);
+        assertTrue("Shard message queue " + queue, queue instanceof MeteredUnboundedMailbox.MeteredMessageQueue);
+
+        shardManager.tell(PoisonPill.getInstance(), ActorRef.noSender());
+    }
+
+    @Test
+    public void testTransactionAndListenerDeployment() throws Exception {
+        new ShardTestKit(system) {{
+            ShardIdentifier shardID = ShardIdentifier.builder().memberName("member-1")
+                    .shardName("inventory").type("dispatchers").build();
+            ActorRef shard = system.actorOf(Shard.props(shardID,
+                    Collections.<ShardIdentifier, String>emptyMap(),
+                    DatastoreContext.newBuilder().shardHeartbeatIntervalInMillis(100).build(),
+                    TestModel.createTestContext()), "testTransactionAndListenerDeployment");
+
+            waitUntilLeader(shard);
+
+            shard.tell(new CreateTransaction("txn-1",
+                    TransactionProxy.TransactionType.READ_ONLY.ordinal()).toSerializable(), getRef());
+
+            CreateTransactionReply createReply = expectMsgClass(duration("3 seconds"),
+                    CreateTransactionReply.class);
+            assertEquals("ShardTransaction dispatcher", Dispatchers.TRANSACTION_DISPATCHER_PATH,
+                    dispatcherOf(resolve(createReply.getTransactionActorPath())));
+
+            shard.tell(new RegisterChangeListener(TestModel.TEST_PATH, getRef().path(),
+                    AsyncDataBroker.DataChangeScope.BASE), getRef());
+
+            RegisterChangeListenerReply registerReply = expectMsgClass(duration("3 seconds"),
+                    RegisterChangeListenerReply.class);
+            assertEquals("DataChangeListenerRegistration dispatcher",
+                    Dispatchers.NOTIFICATION_DISPATCHER_PATH,
+                    dispatcherOf(resolve(registerReply.getListenerRegistrationPath().toString())));
+
+            DataChangeListenerRegistrationProxy proxy = new DataChangeListenerRegistrationProxy(
+                    "inventory", new ActorContext(system, getRef(), new MockClusterWrapper(),
+                            mock(Configuration.class)), new MockDataChangeListener(0));
+            proxy.init(TestModel.TEST_PATH, AsyncDataBroker.DataChangeScope.BASE);
+
+            assertEquals("DataChangeListener dispatcher", Dispatchers.NOTIFICATION_DISPATCHER_PATH,
+                    dispatcherOf(proxy.getDataChangeListenerActor()));
+
+            proxy.close();
+            shard.tell(PoisonPill.getInstance(), ActorRef.noSender());
+        }};
+    }
+}
@@ -51,6 +51,8 @@ import org.opendaylight.controller.cluster.datastore.messages.CanCommitTransacti
 import org.opendaylight.controller.cluster.datastore.messages.CanCommitTransactionReply;
 import org.opendaylight.controller.cluster.datastore.messages.CommitTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.CommitTransactionReply;
+import org.opendaylight.controller.cluster.datastore.messages.CreateLocalTransaction;
+import org.opendaylight.controller.cluster.datastore.messages.CreateLocalTransactionReply;
 import org.opendaylight.controller.cluster.datastore.messages.CreateTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.ForwardedReadyTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.PeerAddressResolved;
@@ -76,6 +78,8 @@ import org.opendaylight.controller.cluster.raft.base.messages.CaptureSnapshot;
 import org.opendaylight.controller.cluster.raft.base.messages.ElectionTimeout;
 import org.opendaylight.controller.cluster.raft.client.messages.FindLeader;
 import org.opendaylight.controller.cluster.raft.client.messages.FindLeaderReply;
+import org.opendaylight.controller.cluster.raft.messages.AppendEntries;
+import org.opendaylight.controller.cluster.raft.messages.AppendEntriesReply;
 import org.opendaylight.controller.cluster.raft.protobuff.client.messages.CompositeModificationByteStringPayload;
 import org.opendaylight.controller.cluster.raft.protobuff.client.messages.CompositeModificationPayload;
 import org.opendaylight.controller.cluster.raft.protobuff.client.messages.Payload;
@@ -90,6 +94,7 @@ import org.opendaylight.controller.md.sal.dom.store.impl.InMemoryDOMDataStoreFac
 import org.opendaylight.controller.protobuff.messages.common.NormalizedNodeMessages;
 import org.opendaylight.controller.protobuff.messages.transaction.ShardTransactionMessages.CreateTransactionReply;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadTransaction;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadWriteTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreThreePhaseCommitCohort;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreWriteTransaction;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -312,6 +317,136 @@ public class ShardTest extends AbstractActorTest {
         }};
     }
 
+    @Test
+    public void testCreateLocalTransaction() throws Exception {
+        new ShardTestKit(getSystem()) {{
+            final ActorRef shard = getSystem().actorOf(newShardProps(), "testCreateLocalTransaction");
+
+            waitUntilLeader(shard);
+
+            shard.tell(new CreateLocalTransaction("txn-1",
+                    TransactionProxy.TransactionType.READ_WRITE.ordinal(), ""), getRef());
+
+            CreateLocalTransactionReply reply = expectMsgClass(duration("3 seconds"),
+                    CreateLocalTransactionReply.class);
+
+            assertEquals("getTransactionId", "txn-1", reply.getTransactionId());
+            assertTrue("Expected a read-write transaction",
+                    reply.getTransaction() instanceof DOMStoreReadWriteTransaction);
+
+            DOMStoreReadWriteTransaction transaction = (DOMStoreReadWriteTransaction) reply.getTransaction();
+            transaction.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+            assertTrue("Data not visible in the transaction",
+                    transaction.read(TestModel.TEST_PATH).get().isPresent());
+
+            // The shard itself does not keep a transaction actor for it
+            shard.tell(new CreateTransaction("txn-1",
+                    TransactionProxy.TransactionType.READ_ONLY.ordinal()).toSerializable(), getRef());
+            expectMsgClass(duration("3 seconds"), CreateTransactionReply.class);
+
+            transaction.close();
+            shard.tell(PoisonPill.getInstance(), ActorRef.noSender());
+        }};
+    }
+
+    @Test
+    public void testCommitLocalTransaction() throws Exception {
+        new ShardTestKit(getSystem()) {{
+            final TestActorRef<Shard> shard = TestActorRef.create(getSystem(),
+                    newShardProps().withDispatcher(Dispatchers.DefaultDispatcherId()),
+                    "testCommitLocalTransaction");
+
+            waitUntilLeader(shard);
+
+            FiniteDuration duration = duration("5 seconds");
+
+            // Do what the LocalTransactionContext does with the data store transaction.
+
+            String transactionID = "txn-1";
+            shard.tell(new CreateLocalTransaction(transactionID,
+                    TransactionProxy.TransactionType.WRITE_ONLY.ordinal(), ""), getRef());
+            DOMStoreWriteTransaction transaction = (DOMStoreWriteTransaction) expectMsgClass(duration,
+                    CreateLocalTransactionReply.class).getTransaction();
+
+            NormalizedNode<?, ?> containerNode = ImmutableNodes.containerNode(TestModel.TEST_QNAME);
+            transaction.write(TestModel.TEST_PATH, containerNode);
+            MutableCompositeModification modification = new MutableCompositeModification();
+            modification.addModification(new WriteModification(TestModel.TEST_PATH, containerNode,
+                    SCHEMA_CONTEXT));
+
+            shard.tell(new ForwardedReadyTransaction(transactionID, CURRENT_VERSION,
+                    transaction.ready(), modification, false), getRef());
+            ReadyTransactionReply readyReply = expectMsgClass(duration, ReadyTransactionReply.class);
+            assertEquals("Cohort path", shard.path().toString(), readyReply.getCohortPath());
+
+            // Nothing is visible before the commit.
+            assertNull(readStore(shard, TestModel.TEST_PATH));
+
+            shard.tell(new CanCommitTransaction(transactionID).toSerializable(), getRef());
+            CanCommitTransactionReply canCommitReply = CanCommitTransactionReply.fromSerializable(
+                    expectMsgClass(duration, CanCommitTransactionReply.SERIALIZABLE_CLASS));
+            assertEquals("Can commit", true, canCommitReply.getCanCommit());
+
+            shard.tell(new CommitTransaction(transactionID).toSerializable(), getRef());
+            expectMsgClass(duration, CommitTransactionReply.SERIALIZABLE_CLASS);
+
+            assertEquals(TestModel.TEST_QNAME.getLocalName(), containerNode,
+                    readStore(shard, TestModel.TEST_PATH));
+
+            shard.tell(PoisonPill.getInstance(), ActorRef.noSender());
+        }};
+    }
+
+    @Test
+    public void testCreateLocalTransactionOnFollower() throws Exception {
+        new ShardTestKit(getSystem()) {{
+            // This test kit is the leader, elections are kept out of the way by a long timeout
+            ShardIdentifier leaderID = ShardIdentifier.builder().memberName("member-2")
+                    .shardName("inventory").type(shardID.getType()).build();
+            final ActorRef shard = getSystem().actorOf(Shard.props(shardID,
+                    Collections.<ShardIdentifier, String>singletonMap(leaderID, getRef().path().toString()),
+                    dataStoreContextBuilder.shardHeartbeatIntervalInMillis(60000).
+                            shardFollowerReadMaxLagInMillis(60000).build(), SCHEMA_CONTEXT),
+                    "testCreateLocalTransactionOnFollower");
+
+            // Wait for the recovery to complete
+            shard.tell(new FindLeader(), getRef());
+            expectMsgClass(duration("5 seconds"), FindLeaderReply.class);
+
+            shard.tell(new AppendEntries(1, leaderID.toString(), -1, -1,
+                    Collections.<ReplicatedLogEntry>singletonList(new ReplicatedLogImplEntry(0, 1,
+                            newPayload(new WriteModification(TestModel.TEST_PATH,
+                                    ImmutableNodes.containerNode(TestModel.TEST_QNAME), SCHEMA_CONTEXT)))),
+                    0), getRef());
+            assertTrue("Entry not appended", expectMsgClass(duration("5 seconds"),
+                    AppendEntriesReply.class).isSuccess());
+
+            // The ApplyState for the entry is queued ahead of the request, so the follower has caught up
+            shard.tell(new CreateLocalTransaction("txn-1",
+                    TransactionProxy.TransactionType.READ_ONLY.ordinal(), ""), getRef());
+
+            CreateLocalTransactionReply reply = expectMsgClass(duration("3 seconds"),
+                    CreateLocalTransactionReply.class);
+            DOMStoreReadTransaction transaction = (DOMStoreReadTransaction) reply.getTransaction();
+            assertTrue("Committed data not visible on the follower",
+                    transaction.read(TestModel.TEST_PATH).get().isPresent());
+            transaction.close();
+
+            // The leader has committed an entry the follower has not received
+            shard.tell(new AppendEntries(1, leaderID.toString(), 0, 1,
+                    Collections.<ReplicatedLogEntry>emptyList(), 1), getRef());
+            expectMsgClass(duration("5 seconds"), AppendEntriesReply.class);
+
+            shard.tell(new CreateLocalTransaction("txn-2",
+                    TransactionProxy.TransactionType.READ_ONLY.ordinal(), ""), getRef());
+
+            // So the request goes to the leader
+            expectMsgClass(duration("3 seconds"), CreateTransaction.SERIALIZABLE_CLASS);
+
+            shard.tell(PoisonPill.getInstance(), ActorRef.noSender());
+        }};
+    }
+
     @SuppressWarnings("serial")
     @Test
     public void testPeerAddressResolved() throws Exception {
@@ -11,6 +11,7 @@ import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.opendaylight.controller.cluster.datastore.TransactionProxy.TransactionType.READ_ONLY;
@@ -24,17 +25,21 @@ import akka.dispatch.Futures;
 import akka.testkit.JavaTestKit;
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import java.io.IOException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatcher;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -43,11 +48,14 @@ import org.opendaylight.controller.cluster.datastore.TransactionProxy.Transactio
 import org.opendaylight.controller.cluster.datastore.exceptions.PrimaryNotFoundException;
 import org.opendaylight.controller.cluster.datastore.exceptions.TimeoutException;
 import org.opendaylight.controller.cluster.datastore.messages.CloseTransaction;
+import org.opendaylight.controller.cluster.datastore.messages.CreateLocalTransaction;
+import org.opendaylight.controller.cluster.datastore.messages.CreateLocalTransactionReply;
 import org.opendaylight.controller.cluster.datastore.messages.CreateTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.DataExists;
 import org.opendaylight.controller.cluster.datastore.messages.DataExistsReply;
 import org.opendaylight.controller.cluster.datastore.messages.DeleteData;
 import org.opendaylight.controller.cluster.datastore.messages.DeleteDataReply;
+import org.opendaylight.controller.cluster.datastore.messages.ForwardedReadyTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.MergeData;
 import org.opendaylight.controller.cluster.datastore.messages.MergeDataReply;
 import org.opendaylight.controller.cluster.datastore.messages.ReadData;
@@ -56,6 +64,7 @@ import org.opendaylight.controller.cluster.datastore.messages.ReadyTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.ReadyTransactionReply;
 import org.opendaylight.controller.cluster.datastore.messages.WriteData;
 import org.opendaylight.controller.cluster.datastore.messages.WriteDataReply;
+import org.opendaylight.controller.cluster.datastore.modification.MutableCompositeModification;
 import org.opendaylight.controller.cluster.datastore.shardstrategy.DefaultShardStrategy;
 import org.opendaylight.controller.cluster.datastore.shardstrategy.ShardStrategyFactory;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
@@ -64,11 +73,22 @@ import org.opendaylight.controller.cluster.datastore.utils.MockConfiguration;
 import org.opendaylight.controller.md.cluster.datastore.model.CarsModel;
 import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.controller.md.sal.dom.store.impl.InMemoryDOMDataStore;
+import org.opendaylight.controller.md.sal.dom.store.impl.InMemoryDOMDataStoreFactory;
 import org.opendaylight.controller.protobuff.messages.transaction.ShardTransactionMessages;
 import org.opendaylight.controller.protobuff.messages.transaction.ShardTransactionMessages.CreateTransactionReply;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadWriteTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreThreePhaseCommitCohort;
+import org.opendaylight.controller.sal.core.spi.data.DOMStoreTransaction;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import scala.concurrent.Await;
 import scala.concurrent.Future;
@@ -181,11 +201,15 @@ public class TransactionProxyTest {
     }
 
     private ReadData eqSerializedReadData() {
+        return eqSerializedReadData(TestModel.TEST_PATH);
+    }
+
+    private ReadData eqSerializedReadData(final YangInstanceIdentifier path) {
         ArgumentMatcher<ReadData> matcher = new ArgumentMatcher<ReadData>() {
             @Override
             public boolean matches(Object argument) {
                 return ReadData.SERIALIZABLE_CLASS.equals(argument.getClass()) &&
-                       ReadData.fromSerializable(argument).getPath().equals(TestModel.TEST_PATH);
+                       ReadData.fromSerializable(argument).getPath().equals(path);
             }
         };
 
@@ -414,6 +438,27 @@ public class TransactionProxyTest {
         return actorRef;
     }
 
+    /**
+     * Sets up a shard whose CreateTransaction replies with a transaction actor of its own.
+     *
+     * @return the transaction actor
+     */
+    private ActorRef setupShardWithInitialCreateTransaction(String shardName, TransactionType type) {
+        ActorRef shardActorRef = getSystem().actorOf(Props.create(DoNothingActor.class));
+        ActorRef txActorRef = getSystem().actorOf(Props.create(DoNothingActor.class));
+
+        doReturn(Futures.successful(actorSelection(shardActorRef))).
+                when(mockActorContext).findPrimaryShardAsync(eq(shardName));
+
+        doReturn(Futures.successful(createTransactionReply(txActorRef, DataStoreVersions.CURRENT_VERSION))).
+                when(mockActorContext).executeOperationAsync(eq(actorSelection(shardActorRef)),
+                        eqCreateTransaction(memberName, type));
+
+        doReturn(actorSelection(txActorRef)).when(mockActorContext).actorSelection(txActorRef.path().toString());
+
+        return txActorRef;
+    }
+
     private ActorRef setupActorContextWithInitialCreateTransaction(ActorSystem actorSystem, TransactionType type) {
         return setupActorContextWithInitialCreateTransaction(actorSystem, type, DataStoreVersions.CURRENT_VERSION);
     }
@@ -511,6 +556,83 @@ public class TransactionProxyTest {
         });
     }
 
+    private static MapEntryNode carEntry(String name) {
+        return ImmutableNodes.mapEntryBuilder(CarsModel.CAR_QNAME, CarsModel.CAR_NAME_QNAME, name)
+                .withChild(ImmutableNodes.leafNode(CarsModel.CAR_NAME_QNAME, name)).build();
+    }
+
+    private static NormalizedNode<?, ?> carsContainer(MapEntryNode... entries) {
+        CollectionNodeBuilder<MapEntryNode, MapNode> cars = ImmutableNodes.mapNodeBuilder(CarsModel.CAR_QNAME);
+        for(MapEntryNode entry : entries) {
+            cars.withChild(entry);
+        }
+
+        return ImmutableContainerNodeBuilder.create()
+                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(CarsModel.BASE_QNAME))
+                .withChild(cars.build()).build();
+    }
+
+    @Test
+    public void testReadOfListParentSpreadOverPrefixShards() throws Exception {
+        ShardStrategyFactory.setConfiguration(new ConfigurationImpl("prefix-module-shards.conf",
+                "prefix-modules.conf"));
+
+        ActorRef baseTx = setupShardWithInitialCreateTransaction("cars-base", READ_ONLY);
+        ActorRef cars1Tx = setupShardWithInitialCreateTransaction("cars-1", READ_ONLY);
+        ActorRef cars2Tx = setupShardWithInitialCreateTransaction("cars-2", READ_ONLY);
+
+        doReturn(readSerializedDataReply(CarsModel.emptyContainer())).when(mockActorContext).executeOperationAsync(
+                eq(actorSelection(baseTx)), eqSerializedReadData(CarsModel.BASE_PATH));
+        doReturn(readSerializedDataReply(carsContainer(carEntry("audi")))).when(mockActorContext).executeOperationAsync(
+                eq(actorSelection(cars1Tx)), eqSerializedReadData(CarsModel.BASE_PATH));
+        doReturn(readSerializedDataReply(carsContainer(carEntry("bmw"), carEntry("fiat")))).when(mockActorContext).
+                executeOperationAsync(eq(actorSelection(cars2Tx)), eqSerializedReadData(CarsModel.BASE_PATH));
+
+        TransactionProxy transactionProxy = new TransactionProxy(mockActorContext, READ_ONLY);
+
+        Optional<NormalizedNode<?, ?>> readOptional = transactionProxy.read(
+                CarsModel.BASE_PATH).get(5, TimeUnit.SECONDS);
+
+        assertEquals("NormalizedNode isPresent", true, readOptional.isPresent());
+
+        Optional<DataContainerChild<? extends YangInstanceIdentifier.PathArgument, ?>> cars =
+                ((ContainerNode) readOptional.get()).getChild(new YangInstanceIdentifier.NodeIdentifier(CarsModel.CAR_QNAME));
+        assertEquals("Cars list isPresent", true, cars.isPresent());
+
+        Set<Object> names = new HashSet<>();
+        for(MapEntryNode entry : ((MapNode) cars.get()).getValue()) {
+            names.add(entry.getIdentifier().getKeyValues().get(CarsModel.CAR_NAME_QNAME));
+        }
+
+        assertEquals("Car names", ImmutableSet.<Object>of("audi", "bmw", "fiat"), names);
+
+        assertEquals("Exists", true, transactionProxy.exists(CarsModel.BASE_PATH).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testReadOfListParentWithOnlyEmptyPrefixShards() throws Exception {
+        ShardStrategyFactory.setConfiguration(new ConfigurationImpl("prefix-module-shards.conf",
+                "prefix-modules.conf"));
+
+        ActorRef baseTx = setupShardWithInitialCreateTransaction("cars-base", READ_ONLY);
+        ActorRef cars1Tx = setupShardWithInitialCreateTransaction("cars-1", READ_ONLY);
+        ActorRef cars2Tx = setupShardWithInitialCreateTransaction("cars-2", READ_ONLY);
+
+        // The prefix shards keep the structure above the list after its entries are gone
+        doReturn(readSerializedDataReply(null)).when(mockActorContext).executeOperationAsync(
+                eq(actorSelection(baseTx)), eqSerializedReadData(CarsModel.BASE_PATH));
+        doReturn(readSerializedDataReply(carsContainer())).when(mockActorContext).executeOperationAsync(
+                eq(actorSelection(cars1Tx)), eqSerializedReadData(CarsModel.BASE_PATH));
+        doReturn(readSerializedDataReply(carsContainer())).when(mockActorContext).executeOperationAsync(
+                eq(actorSelection(cars2Tx)), eqSerializedReadData(CarsModel.BASE_PATH));
+
+        TransactionProxy transactionProxy = new TransactionProxy(mockActorContext, READ_ONLY);
+
+        assertEquals("NormalizedNode isPresent", false,
+                transactionProxy.read(CarsModel.BASE_PATH).get(5, TimeUnit.SECONDS).isPresent());
+        assertEquals("Exists", false, transactionProxy.exists(CarsModel.BASE_PATH).get(5, TimeUnit.SECONDS));
+    }
+
     @Test(expected = PrimaryNotFoundException.class)
     public void testReadWhenAPrimaryNotFoundExceptionIsThrown() throws Throwable {
         testReadWithExceptionOnInitialCreateTransaction(new PrimaryNotFoundException("test"));
@@ -1239,6 +1361,103 @@ public class TransactionProxyTest {
         verifyCohortFutures(proxy, getSystem().actorSelection(shardActorRef.path()));
     }
 
+    private ActorSelection setupActorContextWithLocalLeader(DOMStoreTransaction transaction) {
+        ActorSystem actorSystem = getSystem();
+        ActorRef shardActorRef = actorSystem.actorOf(Props.create(DoNothingActor.class));
+        ActorSelection shard = actorSystem.actorSelection(shardActorRef.path());
+
+        doReturn(shard).when(mockActorContext).actorSelection(shardActorRef.path().toString());
+
+        doReturn(Futures.successful(shard)).when(mockActorContext).findPrimaryShardAsync(
+                eq(DefaultShardStrategy.DEFAULT_SHARD));
+
+        doReturn(true).when(mockActorContext).isPathLocal(shard.anchorPath().toString());
+
+        doReturn(Futures.successful(new CreateLocalTransactionReply("txn-1", transaction))).when(
+                mockActorContext).executeOperationAsync(eq(shard), isA(CreateLocalTransaction.class));
+
+        doReturn(readyTxReply(shardActorRef.path().toString())).when(mockActorContext).executeOperationAsync(
+                eq(shard), isA(ForwardedReadyTransaction.class));
+
+        return shard;
+    }
+
+    @Test
+    public void testLocalLeaderReadWriteAndReady() throws Exception {
+        InMemoryDOMDataStore store = InMemoryDOMDataStoreFactory.create("Test", null, null);
+        store.onGlobalContextUpdated(schemaContext);
+
+        ActorSelection shard = setupActorContextWithLocalLeader(store.newReadWriteTransaction());
+
+        TransactionProxy transactionProxy = new TransactionProxy(mockActorContext, READ_WRITE);
+
+        NormalizedNode<?, ?> nodeToWrite = ImmutableNodes.containerNode(TestModel.TEST_QNAME);
+
+        assertEquals("NormalizedNode isPresent", false,
+                transactionProxy.read(TestModel.TEST_PATH).get(5, TimeUnit.SECONDS).isPresent());
+
+        transactionProxy.write(TestModel.TEST_PATH, nodeToWrite);
+        transactionProxy.merge(TestModel.TEST_PATH, nodeToWrite);
+
+        // The operations are applied to the data store transaction, not sent to the shard
+        Optional<NormalizedNode<?, ?>> readOptional = transactionProxy.read(TestModel.TEST_PATH).
+                get(5, TimeUnit.SECONDS);
+        assertEquals("NormalizedNode isPresent", true, readOptional.isPresent());
+        assertEquals("Response NormalizedNode", nodeToWrite, readOptional.get());
+        assertEquals("Exists response", true, transactionProxy.exists(TestModel.TEST_PATH).checkedGet());
+
+        transactionProxy.delete(TestModel.TEST_PATH);
+        assertEquals("Exists response", false, transactionProxy.exists(TestModel.TEST_PATH).checkedGet());
+
+        verifyRecordingOperationFutures(transactionProxy.getRecordedOperationFutures());
+
+        DOMStoreThreePhaseCommitCohort ready = transactionProxy.ready();
+
+        assertTrue(ready instanceof ThreePhaseCommitCohortProxy);
+
+        verifyCohortFutures((ThreePhaseCommitCohortProxy) ready, shard);
+
+        // Only the create and the ready went to the shard
+        ArgumentCaptor<Object> messageCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(mockActorContext, times(2)).executeOperationAsync(eq(shard), messageCaptor.capture());
+        assertTrue("Expected CreateLocalTransaction",
+                messageCaptor.getAllValues().get(0) instanceof CreateLocalTransaction);
+
+        ForwardedReadyTransaction forwardedReady = (ForwardedReadyTransaction) messageCaptor.getAllValues().get(1);
+        assertEquals("getTransactionID", transactionProxy.getIdentifier().toString(),
+                forwardedReady.getTransactionID());
+        assertNotNull("getCohort", forwardedReady.getCohort());
+        assertEquals("Modifications", 3, ((MutableCompositeModification) forwardedReady.getModification()).
+                getModifications().size());
+    }
+
+    @Test
+    public void testLocalLeaderReadyWithModificationFailure() throws Exception {
+        DOMStoreReadWriteTransaction transaction = mock(DOMStoreReadWriteTransaction.class);
+        Mockito.doThrow(new TestException()).when(transaction).write(any(YangInstanceIdentifier.class),
+                any(NormalizedNode.class));
+
+        ActorSelection shard = setupActorContextWithLocalLeader(transaction);
+
+        TransactionProxy transactionProxy = new TransactionProxy(mockActorContext, READ_WRITE);
+
+        transactionProxy.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+
+        try {
+            transactionProxy.read(TestModel.TEST_PATH).checkedGet(5, TimeUnit.SECONDS);
+            fail("Expected ReadFailedException");
+        } catch(ReadFailedException e) {
+            // Expected
+        }
+
+        DOMStoreThreePhaseCommitCohort ready = transactionProxy.ready();
+
+        verifyCohortFutures((ThreePhaseCommitCohortProxy) ready, new TestException());
+
+        verify(transaction, never()).ready();
+        verify(mockActorContext, never()).executeOperationAsync(eq(shard), isA(ForwardedReadyTransaction.class));
+    }
+
     private static interface TransactionProxyOperation {
         void run(TransactionProxy transactionProxy);
     }
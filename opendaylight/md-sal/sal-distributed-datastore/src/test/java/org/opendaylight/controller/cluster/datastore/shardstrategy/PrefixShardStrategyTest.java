@@ -0,0 +1,207 @@
+package org.opendaylight.controller.cluster.datastore.shardstrategy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import com.google.common.base.Optional;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.datastore.Configuration;
+import org.opendaylight.controller.cluster.datastore.ConfigurationImpl;
+import org.opendaylight.controller.cluster.datastore.shardstrategy.PrefixShardStrategy.ShardModification;
+import org.opendaylight.controller.md.cluster.datastore.model.CarsModel;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
+
+public class PrefixShardStrategyTest {
+
+    private static Configuration configuration;
+
+    @BeforeClass
+    public static void setUpClass(){
+        configuration = new ConfigurationImpl("prefix-module-shards.conf", "prefix-modules.conf");
+    }
+
+    private static YangInstanceIdentifier carPath(String name) {
+        return YangInstanceIdentifier.builder(CarsModel.BASE_PATH).node(CarsModel.CAR_QNAME)
+                .nodeWithKey(CarsModel.CAR_QNAME, CarsModel.CAR_NAME_QNAME, name).build();
+    }
+
+    @Test
+    public void testConfiguration() {
+        assertEquals("cars/car", configuration.getPrefixFromShardName("cars-1").get());
+        assertFalse(configuration.getPrefixFromShardName("cars-base").isPresent());
+        assertTrue(configuration.getModuleNameToShardStrategyMap().get("cars") instanceof PrefixShardStrategy);
+    }
+
+    @Test
+    public void testFindShard() {
+        PrefixShardStrategy strategy = new PrefixShardStrategy("cars", configuration);
+
+        assertEquals("cars-base", strategy.findShard(CarsModel.BASE_PATH));
+        assertEquals("cars-base", strategy.findShard(
+                YangInstanceIdentifier.builder(CarsModel.BASE_PATH).node(CarsModel.CAR_QNAME).build()));
+
+        Set<String> shards = new HashSet<>();
+        for(int i = 0; i < 10; i++) {
+            YangInstanceIdentifier path = carPath("car-" + i);
+            String shard = strategy.findShard(path);
+            assertTrue("Unexpected shard " + shard, shard.equals("cars-1") || shard.equals("cars-2"));
+
+            // The entry's children stay with the entry
+            assertEquals(shard, strategy.findShard(YangInstanceIdentifier.builder(path)
+                    .node(CarsModel.CAR_PRICE_QNAME).build()));
+            assertEquals(shard, new PrefixShardStrategy("cars", configuration).findShard(path));
+
+            shards.add(shard);
+        }
+
+        assertEquals("Entries spread over the shards", 2, shards.size());
+    }
+
+    @Test
+    public void testGetParentStructure() {
+        PrefixShardStrategy strategy = new PrefixShardStrategy("cars", configuration);
+
+        assertFalse(strategy.getParentStructure(CarsModel.BASE_PATH).isPresent());
+
+        Optional<NormalizedNode<?, ?>> parents = strategy.getParentStructure(carPath("altima"));
+        assertTrue(parents.isPresent());
+        assertTrue(parents.get() instanceof ContainerNode);
+        assertEquals(CarsModel.BASE_QNAME, parents.get().getNodeType());
+
+        ContainerNode cars = (ContainerNode) parents.get();
+        assertEquals(1, cars.getValue().size());
+        MapNode carList = (MapNode) cars.getValue().iterator().next();
+        assertEquals(CarsModel.CAR_QNAME, carList.getNodeType());
+        assertTrue(carList.getValue().isEmpty());
+    }
+
+    private static ContainerNode carsWith(MapEntryNode... entries) {
+        CollectionNodeBuilder<MapEntryNode, MapNode> list = ImmutableNodes.mapNodeBuilder(CarsModel.CAR_QNAME);
+        for(MapEntryNode entry : entries) {
+            list.withChild(entry);
+        }
+
+        return ImmutableContainerNodeBuilder.create().withNodeIdentifier(
+                new YangInstanceIdentifier.NodeIdentifier(CarsModel.BASE_QNAME)).withChild(list.build()).build();
+    }
+
+    private static Map<String, ShardModification> byShard(List<ShardModification> modifications) {
+        Map<String, ShardModification> map = new HashMap<>();
+        for(ShardModification modification : modifications) {
+            assertEquals("Duplicate shard " + modification.getShardName(), null,
+                    map.put(modification.getShardName(), modification));
+        }
+
+        return map;
+    }
+
+    @Test
+    public void testIsAtOrAboveList() {
+        PrefixShardStrategy strategy = new PrefixShardStrategy("cars", configuration);
+
+        assertTrue(strategy.isAtOrAboveList(CarsModel.BASE_PATH));
+        assertTrue(strategy.isAtOrAboveList(CarsModel.CAR_LIST_PATH));
+        assertFalse(strategy.isAtOrAboveList(carPath("altima")));
+    }
+
+    @Test
+    public void testSplitMerge() {
+        PrefixShardStrategy strategy = new PrefixShardStrategy("cars", configuration);
+
+        // altima hashes to cars-1 and sentra to cars-2
+        MapEntryNode altima = CarsModel.newCarEntry("altima", BigInteger.valueOf(1000));
+        MapEntryNode sentra = CarsModel.newCarEntry("sentra", BigInteger.valueOf(3000));
+
+        Map<String, ShardModification> split = byShard(strategy.splitMerge(CarsModel.BASE_PATH,
+                carsWith(altima, sentra)));
+        assertEquals("Shards", 3, split.size());
+
+        ShardModification base = split.get("cars-base");
+        assertEquals(ShardModification.Type.MERGE, base.getType());
+        assertEquals(CarsModel.BASE_PATH, base.getPath());
+        assertEquals("Base data without the list", CarsModel.emptyContainer(), base.getData());
+
+        ShardModification cars1 = split.get("cars-1");
+        assertEquals(ShardModification.Type.MERGE, cars1.getType());
+        assertEquals(CarsModel.CAR_LIST_PATH, cars1.getPath());
+        assertEquals(ImmutableNodes.mapNodeBuilder(CarsModel.CAR_QNAME).withChild(altima).build(),
+                cars1.getData());
+
+        ShardModification cars2 = split.get("cars-2");
+        assertEquals(CarsModel.CAR_LIST_PATH, cars2.getPath());
+        assertEquals(ImmutableNodes.mapNodeBuilder(CarsModel.CAR_QNAME).withChild(sentra).build(),
+                cars2.getData());
+
+        // A merge leaves the shards without entries alone
+        split = byShard(strategy.splitMerge(CarsModel.CAR_LIST_PATH,
+                ImmutableNodes.mapNodeBuilder(CarsModel.CAR_QNAME).withChild(altima).build()));
+        assertEquals("Shards " + split.keySet(), Collections.singleton("cars-1"), split.keySet());
+    }
+
+    @Test
+    public void testSplitWrite() {
+        PrefixShardStrategy strategy = new PrefixShardStrategy("cars", configuration);
+
+        MapEntryNode altima = CarsModel.newCarEntry("altima", BigInteger.valueOf(1000));
+
+        Map<String, ShardModification> split = byShard(strategy.splitWrite(CarsModel.BASE_PATH,
+                carsWith(altima)));
+        assertEquals("Shards", 3, split.size());
+
+        assertEquals(ShardModification.Type.WRITE, split.get("cars-base").getType());
+        assertEquals(CarsModel.emptyContainer(), split.get("cars-base").getData());
+        assertEquals(ImmutableNodes.mapNodeBuilder(CarsModel.CAR_QNAME).withChild(altima).build(),
+                split.get("cars-1").getData());
+
+        // The write replaces the entries of cars-2 with an empty list
+        assertEquals(ShardModification.Type.WRITE, split.get("cars-2").getType());
+        assertEquals(CarsModel.CAR_LIST_PATH, split.get("cars-2").getPath());
+        assertTrue(((MapNode) split.get("cars-2").getData()).getValue().isEmpty());
+
+        // A parent without the list clears the list in every prefix shard
+        split = byShard(strategy.splitWrite(CarsModel.BASE_PATH, CarsModel.emptyContainer()));
+        assertEquals("Shards", 3, split.size());
+        assertTrue(((MapNode) split.get("cars-1").getData()).getValue().isEmpty());
+    }
+
+    @Test
+    public void testSplitDelete() {
+        PrefixShardStrategy strategy = new PrefixShardStrategy("cars", configuration);
+
+        Map<String, ShardModification> split = byShard(strategy.splitDelete(CarsModel.BASE_PATH));
+        assertEquals("Shards", 3, split.size());
+        assertEquals(CarsModel.BASE_PATH, split.get("cars-base").getPath());
+        for(String shard : new String[]{"cars-1", "cars-2"}) {
+            assertEquals(ShardModification.Type.DELETE, split.get(shard).getType());
+            assertEquals(CarsModel.CAR_LIST_PATH, split.get(shard).getPath());
+        }
+
+        split = byShard(strategy.splitDelete(CarsModel.CAR_LIST_PATH));
+        assertEquals("Shards " + split.keySet(), 2, split.size());
+        assertFalse(split.containsKey("cars-base"));
+    }
+
+    @Test
+    public void testGetParentStructureOfTheList() {
+        PrefixShardStrategy strategy = new PrefixShardStrategy("cars", configuration);
+
+        Optional<NormalizedNode<?, ?>> parents = strategy.getParentStructure(CarsModel.CAR_LIST_PATH);
+        assertTrue(parents.isPresent());
+        assertEquals(CarsModel.BASE_QNAME, parents.get().getNodeType());
+    }
+}
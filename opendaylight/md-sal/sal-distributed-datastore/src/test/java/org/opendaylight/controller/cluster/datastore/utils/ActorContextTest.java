@@ -1,7 +1,11 @@
 package org.opendaylight.controller.cluster.datastore.utils;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import akka.actor.ActorRef;
 import akka.actor.ActorSelection;
@@ -11,14 +15,19 @@ import akka.actor.UntypedActor;
 import akka.japi.Creator;
 import akka.testkit.JavaTestKit;
 import com.google.common.base.Optional;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.util.concurrent.TimeUnit;
 import org.junit.Test;
 import org.opendaylight.controller.cluster.datastore.AbstractActorTest;
 import org.opendaylight.controller.cluster.datastore.ClusterWrapper;
 import org.opendaylight.controller.cluster.datastore.Configuration;
+import org.opendaylight.controller.cluster.datastore.exceptions.PrimaryNotFoundException;
 import org.opendaylight.controller.cluster.datastore.messages.FindLocalShard;
+import org.opendaylight.controller.cluster.datastore.messages.FindPrimary;
 import org.opendaylight.controller.cluster.datastore.messages.LocalShardFound;
 import org.opendaylight.controller.cluster.datastore.messages.LocalShardNotFound;
+import org.opendaylight.controller.cluster.datastore.messages.PrimaryFound;
+import org.opendaylight.controller.cluster.datastore.messages.PrimaryNotFound;
 import scala.concurrent.Await;
 import scala.concurrent.Future;
 import scala.concurrent.duration.Duration;
@@ -155,6 +164,57 @@ public class ActorContextTest extends AbstractActorTest{
         }};
     }
 
+    @Test
+    public void testFindPrimaryShardAsyncIsCached() throws Exception {
+        new JavaTestKit(getSystem()) {{
+            ActorContext actorContext =
+                    new ActorContext(getSystem(), getRef(), mock(ClusterWrapper.class),
+                            mock(Configuration.class));
+
+            Future<ActorSelection> future = actorContext.findPrimaryShardAsync("default");
+            expectMsgClass(duration("3 seconds"), FindPrimary.SERIALIZABLE_CLASS);
+            reply(new PrimaryFound(getRef().path().toString()).toSerializable());
+
+            assertNotNull(Await.result(future, Duration.create(3, TimeUnit.SECONDS)));
+
+            // The cached location is used without asking the ShardManager again
+            assertSame(future, actorContext.findPrimaryShardAsync("default"));
+            expectNoMsg(duration("200 milliseconds"));
+            assertEquals(1, actorContext.getPrimaryShardCacheStats().hitCount());
+
+            actorContext.invalidatePrimaryShard("default");
+            assertNotSame(future, actorContext.findPrimaryShardAsync("default"));
+            expectMsgClass(duration("3 seconds"), FindPrimary.SERIALIZABLE_CLASS);
+        }};
+    }
+
+    @Test
+    public void testFindPrimaryShardAsyncFailureIsNotCached() throws Exception {
+        new JavaTestKit(getSystem()) {{
+            ActorContext actorContext =
+                    new ActorContext(getSystem(), getRef(), mock(ClusterWrapper.class),
+                            mock(Configuration.class));
+
+            Future<ActorSelection> future = actorContext.findPrimaryShardAsync("default");
+            expectMsgClass(duration("3 seconds"), FindPrimary.SERIALIZABLE_CLASS);
+            reply(new PrimaryNotFound("default").toSerializable());
+
+            try {
+                Await.result(future, Duration.create(3, TimeUnit.SECONDS));
+                fail("Expected PrimaryNotFoundException");
+            } catch(PrimaryNotFoundException e) {
+                // expected
+            }
+
+            for(int i = 0; i < 20 && actorContext.getPrimaryShardCacheSize() > 0; i++) {
+                Uninterruptibles.sleepUninterruptibly(50, TimeUnit.MILLISECONDS);
+            }
+
+            actorContext.findPrimaryShardAsync("default");
+            expectMsgClass(duration("3 seconds"), FindPrimary.SERIALIZABLE_CLASS);
+        }};
+    }
+
     @Test
     public void testIsPathLocal() {
         MockClusterWrapper clusterWrapper = new MockClusterWrapper();
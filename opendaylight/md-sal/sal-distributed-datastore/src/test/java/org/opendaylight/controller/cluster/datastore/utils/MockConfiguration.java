@@ -37,6 +37,11 @@ public class MockConfiguration implements Configuration{
         return Collections.emptyList();
     }
 
+    @Override
+    public Optional<String> getPrefixFromShardName(final String shardName) {
+        return Optional.absent();
+    }
+
     @Override public List<String> getMembersFromShardName(final String shardName) {
         if("default".equals(shardName)) {
             return Arrays.asList("member-1", "member-2");
@@ -30,6 +30,9 @@ public class CarsModel {
     public static final QName CAR_NAME_QNAME = QName.create(CAR_QNAME, "name");
     public static final QName CAR_PRICE_QNAME = QName.create(CAR_QNAME, "price");
 
+    public static final YangInstanceIdentifier CAR_LIST_PATH =
+            YangInstanceIdentifier.builder(BASE_PATH).node(CAR_QNAME).build();
+
 
     public static NormalizedNode<?, ?> create(){
 
@@ -63,6 +66,17 @@ public class CarsModel {
 
     }
 
+    public static MapEntryNode newCarEntry(String name, BigInteger price) {
+        return ImmutableNodes.mapEntryBuilder(CAR_QNAME, CAR_NAME_QNAME, name)
+                .withChild(ImmutableNodes.leafNode(CAR_NAME_QNAME, name))
+                .withChild(ImmutableNodes.leafNode(CAR_PRICE_QNAME, price)).build();
+    }
+
+    public static YangInstanceIdentifier newCarPath(String name) {
+        return YangInstanceIdentifier.builder(CAR_LIST_PATH)
+                .nodeWithKey(CAR_QNAME, CAR_NAME_QNAME, name).build();
+    }
+
     public static NormalizedNode<?, ?> emptyContainer(){
         return ImmutableContainerNodeBuilder.create()
             .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(BASE_QNAME))
@@ -9,18 +9,26 @@ import java.net.Socket;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
+import com.google.common.base.Optional;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadTransaction;
 import org.opendaylight.controller.md.sal.dom.xsql.jdbc.JDBCResultSet;
 import org.opendaylight.controller.md.sal.dom.xsql.jdbc.JDBCServer;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaContextListener;
@@ -184,14 +192,130 @@ public class XSQLAdapter extends Thread implements SchemaContextListener {
         return null;
     }
 
+    /**
+     * Reads only the list entry the query selects with equality criteria on
+     * all the keys, instead of the whole module root. The walk over the roots
+     * still checks all the criteria.
+     *
+     * @return the entry wrapped in its list, as the list is found in the
+     *         module root, or null if the query does not select one entry
+     */
+    public List<Object> collectKeyedEntryRoots(JDBCResultSet rs) {
+        YangInstanceIdentifier entryPath = getKeyedEntryPath(rs);
+        if (entryPath == null) {
+            return null;
+        }
+        try {
+            List<Object> result = new LinkedList<Object>();
+            for (LogicalDatastoreType type : new LogicalDatastoreType[] {
+                    LogicalDatastoreType.OPERATIONAL, LogicalDatastoreType.CONFIGURATION}) {
+                DOMDataReadTransaction t = this.domDataBroker
+                        .newReadOnlyTransaction();
+                Optional<NormalizedNode<?, ?>> entry = t.read(type,
+                        entryPath).get();
+                if (entry.isPresent()) {
+                    result.add(ImmutableNodes
+                            .mapNodeBuilder(entry.get().getNodeType())
+                            .withChild((MapEntryNode) entry.get()).build());
+                }
+            }
+            return result;
+        } catch (Exception err) {
+            XSQLAdapter.log(err);
+        }
+        return null;
+    }
+
+    /**
+     * @return the path of the entry selected by equality criteria on all the
+     *         keys of the list right under the top container of the module,
+     *         or null if not all the tables of the query are in that list
+     */
+    private static YangInstanceIdentifier getKeyedEntryPath(JDBCResultSet rs) {
+        List<XSQLBluePrintNode> tables = rs.getTables();
+        if (tables.isEmpty()) {
+            return null;
+        }
+        XSQLBluePrintNode list = null;
+        XSQLBluePrintNode top = tables.get(0);
+        while (top.getParent() != null && !top.getParent().isModule()) {
+            list = top;
+            top = top.getParent();
+        }
+        if (top.getParent() == null || list == null
+                || !(top.getODLNode() instanceof ContainerSchemaNode)
+                || !(list.getODLNode() instanceof ListSchemaNode)) {
+            return null;
+        }
+        for (XSQLBluePrintNode table : tables) {
+            if (!isInTable(table, list)) {
+                return null;
+            }
+        }
+
+        ListSchemaNode listNode = (ListSchemaNode) list.getODLNode();
+        Map<XSQLColumn, List<XSQLCriteria>> listCriteria = rs.getCriteria()
+                .get(list.getBluePrintNodeName());
+        if (listCriteria == null || listNode.getKeyDefinition() == null
+                || listNode.getKeyDefinition().isEmpty()) {
+            return null;
+        }
+        Map<QName, Object> keys = new HashMap<QName, Object>();
+        for (QName key : listNode.getKeyDefinition()) {
+            Object value = getEqualityValue(listCriteria, key.getLocalName());
+            if (value == null) {
+                return null;
+            }
+            value = XSQLODLUtils.getLeafValue(listNode.getDataChildByName(key),
+                    value.toString());
+            if (value == null) {
+                return null;
+            }
+            keys.put(key, value);
+        }
+        return YangInstanceIdentifier.builder()
+                .node(((ContainerSchemaNode) top.getODLNode()).getQName())
+                .nodeWithKey(listNode.getQName(), keys).toInstance();
+    }
+
+    private static boolean isInTable(XSQLBluePrintNode node,
+            XSQLBluePrintNode table) {
+        for (XSQLBluePrintNode n = node; n != null; n = n.getParent()) {
+            if (n.getBluePrintNodeName().equals(table.getBluePrintNodeName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object getEqualityValue(
+            Map<XSQLColumn, List<XSQLCriteria>> tableCriteria, String columnName) {
+        for (Map.Entry<XSQLColumn, List<XSQLCriteria>> cc : tableCriteria
+                .entrySet()) {
+            if (!cc.getKey().getName().equals(columnName)) {
+                continue;
+            }
+            for (XSQLCriteria c : cc.getValue()) {
+                Object value = c.getEqualityValue();
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+
     public void execute(JDBCResultSet rs) {
         if(this.domDataBroker==null){
             rs.setFinished(true);
             return;
         }
         List<XSQLBluePrintNode> tables = rs.getTables();
-        List<Object> roots = collectModuleRoots(tables.get(0),LogicalDatastoreType.OPERATIONAL);
-        roots.addAll(collectModuleRoots(tables.get(0),LogicalDatastoreType.CONFIGURATION));
+        List<Object> roots = collectKeyedEntryRoots(rs);
+        if (roots == null) {
+            roots = collectModuleRoots(tables.get(0),LogicalDatastoreType.OPERATIONAL);
+            roots.addAll(collectModuleRoots(tables.get(0),LogicalDatastoreType.CONFIGURATION));
+        }
         if(roots.isEmpty()){
             rs.setFinished(true);
         }
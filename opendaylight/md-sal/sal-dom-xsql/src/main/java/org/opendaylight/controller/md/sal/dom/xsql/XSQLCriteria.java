@@ -2,7 +2,9 @@ package org.opendaylight.controller.md.sal.dom.xsql;
 
 import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class XSQLCriteria implements Serializable {
@@ -37,6 +39,9 @@ public class XSQLCriteria implements Serializable {
 
     private static final Map<Class<?>, Map<String, Method>> methodCache =
         new ConcurrentHashMap<Class<?>, Map<String, Method>>();
+    // Properties known not to exist on a class, avoids scanning all methods again for every row
+    private static final Map<Class<?>, Set<String>> missingMethodCache =
+        new ConcurrentHashMap<Class<?>, Set<String>>();
 
     public XSQLCriteria(final String data, final int parentOperation) {
         criteria = data;
@@ -122,6 +127,10 @@ public class XSQLCriteria implements Serializable {
 
             Method m = cache.get(propertyName);
             if (m == null) {
+                Set<String> missing = missingMethodCache.get(element.getClass());
+                if (missing != null && missing.contains(propertyName)) {
+                    return null;
+                }
                 Method methods[] = element.getClass().getMethods();
                 for (Method mm : methods) {
                     if (mm.getName().equals(propertyName) || mm.getName()
@@ -137,6 +146,12 @@ public class XSQLCriteria implements Serializable {
 
             Object value = null;
             if (m == null) {
+                Set<String> missing = missingMethodCache.get(element.getClass());
+                if (missing == null) {
+                    missing = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+                    missingMethodCache.put(element.getClass(), missing);
+                }
+                missing.add(propertyName);
                 return null;
             }
             if (m.getParameterTypes() == null
@@ -318,6 +333,23 @@ public class XSQLCriteria implements Serializable {
         return criteria;
     }
 
+    /**
+     * @return the value a property has to be equal to for this criteria to
+     *         hold, or null if this is not a single equality
+     */
+    public Object getEqualityValue() {
+        if (operation != OP_CODE_EQUAL || left != null || right != null) {
+            return null;
+        }
+        if ("?".equals(leftValue) && rightValue != null && !"?".equals(rightValue)) {
+            return rightValue;
+        }
+        if ("?".equals(rightValue) && leftValue != null && !"?".equals(leftValue)) {
+            return leftValue;
+        }
+        return null;
+    }
+
     public String getCriteriaForProperty(XSQLColumn col) {
         StringBuffer result = new StringBuffer();
         if (criteria == null) {
@@ -1,21 +1,33 @@
 package org.opendaylight.controller.md.sal.dom.xsql;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.math.BigInteger;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.opendaylight.yangtools.yang.model.api.Status;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.util.EnumerationType;
+import org.opendaylight.yangtools.yang.model.util.Int16;
+import org.opendaylight.yangtools.yang.model.util.Int32;
+import org.opendaylight.yangtools.yang.model.util.Int64;
+import org.opendaylight.yangtools.yang.model.util.Int8;
+import org.opendaylight.yangtools.yang.model.util.StringType;
 import org.opendaylight.yangtools.yang.model.util.Uint16;
 import org.opendaylight.yangtools.yang.model.util.Uint32;
 import org.opendaylight.yangtools.yang.model.util.Uint64;
@@ -150,38 +162,92 @@ public class XSQLODLUtils {
         }
     }
 
-    public static Map<String, Field> refFieldsCache =
-        new HashMap<String, Field>();
+    public static Map<Class<?>, Map<String, Field>> refFieldsCache =
+        new ConcurrentHashMap<Class<?>, Map<String, Field>>();
+    // Fields known not to exist, so a miss does not cost an exception per row
+    private static Map<Class<?>, Set<String>> missingFieldsCache =
+        new ConcurrentHashMap<Class<?>, Set<String>>();
 
     public static Field findField(Class<?> c, String name) {
         if (c == null) {
             return null;
         }
-        String cacheKey = c.getName() + name;
-        Field f = refFieldsCache.get(cacheKey);
-        if (f != null) {
-            return f;
+        Map<String, Field> fields = refFieldsCache.get(c);
+        if (fields != null) {
+            Field f = fields.get(name);
+            if (f != null) {
+                return f;
+            }
+        }
+        Set<String> missing = missingFieldsCache.get(c);
+        if (missing != null && missing.contains(name)) {
+            return null;
         }
 
+        Field f = null;
         try {
             f = c.getDeclaredField(name);
             f.setAccessible(true);
-            refFieldsCache.put(cacheKey, f);
-            return f;
         } catch (Exception err) {
+            f = findField(c.getSuperclass(), name);
         }
 
-        Class<?> s = c.getSuperclass();
-        if (s != null) {
-            f = findField(s, name);
-            if (f != null) {
-                refFieldsCache.put(cacheKey, f);
+        if (f != null) {
+            if (fields == null) {
+                fields = new ConcurrentHashMap<String, Field>();
+                refFieldsCache.put(c, fields);
+            }
+            fields.put(name, f);
+        } else {
+            if (missing == null) {
+                missing = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+                missingFieldsCache.put(c, missing);
             }
-            return f;
+            missing.add(name);
         }
-        return null;
+        return f;
     }
 
+    private static Map<Class<?>, Map<String, Method>> refMethodsCache =
+        new ConcurrentHashMap<Class<?>, Map<String, Method>>();
+    private static Map<Class<?>, Set<String>> missingMethodsCache =
+        new ConcurrentHashMap<Class<?>, Set<String>>();
+
+    /**
+     * Resolves public method without arguments, the result is cached so
+     * per row evaluation does not repeat the reflection lookup.
+     */
+    public static Method findMethod(Class<?> c, String name) {
+        Map<String, Method> methods = refMethodsCache.get(c);
+        if (methods != null) {
+            Method m = methods.get(name);
+            if (m != null) {
+                return m;
+            }
+        }
+        Set<String> missing = missingMethodsCache.get(c);
+        if (missing != null && missing.contains(name)) {
+            return null;
+        }
+
+        Method m = null;
+        try {
+            m = c.getMethod(name);
+        } catch (NoSuchMethodException err) {
+            if (missing == null) {
+                missing = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+                missingMethodsCache.put(c, missing);
+            }
+            missing.add(name);
+            return null;
+        }
+        if (methods == null) {
+            methods = new ConcurrentHashMap<String, Method>();
+            refMethodsCache.put(c, methods);
+        }
+        methods.put(name, m);
+        return m;
+    }
 
     public static Object get(Object o, String name) {
         try {
@@ -243,4 +309,39 @@ public class XSQLODLUtils {
         return String.class;
     }
 
+    /**
+     * Converts a value given in a query to the value the data tree holds for
+     * the leaf.
+     *
+     * @return the converted value, or null if the leaf type is not a string,
+     *         an enumeration or an integer, or if the value does not parse
+     */
+    public static Object getLeafValue(Object odlNode, String value) {
+        if (!(odlNode instanceof LeafSchemaNode) || value == null) {
+            return null;
+        }
+        TypeDefinition<?> type = ((LeafSchemaNode) odlNode).getType();
+        while (type.getBaseType() != null && type.getBaseType() != type) {
+            type = type.getBaseType();
+        }
+        try {
+            if (type instanceof StringType || type instanceof EnumerationType) {
+                return value;
+            } else if (type instanceof Int8) {
+                return Byte.valueOf(value);
+            } else if (type instanceof Int16 || type instanceof Uint8) {
+                return Short.valueOf(value);
+            } else if (type instanceof Int32 || type instanceof Uint16) {
+                return Integer.valueOf(value);
+            } else if (type instanceof Int64 || type instanceof Uint32) {
+                return Long.valueOf(value);
+            } else if (type instanceof Uint64) {
+                return new BigInteger(value);
+            }
+        } catch (NumberFormatException err) {
+            return null;
+        }
+        return null;
+    }
+
 }
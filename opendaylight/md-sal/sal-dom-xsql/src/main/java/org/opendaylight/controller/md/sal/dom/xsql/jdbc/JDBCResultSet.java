@@ -215,10 +215,13 @@ public class JDBCResultSet implements Serializable, ResultSet,
             Object element = hierarchy.get(i);
             for (XSQLColumn c : fieldsInQuery) {
                 if (c.getTableName().equals(element.getClass().getSimpleName())) {
+                    Method m = XSQLODLUtils.findMethod(element.getClass(), c.getName());
+                    if (m == null) {
+                        // Known miss, the column is not a property of this element
+                        continue;
+                    }
                     try {
-                        Method m = element.getClass().getMethod(c.getName(),
-                                null);
-                        Object value = m.invoke(element, null);
+                        Object value = m.invoke(element);
                         rec.put(c.getName(), value);
                     } catch (Exception err) {
                         err.printStackTrace();
@@ -270,9 +273,13 @@ public class JDBCResultSet implements Serializable, ResultSet,
         Map<String, Object> rec = new HashMap<>();
         for (XSQLColumn c : this.fieldsInQuery) {
             if (c.getTableName().equals(node.getBluePrintNodeName())) {
+                Method m = XSQLODLUtils.findMethod(node.getInterface(), c.getName());
+                if (m == null) {
+                    // Known miss, the column is not a property of this node
+                    continue;
+                }
                 try {
-                    Method m = node.getInterface().getMethod(c.getName(), null);
-                    Object value = m.invoke(data, null);
+                    Object value = m.invoke(data);
                     if (value != null) {
                         rec.put(c.getName(), value);
                     } else {
@@ -0,0 +1,85 @@
+package org.opendaylight.xsql.test;
+
+import java.lang.reflect.Field;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.xsql.XSQLCriteria;
+import org.opendaylight.controller.md.sal.dom.xsql.XSQLODLUtils;
+
+/**
+ * Checks that the cached accessors resolve the same values as the plain
+ * reflection calls they replace, on the first and on the cached lookup.
+ */
+public class XSQLAccessorTest {
+
+    public static class BaseBean {
+        private String inherited = "inherited";
+
+        public boolean isActive() {
+            return true;
+        }
+    }
+
+    public static class Bean extends BaseBean {
+        private Integer count = Integer.valueOf(3);
+
+        public String getName() {
+            return "bean";
+        }
+
+        public Integer getCount() {
+            return count;
+        }
+    }
+
+    @Test
+    public void testCriteriaValueMatchesMethodInvoke() throws Exception {
+        Bean bean = new Bean();
+        for (int i = 0; i < 2; i++) {
+            Assert.assertEquals(Bean.class.getMethod("getName").invoke(bean),
+                    XSQLCriteria.getValue(bean, "Name"));
+            Assert.assertEquals(Bean.class.getMethod("getCount").invoke(bean),
+                    XSQLCriteria.getValue(bean, "Count"));
+            Assert.assertEquals(Bean.class.getMethod("isActive").invoke(bean),
+                    XSQLCriteria.getValue(bean, "Active"));
+            Assert.assertNull(XSQLCriteria.getValue(bean, "Missing"));
+        }
+    }
+
+    @Test
+    public void testFindFieldMatchesDeclaredField() throws Exception {
+        Bean bean = new Bean();
+        Field count = Bean.class.getDeclaredField("count");
+        count.setAccessible(true);
+        Field inherited = BaseBean.class.getDeclaredField("inherited");
+        inherited.setAccessible(true);
+        for (int i = 0; i < 2; i++) {
+            Assert.assertEquals(count, XSQLODLUtils.findField(Bean.class, "count"));
+            Assert.assertEquals(inherited, XSQLODLUtils.findField(Bean.class, "inherited"));
+            Assert.assertEquals(count.get(bean), XSQLODLUtils.get(bean, "count"));
+            Assert.assertEquals(inherited.get(bean), XSQLODLUtils.get(bean, "inherited"));
+            Assert.assertNull(XSQLODLUtils.findField(Bean.class, "missing"));
+        }
+    }
+
+    @Test
+    public void testFindMethodMatchesGetMethod() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            Assert.assertEquals(Bean.class.getMethod("getName"),
+                    XSQLODLUtils.findMethod(Bean.class, "getName"));
+            Assert.assertEquals(Bean.class.getMethod("isActive"),
+                    XSQLODLUtils.findMethod(Bean.class, "isActive"));
+            Assert.assertNull(XSQLODLUtils.findMethod(Bean.class, "getMissing"));
+        }
+    }
+
+    @Test
+    public void testEqualityValue() {
+        Assert.assertEquals("openflow:1", new XSQLCriteria("? = 'openflow:1'", -1).getEqualityValue());
+        Assert.assertEquals("openflow:1", new XSQLCriteria("'openflow:1' = ?", -1).getEqualityValue());
+        Assert.assertNull(new XSQLCriteria("? != 'openflow:1'", -1).getEqualityValue());
+        Assert.assertNull(new XSQLCriteria("? like 'openflow'", -1).getEqualityValue());
+        Assert.assertNull(new XSQLCriteria("? = 'openflow:1' or ? = 'openflow:2'", -1).getEqualityValue());
+    }
+}
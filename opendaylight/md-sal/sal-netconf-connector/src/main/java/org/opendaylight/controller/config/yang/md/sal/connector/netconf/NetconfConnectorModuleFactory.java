@@ -12,6 +12,7 @@ import java.io.File;
 import org.opendaylight.controller.config.api.DependencyResolver;
 import org.opendaylight.controller.config.api.DynamicMBeanWithInstance;
 import org.opendaylight.controller.config.spi.Module;
+import org.opendaylight.controller.sal.connect.netconf.schema.CachingSchemaContextFactory;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaContextFactory;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceFilter;
 import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
@@ -29,8 +30,9 @@ public class NetconfConnectorModuleFactory extends
     // TODO this should be injected
     // Netconf devices have separated schema registry + factory from controller
     private final SharedSchemaRepository repository = new SharedSchemaRepository(NAME);
+    // Devices with identical module sets share a single schema context
     private final SchemaContextFactory schemaContextFactory
-            = repository.createSchemaContextFactory(SchemaSourceFilter.ALWAYS_ACCEPT);
+            = new CachingSchemaContextFactory(repository.createSchemaContextFactory(SchemaSourceFilter.ALWAYS_ACCEPT));
 
     public NetconfConnectorModuleFactory() {
         // Start cache and Text to AST transformer
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.sal.connect.netconf.schema;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.opendaylight.yangtools.util.concurrent.ExceptionMapper;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaContextFactory;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaResolutionException;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Schema context factory sharing built schema contexts between netconf devices.
+ * <p>
+ * Contexts are keyed by the exact set of required sources, so devices reporting the same modules
+ * (in any order) end up with the same SchemaContext instance. Concurrent requests for the same set
+ * are collapsed into a single build. Built contexts are only weakly reachable from the cache,
+ * they are released once no mounted device references them. Failed builds are never cached.
+ */
+public final class CachingSchemaContextFactory implements SchemaContextFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingSchemaContextFactory.class);
+
+    private static final ExceptionMapper<SchemaResolutionException> MAPPER = new ExceptionMapper<SchemaResolutionException>(
+            "schemaContextBuild", SchemaResolutionException.class) {
+        @Override
+        protected SchemaResolutionException newWithCause(final String s, final Throwable throwable) {
+            return new SchemaResolutionException(s, throwable);
+        }
+    };
+
+    private final SchemaContextFactory delegate;
+    private final Cache<Set<SourceIdentifier>, SchemaContext> contexts = CacheBuilder.newBuilder().weakValues().build();
+    private final ConcurrentMap<Set<SourceIdentifier>, CheckedFuture<SchemaContext, SchemaResolutionException>> inFlight =
+            new ConcurrentHashMap<>();
+
+    public CachingSchemaContextFactory(final SchemaContextFactory delegate) {
+        this.delegate = Preconditions.checkNotNull(delegate);
+    }
+
+    @Override
+    public CheckedFuture<SchemaContext, SchemaResolutionException> createSchemaContext(final Collection<SourceIdentifier> requiredSources) {
+        final Set<SourceIdentifier> key = ImmutableSet.copyOf(requiredSources);
+
+        final SchemaContext cached = contexts.getIfPresent(key);
+        if (cached != null) {
+            logger.trace("Reusing cached schema context for {}", key);
+            return Futures.immediateCheckedFuture(cached);
+        }
+
+        final SettableFuture<SchemaContext> settable = SettableFuture.create();
+        final CheckedFuture<SchemaContext, SchemaResolutionException> future = Futures.makeChecked(settable, MAPPER);
+        final CheckedFuture<SchemaContext, SchemaResolutionException> pending = inFlight.putIfAbsent(key, future);
+        if (pending != null) {
+            logger.trace("Schema context for {} is already being built, waiting for it", key);
+            return pending;
+        }
+
+        // Context might have been published between the cache lookup and in-flight registration
+        final SchemaContext published = contexts.getIfPresent(key);
+        if (published != null) {
+            inFlight.remove(key, future);
+            settable.set(published);
+            return future;
+        }
+
+        Futures.addCallback(delegate.createSchemaContext(key), new FutureCallback<SchemaContext>() {
+            @Override
+            public void onSuccess(final SchemaContext result) {
+                contexts.put(key, result);
+                inFlight.remove(key, future);
+                settable.set(result);
+            }
+
+            @Override
+            public void onFailure(final Throwable t) {
+                inFlight.remove(key, future);
+                settable.setException(t);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * @return number of schema contexts currently shared by mounted devices
+     */
+    public long getCachedContextCount() {
+        contexts.cleanUp();
+        return contexts.size();
+    }
+}
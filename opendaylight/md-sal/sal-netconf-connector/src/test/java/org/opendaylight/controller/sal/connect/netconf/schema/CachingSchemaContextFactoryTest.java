@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.sal.connect.netconf.schema;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.Arrays;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaContextFactory;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaResolutionException;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+
+public class CachingSchemaContextFactoryTest {
+
+    private static final SourceIdentifier SOURCE_A = new SourceIdentifier("module-a", Optional.of("2014-01-01"));
+    private static final SourceIdentifier SOURCE_B = new SourceIdentifier("module-b", Optional.of("2014-01-01"));
+
+    private SchemaContextFactory delegate;
+    private SchemaContext schemaContext;
+    private CachingSchemaContextFactory factory;
+
+    @Before
+    public void setUp() throws Exception {
+        delegate = mock(SchemaContextFactory.class);
+        schemaContext = mock(SchemaContext.class);
+        factory = new CachingSchemaContextFactory(delegate);
+    }
+
+    @Test
+    public void testSameModuleSetIsBuiltOnce() throws Exception {
+        doReturn(Futures.immediateCheckedFuture(schemaContext)).when(delegate).createSchemaContext(anyCollectionOf(SourceIdentifier.class));
+
+        final SchemaContext first = factory.createSchemaContext(Arrays.asList(SOURCE_A, SOURCE_B)).checkedGet();
+        final SchemaContext second = factory.createSchemaContext(Arrays.asList(SOURCE_B, SOURCE_A)).checkedGet();
+
+        assertSame(schemaContext, first);
+        assertSame(first, second);
+        verify(delegate, times(1)).createSchemaContext(anyCollectionOf(SourceIdentifier.class));
+    }
+
+    @Test
+    public void testConcurrentRequestsShareBuild() throws Exception {
+        final SettableFuture<SchemaContext> build = SettableFuture.create();
+        doReturn(Futures.makeChecked(build, new Function<Exception, SchemaResolutionException>() {
+            @Override
+            public SchemaResolutionException apply(final Exception input) {
+                return new SchemaResolutionException("fail", input);
+            }
+        })).when(delegate).createSchemaContext(anyCollectionOf(SourceIdentifier.class));
+
+        final CheckedFuture<SchemaContext, SchemaResolutionException> first = factory.createSchemaContext(Arrays.asList(SOURCE_A));
+        final CheckedFuture<SchemaContext, SchemaResolutionException> second = factory.createSchemaContext(Arrays.asList(SOURCE_A));
+        assertFalse(first.isDone());
+        assertSame(first, second);
+
+        build.set(schemaContext);
+        assertTrue(second.isDone());
+        assertSame(schemaContext, second.checkedGet());
+        verify(delegate, times(1)).createSchemaContext(anyCollectionOf(SourceIdentifier.class));
+    }
+
+    @Test
+    public void testFailureIsNotCached() throws Exception {
+        final SchemaResolutionException failure = new SchemaResolutionException("fail");
+        doReturn(Futures.immediateFailedCheckedFuture(failure)).when(delegate).createSchemaContext(anyCollectionOf(SourceIdentifier.class));
+
+        try {
+            factory.createSchemaContext(Arrays.asList(SOURCE_A)).checkedGet();
+            fail("Schema context build should have failed");
+        } catch (final SchemaResolutionException e) {
+            assertSame(failure, e);
+        }
+
+        doReturn(Futures.immediateCheckedFuture(schemaContext)).when(delegate).createSchemaContext(anyCollectionOf(SourceIdentifier.class));
+        assertSame(schemaContext, factory.createSchemaContext(Arrays.asList(SOURCE_A)).checkedGet());
+        verify(delegate, times(2)).createSchemaContext(anyCollectionOf(SourceIdentifier.class));
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.sal.rest.impl;
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+
+/**
+ * Stream writer which forwards only events up to the requested depth to its delegate.
+ * <p>
+ * This is used to serve the restconf depth query parameter straight from the datastore tree, without building
+ * a pruned copy of it. Levels are counted as {@link org.opendaylight.controller.sal.restconf.impl.NormalizedDataPrunner}
+ * counts them: the first level is the requested node itself, containers and list entries count as one level each,
+ * a list shares the level of its entries and leaves are written with their parent. Choices and augmentations count
+ * as one level, but their children are always written.
+ */
+class DepthAwareNormalizedNodeStreamWriter implements NormalizedNodeStreamWriter {
+
+    // Depth available to the children of a node whose children are not written
+    private static final int CHILDREN_SKIPPED = Integer.MIN_VALUE;
+
+    private final NormalizedNodeStreamWriter delegate;
+    // For each forwarded open node, the depth available to its children
+    private final Deque<Integer> openNodes = new ArrayDeque<>();
+    // Number of open nodes being skipped, since the first one out of depth
+    private int skippedNodes = 0;
+
+    private DepthAwareNormalizedNodeStreamWriter(final NormalizedNodeStreamWriter delegate, final int childDepth) {
+        this.delegate = Preconditions.checkNotNull(delegate);
+        openNodes.push(childDepth);
+    }
+
+    static NormalizedNodeStreamWriter forStreamWriter(final NormalizedNodeStreamWriter delegate, final Integer depth) {
+        if (depth == null) {
+            return delegate;
+        }
+        Preconditions.checkArgument(depth > 0, "Depth has to be > 0, was %s", depth);
+        return new DepthAwareNormalizedNodeStreamWriter(delegate, depth);
+    }
+
+    /**
+     * Returns writer for the children of the data root. The data root itself is not written, but it is the first
+     * level.
+     */
+    static NormalizedNodeStreamWriter forDataRootStreamWriter(final NormalizedNodeStreamWriter delegate,
+            final Integer depth) {
+        if (depth == null) {
+            return delegate;
+        }
+        Preconditions.checkArgument(depth > 0, "Depth has to be > 0, was %s", depth);
+        return new DepthAwareNormalizedNodeStreamWriter(delegate, containerChildDepth(depth));
+    }
+
+    private static int containerChildDepth(final int depth) {
+        return depth > 1 ? depth - 1 : CHILDREN_SKIPPED;
+    }
+
+    private boolean isWithinDepth() {
+        return skippedNodes == 0 && openNodes.peek() != CHILDREN_SKIPPED;
+    }
+
+    /**
+     * Record start of a container or list entry, returns true if the start event should be forwarded to delegate
+     */
+    private boolean enterContainer() {
+        if (!isWithinDepth()) {
+            skippedNodes++;
+            return false;
+        }
+        openNodes.push(containerChildDepth(openNodes.peek()));
+        return true;
+    }
+
+    /**
+     * Record start of a list, returns true if the start event should be forwarded to delegate
+     */
+    private boolean enterList() {
+        if (!isWithinDepth()) {
+            skippedNodes++;
+            return false;
+        }
+        final int depth = openNodes.peek();
+        // the entries are written on the level of the list, with their children one level deeper
+        openNodes.push(depth > 1 ? depth : CHILDREN_SKIPPED);
+        return true;
+    }
+
+    /**
+     * Record start of a list entry, returns true if the start event should be forwarded to delegate
+     */
+    private boolean enterListEntry() {
+        if (!isWithinDepth()) {
+            skippedNodes++;
+            return false;
+        }
+        openNodes.push(openNodes.peek() - 1);
+        return true;
+    }
+
+    /**
+     * Record start of a choice, augmentation or leaf-list, returns true if the start event should be forwarded to
+     * delegate
+     */
+    private boolean enterMixin(final boolean countsAsLevel) {
+        if (!isWithinDepth()) {
+            skippedNodes++;
+            return false;
+        }
+        final int depth = openNodes.peek();
+        openNodes.push(countsAsLevel ? depth - 1 : depth);
+        return true;
+    }
+
+    @Override
+    public void leafNode(final YangInstanceIdentifier.NodeIdentifier name, final Object value) throws IOException, IllegalArgumentException {
+        if (isWithinDepth()) {
+            delegate.leafNode(name, value);
+        }
+    }
+
+    @Override
+    public void startLeafSet(final YangInstanceIdentifier.NodeIdentifier name, final int childSizeHint) throws IOException, IllegalArgumentException {
+        if (enterMixin(false)) {
+            delegate.startLeafSet(name, childSizeHint);
+        }
+    }
+
+    @Override
+    public void leafSetEntryNode(final Object value) throws IOException, IllegalArgumentException {
+        if (isWithinDepth()) {
+            delegate.leafSetEntryNode(value);
+        }
+    }
+
+    @Override
+    public void startContainerNode(final YangInstanceIdentifier.NodeIdentifier name, final int childSizeHint) throws IOException, IllegalArgumentException {
+        if (enterContainer()) {
+            delegate.startContainerNode(name, childSizeHint);
+        }
+    }
+
+    @Override
+    public void startUnkeyedList(final YangInstanceIdentifier.NodeIdentifier name, final int childSizeHint) throws IOException, IllegalArgumentException {
+        if (enterList()) {
+            delegate.startUnkeyedList(name, childSizeHint);
+        }
+    }
+
+    @Override
+    public void startUnkeyedListItem(final YangInstanceIdentifier.NodeIdentifier name, final int childSizeHint) throws IOException, IllegalStateException {
+        if (enterListEntry()) {
+            delegate.startUnkeyedListItem(name, childSizeHint);
+        }
+    }
+
+    @Override
+    public void startMapNode(final YangInstanceIdentifier.NodeIdentifier name, final int childSizeHint) throws IOException, IllegalArgumentException {
+        if (enterList()) {
+            delegate.startMapNode(name, childSizeHint);
+        }
+    }
+
+    @Override
+    public void startMapEntryNode(final YangInstanceIdentifier.NodeIdentifierWithPredicates identifier, final int childSizeHint) throws IOException, IllegalArgumentException {
+        if (enterListEntry()) {
+            delegate.startMapEntryNode(identifier, childSizeHint);
+        }
+    }
+
+    @Override
+    public void startOrderedMapNode(final YangInstanceIdentifier.NodeIdentifier name, final int childSizeHint) throws IOException, IllegalArgumentException {
+        if (enterList()) {
+            delegate.startOrderedMapNode(name, childSizeHint);
+        }
+    }
+
+    @Override
+    public void startChoiceNode(final YangInstanceIdentifier.NodeIdentifier name, final int childSizeHint) throws IOException, IllegalArgumentException {
+        if (enterMixin(true)) {
+            delegate.startChoiceNode(name, childSizeHint);
+        }
+    }
+
+    @Override
+    public void startAugmentationNode(final YangInstanceIdentifier.AugmentationIdentifier identifier) throws IOException, IllegalArgumentException {
+        if (enterMixin(true)) {
+            delegate.startAugmentationNode(identifier);
+        }
+    }
+
+    @Override
+    public void anyxmlNode(final YangInstanceIdentifier.NodeIdentifier name, final Object value) throws IOException, IllegalArgumentException {
+        if (isWithinDepth()) {
+            delegate.anyxmlNode(name, value);
+        }
+    }
+
+    @Override
+    public void endNode() throws IOException, IllegalStateException {
+        if (skippedNodes > 0) {
+            skippedNodes--;
+            return;
+        }
+        openNodes.pop();
+        delegate.endNode();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        delegate.flush();
+    }
+}
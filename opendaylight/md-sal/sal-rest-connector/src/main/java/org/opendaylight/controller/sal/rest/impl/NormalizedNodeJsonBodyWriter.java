@@ -81,7 +81,10 @@ public class NormalizedNodeJsonBodyWriter implements MessageBodyWriter<Normalize
             initialNs = schema.getQName().getNamespace();
         }
         NormalizedNodeStreamWriter jsonWriter = JSONNormalizedNodeStreamWriter.create(context.getSchemaContext(),path,initialNs,outputWriter);
-        NormalizedNodeWriter nnWriter = NormalizedNodeWriter.forStreamWriter(jsonWriter);
+        // the data root is not written itself, its children are written on the second level
+        NormalizedNodeWriter nnWriter = NormalizedNodeWriter.forStreamWriter(isDataRoot
+                ? DepthAwareNormalizedNodeStreamWriter.forDataRootStreamWriter(jsonWriter, t.getDepth())
+                : DepthAwareNormalizedNodeStreamWriter.forStreamWriter(jsonWriter, t.getDepth()));
         if(isDataRoot) {
             writeDataRoot(outputWriter,nnWriter,(ContainerNode) data);
         } else {
@@ -98,7 +98,10 @@ public class NormalizedNodeXmlBodyWriter implements MessageBodyWriter<Normalized
 
         NormalizedNodeStreamWriter jsonWriter = XMLStreamNormalizedNodeStreamWriter.create(xmlWriter,
                 pathContext.getSchemaContext(), schemaPath);
-        NormalizedNodeWriter nnWriter = NormalizedNodeWriter.forStreamWriter(jsonWriter);
+        // the data root is not written itself, its children are written on the second level
+        NormalizedNodeWriter nnWriter = NormalizedNodeWriter.forStreamWriter(isDataRoot
+                ? DepthAwareNormalizedNodeStreamWriter.forDataRootStreamWriter(jsonWriter, t.getDepth())
+                : DepthAwareNormalizedNodeStreamWriter.forStreamWriter(jsonWriter, t.getDepth()));
         if (isDataRoot) {
             writeRootElement(xmlWriter, nnWriter, (ContainerNode) data);
         } else {
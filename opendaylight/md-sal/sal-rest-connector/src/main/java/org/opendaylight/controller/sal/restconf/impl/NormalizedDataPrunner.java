@@ -33,7 +33,7 @@ import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNo
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeAttrBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
 
-class NormalizedDataPrunner {
+public class NormalizedDataPrunner {
 
     public DataContainerChild<?, ?> pruneDataAtDepth(final DataContainerChild<?, ?> node, final Integer depth) {
         if (depth == null) {
@@ -109,7 +109,7 @@ class NormalizedDataPrunner {
 
     private DataContainerChild<?, ?> processUnkeyedListNode(final NormalizedNode<?, ?> node, final Integer depth) {
         CollectionNodeBuilder<UnkeyedListEntryNode, UnkeyedListNode> newUnkeyedListBuilder = Builders
-                .unkeyedListBuilder();
+                .unkeyedListBuilder().withNodeIdentifier(((UnkeyedListNode) node).getIdentifier());
         if (depth > 1) {
             for (UnkeyedListEntryNode oldUnkeyedListEntry : ((UnkeyedListNode) node).getValue()) {
                 DataContainerNodeAttrBuilder<NodeIdentifier, UnkeyedListEntryNode> newUnkeyedListEntry = Builders
@@ -125,13 +125,15 @@ class NormalizedDataPrunner {
     }
 
     private DataContainerChild<?, ?> processOrderedMapNode(final NormalizedNode<?, ?> node, final Integer depth) {
-        CollectionNodeBuilder<MapEntryNode, OrderedMapNode> newOrderedMapNodeBuilder = Builders.orderedMapBuilder();
+        CollectionNodeBuilder<MapEntryNode, OrderedMapNode> newOrderedMapNodeBuilder = Builders.orderedMapBuilder()
+                .withNodeIdentifier(((OrderedMapNode) node).getIdentifier());
         processMapEntries(node, depth, newOrderedMapNodeBuilder);
         return newOrderedMapNodeBuilder.build();
     }
 
     private DataContainerChild<?, ?> processMapNode(final NormalizedNode<?, ?> node, final Integer depth) {
-        CollectionNodeBuilder<MapEntryNode, MapNode> newMapNodeBuilder = Builders.mapBuilder();
+        CollectionNodeBuilder<MapEntryNode, MapNode> newMapNodeBuilder = Builders.mapBuilder()
+                .withNodeIdentifier(((MapNode) node).getIdentifier());
         processMapEntries(node, depth, newMapNodeBuilder);
         return newMapNodeBuilder.build();
     }
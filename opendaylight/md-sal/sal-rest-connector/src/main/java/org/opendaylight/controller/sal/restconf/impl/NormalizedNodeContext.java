@@ -6,10 +6,19 @@ public class NormalizedNodeContext {
 
     private final InstanceIdentifierContext context;
     private final NormalizedNode<?,?> data;
+    private final Integer depth;
 
     public NormalizedNodeContext(InstanceIdentifierContext context, NormalizedNode<?, ?> data) {
+        this(context, data, null);
+    }
+
+    /**
+     * @param depth number of levels of data to be written out, null means unbounded
+     */
+    public NormalizedNodeContext(InstanceIdentifierContext context, NormalizedNode<?, ?> data, Integer depth) {
         this.context = context;
         this.data = data;
+        this.depth = depth;
     }
 
     public InstanceIdentifierContext getInstanceIdentifierContext() {
@@ -19,4 +28,8 @@ public class NormalizedNodeContext {
     public NormalizedNode<?, ?> getData() {
         return data;
     }
+
+    public Integer getDepth() {
+        return depth;
+    }
 }
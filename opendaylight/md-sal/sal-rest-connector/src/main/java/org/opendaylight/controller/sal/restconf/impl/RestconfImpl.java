@@ -657,7 +657,8 @@ public class RestconfImpl implements RestconfService {
             normalizedII = controllerContext.toNormalized(iiWithData.getInstanceIdentifier());
             data = broker.readConfigurationData(normalizedII);
         }
-        return new NormalizedNodeContext(iiWithData, data);
+        // depth is applied while the data are streamed out, no pruned copy of the tree is built
+        return new NormalizedNodeContext(iiWithData, data, parseDepthParameter(uriInfo));
     }
 
     @SuppressWarnings("unchecked")
@@ -717,7 +718,7 @@ public class RestconfImpl implements RestconfService {
             data = broker.readOperationalData(normalizedII);
         }
 
-        return new NormalizedNodeContext(iiWithData, data);
+        return new NormalizedNodeContext(iiWithData, data, parseDepthParameter(info));
     }
 
     private boolean parsePrettyPrintParameter(final UriInfo info) {
@@ -12,8 +12,11 @@ import com.google.common.base.Preconditions;
 import com.google.common.eventbus.AsyncEventBus;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.util.CharsetUtil;
 import io.netty.util.internal.ConcurrentSet;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStreamWriter;
@@ -99,6 +102,11 @@ public class ListenerAdapter implements DOMDataChangeListener {
     public void onDataChanged(final AsyncDataChangeEvent<YangInstanceIdentifier, NormalizedNode<?, ?>> change) {
         // TODO Auto-generated method stub
 
+        if (!hasSubscribers()) {
+            LOG.trace("No subscribers for stream {}, data change is not rendered", streamName);
+            return;
+        }
+
         if (!change.getCreatedData().isEmpty() || !change.getUpdatedData().isEmpty()
                 || !change.getRemovedPaths().isEmpty()) {
             final String xml = prepareXmlFrom(change);
@@ -123,14 +131,24 @@ public class ListenerAdapter implements DOMDataChangeListener {
                 subscribers.remove(event.getSubscriber());
                 Notificator.removeListenerIfNoSubscriberExists(ListenerAdapter.this);
             } else if (event.getType() == EventType.NOTIFY) {
-                for (final Channel subscriber : subscribers) {
-                    if (subscriber.isActive()) {
-                        LOG.debug("Data are sent to subscriber {}:", subscriber.remoteAddress());
-                        subscriber.writeAndFlush(new TextWebSocketFrame(event.getData()));
-                    } else {
-                        LOG.debug("Subscriber {} is removed - channel is not active yet.", subscriber.remoteAddress());
-                        subscribers.remove(subscriber);
+                // Encode the notification once and share the buffer among all subscribers
+                final ByteBuf data = Unpooled.copiedBuffer(event.getData(), CharsetUtil.UTF_8);
+                try {
+                    for (final Channel subscriber : subscribers) {
+                        if (!subscriber.isActive()) {
+                            LOG.debug("Subscriber {} is removed - channel is not active yet.", subscriber.remoteAddress());
+                            subscribers.remove(subscriber);
+                        } else if (!subscriber.isWritable()) {
+                            // Outbound buffer is above its high water mark, do not let a slow subscriber
+                            // accumulate an unbounded backlog
+                            LOG.debug("Subscriber {} is not keeping up, data change is dropped for it.", subscriber.remoteAddress());
+                        } else {
+                            LOG.debug("Data are sent to subscriber {}:", subscriber.remoteAddress());
+                            subscriber.writeAndFlush(new TextWebSocketFrame(data.duplicate().retain()));
+                        }
                     }
+                } finally {
+                    data.release();
                 }
             }
         }
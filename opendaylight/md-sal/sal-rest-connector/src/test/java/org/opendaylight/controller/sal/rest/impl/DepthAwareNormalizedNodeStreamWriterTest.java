@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.sal.rest.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.Sets;
+import java.io.IOException;
+import org.junit.Test;
+import org.opendaylight.controller.sal.restconf.impl.NormalizedDataPrunner;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeAttrBuilder;
+
+/**
+ * Compares the data written through {@link DepthAwareNormalizedNodeStreamWriter} with the data pruned by
+ * {@link NormalizedDataPrunner}.
+ */
+public class DepthAwareNormalizedNodeStreamWriterTest {
+
+    private static final String NAMESPACE = "urn:opendaylight:depth:test";
+    private static final String REVISION = "2014-12-16";
+
+    private static QName qname(final String localName) {
+        return QName.create(NAMESPACE, REVISION, localName);
+    }
+
+    private static NodeIdentifier id(final String localName) {
+        return new NodeIdentifier(qname(localName));
+    }
+
+    private static ContainerNode container(final String localName, final DataContainerChild<?, ?>... children) {
+        DataContainerNodeAttrBuilder<NodeIdentifier, ContainerNode> builder = Builders.containerBuilder()
+                .withNodeIdentifier(id(localName));
+        for (DataContainerChild<?, ?> child : children) {
+            builder.withChild(child);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Tree with containers, a keyed and an unkeyed list, a leaf-list, a choice and an augmentation, five levels deep
+     */
+    private static ContainerNode createTree() {
+        return Builders.containerBuilder().withNodeIdentifier(id("root"))
+                .withChild(ImmutableNodes.leafNode(qname("name"), "root"))
+                .withChild(container("cont", ImmutableNodes.leafNode(qname("a"), "a"),
+                        container("inner", ImmutableNodes.leafNode(qname("b"), "b"),
+                                container("innermost", ImmutableNodes.leafNode(qname("c"), "c")))))
+                .withChild(Builders.mapBuilder().withNodeIdentifier(id("list"))
+                        .withChild(ImmutableNodes.mapEntryBuilder(qname("list"), qname("id"), 1)
+                                .withChild(ImmutableNodes.leafNode(qname("id"), 1))
+                                .withChild(container("details", ImmutableNodes.leafNode(qname("d"), "d"),
+                                        container("more-details", ImmutableNodes.leafNode(qname("e"), "e"))))
+                                .build())
+                        .withChild(ImmutableNodes.mapEntryBuilder(qname("list"), qname("id"), 2)
+                                .withChild(ImmutableNodes.leafNode(qname("id"), 2))
+                                .build())
+                        .build())
+                .withChild(Builders.unkeyedListBuilder().withNodeIdentifier(id("unkeyed"))
+                        .withChild(Builders.unkeyedListEntryBuilder().withNodeIdentifier(id("unkeyed"))
+                                .withChild(ImmutableNodes.leafNode(qname("f"), "f"))
+                                .withChild(container("unkeyed-cont", ImmutableNodes.leafNode(qname("g"), "g")))
+                                .build())
+                        .build())
+                .withChild(Builders.leafSetBuilder().withNodeIdentifier(id("leaf-list"))
+                        .withChildValue("x").withChildValue("y").build())
+                .withChild(Builders.choiceBuilder().withNodeIdentifier(id("choice"))
+                        .withChild(ImmutableNodes.leafNode(qname("h"), "h"))
+                        .withChild(container("case-cont", ImmutableNodes.leafNode(qname("i"), "i"),
+                                container("case-inner", ImmutableNodes.leafNode(qname("j"), "j"))))
+                        .build())
+                .withChild(Builders.augmentationBuilder()
+                        .withNodeIdentifier(new AugmentationIdentifier(Sets.newHashSet(qname("k"), qname("aug-cont"))))
+                        .withChild(ImmutableNodes.leafNode(qname("k"), "k"))
+                        .withChild(container("aug-cont", ImmutableNodes.leafNode(qname("l"), "l"),
+                                container("aug-inner", ImmutableNodes.leafNode(qname("m"), "m"))))
+                        .build())
+                .build();
+    }
+
+    private static NormalizedNode<?, ?> writeAtDepth(final NormalizedNode<?, ?> data, final int depth)
+            throws IOException {
+        NormalizedNodeResult result = new NormalizedNodeResult();
+        NormalizedNodeWriter writer = NormalizedNodeWriter.forStreamWriter(
+                DepthAwareNormalizedNodeStreamWriter.forStreamWriter(ImmutableNormalizedNodeStreamWriter.from(result),
+                        depth));
+        writer.write(data);
+        writer.flush();
+        return result.getResult();
+    }
+
+    @Test
+    public void testWrittenDataMatchesPrunedData() throws IOException {
+        ContainerNode tree = createTree();
+        NormalizedDataPrunner prunner = new NormalizedDataPrunner();
+        for (int depth = 1; depth <= 3; depth++) {
+            assertEquals("Depth " + depth, prunner.pruneDataAtDepth(tree, depth), writeAtDepth(tree, depth));
+        }
+    }
+
+    @Test
+    public void testWrittenDataRootChildrenMatchPrunedDataRoot() throws IOException {
+        ContainerNode tree = createTree();
+        NormalizedDataPrunner prunner = new NormalizedDataPrunner();
+        for (int depth = 1; depth <= 3; depth++) {
+            ContainerNode pruned = (ContainerNode) prunner.pruneDataAtDepth(tree, depth);
+
+            // The body writers write the children of the data root without the root itself
+            NormalizedNodeResult result = new NormalizedNodeResult();
+            NormalizedNodeStreamWriter streamWriter = ImmutableNormalizedNodeStreamWriter.from(result);
+            streamWriter.startContainerNode(tree.getIdentifier(), tree.getValue().size());
+            NormalizedNodeWriter writer = NormalizedNodeWriter.forStreamWriter(
+                    DepthAwareNormalizedNodeStreamWriter.forDataRootStreamWriter(streamWriter, depth));
+            for (DataContainerChild<?, ?> child : tree.getValue()) {
+                writer.write(child);
+            }
+            streamWriter.endNode();
+            writer.flush();
+
+            assertEquals("Depth " + depth, pruned, result.getResult());
+        }
+    }
+
+    @Test
+    public void testNoDepthWritesWholeTree() throws IOException {
+        NormalizedNodeResult result = new NormalizedNodeResult();
+        NormalizedNodeStreamWriter delegate = ImmutableNormalizedNodeStreamWriter.from(result);
+
+        assertEquals(delegate, DepthAwareNormalizedNodeStreamWriter.forStreamWriter(delegate, null));
+        assertEquals(delegate, DepthAwareNormalizedNodeStreamWriter.forDataRootStreamWriter(delegate, null));
+    }
+}
@@ -10,12 +10,15 @@ package org.opendaylight.controller.netconf.persist.impl;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Collections2;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -92,50 +95,111 @@ public class ConfigPusherImpl implements ConfigPusher {
         this.queue.put(configs);
     }
 
-    private LinkedHashMap<? extends ConfigSnapshotHolder, EditAndCommitResponse> internalPushConfigs(List<? extends ConfigSnapshotHolder> configs) throws NetconfDocumentedException {
+    @VisibleForTesting
+    LinkedHashMap<? extends ConfigSnapshotHolder, EditAndCommitResponse> internalPushConfigs(List<? extends ConfigSnapshotHolder> configs) throws NetconfDocumentedException {
         LOG.debug("Last config snapshots to be pushed to netconf: {}", configs);
         LinkedHashMap<ConfigSnapshotHolder, EditAndCommitResponse> result = new LinkedHashMap<>();
-        // start pushing snapshots:
+        List<ConfigSnapshotHolder> remaining = new ArrayList<>(configs.size());
         for (ConfigSnapshotHolder configSnapshotHolder : configs) {
             if(configSnapshotHolder != null) {
-                EditAndCommitResponse editAndCommitResponseWithRetries = pushConfigWithConflictingVersionRetries(configSnapshotHolder);
-                LOG.debug("Config snapshot pushed successfully: {}, result: {}", configSnapshotHolder, result);
-                result.put(configSnapshotHolder, editAndCommitResponseWithRetries);
+                remaining.add(configSnapshotHolder);
             }
         }
+        // start pushing snapshots:
+        while (!remaining.isEmpty()) {
+            LinkedHashMap<ConfigSnapshotHolder, EditAndCommitResponse> pushed = pushConfigWithConflictingVersionRetries(remaining);
+            LOG.debug("Config snapshots pushed successfully: {}", pushed.keySet());
+            result.putAll(pushed);
+            // pushed snapshots are always the leading ones
+            remaining.subList(0, pushed.size()).clear();
+        }
         LOG.debug("All configuration snapshots have been pushed successfully.");
         return result;
     }
 
     /**
      * First calls {@link #getOperationServiceWithRetries(java.util.Set, String)} in order to wait until
-     * expected capabilities are present, then tries to push configuration. If {@link ConflictingVersionException}
-     * is caught, whole process is retried - new service instance need to be obtained from the factory. Closes
-     * {@link NetconfOperationService} after each use.
+     * capabilities expected by the first snapshot are present, then tries to push configuration. All following
+     * snapshots whose capabilities are present as well are pushed within the same transaction. If
+     * {@link ConflictingVersionException} is caught, whole process is retried - new service instance need to be
+     * obtained from the factory. Closes {@link NetconfOperationService} after each use.
+     * <p>
+     * A failure of any snapshot aborts the whole transaction, so if a group of snapshots fails to be pushed,
+     * the snapshots of the group are pushed again one at a time, see {@link #pushConfigsOneAtATime(java.util.List)}.
+     *
+     * @return snapshots pushed in a single transaction, at least the first one from configs
      */
-    private synchronized EditAndCommitResponse pushConfigWithConflictingVersionRetries(ConfigSnapshotHolder configSnapshotHolder) throws NetconfDocumentedException {
+    private synchronized LinkedHashMap<ConfigSnapshotHolder, EditAndCommitResponse> pushConfigWithConflictingVersionRetries(List<ConfigSnapshotHolder> configs) throws NetconfDocumentedException {
         ConflictingVersionException lastException;
         Stopwatch stopwatch = new Stopwatch();
+        ConfigSnapshotHolder configSnapshotHolder = configs.get(0);
         do {
             String idForReporting = configSnapshotHolder.toString();
-            SortedSet<String> expectedCapabilities = checkNotNull(configSnapshotHolder.getCapabilities(),
-                    "Expected capabilities must not be null - %s, check %s", idForReporting,
-                    configSnapshotHolder.getClass().getName());
+            SortedSet<String> expectedCapabilities = getExpectedCapabilities(configSnapshotHolder);
+            List<ConfigSnapshotHolder> pushable = null;
             try (NetconfOperationService operationService = getOperationServiceWithRetries(expectedCapabilities, idForReporting)) {
                 if(!stopwatch.isRunning()) {
                     stopwatch.start();
                 }
-                return pushConfig(configSnapshotHolder, operationService);
+                pushable = selectPushableConfigs(configs, operationService);
+                return pushConfigs(pushable, operationService);
             } catch (ConflictingVersionException e) {
+                if (pushable.size() > 1) {
+                    LOG.info("Conflicting version detected while pushing {} snapshots together, will push them one at a time",
+                            pushable.size());
+                    return pushConfigsOneAtATime(pushable);
+                }
                 lastException = e;
                 LOG.info("Conflicting version detected, will retry after timeout");
                 sleep();
+            } catch (RuntimeException e) {
+                if (pushable == null || pushable.size() == 1) {
+                    throw e;
+                }
+                LOG.warn("Failed to push snapshots {} together, will push them one at a time", pushable, e);
+                return pushConfigsOneAtATime(pushable);
             }
         } while (stopwatch.elapsed(TimeUnit.MILLISECONDS) < conflictingVersionTimeoutMillis);
         throw new IllegalStateException("Max wait for conflicting version stabilization timeout after " + stopwatch.elapsed(TimeUnit.MILLISECONDS) + " ms",
                 lastException);
     }
 
+    /**
+     * Pushes each of the snapshots in its own transaction, so that the first one which cannot be pushed
+     * does not prevent the ones before it from being committed.
+     *
+     * @return all snapshots from configs, unless one of them fails to be pushed
+     */
+    private LinkedHashMap<ConfigSnapshotHolder, EditAndCommitResponse> pushConfigsOneAtATime(List<ConfigSnapshotHolder> configs) throws NetconfDocumentedException {
+        LinkedHashMap<ConfigSnapshotHolder, EditAndCommitResponse> result = new LinkedHashMap<>();
+        for (ConfigSnapshotHolder configSnapshotHolder : configs) {
+            result.putAll(pushConfigWithConflictingVersionRetries(Collections.singletonList(configSnapshotHolder)));
+        }
+        return result;
+    }
+
+    private static SortedSet<String> getExpectedCapabilities(ConfigSnapshotHolder configSnapshotHolder) {
+        return checkNotNull(configSnapshotHolder.getCapabilities(),
+                "Expected capabilities must not be null - %s, check %s", configSnapshotHolder,
+                configSnapshotHolder.getClass().getName());
+    }
+
+    /**
+     * @return leading snapshots from configs whose capabilities are all provided by operationService. The first
+     * snapshot is always included, its capabilities were already checked.
+     */
+    private static List<ConfigSnapshotHolder> selectPushableConfigs(List<ConfigSnapshotHolder> configs, NetconfOperationService operationService) {
+        List<ConfigSnapshotHolder> pushable = new ArrayList<>(configs.size());
+        pushable.add(configs.get(0));
+        for (ConfigSnapshotHolder configSnapshotHolder : configs.subList(1, configs.size())) {
+            if (!computeNotFoundCapabilities(getExpectedCapabilities(configSnapshotHolder), operationService).isEmpty()) {
+                break;
+            }
+            pushable.add(configSnapshotHolder);
+        }
+        return pushable;
+    }
+
     private NetconfOperationService getOperationServiceWithRetries(Set<String> expectedCapabilities, String idForReporting) {
         Stopwatch stopwatch = new Stopwatch().start();
         NotEnoughCapabilitiesException lastException;
@@ -214,34 +278,45 @@ public class ConfigPusherImpl implements ConfigPusher {
     }
 
     /**
-     * Sends two RPCs to the netconf server: edit-config and commit.
+     * Sends RPCs to the netconf server: edit-config for each snapshot and a single commit.
      *
-     * @param configSnapshotHolder
+     * @param configSnapshotHolders snapshots to be pushed within one transaction
      * @throws ConflictingVersionException if commit fails on optimistic lock failure inside of config-manager
      * @throws java.lang.RuntimeException  if edit-config or commit fails otherwise
      */
-    private synchronized EditAndCommitResponse pushConfig(ConfigSnapshotHolder configSnapshotHolder, NetconfOperationService operationService)
+    private synchronized LinkedHashMap<ConfigSnapshotHolder, EditAndCommitResponse> pushConfigs(List<ConfigSnapshotHolder> configSnapshotHolders,
+                                                                                               NetconfOperationService operationService)
             throws ConflictingVersionException, NetconfDocumentedException {
 
-        Element xmlToBePersisted;
-        try {
-            xmlToBePersisted = XmlUtil.readXmlToElement(configSnapshotHolder.getConfigSnapshot());
-        } catch (SAXException | IOException e) {
-            throw new IllegalStateException("Cannot parse " + configSnapshotHolder);
-        }
-        LOG.trace("Pushing last configuration to netconf: {}", configSnapshotHolder);
+        LOG.trace("Pushing last configuration to netconf: {}", configSnapshotHolders);
         Stopwatch stopwatch = new Stopwatch().start();
-        NetconfMessage editConfigMessage = createEditConfigMessage(xmlToBePersisted);
+        LinkedHashMap<ConfigSnapshotHolder, Document> editResponseMessages = new LinkedHashMap<>();
+        for (ConfigSnapshotHolder configSnapshotHolder : configSnapshotHolders) {
+            Element xmlToBePersisted;
+            try {
+                xmlToBePersisted = XmlUtil.readXmlToElement(configSnapshotHolder.getConfigSnapshot());
+            } catch (SAXException | IOException e) {
+                throw new IllegalStateException("Cannot parse " + configSnapshotHolder, e);
+            }
+            NetconfMessage editConfigMessage = createEditConfigMessage(xmlToBePersisted);
 
-        Document editResponseMessage = sendRequestGetResponseCheckIsOK(editConfigMessage, operationService,
-                "edit-config", configSnapshotHolder.toString());
+            editResponseMessages.put(configSnapshotHolder, sendRequestGetResponseCheckIsOK(editConfigMessage, operationService,
+                    "edit-config", configSnapshotHolder.toString()));
+        }
 
         Document commitResponseMessage = sendRequestGetResponseCheckIsOK(getCommitMessage(), operationService,
-                "commit", configSnapshotHolder.toString());
+                "commit", configSnapshotHolders.toString());
+
+        LinkedHashMap<ConfigSnapshotHolder, EditAndCommitResponse> result = new LinkedHashMap<>();
+        for (Entry<ConfigSnapshotHolder, Document> editResponseMessage : editResponseMessages.entrySet()) {
+            result.put(editResponseMessage.getKey(), new EditAndCommitResponse(editResponseMessage.getValue(), commitResponseMessage));
+        }
 
         if (LOG.isTraceEnabled()) {
-            StringBuilder response = new StringBuilder("editConfig response = {");
-            response.append(XmlUtil.toString(editResponseMessage));
+            StringBuilder response = new StringBuilder("editConfig responses = {");
+            for (Document editResponseMessage : editResponseMessages.values()) {
+                response.append(XmlUtil.toString(editResponseMessage));
+            }
             response.append("}");
             response.append("commit response = {");
             response.append(XmlUtil.toString(commitResponseMessage));
@@ -250,7 +325,7 @@ public class ConfigPusherImpl implements ConfigPusher {
             LOG.trace("Detailed message {}", response);
             LOG.trace("Total time spent {} ms", stopwatch.elapsed(TimeUnit.MILLISECONDS));
         }
-        return new EditAndCommitResponse(editResponseMessage, commitResponseMessage);
+        return result;
     }
 
     private NetconfOperation findOperation(NetconfMessage request, NetconfOperationService operationService) throws NetconfDocumentedException {
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.netconf.persist.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.opendaylight.controller.config.api.ConflictingVersionException;
+import org.opendaylight.controller.config.persist.api.ConfigSnapshotHolder;
+import org.opendaylight.controller.config.persist.api.ConfigSnapshotHolderImpl;
+import org.opendaylight.controller.netconf.api.NetconfDocumentedException;
+import org.opendaylight.controller.netconf.api.xml.XmlNetconfConstants;
+import org.opendaylight.controller.netconf.mapping.api.Capability;
+import org.opendaylight.controller.netconf.mapping.api.HandlingPriority;
+import org.opendaylight.controller.netconf.mapping.api.NetconfOperation;
+import org.opendaylight.controller.netconf.mapping.api.NetconfOperationChainedExecution;
+import org.opendaylight.controller.netconf.mapping.api.NetconfOperationService;
+import org.opendaylight.controller.netconf.mapping.api.NetconfOperationServiceFactory;
+import org.opendaylight.controller.netconf.util.xml.XmlElement;
+import org.opendaylight.controller.netconf.util.xml.XmlUtil;
+import org.w3c.dom.Document;
+
+public class ConfigPusherImplTest {
+
+    private NetconfOperationServiceFactory serviceFactory;
+    private ConfigPusherImpl configPusher;
+
+    /**
+     * Modules of each commit, in the order of the commits
+     */
+    private List<List<String>> commits;
+    private Set<String> capabilities;
+    private boolean conflictOnGroupedCommit;
+
+    @Before
+    public void setUp() throws Exception {
+        commits = new ArrayList<>();
+        capabilities = Sets.newHashSet("cap1");
+        conflictOnGroupedCommit = false;
+
+        serviceFactory = mock(NetconfOperationServiceFactory.class);
+        doAnswer(new Answer<NetconfOperationService>() {
+            @Override
+            public NetconfOperationService answer(InvocationOnMock invocation) throws Throwable {
+                return getTransactionalService();
+            }
+        }).when(serviceFactory).createService(anyString());
+
+        configPusher = new ConfigPusherImpl(serviceFactory, 1000, 1000);
+    }
+
+    /**
+     * @return service with the current capabilities whose edit-config operations are committed together
+     */
+    private NetconfOperationService getTransactionalService() throws Exception {
+        NetconfOperationService service = mock(NetconfOperationService.class);
+        Set<Capability> serviceCapabilities = new HashSet<>();
+        for (String uri : capabilities) {
+            Capability capability = mock(Capability.class);
+            doReturn(uri).when(capability).getCapabilityUri();
+            serviceCapabilities.add(capability);
+        }
+        doReturn(serviceCapabilities).when(service).getCapabilities();
+
+        final List<String> candidate = new ArrayList<>();
+        NetconfOperation operation = mock(NetconfOperation.class);
+        doReturn(Sets.newHashSet(operation)).when(service).getNetconfOperations();
+        doReturn(HandlingPriority.getHandlingPriority(1)).when(operation).canHandle(any(Document.class));
+        doAnswer(new Answer<Document>() {
+            @Override
+            public Document answer(InvocationOnMock invocation) throws Throwable {
+                XmlElement rpc = XmlElement.fromDomDocument((Document) invocation.getArguments()[0]).getOnlyChildElement();
+                if (rpc.getName().equals(XmlNetconfConstants.COMMIT)) {
+                    if (conflictOnGroupedCommit && candidate.size() > 1) {
+                        throw NetconfDocumentedException.wrap(new ConflictingVersionException("Conflict on " + candidate));
+                    }
+                    commits.add(new ArrayList<>(candidate));
+                    return getOKDocument();
+                }
+                for (XmlElement module : rpc.getOnlyChildElement(XmlNetconfConstants.CONFIG_KEY).getChildElements()) {
+                    if (module.getName().equals("failing")) {
+                        throw new NetconfDocumentedException("Edit of " + module.getName() + " failed");
+                    }
+                    candidate.add(module.getName());
+                }
+                return getOKDocument();
+            }
+        }).when(operation).handle(any(Document.class), any(NetconfOperationChainedExecution.class));
+        doNothing().when(service).close();
+        return service;
+    }
+
+    private static Document getOKDocument() throws Exception {
+        return XmlUtil.readXmlToDocument(
+                "<rpc-reply message-id=\"1\" xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\">\n" +
+                        "<ok/>\n" +
+                        "</rpc-reply>"
+        );
+    }
+
+    private static ConfigSnapshotHolder snapshot(String module, String... capabilities) {
+        return new ConfigSnapshotHolderImpl("<data><" + module + "/></data>", Sets.newTreeSet(Arrays.asList(capabilities)),
+                module + ".xml");
+    }
+
+    private static List<String> modules(Iterable<? extends ConfigSnapshotHolder> snapshots) {
+        List<String> modules = new ArrayList<>();
+        for (ConfigSnapshotHolder snapshot : snapshots) {
+            modules.add(((ConfigSnapshotHolderImpl) snapshot).getFileName().replace(".xml", ""));
+        }
+        return modules;
+    }
+
+    @Test
+    public void testSnapshotsArePushedInSingleCommit() throws Exception {
+        List<ConfigSnapshotHolder> snapshots = Lists.newArrayList(snapshot("a", "cap1"), snapshot("b", "cap1"),
+                snapshot("c"));
+
+        assertEquals(Arrays.asList("a", "b", "c"), modules(configPusher.internalPushConfigs(snapshots).keySet()));
+        assertEquals(Arrays.asList(Arrays.asList("a", "b", "c")), commits);
+    }
+
+    @Test
+    public void testSnapshotWithMissingCapabilitiesStartsNextCommit() throws Exception {
+        doAnswer(new Answer<NetconfOperationService>() {
+            @Override
+            public NetconfOperationService answer(InvocationOnMock invocation) throws Throwable {
+                NetconfOperationService service = getTransactionalService();
+                // cap2 is provided starting with the second service
+                capabilities.add("cap2");
+                return service;
+            }
+        }).when(serviceFactory).createService(anyString());
+        List<ConfigSnapshotHolder> snapshots = Lists.newArrayList(snapshot("a", "cap1"), snapshot("b", "cap2"),
+                snapshot("c", "cap1"), snapshot("d", "cap1", "cap2"));
+
+        assertEquals(Arrays.asList("a", "b", "c", "d"),
+                modules(configPusher.internalPushConfigs(snapshots).keySet()));
+        assertEquals(Arrays.asList(Arrays.asList("a"), Arrays.asList("b", "c", "d")), commits);
+    }
+
+    @Test
+    public void testNullSnapshotsAreSkipped() throws Exception {
+        List<ConfigSnapshotHolder> snapshots = Lists.newArrayList(null, snapshot("a", "cap1"), null, snapshot("b"));
+
+        assertEquals(Arrays.asList("a", "b"), modules(configPusher.internalPushConfigs(snapshots).keySet()));
+        assertEquals(Arrays.asList(Arrays.asList("a", "b")), commits);
+    }
+
+    @Test
+    public void testUnparseableSnapshotCommitsPrecedingOnes() throws Exception {
+        ConfigSnapshotHolder unparseable = new ConfigSnapshotHolderImpl("<data>", Sets.<String>newTreeSet(), "c.xml");
+        List<ConfigSnapshotHolder> snapshots = Lists.newArrayList(snapshot("a"), snapshot("b"), unparseable,
+                snapshot("d"));
+
+        try {
+            configPusher.internalPushConfigs(snapshots);
+            fail("Unparseable snapshot should not be pushed");
+        } catch (IllegalStateException e) {
+            assertEquals("Cannot parse " + unparseable, e.getMessage());
+        }
+        assertEquals(Arrays.asList(Arrays.asList("a"), Arrays.asList("b")), commits);
+    }
+
+    @Test
+    public void testFailedEditCommitsPrecedingOnes() throws Exception {
+        List<ConfigSnapshotHolder> snapshots = Lists.newArrayList(snapshot("a"), snapshot("failing"), snapshot("c"));
+
+        try {
+            configPusher.internalPushConfigs(snapshots);
+            fail("Failing edit-config should not be committed");
+        } catch (IllegalStateException e) {
+            assertEquals(NetconfDocumentedException.class, e.getCause().getClass());
+        }
+        assertEquals(Arrays.asList(Arrays.asList("a")), commits);
+    }
+
+    @Test
+    public void testConflictingGroupIsPushedOneAtATime() throws Exception {
+        conflictOnGroupedCommit = true;
+        List<ConfigSnapshotHolder> snapshots = Lists.newArrayList(snapshot("a"), snapshot("b"), snapshot("c"));
+
+        assertEquals(Arrays.asList("a", "b", "c"), modules(configPusher.internalPushConfigs(snapshots).keySet()));
+        assertEquals(Arrays.asList(Arrays.asList("a"), Arrays.asList("b"), Arrays.asList("c")), commits);
+    }
+}
@@ -31,14 +31,6 @@ public class SubtreeFilter {
     private static final Logger LOG = LoggerFactory.getLogger(SubtreeFilter.class);
 
     static Document applySubtreeFilter(Document requestDocument, Document rpcReply) throws NetconfDocumentedException {
-        // FIXME: rpcReply document must be reread otherwise some nodes do not inherit namespaces. (services/service)
-        try {
-            rpcReply = XmlUtil.readXmlToDocument(XmlUtil.toString(rpcReply, true));
-        } catch (SAXException | IOException e) {
-            LOG.error("Cannot transform document", e);
-            throw new NetconfDocumentedException("Cannot transform document");
-        }
-
         OperationNameAndNamespace operationNameAndNamespace = new OperationNameAndNamespace(requestDocument);
         if (XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0.equals(operationNameAndNamespace.getNamespace()) &&
                 XmlNetconfConstants.GET.equals(operationNameAndNamespace.getOperationName()) ||
@@ -51,15 +43,24 @@ public class SubtreeFilter {
                     "subtree".equals(maybeFilter.get().getAttribute("type"))||
                             "subtree".equals(maybeFilter.get().getAttribute("type", XmlNetconfConstants.URN_IETF_PARAMS_XML_NS_NETCONF_BASE_1_0)))
             ) {
-
-
                 // do
-                return filtered(maybeFilter.get(), rpcReply);
+                return filtered(maybeFilter.get(), reread(rpcReply));
             }
         }
+        // no filtering requested, the reply is passed through without being serialized and parsed again
         return rpcReply; // return identical document
     }
 
+    private static Document reread(Document rpcReply) throws NetconfDocumentedException {
+        // FIXME: rpcReply document must be reread otherwise some nodes do not inherit namespaces. (services/service)
+        try {
+            return XmlUtil.readXmlToDocument(XmlUtil.toString(rpcReply, true));
+        } catch (SAXException | IOException e) {
+            LOG.error("Cannot transform document", e);
+            throw new NetconfDocumentedException("Cannot transform document");
+        }
+    }
+
     private static Document filtered(XmlElement filter, Document originalReplyDocument) throws NetconfDocumentedException {
         Document result = XmlUtil.newDocument();
         // even if filter is empty, copy /rpc/data
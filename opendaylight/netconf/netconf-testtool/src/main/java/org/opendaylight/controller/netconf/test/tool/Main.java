@@ -78,6 +78,27 @@ public final class Main {
         @Arg(dest = "debug")
         public boolean debug;
 
+        @Arg(dest = "thread-pool-size")
+        public int threadPoolSize;
+
+        @Arg(dest = "response-latency")
+        public long responseLatency;
+
+        @Arg(dest = "payload-size")
+        public int payloadSize;
+
+        @Arg(dest = "notification-rate")
+        public int notificationRate;
+
+        @Arg(dest = "measure")
+        public boolean measure;
+
+        @Arg(dest = "measure-only")
+        public boolean measureOnly;
+
+        @Arg(dest = "measure-rpc-count")
+        public int measureRpcCount;
+
         static ArgumentParser getParser() {
             final ArgumentParser parser = ArgumentParsers.newArgumentParser("netconf testool");
 
@@ -142,12 +163,62 @@ public final class Main {
                     .help("Whether to use debug log level instead of INFO")
                     .dest("debug");
 
+            parser.addArgument("--thread-pool-size")
+                    .type(Integer.class)
+                    .setDefault(0)
+                    .help("Size of netty event loop group and ssh thread pools shared by all simulated devices. " +
+                            "0 keeps the netty default of twice the number of cores and 8 ssh threads")
+                    .dest("thread-pool-size");
+
+            parser.addArgument("--response-latency")
+                    .type(Long.class)
+                    .setDefault(0L)
+                    .help("Delay in milliseconds added to every message sent by the simulated devices")
+                    .dest("response-latency");
+
+            parser.addArgument("--payload-size")
+                    .type(Integer.class)
+                    .setDefault(0)
+                    .help("Approximate size in bytes of generated operational data added to every get reply")
+                    .dest("payload-size");
+
+            parser.addArgument("--notification-rate")
+                    .type(Integer.class)
+                    .setDefault(0)
+                    .help("Number of notifications per second each simulated device sends to every connected session")
+                    .dest("notification-rate");
+
+            parser.addArgument("--measure")
+                    .type(Boolean.class)
+                    .setDefault(false)
+                    .help("Whether to connect a netconf client to every simulated device once started and report " +
+                            "session setup time, get latency percentiles and client heap usage")
+                    .dest("measure");
+
+            parser.addArgument("--measure-only")
+                    .type(Boolean.class)
+                    .setDefault(false)
+                    .help("Whether to only measure devices already simulated by another testtool process on the ports " +
+                            "given by starting-port and device-count, so the heap usage reported is the client's alone")
+                    .dest("measure-only");
+
+            parser.addArgument("--measure-rpc-count")
+                    .type(Integer.class)
+                    .setDefault(100)
+                    .help("Number of get rpcs sent to every device when measuring")
+                    .dest("measure-rpc-count");
+
             return parser;
         }
 
         void validate() {
             checkArgument(deviceCount > 0, "Device count has to be > 0");
             checkArgument(startingPort > 1023, "Starting port has to be > 1023");
+            checkArgument(threadPoolSize >= 0, "Thread pool size has to be >= 0");
+            checkArgument(responseLatency >= 0, "Response latency has to be >= 0");
+            checkArgument(payloadSize >= 0, "Payload size has to be >= 0");
+            checkArgument(notificationRate >= 0, "Notification rate has to be >= 0");
+            checkArgument(measureRpcCount > 0, "Measure rpc count has to be > 0");
 
             if(schemasDir != null) {
                 checkArgument(schemasDir.exists(), "Schemas dir has to exist");
@@ -164,7 +235,12 @@ public final class Main {
         final ch.qos.logback.classic.Logger root = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
         root.setLevel(params.debug ? Level.DEBUG : Level.INFO);
 
-        final NetconfDeviceSimulator netconfDeviceSimulator = new NetconfDeviceSimulator();
+        if(params.measureOnly) {
+            measure(params, getPorts(params));
+            return;
+        }
+
+        final NetconfDeviceSimulator netconfDeviceSimulator = new NetconfDeviceSimulator(params.threadPoolSize);
         try {
             final List<Integer> openDevices = netconfDeviceSimulator.start(params);
             if (openDevices.size() == 0) {
@@ -177,6 +253,9 @@ public final class Main {
                 configGenerator.updateFeatureFile(generated);
                 configGenerator.changeLoadOrder();
             }
+            if(params.measure) {
+                measure(params, openDevices);
+            }
         } catch (final Exception e) {
             LOG.error("Unhandled exception", e);
             netconfDeviceSimulator.close();
@@ -193,6 +272,22 @@ public final class Main {
         }
     }
 
+    private static List<Integer> getPorts(final Params params) {
+        final List<Integer> ports = Lists.newArrayList();
+        for (int i = 0; i < params.deviceCount; i++) {
+            ports.add(params.startingPort + i);
+        }
+        return ports;
+    }
+
+    private static void measure(final Params params, final List<Integer> ports) {
+        try (ScaleTestDriver driver = new ScaleTestDriver(params.ssh, params.measureRpcCount)) {
+            driver.run(ports);
+        } catch (final InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private static Params parseArgs(final String[] args, final ArgumentParser parser) {
         final Params opt = new Params();
         try {
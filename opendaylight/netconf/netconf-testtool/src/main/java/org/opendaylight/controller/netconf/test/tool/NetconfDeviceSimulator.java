@@ -12,6 +12,7 @@ import com.google.common.base.Charsets;
 import com.google.common.base.Function;
 import com.google.common.base.Objects;
 import com.google.common.base.Optional;
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -25,6 +26,8 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.local.LocalAddress;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.util.HashedWheelTimer;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.concurrent.ScheduledFuture;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
@@ -38,16 +41,19 @@ import java.net.UnknownHostException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.AbstractMap;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.tree.ParseTreeWalker;
 import org.apache.sshd.common.util.ThreadUtils;
@@ -58,6 +64,7 @@ import org.opendaylight.controller.netconf.api.monitoring.NetconfManagementSessi
 import org.opendaylight.controller.netconf.api.xml.XmlNetconfConstants;
 import org.opendaylight.controller.netconf.impl.DefaultCommitNotificationProducer;
 import org.opendaylight.controller.netconf.impl.NetconfServerDispatcher;
+import org.opendaylight.controller.netconf.impl.NetconfServerSession;
 import org.opendaylight.controller.netconf.impl.NetconfServerSessionNegotiatorFactory;
 import org.opendaylight.controller.netconf.impl.SessionIdProvider;
 import org.opendaylight.controller.netconf.impl.osgi.NetconfMonitoringServiceImpl;
@@ -88,6 +95,7 @@ import org.opendaylight.yangtools.yang.parser.util.ASTSchemaSource;
 import org.opendaylight.yangtools.yang.parser.util.TextToASTTransformer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.w3c.dom.Element;
 
 public class NetconfDeviceSimulator implements Closeable {
 
@@ -99,12 +107,31 @@ public class NetconfDeviceSimulator implements Closeable {
     private final List<SshProxyServer> sshWrappers = Lists.newArrayList();
     private final ScheduledExecutorService minaTimerExecutor;
     private final ExecutorService nioExecutor;
+    private final Set<NetconfServerSession> sessions = Collections.newSetFromMap(new ConcurrentHashMap<NetconfServerSession, Boolean>());
+    private ScheduledFuture<?> notificationTask;
+
+    private static final int DEFAULT_SSH_THREAD_POOL_SIZE = 8;
+
+    // Fine enough to inject response latencies in the order of tens of milliseconds
+    private static final long TIMER_TICK_MILLIS = 10;
 
     public NetconfDeviceSimulator() {
-        // TODO make pool size configurable
-        this(new NioEventLoopGroup(), new HashedWheelTimer(),
-                Executors.newScheduledThreadPool(8, new ThreadFactoryBuilder().setNameFormat("netconf-ssh-server-mina-timers-%d").build()),
-                ThreadUtils.newFixedThreadPool("netconf-ssh-server-nio-group", 8));
+        this(0);
+    }
+
+    /**
+     * @param threadPoolSize number of threads in netty event loop group and ssh pools, all simulated devices
+     *                       share these pools so large device counts do not translate into large thread counts.
+     *                       0 keeps the netty default for the event loop group and 8 threads for the ssh pools
+     */
+    public NetconfDeviceSimulator(final int threadPoolSize) {
+        this(new NioEventLoopGroup(threadPoolSize), new HashedWheelTimer(TIMER_TICK_MILLIS, TimeUnit.MILLISECONDS),
+                Executors.newScheduledThreadPool(sshThreadPoolSize(threadPoolSize), new ThreadFactoryBuilder().setNameFormat("netconf-ssh-server-mina-timers-%d").build()),
+                ThreadUtils.newFixedThreadPool("netconf-ssh-server-nio-group", sshThreadPoolSize(threadPoolSize)));
+    }
+
+    private static int sshThreadPoolSize(final int threadPoolSize) {
+        return threadPoolSize == 0 ? DEFAULT_SSH_THREAD_POOL_SIZE : threadPoolSize;
     }
 
     private NetconfDeviceSimulator(final NioEventLoopGroup eventExecutors, final HashedWheelTimer hashedWheelTimer, final ScheduledExecutorService minaTimerExecutor, final ExecutorService nioExecutor) {
@@ -114,7 +141,7 @@ public class NetconfDeviceSimulator implements Closeable {
         this.nioExecutor = nioExecutor;
     }
 
-    private NetconfServerDispatcher createDispatcher(final Map<ModuleBuilder, String> moduleBuilders, final boolean exi, final int generateConfigsTimeout) {
+    private NetconfServerDispatcher createDispatcher(final Map<ModuleBuilder, String> moduleBuilders, final Main.Params params) {
 
         final Set<Capability> capabilities = Sets.newHashSet(Collections2.transform(moduleBuilders.keySet(), new Function<ModuleBuilder, Capability>() {
             @Override
@@ -125,21 +152,37 @@ public class NetconfDeviceSimulator implements Closeable {
 
         final SessionIdProvider idProvider = new SessionIdProvider();
 
-        final SimulatedOperationProvider simulatedOperationProvider = new SimulatedOperationProvider(idProvider, capabilities);
+        final Optional<Element> payload = params.payloadSize == 0
+                ? Optional.<Element>absent() : Optional.of(PayloadGenerator.createPayload(params.payloadSize));
+
+        final SimulatedOperationProvider simulatedOperationProvider = new SimulatedOperationProvider(idProvider, capabilities, payload);
         final NetconfMonitoringOperationService monitoringService = new NetconfMonitoringOperationService(new NetconfMonitoringServiceImpl(simulatedOperationProvider));
         simulatedOperationProvider.addService(monitoringService);
 
         final DefaultCommitNotificationProducer commitNotifier = new DefaultCommitNotificationProducer(ManagementFactory.getPlatformMBeanServer());
 
-        final Set<String> serverCapabilities = exi
+        final Set<String> serverCapabilities = params.exi
                 ? NetconfServerSessionNegotiatorFactory.DEFAULT_BASE_CAPABILITIES
                 : Sets.newHashSet(XmlNetconfConstants.URN_IETF_PARAMS_NETCONF_BASE_1_0, XmlNetconfConstants.URN_IETF_PARAMS_NETCONF_BASE_1_1);
 
         final NetconfServerSessionNegotiatorFactory serverNegotiatorFactory = new NetconfServerSessionNegotiatorFactory(
-                hashedWheelTimer, simulatedOperationProvider, idProvider, generateConfigsTimeout, commitNotifier, new LoggingMonitoringService(), serverCapabilities);
+                hashedWheelTimer, simulatedOperationProvider, idProvider, params.generateConfigsTimeout, commitNotifier, new LoggingMonitoringService(), serverCapabilities);
 
-        final NetconfServerDispatcher.ServerChannelInitializer serverChannelInitializer = new NetconfServerDispatcher.ServerChannelInitializer(
-                serverNegotiatorFactory);
+        final NetconfServerDispatcher.ServerChannelInitializer serverChannelInitializer;
+        if(params.responseLatency == 0) {
+            serverChannelInitializer = new NetconfServerDispatcher.ServerChannelInitializer(serverNegotiatorFactory);
+        } else {
+            final long responseLatency = params.responseLatency;
+            serverChannelInitializer = new NetconfServerDispatcher.ServerChannelInitializer(serverNegotiatorFactory) {
+                @Override
+                public void initialize(final Channel ch, final Promise<NetconfServerSession> promise) {
+                    super.initialize(ch, promise);
+                    // First in the pipeline, so the encoded messages are delayed right before they hit the wire
+                    ch.pipeline().addFirst(ResponseLatencyHandler.HANDLER_NAME,
+                            new ResponseLatencyHandler(hashedWheelTimer, responseLatency, TimeUnit.MILLISECONDS));
+                }
+            };
+        }
         return new NetconfServerDispatcher(serverChannelInitializer, nettyThreadgroup, nettyThreadgroup);
     }
 
@@ -173,10 +216,15 @@ public class NetconfDeviceSimulator implements Closeable {
 
     public List<Integer> start(final Main.Params params) {
         LOG.info("Starting {}, {} simulated devices starting on port {}", params.deviceCount, params.ssh ? "SSH" : "TCP", params.startingPort);
+        final Stopwatch stopwatch = new Stopwatch().start();
 
         final Map<ModuleBuilder, String> moduleBuilders = parseSchemasToModuleBuilders(params);
 
-        final NetconfServerDispatcher dispatcher = createDispatcher(moduleBuilders, params.exi, params.generateConfigsTimeout);
+        final NetconfServerDispatcher dispatcher = createDispatcher(moduleBuilders, params);
+
+        if(params.notificationRate > 0) {
+            startNotifications(params.notificationRate);
+        }
 
         int currentPort = params.startingPort;
 
@@ -249,7 +297,8 @@ public class NetconfDeviceSimulator implements Closeable {
         }
 
         if(openDevices.size() == params.deviceCount) {
-            LOG.info("All simulated devices started successfully from port {} to {}", params.startingPort, currentPort - 1);
+            LOG.info("All simulated devices started successfully from port {} to {} in {} ms", params.startingPort, currentPort - 1,
+                    stopwatch.elapsed(TimeUnit.MILLISECONDS));
         } else if (openDevices.size() == 0) {
             LOG.warn("No simulated devices started.");
         } else {
@@ -259,6 +308,27 @@ public class NetconfDeviceSimulator implements Closeable {
         return openDevices;
     }
 
+    /**
+     * Sends a notification to every established session at the given rate. All sessions are served from
+     * a single task on the shared event loop group, so the cost does not grow with the number of devices
+     * beyond the messages themselves.
+     */
+    private void startNotifications(final int notificationsPerSecond) {
+        final long periodNanos = TimeUnit.SECONDS.toNanos(1) / notificationsPerSecond;
+        final NotificationGenerator generator = new NotificationGenerator();
+        notificationTask = nettyThreadgroup.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                for (final NetconfServerSession session : sessions) {
+                    if(session.isUp()) {
+                        session.sendMessage(generator.nextNotification());
+                    }
+                }
+            }
+        }, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+        LOG.info("Sending {} notifications per second to every session", notificationsPerSecond);
+    }
+
     private SshProxyServerConfiguration getSshConfiguration(final InetSocketAddress bindingAddress, final LocalAddress tcpLocalAddress, final PEMGeneratorHostKeyProvider keyPairProvider) throws IOException {
         return new SshProxyServerConfigurationBuilder()
                 .setBindingAddress(bindingAddress)
@@ -336,6 +406,9 @@ public class NetconfDeviceSimulator implements Closeable {
 
         sId = new SourceIdentifier("ietf-inet-types", "2010-09-24");
         registerSource(consumer, "/META-INF/yang/ietf-inet-types.yang", sId);
+
+        sId = new SourceIdentifier(PayloadGenerator.MODULE_NAME, PayloadGenerator.MODULE_REVISION);
+        registerSource(consumer, "/META-INF/yang/netconf-testtool-payload.yang", sId);
     }
 
     private void registerSource(final SharedSchemaRepository consumer, final String resource, final SourceIdentifier sourceId) {
@@ -368,6 +441,9 @@ public class NetconfDeviceSimulator implements Closeable {
 
     @Override
     public void close() {
+        if(notificationTask != null) {
+            notificationTask.cancel(false);
+        }
         for (final SshProxyServer sshWrapper : sshWrappers) {
             sshWrapper.close();
         }
@@ -377,6 +453,7 @@ public class NetconfDeviceSimulator implements Closeable {
         nettyThreadgroup.shutdownGracefully();
         minaTimerExecutor.shutdownNow();
         nioExecutor.shutdownNow();
+        hashedWheelTimer.stop();
         // close Everything
     }
 
@@ -385,9 +462,9 @@ public class NetconfDeviceSimulator implements Closeable {
         private final Set<NetconfOperationService> netconfOperationServices;
 
 
-        public SimulatedOperationProvider(final SessionIdProvider idProvider, final Set<Capability> caps) {
+        public SimulatedOperationProvider(final SessionIdProvider idProvider, final Set<Capability> caps, final Optional<Element> payload) {
             this.idProvider = idProvider;
-            final SimulatedOperationService simulatedOperationService = new SimulatedOperationService(caps, idProvider.getCurrentSessionId());
+            final SimulatedOperationService simulatedOperationService = new SimulatedOperationService(caps, idProvider.getCurrentSessionId(), payload);
             this.netconfOperationServices = Sets.<NetconfOperationService>newHashSet(simulatedOperationService);
         }
 
@@ -426,10 +503,12 @@ public class NetconfDeviceSimulator implements Closeable {
         static class SimulatedOperationService implements NetconfOperationService {
             private final Set<Capability> capabilities;
             private final long currentSessionId;
+            private final Optional<Element> payload;
 
-            public SimulatedOperationService(final Set<Capability> capabilities, final long currentSessionId) {
+            public SimulatedOperationService(final Set<Capability> capabilities, final long currentSessionId, final Optional<Element> payload) {
                 this.capabilities = capabilities;
                 this.currentSessionId = currentSessionId;
+                this.payload = payload;
             }
 
             @Override
@@ -440,7 +519,7 @@ public class NetconfDeviceSimulator implements Closeable {
             @Override
             public Set<NetconfOperation> getNetconfOperations() {
                 final DataList storage = new DataList();
-                final SimulatedGet sGet = new SimulatedGet(String.valueOf(currentSessionId), storage);
+                final SimulatedGet sGet = new SimulatedGet(String.valueOf(currentSessionId), storage, payload);
                 final SimulatedEditConfig sEditConfig = new SimulatedEditConfig(String.valueOf(currentSessionId), storage);
                 final SimulatedGetConfig sGetConfig = new SimulatedGetConfig(String.valueOf(currentSessionId), storage);
                 final SimulatedCommit sCommit = new SimulatedCommit(String.valueOf(currentSessionId));
@@ -458,11 +537,15 @@ public class NetconfDeviceSimulator implements Closeable {
         @Override
         public void onSessionUp(final NetconfManagementSession session) {
             LOG.debug("Session {} established", session);
+            if(session instanceof NetconfServerSession) {
+                sessions.add((NetconfServerSession) session);
+            }
         }
 
         @Override
         public void onSessionDown(final NetconfManagementSession session) {
             LOG.debug("Session {} down", session);
+            sessions.remove(session);
         }
     }
 
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.netconf.test.tool;
+
+import com.google.common.base.Optional;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import org.opendaylight.controller.netconf.api.NetconfMessage;
+import org.opendaylight.controller.netconf.api.xml.XmlNetconfConstants;
+import org.opendaylight.controller.netconf.util.xml.XmlUtil;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Generates RFC 5277 notifications carrying the payload-notification of the netconf-testtool-payload module,
+ * numbered in the order they are generated.
+ */
+final class NotificationGenerator {
+
+    static final String NOTIFICATION_NAMESPACE = "urn:ietf:params:xml:ns:netconf:notification:1.0";
+
+    private final AtomicLong sequenceNumber = new AtomicLong();
+
+    /**
+     * @return a new notification, every session needs its own as the message document is not shared
+     */
+    NetconfMessage nextNotification() {
+        final Document document = XmlUtil.newDocument();
+        final Element notification = XmlUtil.createElement(document, XmlNetconfConstants.NOTIFICATION_ELEMENT_NAME,
+                Optional.of(NOTIFICATION_NAMESPACE));
+        document.appendChild(notification);
+
+        notification.appendChild(XmlUtil.createTextElement(document, "eventTime",
+                new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX").format(new Date()), Optional.of(NOTIFICATION_NAMESPACE)));
+
+        final Element payloadNotification = XmlUtil.createElement(document, "payload-notification",
+                Optional.of(PayloadGenerator.NAMESPACE));
+        payloadNotification.appendChild(XmlUtil.createTextElement(document, "sequence-number",
+                String.valueOf(sequenceNumber.incrementAndGet()), Optional.of(PayloadGenerator.NAMESPACE)));
+        notification.appendChild(payloadNotification);
+
+        return new NetconfMessage(document);
+    }
+}
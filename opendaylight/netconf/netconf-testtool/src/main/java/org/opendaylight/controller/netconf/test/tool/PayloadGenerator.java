@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.netconf.test.tool;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Strings;
+import org.opendaylight.controller.netconf.util.xml.XmlUtil;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Generates the operational data of the netconf-testtool-payload module the simulated devices return in get
+ * replies, so the connector has to parse replies of a realistic size.
+ */
+final class PayloadGenerator {
+
+    static final String MODULE_NAME = "netconf-testtool-payload";
+    static final String MODULE_REVISION = "2014-12-10";
+    static final String NAMESPACE = "urn:opendaylight:params:xml:ns:yang:controller:netconf:testtool:payload";
+
+    private static final int ITEM_VALUE_LENGTH = 64;
+
+    private PayloadGenerator() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * @param size approximate size of the serialized payload in bytes
+     * @return payload container with as many list items as needed to reach the size
+     */
+    static Element createPayload(final int size) {
+        final Document document = XmlUtil.newDocument();
+        final Element payload = XmlUtil.createElement(document, "payload", Optional.of(NAMESPACE));
+        document.appendChild(payload);
+
+        final String value = Strings.repeat("x", ITEM_VALUE_LENGTH);
+        int written = 0;
+        for (int id = 0; written < size; id++) {
+            // The namespace is declared once on the container
+            final Element item = document.createElementNS(NAMESPACE, "item");
+            item.appendChild(createTextElement(document, "id", String.valueOf(id)));
+            item.appendChild(createTextElement(document, "value", value));
+            payload.appendChild(item);
+            written += itemSize(id);
+        }
+
+        return payload;
+    }
+
+    private static Element createTextElement(final Document document, final String name, final String content) {
+        final Element element = document.createElementNS(NAMESPACE, name);
+        element.appendChild(document.createTextNode(content));
+        return element;
+    }
+
+    private static int itemSize(final int id) {
+        // <item><id>...</id><value>...</value></item>
+        return 40 + String.valueOf(id).length() + ITEM_VALUE_LENGTH;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.netconf.test.tool;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delays everything a simulated device writes to its channel by a fixed latency, without holding up the
+ * event loop the channel is served by. The delayed writes, flushes and closes are performed in the order
+ * they were issued.
+ */
+final class ResponseLatencyHandler extends ChannelOutboundHandlerAdapter {
+
+    static final String HANDLER_NAME = "responseLatency";
+
+    private final Timer timer;
+    private final long latency;
+    private final TimeUnit unit;
+
+    // Only accessed from the channel's event loop
+    private final Queue<DelayedOperation> pending = new ArrayDeque<>();
+
+    ResponseLatencyHandler(final Timer timer, final long latency, final TimeUnit unit) {
+        this.timer = timer;
+        this.latency = latency;
+        this.unit = unit;
+    }
+
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
+        delay(ctx, new DelayedOperation() {
+            @Override
+            void perform() {
+                ctx.write(msg, promise);
+            }
+        });
+    }
+
+    @Override
+    public void flush(final ChannelHandlerContext ctx) {
+        delay(ctx, new DelayedOperation() {
+            @Override
+            void perform() {
+                ctx.flush();
+            }
+        });
+    }
+
+    @Override
+    public void close(final ChannelHandlerContext ctx, final ChannelPromise promise) {
+        delay(ctx, new DelayedOperation() {
+            @Override
+            void perform() {
+                ctx.close(promise);
+            }
+        });
+    }
+
+    private void delay(final ChannelHandlerContext ctx, final DelayedOperation operation) {
+        pending.add(operation);
+        timer.newTimeout(new TimerTask() {
+            @Override
+            public void run(final Timeout timeout) {
+                ctx.executor().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        performUpTo(operation);
+                    }
+                });
+            }
+        }, latency, unit);
+    }
+
+    /**
+     * The timer does not guarantee timeouts expiring in the same tick run in the order they were created, so
+     * the operations ahead of the expired one, which are due as well, are performed first.
+     */
+    private void performUpTo(final DelayedOperation operation) {
+        if (operation.performed) {
+            return;
+        }
+
+        DelayedOperation next;
+        do {
+            next = pending.poll();
+            next.performed = true;
+            next.perform();
+        } while (next != operation);
+    }
+
+    private abstract static class DelayedOperation {
+        private boolean performed;
+
+        abstract void perform();
+    }
+}
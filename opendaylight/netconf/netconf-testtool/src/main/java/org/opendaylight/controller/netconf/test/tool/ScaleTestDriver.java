@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2014 Cisco Systems, Inc. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.controller.netconf.test.tool;
+
+import com.google.common.collect.Lists;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GenericFutureListener;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.netconf.api.NetconfMessage;
+import org.opendaylight.controller.netconf.api.NetconfTerminationReason;
+import org.opendaylight.controller.netconf.api.xml.XmlNetconfConstants;
+import org.opendaylight.controller.netconf.client.NetconfClientDispatcherImpl;
+import org.opendaylight.controller.netconf.client.NetconfClientSession;
+import org.opendaylight.controller.netconf.client.NetconfClientSessionListener;
+import org.opendaylight.controller.netconf.client.conf.NetconfClientConfiguration;
+import org.opendaylight.controller.netconf.client.conf.NetconfClientConfigurationBuilder;
+import org.opendaylight.controller.netconf.nettyutil.handler.ssh.authentication.LoginPassword;
+import org.opendaylight.controller.netconf.util.xml.XmlElement;
+import org.opendaylight.controller.netconf.util.xml.XmlUtil;
+import org.opendaylight.protocol.framework.NeverReconnectStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.SAXException;
+
+/**
+ * Connects a netconf client session to every simulated device and reports:
+ * <ul>
+ *     <li>session setup time percentiles, from the connect until the hello exchange completed, the part of a
+ *     sal-netconf-connector mount that depends on the device</li>
+ *     <li>get rpc round trip time percentiles</li>
+ *     <li>heap used per connected session, measured in this JVM, so run the driver with --measure-only against
+ *     devices simulated by another process to see the client side alone</li>
+ *     <li>number of notifications received while measuring</li>
+ * </ul>
+ * The client is the netconf-client stack sal-netconf-connector is built on.
+ */
+final class ScaleTestDriver implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ScaleTestDriver.class);
+
+    private static final long TIMEOUT_MINUTES = 30;
+
+    private final boolean ssh;
+    private final int rpcCount;
+    private final NioEventLoopGroup nettyThreadgroup = new NioEventLoopGroup();
+    private final HashedWheelTimer hashedWheelTimer = new HashedWheelTimer();
+    private final NetconfClientDispatcherImpl dispatcher;
+
+    ScaleTestDriver(final boolean ssh, final int rpcCount) {
+        this.ssh = ssh;
+        this.rpcCount = rpcCount;
+        this.dispatcher = new NetconfClientDispatcherImpl(nettyThreadgroup, nettyThreadgroup, hashedWheelTimer);
+    }
+
+    void run(final List<Integer> ports) throws InterruptedException {
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        memory.gc();
+        final long heapBefore = memory.getHeapMemoryUsage().getUsed();
+
+        final CountDownLatch connected = new CountDownLatch(ports.size());
+        final List<DeviceProbe> probes = Lists.newArrayList();
+        final long start = System.nanoTime();
+        for (final Integer port : ports) {
+            final DeviceProbe probe = new DeviceProbe(port, connected);
+            probes.add(probe);
+            dispatcher.createClient(getClientConfiguration(port, probe)).addListener(
+                    new GenericFutureListener<Future<NetconfClientSession>>() {
+                        @Override
+                        public void operationComplete(final Future<NetconfClientSession> future) {
+                            if (!future.isSuccess()) {
+                                LOG.warn("Unable to connect to device on port {}", port, future.cause());
+                                connected.countDown();
+                            }
+                        }
+                    });
+        }
+
+        if (!connected.await(TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+            LOG.warn("Not all devices connected within {} minutes", TIMEOUT_MINUTES);
+        }
+        final long allConnectedNanos = System.nanoTime() - start;
+
+        memory.gc();
+        final long heapConnected = memory.getHeapMemoryUsage().getUsed();
+
+        final List<DeviceProbe> up = Lists.newArrayList();
+        final long[] setupTimes = new long[probes.size()];
+        int setupCount = 0;
+        for (final DeviceProbe probe : probes) {
+            if (probe.session != null) {
+                up.add(probe);
+                setupTimes[setupCount++] = probe.connectedNanos - start;
+            }
+        }
+
+        LOG.info("{} of {} devices connected in {} ms, heap used per session {} bytes", up.size(), ports.size(),
+                TimeUnit.NANOSECONDS.toMillis(allConnectedNanos),
+                up.isEmpty() ? 0 : (heapConnected - heapBefore) / up.size());
+        logPercentiles("Session setup", Arrays.copyOf(setupTimes, setupCount));
+
+        if (up.isEmpty()) {
+            return;
+        }
+
+        final CountDownLatch rpcsDone = new CountDownLatch(up.size());
+        for (final DeviceProbe probe : up) {
+            probe.startRpcs(rpcsDone);
+        }
+
+        if (!rpcsDone.await(TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+            LOG.warn("Not all rpcs completed within {} minutes", TIMEOUT_MINUTES);
+        }
+
+        final long[] latencies = new long[up.size() * rpcCount];
+        int latencyCount = 0;
+        long notifications = 0;
+        for (final DeviceProbe probe : up) {
+            System.arraycopy(probe.latencies, 0, latencies, latencyCount, probe.completed);
+            latencyCount += probe.completed;
+            notifications += probe.notifications;
+            probe.session.close();
+        }
+
+        logPercentiles("Get rpc", Arrays.copyOf(latencies, latencyCount));
+        LOG.info("{} notifications received", notifications);
+    }
+
+    private static void logPercentiles(final String what, final long[] nanos) {
+        if (nanos.length == 0) {
+            LOG.info("{}: no samples", what);
+            return;
+        }
+
+        Arrays.sort(nanos);
+        LOG.info("{} in ms over {} samples: 50% {}, 90% {}, 99% {}, max {}", what, nanos.length,
+                toMillis(percentile(nanos, 50)), toMillis(percentile(nanos, 90)),
+                toMillis(percentile(nanos, 99)), toMillis(nanos[nanos.length - 1]));
+    }
+
+    private static long percentile(final long[] sorted, final int percentile) {
+        final int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+
+    private static double toMillis(final long nanos) {
+        return nanos / 1000000.0;
+    }
+
+    private NetconfClientConfiguration getClientConfiguration(final int port, final DeviceProbe probe) {
+        final NetconfClientConfigurationBuilder b = NetconfClientConfigurationBuilder.create();
+        b.withAddress(new InetSocketAddress("127.0.0.1", port));
+        b.withSessionListener(probe);
+        b.withReconnectStrategy(new NeverReconnectStrategy(GlobalEventExecutor.INSTANCE,
+                NetconfClientConfigurationBuilder.DEFAULT_CONNECTION_TIMEOUT_MILLIS));
+        if (ssh) {
+            b.withProtocol(NetconfClientConfiguration.NetconfClientProtocol.SSH);
+            // The simulated devices accept any credentials
+            b.withAuthHandler(new LoginPassword("admin", "admin"));
+        } else {
+            b.withProtocol(NetconfClientConfiguration.NetconfClientProtocol.TCP);
+        }
+        return b.build();
+    }
+
+    @Override
+    public void close() {
+        nettyThreadgroup.shutdownGracefully();
+        hashedWheelTimer.stop();
+    }
+
+    /**
+     * Session listener of one device, sends the gets one after another and records their round trip times.
+     * The callbacks are invoked from the session's event loop, the latches publish the results.
+     */
+    private final class DeviceProbe implements NetconfClientSessionListener {
+        private final int port;
+        private final CountDownLatch connected;
+        private final long[] latencies = new long[rpcCount];
+
+        private volatile NetconfClientSession session;
+        private long connectedNanos;
+        private CountDownLatch rpcsDone;
+        private int completed;
+        private long sentNanos;
+        private long notifications;
+        private boolean finished;
+
+        DeviceProbe(final int port, final CountDownLatch connected) {
+            this.port = port;
+            this.connected = connected;
+        }
+
+        @Override
+        public void onSessionUp(final NetconfClientSession session) {
+            connectedNanos = System.nanoTime();
+            this.session = session;
+            connected.countDown();
+        }
+
+        @Override
+        public void onSessionDown(final NetconfClientSession session, final Exception e) {
+            LOG.warn("Session to device on port {} went down", port, e);
+            finish();
+        }
+
+        @Override
+        public void onSessionTerminated(final NetconfClientSession session, final NetconfTerminationReason reason) {
+            LOG.warn("Session to device on port {} terminated: {}", port, reason.getErrorMessage());
+            finish();
+        }
+
+        synchronized void startRpcs(final CountDownLatch rpcsDone) {
+            this.rpcsDone = rpcsDone;
+            sendGet();
+        }
+
+        @Override
+        public synchronized void onMessage(final NetconfClientSession session, final NetconfMessage message) {
+            if (XmlNetconfConstants.NOTIFICATION_ELEMENT_NAME.equals(
+                    XmlElement.fromDomDocument(message.getDocument()).getName())) {
+                notifications++;
+                return;
+            }
+
+            if (rpcsDone == null || finished) {
+                return;
+            }
+
+            latencies[completed++] = System.nanoTime() - sentNanos;
+            if (completed == rpcCount) {
+                finish();
+            } else {
+                sendGet();
+            }
+        }
+
+        private void sendGet() {
+            final NetconfMessage get;
+            try {
+                get = new NetconfMessage(XmlUtil.readXmlToDocument(
+                        "<rpc message-id=\"m-" + completed + "\" xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><get/></rpc>"));
+            } catch (SAXException | IOException e) {
+                throw new IllegalStateException("Unable to create get rpc", e);
+            }
+
+            sentNanos = System.nanoTime();
+            session.sendMessage(get);
+        }
+
+        private synchronized void finish() {
+            if (rpcsDone != null && !finished) {
+                finished = true;
+                rpcsDone.countDown();
+            }
+        }
+    }
+}
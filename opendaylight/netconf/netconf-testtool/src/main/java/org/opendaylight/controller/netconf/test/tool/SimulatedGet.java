@@ -20,10 +20,19 @@ import org.w3c.dom.Element;
 class SimulatedGet extends AbstractConfigNetconfOperation {
 
     private final DataList storage;
+    private final Optional<Element> payload;
 
     SimulatedGet(final String netconfSessionIdForReporting, final DataList storage) {
+        this(netconfSessionIdForReporting, storage, Optional.<Element>absent());
+    }
+
+    /**
+     * @param payload generated operational data appended to every reply
+     */
+    SimulatedGet(final String netconfSessionIdForReporting, final DataList storage, final Optional<Element> payload) {
         super(null, netconfSessionIdForReporting);
         this.storage = storage;
+        this.payload = payload;
     }
 
     @Override
@@ -35,6 +44,13 @@ class SimulatedGet extends AbstractConfigNetconfOperation {
             element.appendChild(element.getOwnerDocument().importNode(domElement, true));
         }
 
+        if(payload.isPresent()) {
+            // The payload is shared by all devices, DOM gives no guarantees about concurrent reads
+            synchronized (payload.get()) {
+                element.appendChild(element.getOwnerDocument().importNode(payload.get(), true));
+            }
+        }
+
         return element;
     }
 